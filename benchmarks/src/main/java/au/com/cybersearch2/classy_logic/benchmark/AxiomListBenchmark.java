@@ -0,0 +1,135 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.benchmark;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import au.com.cybersearch2.classy_logic.expression.IntegerOperand;
+import au.com.cybersearch2.classy_logic.expression.StringOperand;
+import au.com.cybersearch2.classy_logic.helper.QualifiedName;
+import au.com.cybersearch2.classy_logic.interfaces.Operand;
+import au.com.cybersearch2.classy_logic.interfaces.Term;
+import au.com.cybersearch2.classy_logic.list.AxiomList;
+import au.com.cybersearch2.classy_logic.list.AxiomListVariable;
+import au.com.cybersearch2.classy_logic.list.AxiomTermList;
+import au.com.cybersearch2.classy_logic.pattern.Axiom;
+import au.com.cybersearch2.classy_logic.terms.Parameter;
+
+/**
+ * AxiomListBenchmark
+ * Measures AxiomListVariable evaluation of the altitude term of a city selected 
+ * by evaluated index, as in city_list[i][1], and by key, as in city_list["city7"][1].
+ * The index or key changes on each call, so every evaluation selects a new list item. 
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AxiomListBenchmark
+{
+    static final int ID = 1;
+    /** Number of distinct selections cycled through */
+    static final int SELECTIONS = 1024;
+
+    /** Number of axioms in the list */
+    @Param({"1000", "100000"})
+    public int listSize;
+
+    protected Operand indexOperand;
+    protected Operand keyOperand;
+    protected AxiomListVariable byIndex;
+    protected AxiomListVariable byKey;
+    protected Parameter[] indexes;
+    protected Parameter[] keys;
+    protected int selection;
+
+    @Setup
+    public void setUp()
+    {
+        QualifiedName qname = QualifiedName.parseName("city_list");
+        QualifiedName key = QualifiedName.parseName("city");
+        AxiomList axiomList = new AxiomList(qname, key);
+        CityAxiomProvider cityAxiomProvider = new CityAxiomProvider(listSize);
+        Iterator<Axiom> iterator = cityAxiomProvider.getAxiomSource("city", null).iterator();
+        int index = 0;
+        while (iterator.hasNext())
+        {
+            AxiomTermList axiomTermList = new AxiomTermList(qname, key);
+            axiomTermList.setAxiom(iterator.next());
+            axiomList.assignItem(index++, axiomTermList);
+        }
+        axiomList.setKeyTermName("name");
+        indexOperand = new IntegerOperand(QualifiedName.parseName("i"), Long.valueOf(0));
+        keyOperand = new StringOperand(QualifiedName.parseName("k"), "city0");
+        byIndex = axiomList.newVariableInstance(indexOperand, 1, "altitude");
+        byKey = axiomList.newVariableInstance(keyOperand, 1, "altitude");
+        // Select list items spread over the whole list
+        indexes = new Parameter[SELECTIONS];
+        keys = new Parameter[SELECTIONS];
+        for (int i = 0; i < SELECTIONS; ++i)
+        {
+            int item = (int)((i * 7919L) % listSize);
+            indexes[i] = new Parameter(Term.ANONYMOUS, Long.valueOf(item));
+            keys[i] = new Parameter(Term.ANONYMOUS, "city" + item);
+        }
+    }
+
+    @Benchmark
+    public Object byIndex()
+    {
+        return select(byIndex, indexOperand, indexes);
+    }
+
+    @Benchmark
+    public Object byKey()
+    {
+        return select(byKey, keyOperand, keys);
+    }
+
+    /**
+     * Assign next selection to index operand and evaluate list variable
+     * @param variable List variable
+     * @param selector Operand which selects list item
+     * @param selections Index or key values
+     * @return value of list variable
+     */
+    protected Object select(AxiomListVariable variable, Operand selector, Parameter[] selections)
+    {
+        selector.assign(selections[selection]);
+        selection = (selection + 1) % SELECTIONS;
+        variable.evaluate(ID);
+        Object value = variable.getValue();
+        variable.backup(ID);
+        return value;
+    }
+}
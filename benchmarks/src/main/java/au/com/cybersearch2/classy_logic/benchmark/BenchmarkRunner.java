@@ -0,0 +1,281 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.benchmark;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * BenchmarkRunner
+ * Runs the benchmarks with the JMH command line options given, always adding the GC profiler 
+ * ("-prof gc"), then compares the bytes allocated per operation with a baseline. Allocation per 
+ * operation is largely independent of the machine, unlike timings, so the baseline is kept with 
+ * the source and a change which allocates more is reported as a regression.
+ * System properties:
+ * baseline - Baseline file to use in place of the one packaged as allocation-baseline.properties
+ * save - File to which allocation of this run is written, in baseline format
+ * tolerance - Fraction by which allocation may exceed baseline, default 0.1
+ * Help and listing options ("-h", "-l", "-lp", "-lprof", "-lrf") are passed to the JMH main class.
+ * Exit status is 1 if any benchmark regressed.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class BenchmarkRunner
+{
+    /** Packaged baseline resource */
+    public static final String BASELINE_RESOURCE = "/allocation-baseline.properties";
+    /** JMH secondary result holding normalized allocation rate */
+    public static final String ALLOCATION_RESULT = "gc.alloc.rate.norm";
+    /** Allocation difference in bytes per operation below which changes are ignored */
+    public static final double NOISE_BYTES = 16.0;
+
+    /** Baseline bytes per operation by benchmark key */
+    protected Properties baseline;
+    /** Fraction by which allocation may exceed baseline */
+    protected double tolerance;
+
+    /**
+     * Construct BenchmarkRunner object
+     * @param baseline Baseline bytes per operation by benchmark key
+     * @param tolerance Fraction by which allocation may exceed baseline
+     */
+    public BenchmarkRunner(Properties baseline, double tolerance)
+    {
+        this.baseline = baseline;
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Run benchmarks
+     * @param options JMH options
+     * @return Bytes allocated per operation by benchmark key 
+     * @throws RunnerException if JMH fails
+     */
+    public Map<String, Double> run(Options options) throws RunnerException
+    {
+        Options gcOptions = new OptionsBuilder()
+            .parent(options)
+            .addProfiler(GCProfiler.class)
+            .build();
+        Collection<RunResult> runResults = new Runner(gcOptions).run();
+        Map<String, Double> allocationMap = new TreeMap<String, Double>();
+        for (RunResult runResult: runResults)
+        {
+            Result<?> allocation = getAllocation(runResult);
+            if (allocation != null)
+                allocationMap.put(getKey(runResult), Double.valueOf(allocation.getScore()));
+        }
+        return allocationMap;
+    }
+
+    /**
+     * Report allocation of each benchmark against baseline
+     * @param allocationMap Bytes allocated per operation by benchmark key
+     * @return number of benchmarks which regressed
+     */
+    public int report(Map<String, Double> allocationMap)
+    {
+        int regressions = 0;
+        System.out.println();
+        System.out.println(String.format("%-60s %14s %14s %9s", "Benchmark", "B/op", "Baseline B/op", "Change"));
+        for (Map.Entry<String, Double> entry: allocationMap.entrySet())
+        {
+            double bytes = entry.getValue().doubleValue();
+            String baselineValue = baseline.getProperty(entry.getKey());
+            if (baselineValue == null)
+            {
+                System.out.println(String.format("%-60s %14.1f %14s %9s", entry.getKey(), bytes, "-", "new"));
+                continue;
+            }
+            double baselineBytes = Double.parseDouble(baselineValue);
+            String change = baselineBytes > 0.0 ? 
+                    String.format("%+8.1f%%", (bytes - baselineBytes) * 100.0 / baselineBytes) : 
+                    "";
+            boolean isRegression = 
+                (bytes - baselineBytes > NOISE_BYTES) && (bytes > baselineBytes * (1.0 + tolerance));
+            if (isRegression)
+            {
+                ++regressions;
+                change += " REGRESSION";
+            }
+            System.out.println(String.format("%-60s %14.1f %14.1f %s", entry.getKey(), bytes, baselineBytes, change));
+        }
+        if (regressions > 0)
+            System.out.println(regressions + " benchmark(s) allocate more than baseline");
+        return regressions;
+    }
+
+    /**
+     * Write allocation results in baseline format, sorted by key and without a timestamp so 
+     * a new baseline differs from the old one only where allocation changed 
+     * @param allocationMap Bytes allocated per operation by benchmark key
+     * @param file File to write
+     * @throws IOException if write fails
+     */
+    public static void save(Map<String, Double> allocationMap, File file) throws IOException
+    {
+        Properties properties = new Properties();
+        for (Map.Entry<String, Double> entry: allocationMap.entrySet())
+            properties.setProperty(entry.getKey(), String.format("%.1f", entry.getValue()));
+        // Let Properties escape keys, then drop its date comment and sort the entries
+        StringWriter stringWriter = new StringWriter();
+        properties.store(stringWriter, null);
+        List<String> lines = new ArrayList<String>();
+        for (String line: stringWriter.toString().split("\\r?\\n"))
+            if (!line.isEmpty() && !line.startsWith("#"))
+                lines.add(line);
+        Collections.sort(lines);
+        PrintWriter writer = new PrintWriter(file, "ISO-8859-1");
+        try
+        {
+            writer.println("# Bytes allocated per operation (" + ALLOCATION_RESULT + ")");
+            for (String line: lines)
+                writer.println(line);
+        }
+        finally
+        {
+            writer.close();
+        }
+    }
+
+    /**
+     * Returns baseline from given file or, if file is null, from packaged resource
+     * @param file Baseline file or null
+     * @return Properties object, empty if there is no baseline
+     * @throws IOException if read fails
+     */
+    public static Properties loadBaseline(File file) throws IOException
+    {
+        Properties properties = new Properties();
+        InputStream inputStream = file != null ? 
+                new FileInputStream(file) : 
+                BenchmarkRunner.class.getResourceAsStream(BASELINE_RESOURCE);
+        if (inputStream != null)
+        {
+            try
+            {
+                properties.load(inputStream);
+            }
+            finally
+            {
+                inputStream.close();
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Returns key identifying benchmark method and parameter values eg. "QueryBenchmark.scan:axiomCount=10000"
+     * @param runResult Result of one benchmark run
+     * @return String
+     */
+    protected static String getKey(RunResult runResult)
+    {
+        String benchmark = runResult.getParams().getBenchmark();
+        String className = benchmark.substring(0, benchmark.lastIndexOf('.'));
+        StringBuilder builder = new StringBuilder(benchmark.substring(className.lastIndexOf('.') + 1));
+        for (String paramKey: runResult.getParams().getParamsKeys())
+            builder.append(':').append(paramKey).append('=').append(runResult.getParams().getParam(paramKey));
+        return builder.toString();
+    }
+
+    /**
+     * Returns allocation result of benchmark run. Older JMH versions prefix profiler results with a middle dot.
+     * @param runResult Result of one benchmark run
+     * @return Result object or null if GC profiler did not report allocation 
+     */
+    protected static Result<?> getAllocation(RunResult runResult)
+    {
+        for (Map.Entry<String, Result> entry: runResult.getSecondaryResults().entrySet())
+            if (entry.getKey().replace("·", "").equals(ALLOCATION_RESULT))
+                return entry.getValue();
+        return null;
+    }
+
+    /**
+     * Returns flag set true if options only request help or a listing
+     * @param options JMH command line options
+     * @return boolean
+     */
+    protected static boolean isInformationOnly(CommandLineOptions options)
+    {
+        return options.shouldHelp() || 
+               options.shouldList() || 
+               options.shouldListWithParams() || 
+               options.shouldListProfilers() || 
+               options.shouldListResultFormats();
+    }
+
+    public static void main(String[] args)
+    {
+        try
+        {
+            CommandLineOptions options = new CommandLineOptions(args);
+            if (isInformationOnly(options))
+            {   // Listing and help run no benchmarks, so leave them to JMH
+                Main.main(args);
+                return;
+            }
+            String baselinePath = System.getProperty("baseline");
+            String savePath = System.getProperty("save");
+            double tolerance = Double.parseDouble(System.getProperty("tolerance", "0.1"));
+            BenchmarkRunner benchmarkRunner = 
+                new BenchmarkRunner(loadBaseline(baselinePath != null ? new File(baselinePath) : null), tolerance);
+            Map<String, Double> allocationMap = benchmarkRunner.run(options);
+            if (savePath != null)
+                save(allocationMap, new File(savePath));
+            if (benchmarkRunner.report(allocationMap) > 0)
+                System.exit(1);
+        }
+        catch (CommandLineOptionException e)
+        {
+            System.err.println("Error parsing command line: " + e.getMessage());
+            System.exit(1);
+        }
+        catch (RunnerException e)
+        {
+            e.printStackTrace();
+            System.exit(1);
+        }
+        catch (IOException e)
+        {
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.benchmark;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import au.com.cybersearch2.classy_logic.helper.QualifiedName;
+import au.com.cybersearch2.classy_logic.interfaces.AxiomListener;
+import au.com.cybersearch2.classy_logic.interfaces.AxiomProvider;
+import au.com.cybersearch2.classy_logic.interfaces.AxiomSource;
+import au.com.cybersearch2.classy_logic.pattern.Axiom;
+import au.com.cybersearch2.classy_logic.pattern.AxiomSchema;
+
+/**
+ * CityAxiomProvider
+ * Supplies a generated sequence of "city" axioms, each with a name, altitude and region, 
+ * so query benchmarks can scale the axiom count without parsing a script of the same size. 
+ * The axioms are created once and replayed on every iteration, as for axioms declared in a script.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class CityAxiomProvider implements AxiomProvider
+{
+    /** Provider name to use in resource bindings */
+    public static final String NAME = "cities";
+    /** Regions to which cities are allotted in rotation */
+    public static final String[] REGIONS = { "north", "south", "east", "west" };
+    /** Highest altitude generated */
+    public static final long MAX_ALTITUDE = 10000L;
+
+    /** Generated axioms, each keyed "city" */
+    protected List<Axiom> axiomList;
+
+    /**
+     * Construct CityAxiomProvider object
+     * @param axiomCount Number of axioms to generate
+     */
+    public CityAxiomProvider(int axiomCount)
+    {
+        AxiomSchema schema = AxiomSchema.intern("name", "altitude", "region");
+        axiomList = new ArrayList<Axiom>(axiomCount);
+        for (int i = 0; i < axiomCount; ++i)
+            axiomList.add(new Axiom("city", schema, new Object[] { "city" + i, altitude(i), REGIONS[i % REGIONS.length] }));
+    }
+
+    /**
+     * Returns altitude of city at given position in the sequence, spread evenly 
+     * over the range 0 to MAX_ALTITUDE 
+     * @param index Position of city
+     * @return Long object
+     */
+    public static Long altitude(int index)
+    {
+        return Long.valueOf((index * 7919L) % (MAX_ALTITUDE + 1));
+    }
+
+    @Override
+    public String getName()
+    {
+        return NAME;
+    }
+
+    @Override
+    public void open(Map<String, Object> properties)
+    {
+    }
+
+    @Override
+    public void close()
+    {
+    }
+
+    @Override
+    public AxiomSource getAxiomSource(String axiomName, final List<String> axiomTermNameList)
+    {
+        return new AxiomSource()
+        {
+            @Override
+            public Iterator<Axiom> iterator()
+            {
+                return axiomList.iterator();
+            }
+
+            @Override
+            public List<String> getAxiomTermNameList()
+            {
+                return axiomTermNameList;
+            }
+        };
+    }
+
+    @Override
+    public AxiomListener getAxiomListener(String axiomName)
+    {
+        return new AxiomListener()
+        {
+            @Override
+            public void onNextAxiom(QualifiedName qname, Axiom axiom)
+            {
+            }
+        };
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return axiomList.isEmpty();
+    }
+}
@@ -0,0 +1,116 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.benchmark;
+
+import java.math.BigDecimal;
+import java.text.NumberFormat;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import au.com.cybersearch2.classy_logic.expression.BigDecimalOperand;
+import au.com.cybersearch2.classy_logic.expression.CurrencyOperand;
+import au.com.cybersearch2.classy_logic.expression.Evaluator;
+import au.com.cybersearch2.classy_logic.helper.QualifiedName;
+import au.com.cybersearch2.classy_logic.interfaces.Operand;
+import au.com.cybersearch2.classy_logic.interfaces.Term;
+import au.com.cybersearch2.classy_logic.terms.Parameter;
+
+/**
+ * CurrencyBenchmark
+ * Measures CurrencyOperand parsing of formatted amounts on evaluation, formatting of 
+ * a value, a change of currency country and multiplication by a rate, for a selection of locales. Forks use the JRE 
+ * locale data, as the tests do, since the formats of newer CLDR data do not parse back.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.locale.providers=COMPAT")
+public class CurrencyBenchmark
+{
+    static final int ID = 1;
+    static final BigDecimal AMOUNT = new BigDecimal("12345.67");
+    static final BigDecimal RATE = new BigDecimal("1.075");
+
+    /** Language and country of locale */
+    @Param({"en_US", "de_DE", "fr_FR"})
+    public String localeName;
+
+    protected CurrencyOperand parseOperand;
+    protected CurrencyOperand formatOperand;
+    protected Parameter formattedAmount;
+    protected Operand multiplication;
+    protected String country;
+
+    @Setup
+    public void setUp()
+    {
+        String[] parts = localeName.split("_");
+        Locale locale = new Locale(parts[0], parts[1]);
+        country = parts[1];
+        parseOperand = new CurrencyOperand(QualifiedName.parseName("parsed"), locale);
+        formatOperand = new CurrencyOperand(QualifiedName.parseName("formatted"), AMOUNT, locale);
+        formattedAmount = new Parameter(Term.ANONYMOUS, NumberFormat.getCurrencyInstance(locale).format(AMOUNT));
+        multiplication = new Evaluator(formatOperand, "*", new BigDecimalOperand(QualifiedName.parseName("rate"), RATE));
+    }
+
+    @Benchmark
+    public Object parse()
+    {
+        parseOperand.unifyTerm(formattedAmount, ID);
+        parseOperand.evaluate(ID);
+        Object value = parseOperand.getValue();
+        parseOperand.backup(ID);
+        return value;
+    }
+
+    @Benchmark
+    public String format()
+    {
+        return formatOperand.formatValue();
+    }
+
+    @Benchmark
+    public String setCountryAndFormat()
+    {
+        formatOperand.setCountry(country);
+        return formatOperand.formatValue();
+    }
+
+    @Benchmark
+    public Object multiply()
+    {
+        multiplication.evaluate(ID);
+        Object value = multiplication.getValue();
+        multiplication.backup(ID);
+        return value;
+    }
+}
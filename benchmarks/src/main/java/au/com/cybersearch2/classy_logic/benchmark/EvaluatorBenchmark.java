@@ -0,0 +1,133 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import au.com.cybersearch2.classy_logic.expression.BigDecimalOperand;
+import au.com.cybersearch2.classy_logic.expression.Evaluator;
+import au.com.cybersearch2.classy_logic.expression.IntegerOperand;
+import au.com.cybersearch2.classy_logic.helper.QualifiedName;
+import au.com.cybersearch2.classy_logic.interfaces.Operand;
+
+/**
+ * EvaluatorBenchmark
+ * Measures evaluation and backup of Evaluator trees built on literal operands: 
+ * integer and decimal arithmetic of the form ((a + b) * c - d) / e and a 
+ * boolean combination of comparisons of the form (a < b && c >= d) || e == a.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluatorBenchmark
+{
+    /** Identity used to evaluate and backup. Literal operands keep id 0 so survive backup. */
+    static final int ID = 1;
+
+    protected Operand integerArithmetic;
+    protected Operand decimalArithmetic;
+    protected Operand comparison;
+
+    @Setup
+    public void setUp()
+    {
+        Operand[] integers = new Operand[5];
+        Operand[] decimals = new Operand[5];
+        for (int i = 0; i < integers.length; ++i)
+        {
+            integers[i] = new IntegerOperand(QualifiedName.parseName("i" + i), Long.valueOf(i * 7 + 3));
+            decimals[i] = new BigDecimalOperand(QualifiedName.parseName("d" + i), new BigDecimal(i * 7 + 3).movePointLeft(2));
+        }
+        integerArithmetic = arithmetic(integers);
+        decimalArithmetic = arithmetic(decimals);
+        comparison = 
+            new Evaluator(
+                new Evaluator(
+                    new Evaluator(integers[0], "<", integers[1]), 
+                    "&&", 
+                    new Evaluator(integers[2], ">=", integers[3])), 
+                "||", 
+                new Evaluator(integers[4], "==", integers[0]));
+    }
+
+    @Benchmark
+    public Object integerArithmetic()
+    {
+        return evaluate(integerArithmetic);
+    }
+
+    @Benchmark
+    public Object decimalArithmetic()
+    {
+        return evaluate(decimalArithmetic);
+    }
+
+    @Benchmark
+    public Object comparison()
+    {
+        return evaluate(comparison);
+    }
+
+    /**
+     * Evaluate expression and backup so it can be evaluated again
+     * @param expression Evaluator tree
+     * @return result of evaluation
+     */
+    protected Object evaluate(Operand expression)
+    {
+        expression.evaluate(ID);
+        Object value = expression.getValue();
+        expression.backup(ID);
+        return value;
+    }
+
+    /**
+     * Returns tree to calculate ((a + b) * c - d) / e
+     * @param operands Operands a to e
+     * @return Evaluator object
+     */
+    protected static Operand arithmetic(Operand[] operands)
+    {
+        return 
+            new Evaluator(
+                new Evaluator(
+                    new Evaluator(
+                        new Evaluator(operands[0], "+", operands[1]), 
+                        "*", 
+                        operands[2]),
+                    "-",
+                    operands[3]),
+                "/",
+                operands[4]);
+    }
+}
@@ -0,0 +1,141 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import au.com.cybersearch2.classy_logic.parser.FileAxiomIterator;
+import au.com.cybersearch2.classy_logic.parser.FileAxiomListener;
+import au.com.cybersearch2.classy_logic.pattern.Axiom;
+import au.com.cybersearch2.classy_logic.terms.Parameter;
+
+/**
+ * FileAxiomBenchmark
+ * Measures writing city axioms to a file with FileAxiomListener and reading them back 
+ * with FileAxiomIterator, including the XML header which records the axiom count.
+ * Forks open the java.base packages used by XStream on Java 9 and later. Older JVMs ignore the option.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { 
+    "-XX:+IgnoreUnrecognizedVMOptions", 
+    "--add-opens=java.base/java.lang=ALL-UNNAMED",
+    "--add-opens=java.base/java.lang.reflect=ALL-UNNAMED",
+    "--add-opens=java.base/java.util=ALL-UNNAMED",
+    "--add-opens=java.base/java.text=ALL-UNNAMED",
+    "--add-opens=java.desktop/java.awt.font=ALL-UNNAMED" })
+public class FileAxiomBenchmark
+{
+    /** Number of axioms written and read */
+    @Param({"1000", "100000"})
+    public int axiomCount;
+
+    protected List<Axiom> axiomList;
+    protected File writeFile;
+    protected File readFile;
+
+    @Setup
+    public void setUp() throws IOException
+    {
+        axiomList = new ArrayList<Axiom>(axiomCount);
+        for (int i = 0; i < axiomCount; ++i)
+            axiomList.add(new Axiom("city", 
+                new Parameter("name", "city" + i), 
+                new Parameter("altitude", CityAxiomProvider.altitude(i)), 
+                new Parameter("region", CityAxiomProvider.REGIONS[i % CityAxiomProvider.REGIONS.length])));
+        writeFile = File.createTempFile("benchmark_write", null, null);
+        readFile = File.createTempFile("benchmark_read", null, null);
+        writeAxioms(readFile);
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        for (File file: new File[] { writeFile, readFile })
+        {
+            file.delete();
+            new File(file.getAbsolutePath() + ".xml").delete();
+        }
+    }
+
+    @Benchmark
+    public int write()
+    {
+        return writeAxioms(writeFile);
+    }
+
+    @Benchmark
+    public int read()
+    {
+        FileAxiomIterator iterator = new FileAxiomIterator(readFile);
+        int count = 0;
+        try
+        {
+            while (iterator.hasNext())
+            {
+                iterator.next();
+                ++count;
+            }
+        }
+        finally
+        {
+            iterator.getOnCloseHandler().run();
+        }
+        return count;
+    }
+
+    /**
+     * Write all axioms to given file
+     * @param axiomFile File to overwrite
+     * @return number of axioms written
+     */
+    protected int writeAxioms(File axiomFile)
+    {
+        FileAxiomListener listener = new FileAxiomListener("city", axiomFile);
+        try
+        {
+            for (Axiom axiom: axiomList)
+                listener.onNextAxiom(null, axiom);
+        }
+        finally
+        {
+            listener.getOnCloseHandler().run();
+        }
+        return axiomList.size();
+    }
+}
@@ -0,0 +1,90 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import au.com.cybersearch2.classy_logic.QueryProgram;
+
+/**
+ * ParserBenchmark
+ * Measures compiling a generated script into a QueryProgram. The script declares 
+ * the given number of city axioms, with one template and query for every 100 axioms. 
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserBenchmark
+{
+    /** Number of axioms declared in the script */
+    @Param({"100", "10000"})
+    public int axiomCount;
+
+    protected String script;
+
+    @Setup
+    public void setUp()
+    {
+        script = generateScript(axiomCount);
+    }
+
+    @Benchmark
+    public QueryProgram parse()
+    {
+        return new QueryProgram(script);
+    }
+
+    /**
+     * Returns script declaring given number of city axioms followed by templates and queries
+     * @param axiomCount Number of axioms
+     * @return String
+     */
+    public static String generateScript(int axiomCount)
+    {
+        StringBuilder builder = new StringBuilder("axiom city (name, altitude, region)\n");
+        for (int i = 0; i < axiomCount; ++i)
+            builder.append("  {\"city").append(i).append("\", ")
+                   .append(CityAxiomProvider.altitude(i)).append(", \"")
+                   .append(CityAxiomProvider.REGIONS[i % CityAxiomProvider.REGIONS.length]).append("\"}\n");
+        builder.append(";\n");
+        int queryCount = Math.max(1, axiomCount / 100);
+        for (int i = 0; i < queryCount; ++i)
+        {
+            builder.append("template high_city").append(i)
+                   .append("(name, altitude ? altitude > ").append(i * 10).append(", region);\n");
+            builder.append("query high_cities").append(i)
+                   .append("(city : high_city").append(i).append(");\n");
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,117 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import au.com.cybersearch2.classy_logic.ProviderManager;
+import au.com.cybersearch2.classy_logic.QueryProgram;
+import au.com.cybersearch2.classy_logic.interfaces.SolutionHandler;
+import au.com.cybersearch2.classy_logic.query.Solution;
+
+/**
+ * QueryBenchmark
+ * Measures a single template query, which is a LogicQuery scan of the city axioms with a filter, 
+ * and a chained query which joins each selected city to its region. 
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueryBenchmark
+{
+    static final String CITY_REGIONS =
+        "axiom city (name, altitude, region): \"cities\";\n" +
+        "axiom region (region, zone)\n" +
+        "  {\"north\", 1}\n" +
+        "  {\"south\", 2}\n" +
+        "  {\"east\", 3}\n" +
+        "  {\"west\", 4};\n" +
+        "template high_city(name, altitude ? altitude > 5000, region);\n" +
+        "template city_zone(region ? region == high_city.region, zone);\n" +
+        "query high_cities(city : high_city);\n" +
+        "query high_city_zones(city : high_city, region : city_zone);";
+
+    /** Number of city axioms to scan */
+    @Param({"10000", "1000000"})
+    public int axiomCount;
+
+    protected QueryProgram queryProgram;
+
+    @Setup
+    public void setUp()
+    {
+        ProviderManager providerManager = new ProviderManager();
+        providerManager.putAxiomProvider(new CityAxiomProvider(axiomCount));
+        queryProgram = new QueryProgram(providerManager);
+        queryProgram.parseScript(CITY_REGIONS);
+    }
+
+    @Benchmark
+    public int scan()
+    {
+        return countSolutions("high_cities");
+    }
+
+    @Benchmark
+    public int join()
+    {
+        return countSolutions("high_city_zones");
+    }
+
+    /**
+     * Execute query and return number of solutions
+     * @param queryName
+     * @return int
+     */
+    protected int countSolutions(String queryName)
+    {
+        SolutionCounter solutionCounter = new SolutionCounter();
+        queryProgram.executeQuery(queryName, solutionCounter);
+        return solutionCounter.count;
+    }
+
+    /**
+     * Counts solutions without holding on to them
+     */
+    static class SolutionCounter implements SolutionHandler
+    {
+        int count;
+
+        @Override
+        public boolean onSolution(Solution solution)
+        {
+            ++count;
+            return true;
+        }
+    }
+}
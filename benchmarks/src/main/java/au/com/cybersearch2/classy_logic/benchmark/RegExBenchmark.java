@@ -0,0 +1,116 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import au.com.cybersearch2.classy_logic.compile.Group;
+import au.com.cybersearch2.classy_logic.expression.RegExOperand;
+import au.com.cybersearch2.classy_logic.expression.StringOperand;
+import au.com.cybersearch2.classy_logic.helper.QualifiedName;
+import au.com.cybersearch2.classy_logic.interfaces.Operand;
+import au.com.cybersearch2.classy_logic.interfaces.Term;
+import au.com.cybersearch2.classy_logic.terms.Parameter;
+
+/**
+ * RegExBenchmark
+ * Measures RegExOperand unification, evaluation and backup for a match, 
+ * a match which assigns groups and a mismatch.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegExBenchmark
+{
+    static final int ID = 1;
+
+    protected RegExOperand inWord;
+    protected RegExOperand definition;
+    protected Operand[] groupOperands;
+    protected Parameter matchingWord;
+    protected Parameter otherWord;
+    protected Parameter definitionText;
+
+    @Setup
+    public void setUp()
+    {
+        inWord = new RegExOperand(QualifiedName.parseName("word"), "^in[^ ]+", 0, null);
+        Group group = new Group("definition");
+        groupOperands = new Operand[] 
+        {
+            new StringOperand(QualifiedName.parseName("part")),
+            new StringOperand(QualifiedName.parseName("meaning"))
+        };
+        for (Operand operand: groupOperands)
+            group.addGroup(operand);
+        definition = new RegExOperand(QualifiedName.parseName("definition"), "^(.)\\. (.*+)", 0, group);
+        matchingWord = new Parameter(Term.ANONYMOUS, "inexpensive");
+        otherWord = new Parameter(Term.ANONYMOUS, "abbey");
+        definitionText = new Parameter(Term.ANONYMOUS, "n. a monastery ruled by an abbot");
+    }
+
+    @Benchmark
+    public Object match()
+    {
+        return unify(inWord, matchingWord);
+    }
+
+    @Benchmark
+    public Object mismatch()
+    {
+        return unify(inWord, otherWord);
+    }
+
+    @Benchmark
+    public Object groups()
+    {
+        Object value = unify(definition, definitionText);
+        for (Operand operand: groupOperands)
+            operand.backup(ID);
+        return value;
+    }
+
+    /**
+     * Unify operand with text, evaluate and backup
+     * @param regExOperand Operand to evaluate
+     * @param text Term containing text to match
+     * @return value of operand after evaluation
+     */
+    protected Object unify(RegExOperand regExOperand, Parameter text)
+    {
+        regExOperand.unifyTerm(text, ID);
+        regExOperand.evaluate(ID);
+        Object value = regExOperand.getValue();
+        regExOperand.backup(ID);
+        return value;
+    }
+}
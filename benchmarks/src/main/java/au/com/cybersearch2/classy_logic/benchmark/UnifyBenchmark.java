@@ -0,0 +1,108 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import au.com.cybersearch2.classy_logic.expression.Variable;
+import au.com.cybersearch2.classy_logic.helper.QualifiedName;
+import au.com.cybersearch2.classy_logic.interfaces.Term;
+import au.com.cybersearch2.classy_logic.pattern.Axiom;
+import au.com.cybersearch2.classy_logic.pattern.AxiomSchema;
+import au.com.cybersearch2.classy_logic.pattern.Template;
+import au.com.cybersearch2.classy_logic.query.Solution;
+import au.com.cybersearch2.classy_logic.terms.Parameter;
+
+/**
+ * UnifyBenchmark
+ * Measures Axiom.unifyTemplate() followed by template backup, as performed for each axiom
+ * of a query scan. Axioms with named terms are compared with axioms backed by a shared schema. 
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UnifyBenchmark
+{
+    /** Number of terms in both axiom and template */
+    @Param({"2", "8", "32"})
+    public int width;
+
+    protected Template template;
+    protected Axiom namedAxiom;
+    protected Axiom schemaAxiom;
+    protected Solution solution;
+
+    @Setup
+    public void setUp()
+    {
+        QualifiedName contextName = QualifiedName.parseTemplateName("row");
+        template = new Template("row", contextName);
+        String[] termNames = new String[width];
+        Term[] terms = new Term[width];
+        Object[] values = new Object[width];
+        for (int i = 0; i < width; ++i)
+        {
+            termNames[i] = "term" + i;
+            values[i] = Long.valueOf(i);
+            terms[i] = new Parameter(termNames[i], values[i]);
+            template.addTerm(new Variable(QualifiedName.parseName(termNames[i], contextName)));
+        }
+        namedAxiom = new Axiom("row", terms);
+        schemaAxiom = new Axiom("row", AxiomSchema.intern(termNames), values);
+        solution = new Solution();
+    }
+
+    @Benchmark
+    public boolean namedTerms()
+    {
+        return unify(namedAxiom);
+    }
+
+    @Benchmark
+    public boolean schemaTerms()
+    {
+        return unify(schemaAxiom);
+    }
+
+    /**
+     * Unify axiom with template, then backup template to start
+     * @param axiom Axiom object
+     * @return flag set true if unification succeeded
+     */
+    protected boolean unify(Axiom axiom)
+    {
+        boolean isUnified = axiom.unifyTemplate(template, solution);
+        template.backup(false);
+        return isUnified;
+    }
+}
@@ -51,6 +51,16 @@ public class FunctionManager
         functionProviderMap.put(name, functionProvider);
     }
 
+    /**
+     * Returns flag set true if function library specified by name is available
+     * @param name The library name
+     * @return boolean
+     */
+    public boolean hasFunctionProvider(String name)
+    {
+        return functionProviderMap.containsKey(name);
+    }
+
     /**
      * Returns function library specified by name
      * @param name The library name
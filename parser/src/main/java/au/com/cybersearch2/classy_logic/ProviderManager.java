@@ -23,8 +23,10 @@ import java.util.Map;
 import au.com.cybersearch2.classy_logic.expression.ExpressionException;
 import au.com.cybersearch2.classy_logic.helper.QualifiedName;
 import au.com.cybersearch2.classy_logic.helper.QualifiedTemplateName;
+import au.com.cybersearch2.classy_logic.interfaces.AxiomListener;
 import au.com.cybersearch2.classy_logic.interfaces.AxiomProvider;
 import au.com.cybersearch2.classy_logic.interfaces.AxiomSource;
+import au.com.cybersearch2.classy_logic.pipeline.AxiomListenerPipeline;
 
 /**
  * ProviderManager
@@ -38,6 +40,8 @@ public class ProviderManager
 	protected Map<QualifiedName, AxiomProvider> axiomProviderMap;
 	/** Resource path base */
 	protected File resourceBase;
+	/** Optional pipeline to deliver axioms to provider listeners on consumer threads */
+	protected AxiomListenerPipeline listenerPipeline;
 	
 	/**
 	 * Construct ProviderManager object
@@ -114,4 +118,36 @@ public class ProviderManager
 		return axiomProviderMap.get(name);
 	}
 
+	/**
+	 * Returns listener to receive axioms for given provider, which is asynchronous if a pipeline is set
+	 * @param axiomProvider Axiom Provider
+	 * @param axiomName Axiom name
+	 * @return AxiomListener object
+	 */
+	public AxiomListener getAxiomListener(AxiomProvider axiomProvider, String axiomName)
+	{
+		AxiomListener axiomListener = axiomProvider.getAxiomListener(axiomName);
+		if ((listenerPipeline == null) || (axiomListener == null))
+			return axiomListener;
+		return listenerPipeline.wrap(axiomListener);
+	}
+
+	/**
+	 * Returns pipeline which delivers axioms to provider listeners on consumer threads
+	 * @return AxiomListenerPipeline object or null if listeners are called on the query thread
+	 */
+	public AxiomListenerPipeline getListenerPipeline() 
+	{
+		return listenerPipeline;
+	}
+
+	/**
+	 * Set pipeline to deliver axioms to provider listeners on consumer threads.
+	 * Applies to resources bound by scripts parsed after it is set.
+	 * @param listenerPipeline AxiomListenerPipeline object or null for listeners to be called on the query thread
+	 */
+	public void setListenerPipeline(AxiomListenerPipeline listenerPipeline) 
+	{
+		this.listenerPipeline = listenerPipeline;
+	}
 }
@@ -8,11 +8,14 @@ import java.util.Map;
 import au.com.cybersearch2.classy_logic.helper.QualifiedName;
 import au.com.cybersearch2.classy_logic.interfaces.AxiomCollection;
 import au.com.cybersearch2.classy_logic.interfaces.AxiomSource;
+import au.com.cybersearch2.classy_logic.interfaces.BatchSolutionHandler;
 import au.com.cybersearch2.classy_logic.interfaces.SolutionHandler;
 import au.com.cybersearch2.classy_logic.pattern.Axiom;
 import au.com.cybersearch2.classy_logic.pattern.KeyName;
 import au.com.cybersearch2.classy_logic.pattern.Template;
 import au.com.cybersearch2.classy_logic.query.AxiomMapCollection;
+import au.com.cybersearch2.classy_logic.query.ExecutionMonitor;
+import au.com.cybersearch2.classy_logic.query.QueryProfiler;
 import au.com.cybersearch2.classy_logic.query.QuerySpec;
 import au.com.cybersearch2.classy_logic.query.SingleAxiomSource;
 import au.com.cybersearch2.classy_logic.query.Solution;
@@ -43,6 +46,16 @@ public class QueryParams
 	protected Solution initialSolution;
     /** Container for template axiom parameters */
     protected Map<QualifiedName, Axiom> parametersMap;
+    /** Flag set true if solution axioms are overwritten in place by the next solution */
+    protected boolean reuseRows;
+    /** Cancellation and deadline control (optional) */
+    protected ExecutionMonitor executionMonitor;
+    /** Collector of execution counters and timings (optional) */
+    protected QueryProfiler queryProfiler;
+    /** Receives solutions in batches instead of the solution handler (optional) */
+    protected BatchSolutionHandler batchSolutionHandler;
+    /** Number of solutions in a full batch */
+    protected int batchSize;
 
     static
     {
@@ -55,6 +68,13 @@ public class QueryParams
             }};
     }
     
+	/**
+	 * Construct empty QueryParams object to be filled by ObjectGraphCopier
+	 */
+	protected QueryParams()
+	{
+	}
+
 	/**
 	 * Construct QueryParams object
 	 * @param scope Specified scope
@@ -154,6 +174,94 @@ public class QueryParams
 		this.solutionHandler = solutionHandler;
 	}
 
+	/**
+	 * Returns handler which receives solutions in batches
+	 * @return BatchSolutionHandler object or null if none set
+	 */
+	public BatchSolutionHandler getBatchSolutionHandler()
+	{
+		return batchSolutionHandler;
+	}
+
+	/**
+	 * Returns number of solutions in a full batch
+	 * @return int
+	 */
+	public int getBatchSize()
+	{
+		return batchSize;
+	}
+
+	/**
+	 * Set handler to receive solutions in batches of copied rows. Replaces the solution handler.
+	 * Solution axioms are then overwritten in place, as each solution is copied into its batch.
+	 * @param batchSolutionHandler BatchSolutionHandler object or null to use the solution handler 
+	 * @param batchSize Number of solutions in a full batch
+	 */
+	public void setBatchSolutionHandler(BatchSolutionHandler batchSolutionHandler, int batchSize)
+	{
+		if ((batchSolutionHandler != null) && (batchSize < 1))
+			throw new IllegalArgumentException("Batch size must be at least 1");
+		this.batchSolutionHandler = batchSolutionHandler;
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Returns flag set true if solution axioms are overwritten in place by the next solution
+	 * @return boolean
+	 */
+	public boolean isReuseRows()
+	{
+		return reuseRows;
+	}
+
+	/**
+	 * Set flag to overwrite solution axioms in place instead of creating new axioms for each solution.
+	 * Only set when the solution handler consumes each solution immediately. An axiom can be
+	 * retained by calling Axiom copy().
+	 * @param reuseRows boolean
+	 */
+	public void setReuseRows(boolean reuseRows)
+	{
+		this.reuseRows = reuseRows;
+	}
+
+	/**
+	 * Returns cancellation and deadline control
+	 * @return ExecutionMonitor object or null if none set
+	 */
+	public ExecutionMonitor getExecutionMonitor()
+	{
+		return executionMonitor;
+	}
+
+	/**
+	 * Set cancellation and deadline control
+	 * @param executionMonitor ExecutionMonitor object
+	 */
+	public void setExecutionMonitor(ExecutionMonitor executionMonitor)
+	{
+		this.executionMonitor = executionMonitor;
+	}
+
+	/**
+	 * Returns collector of execution counters and timings
+	 * @return QueryProfiler object or null if not profiling
+	 */
+	public QueryProfiler getQueryProfiler()
+	{
+		return queryProfiler;
+	}
+
+	/**
+	 * Set collector of execution counters and timings. Profiling is off by default.
+	 * @param queryProfiler QueryProfiler object or null to stop profiling
+	 */
+	public void setQueryProfiler(QueryProfiler queryProfiler)
+	{
+		this.queryProfiler = queryProfiler;
+	}
+
 	/**
 	 * Returns the scope
 	 * @return Scope object
@@ -235,6 +343,15 @@ public class QueryParams
         return initialSolution != null;
     }
  
+    /**
+     * Set initial solution, replacing any existing one
+     * @param initialSolution Solution object
+     */
+    public void setInitialSolution(Solution initialSolution)
+    {
+        this.initialSolution = initialSolution;
+    }
+
     /**
      * Returns initial solution, creating one if it does not exist
      * @return Solution object
@@ -18,23 +18,46 @@ package au.com.cybersearch2.classy_logic;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.InputStream;
-import java.util.HashMap;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 
 import au.com.cybersearch2.classy_logic.compile.OperandMap;
 import au.com.cybersearch2.classy_logic.compile.ParserAssembler;
 import au.com.cybersearch2.classy_logic.compile.ParserTask;
 import au.com.cybersearch2.classy_logic.expression.ExpressionException;
 import au.com.cybersearch2.classy_logic.helper.NameParser;
+import au.com.cybersearch2.classy_logic.helper.ObjectGraphCopier;
 import au.com.cybersearch2.classy_logic.helper.QualifiedName;
 import au.com.cybersearch2.classy_logic.interfaces.AxiomProvider;
+import au.com.cybersearch2.classy_logic.interfaces.BatchSolutionHandler;
+import au.com.cybersearch2.classy_logic.interfaces.IndexedSolutionHandler;
 import au.com.cybersearch2.classy_logic.interfaces.SolutionHandler;
 import au.com.cybersearch2.classy_logic.parser.ParseException;
 import au.com.cybersearch2.classy_logic.parser.QueryParser;
 import au.com.cybersearch2.classy_logic.pattern.Axiom;
+import au.com.cybersearch2.classy_logic.pattern.AxiomSchema;
+import au.com.cybersearch2.classy_logic.pipeline.AsyncAxiomListener;
+import au.com.cybersearch2.classy_logic.query.ExecutionMonitor;
+import au.com.cybersearch2.classy_logic.query.QueryProfiler;
+import au.com.cybersearch2.classy_logic.query.QueryExecutionException;
 import au.com.cybersearch2.classy_logic.query.QueryLauncher;
 import au.com.cybersearch2.classy_logic.query.QuerySpec;
+import au.com.cybersearch2.classy_logic.query.Solution;
 
 /**
  * QueryProgram
@@ -90,6 +113,15 @@ public class QueryProgram extends QueryLauncher
 	protected FunctionManager functionManager;
 	/** Resource path base */
 	protected File resourceBase;
+	/** Executor for asynchronous queries. A default is created on first use if not set */
+	protected Executor executor;
+	/** Scope names of fan-out queries declared by the script, by query name. An empty list denotes all scopes. */
+	protected Map<String, List<String>> fanOutMap;
+	/** Copies of this program kept for parallel batches. Created on first use. */
+	protected QueryProgramPool batchPool;
+	/** Held while a query runs, as queries share the compiled state of this program. 
+	 *  Unlike a monitor, threads waiting for it, including virtual threads, do not pin a carrier thread. */
+	protected ReentrantLock queryLock;
 
 	/**
 	 * Default QueryProgram constructor
@@ -132,7 +164,9 @@ public class QueryProgram extends QueryLauncher
 		else
 			resourceBase = new File(".");
 		// Scope container provides intra-scope access
-		scopes = new HashMap<String, Scope>();
+		scopes = new LinkedHashMap<String, Scope>();
+		fanOutMap = new LinkedHashMap<String, List<String>>();
+		queryLock = new ReentrantLock();
 		// Create global scope
 		Scope globalScope = new Scope(scopes, GLOBAL_SCOPE, Scope.EMPTY_PROPERTIES);
 		injectScope(globalScope);
@@ -262,27 +296,170 @@ public class QueryProgram extends QueryLauncher
 	}
 
 	/**
-	 * Execute query framed with query parameters
+	 * Execute query identified by name in named scope, delivering solutions in batches.
+	 * @param scopeName
+	 * @param queryName
+	 * @param batchSolutionHandler Handler to process each batch of solutions generated by the query 
+	 * @param batchSize Number of solutions in a full batch
+     * @return Result object containing any result lists generated by the query
+	 */
+	public Result executeQuery(String scopeName, String queryName, BatchSolutionHandler batchSolutionHandler, int batchSize)
+	{
+		QueryParams queryParams = getQueryParams(scopeName, queryName);
+		queryParams.setBatchSolutionHandler(batchSolutionHandler, batchSize);
+		return executeQuery(queryParams);
+	}
+
+	/**
+	 * Execute query framed with query parameters. Queries of this program run one at a time, 
+	 * so a call waits while another thread is executing a query of this program.
 	 * @param queryParams The query parameters, including the query specification
 	 * @return Result object containing any result lists generated by the query
 	 */
 	public Result executeQuery(QueryParams queryParams)
 	{
+		queryLock.lock();
+		try
+		{
+			return doExecuteQuery(queryParams);
+		}
+		finally
+		{
+			queryLock.unlock();
+		}
+	}
+
+	/**
+	 * Execute query framed with query parameters while holding the query lock
+	 * @param queryParams The query parameters, including the query specification
+	 * @return Result object containing any result lists generated by the query
+	 */
+	protected Result doExecuteQuery(QueryParams queryParams)
+	{
+		ExecutionMonitor monitor = queryParams.getExecutionMonitor();
+		ExecutionMonitor previousMonitor = null;
+		if (monitor != null)
+		{   // Bind monitor to this thread for checking in long running loops
+			monitor.check();
+			previousMonitor = ExecutionMonitor.setCurrent(monitor);
+		}
+		QueryProfiler profiler = queryParams.getQueryProfiler();
+		QueryProfiler previousProfiler = null;
+		if (profiler != null)
+			previousProfiler = QueryProfiler.setCurrent(profiler);
 		Scope scope = queryParams.getScope();
 		ScopeContext scopeContext = scope.getContext(false);
-		Map<QualifiedName, Iterable<Axiom>> listMap = null;
-		Map<QualifiedName, Axiom> axiomMap = null;
+		Result result = null;
 		try
 		{
 		    launch(queryParams);
-			listMap = scope.getListMap();
-			axiomMap = scope.getAxiomMap();
+		    result = scope.getResult();
+		    result.setQueryProfiler(profiler);
 		}
 		finally
 		{
 			scopeContext.resetScope();
+			if (monitor != null)
+				ExecutionMonitor.setCurrent(previousMonitor);
+			if (profiler != null)
+				QueryProfiler.setCurrent(previousProfiler);
 		}
-		return new Result(listMap, axiomMap);
+		return result;
+	}
+
+	/**
+	 * Execute query identified by name in named scope on the query executor.
+	 * @param scopeName
+	 * @param queryName
+	 * @param solutionHandler Handler to process each Solution generated by the query 
+	 * @return Future for Result object. Cancelling the future aborts the query.
+	 */
+	public Future<Result> executeQueryAsync(String scopeName, String queryName, SolutionHandler solutionHandler)
+	{
+		QueryParams queryParams = getQueryParams(scopeName, queryName);
+		queryParams.setSolutionHandler(solutionHandler);
+		return executeQueryAsync(queryParams);
+	}
+
+	/**
+	 * Execute query identified by name in named scope on the query executor with a deadline.
+	 * @param scopeName
+	 * @param queryName
+	 * @param solutionHandler Handler to process each Solution generated by the query 
+	 * @param timeout Time allowed from now until query completes
+	 * @param unit Time unit of timeout
+	 * @return Future for Result object. Cancelling the future aborts the query.
+	 */
+	public Future<Result> executeQueryAsync(String scopeName, String queryName, SolutionHandler solutionHandler, long timeout, TimeUnit unit)
+	{
+		QueryParams queryParams = getQueryParams(scopeName, queryName);
+		queryParams.setSolutionHandler(solutionHandler);
+		queryParams.setExecutionMonitor(new ExecutionMonitor(timeout, unit));
+		return executeQueryAsync(queryParams);
+	}
+
+	/**
+	 * Execute query framed with query parameters on the query executor.
+	 * Calls on one program are serialized: the query holds the program for its whole run, including 
+	 * solution handler callbacks, as the handler sees solutions built from the program's compiled state. 
+	 * Queued queries wait without holding a thread of their own if the executor uses virtual threads, 
+	 * and a queued query which is cancelled stops waiting. To run queries concurrently, 
+	 * execute them on copies taken from a QueryProgramPool.
+	 * @param queryParams The query parameters, including the query specification and optional execution monitor
+	 * @return Future for Result object. Cancelling the future aborts the query.
+	 */
+	public Future<Result> executeQueryAsync(final QueryParams queryParams)
+	{
+		if (queryParams.getExecutionMonitor() == null)
+			queryParams.setExecutionMonitor(new ExecutionMonitor());
+		final ExecutionMonitor monitor = queryParams.getExecutionMonitor();
+		Callable<Result> callable = new Callable<Result>()
+		{
+			@Override
+			public Result call() throws Exception
+			{   // Wait interruptibly so cancelling a queued query releases its thread
+				queryLock.lockInterruptibly();
+				try
+				{
+					return doExecuteQuery(queryParams);
+				}
+				finally
+				{
+					queryLock.unlock();
+				}
+			}
+		};
+		FutureTask<Result> queryTask = new FutureTask<Result>(callable)
+		{
+			@Override
+			public boolean cancel(boolean mayInterruptIfRunning)
+			{   // Abort the query at the next check, even if the thread is not interrupted
+				monitor.cancel();
+				return super.cancel(mayInterruptIfRunning);
+			}
+		};
+		getExecutor().execute(queryTask);
+		return queryTask;
+	}
+
+	/**
+	 * Returns executor for asynchronous queries
+	 * @return Executor object
+	 */
+	public synchronized Executor getExecutor()
+	{
+		if (executor == null)
+			executor = createDefaultExecutor();
+		return executor;
+	}
+
+	/**
+	 * Set executor for asynchronous queries
+	 * @param executor Executor object
+	 */
+	public synchronized void setExecutor(Executor executor)
+	{
+		this.executor = executor;
 	}
 
 	/**
@@ -317,6 +494,301 @@ public class QueryProgram extends QueryLauncher
 
 	}
 
+	/**
+	 * Execute query identified by name in named scope once for each parameter set.
+	 * Each parameter axiom is placed in the initial solution, so it supplies the axiom of the same name 
+	 * in the query specification. The query parameters and scope checkpoint are set up once for the batch.
+	 * @param scopeName
+	 * @param queryName
+	 * @param parameters Parameter axioms in input order
+	 * @param solutionHandler Handler to process each Solution, tagged with index of parameter set
+	 * @return Result of each parameter set in input order
+	 * @throws QueryExecutionException if the query fails for any parameter set
+	 */
+	public List<Result> executeBatch(String scopeName, String queryName, Iterable<Axiom> parameters, IndexedSolutionHandler solutionHandler)
+	{
+		List<Axiom> parameterList = toList(parameters);
+		Result[] results = new Result[parameterList.size()];
+		executeBatch(scopeName, queryName, parameterList, new AtomicInteger(), results, solutionHandler);
+		return Arrays.asList(results);
+	}
+
+	/**
+	 * Execute query identified by name in named scope once for each parameter set, running 
+	 * parameter sets in parallel on this program and copies of it. The copies are kept for 
+	 * later batches and only replaced if a batch needs more of them. To control the copies,
+	 * create a QueryProgramPool and call its executeBatch() instead.
+	 * @param scopeName
+	 * @param queryName
+	 * @param parameters Parameter axioms in input order
+	 * @param solutionHandler Handler to process each Solution, tagged with index of parameter set
+	 * @param parallelism Maximum number of parameter sets running at once
+	 * @return Result of each parameter set in input order
+	 * @throws QueryExecutionException if the query fails for any parameter set
+	 * @see #executeBatch(String, String, Iterable, IndexedSolutionHandler)
+	 */
+	public List<Result> executeBatch(String scopeName, String queryName, Iterable<Axiom> parameters, IndexedSolutionHandler solutionHandler, int parallelism)
+	{
+		if (parallelism <= 1)
+			return executeBatch(scopeName, queryName, parameters, solutionHandler);
+		// This program runs on the calling thread, so one less copy is needed
+		QueryProgramPool pool = getBatchPool(parallelism - 1);
+		return pool.executeBatch(scopeName, queryName, parameters, solutionHandler, this);
+	}
+
+	/**
+	 * Returns pool holding at least given number of idle copies of this program. The copies are
+	 * made before this program runs any parameter sets, as copying requires it to be idle.
+	 * @param size Number of copies required
+	 * @return QueryProgramPool object
+	 */
+	protected synchronized QueryProgramPool getBatchPool(int size)
+	{
+		if ((batchPool == null) || (batchPool.getMaxSize() < size))
+			batchPool = new QueryProgramPool(this, size);
+		batchPool.warmUp(size);
+		return batchPool;
+	}
+
+	/**
+	 * Execute query for parameter sets taken in turn from a shared position until all are done.
+	 * Several programs may work through the same parameter sets at once.
+	 * @param scopeName
+	 * @param queryName
+	 * @param parameterList Parameter axioms
+	 * @param nextIndex Position of next parameter set to run
+	 * @param results Receives result of each parameter set
+	 * @param solutionHandler Handler shared by all programs
+	 * @throws QueryExecutionException if the query fails for any parameter set
+	 */
+	protected void executeBatch(
+			String scopeName, 
+			String queryName, 
+			List<Axiom> parameterList, 
+			AtomicInteger nextIndex, 
+			Result[] results, 
+			final IndexedSolutionHandler solutionHandler)
+	{
+		queryLock.lock();
+		try
+		{
+			doExecuteBatch(scopeName, queryName, parameterList, nextIndex, results, solutionHandler);
+		}
+		finally
+		{
+			queryLock.unlock();
+		}
+	}
+
+	/**
+	 * Execute query for parameter sets while holding the query lock
+	 * @see #executeBatch(String, String, List, AtomicInteger, Result[], IndexedSolutionHandler)
+	 */
+	protected void doExecuteBatch(
+			String scopeName, 
+			String queryName, 
+			List<Axiom> parameterList, 
+			AtomicInteger nextIndex, 
+			Result[] results, 
+			final IndexedSolutionHandler solutionHandler)
+	{
+		QueryParams queryParams = getQueryParams(scopeName, queryName);
+		final int[] current = new int[1];
+		queryParams.setSolutionHandler(new SolutionHandler()
+		{
+			@Override
+			public boolean onSolution(Solution solution)
+			{
+				synchronized (solutionHandler)
+				{
+					return solutionHandler.onSolution(current[0], solution);
+				}
+			}
+		});
+		Scope scope = queryParams.getScope();
+		ScopeContext scopeContext = scope.getContext(false);
+		int index;
+		try
+		{
+			while ((index = nextIndex.getAndIncrement()) < parameterList.size())
+			{
+				current[0] = index;
+				Axiom parameter = parameterList.get(index);
+				Solution initialSolution = new Solution();
+				initialSolution.put(parameter.getName(), parameter);
+				queryParams.setInitialSolution(initialSolution);
+				try
+				{
+					launch(queryParams);
+					results[index] = scope.getResult();
+				}
+				catch (RuntimeException e)
+				{   // Stop other programs taking further parameter sets
+					nextIndex.set(parameterList.size());
+					throw new QueryExecutionException("Parameter set " + index + " failed: " + e.getMessage(), e);
+				}
+				finally
+				{
+					scopeContext.restart();
+				}
+			}
+		}
+		finally
+		{
+			scopeContext.resetScope();
+		}
+	}
+
+	/**
+	 * Returns parameter axioms as a list
+	 * @param parameters Parameter axioms
+	 * @return List of Axiom objects
+	 */
+	static List<Axiom> toList(Iterable<Axiom> parameters)
+	{
+		if (parameters instanceof List)
+			return (List<Axiom>)parameters;
+		List<Axiom> parameterList = new ArrayList<Axiom>();
+		for (Axiom parameter: parameters)
+			parameterList.add(parameter);
+		return parameterList;
+	}
+
+    /**
+     * Declare a query to run in several scopes at once by ScopeFanOut
+     * @param queryName Name of query declared in each scope
+     * @param scopeNames Names of scopes or empty list for all scopes which declare the query
+     * @throws ExpressionException if a fan-out is already declared for the query
+     */
+    public void putFanOutQuery(String queryName, List<String> scopeNames)
+    {
+        if (fanOutMap.containsKey(queryName))
+            throw new ExpressionException("Fan-out query \"" + queryName + "\" already exists");
+        fanOutMap.put(queryName, new ArrayList<String>(scopeNames));
+    }
+
+    /**
+     * Check every fan-out query names scopes which exist and declare the query.
+     * Called once the whole script is parsed, as scopes may be declared after the fan-out.
+     * @throws ExpressionException if a scope does not exist or does not declare the query
+     */
+    public void checkFanOutQueries()
+    {
+        for (Map.Entry<String, List<String>> entry: fanOutMap.entrySet())
+        {
+            String queryName = entry.getKey();
+            if (entry.getValue().isEmpty() && getScopeNames(queryName).isEmpty())
+                throw new ExpressionException("Fan-out query \"" + queryName + "\" is not declared in any scope");
+            for (String scopeName: entry.getValue())
+            {
+                Scope scope = scopes.get(scopeName);
+                if (scope == null)
+                    throw new ExpressionException("Fan-out query \"" + queryName + "\" scope \"" + scopeName + "\" does not exist");
+                if (scope.getQuerySpec(queryName) == null)
+                    throw new ExpressionException("Query \"" + queryName + "\" does not exist in scope \"" + scopeName + "\"");
+            }
+        }
+    }
+
+    /**
+     * Returns scope names declared by the script for a fan-out query
+     * @param queryName Name of query
+     * @return List of scope names or null if no fan-out is declared for the query
+     */
+    public List<String> getFanOutScopes(String queryName)
+    {
+        List<String> scopeNameList = fanOutMap.get(queryName);
+        if (scopeNameList == null)
+            return null;
+        if (scopeNameList.isEmpty())
+            return getScopeNames(queryName);
+        return Collections.unmodifiableList(scopeNameList);
+    }
+
+    /**
+     * Returns names of all scopes which declare a query, in order of declaration
+     * @param queryName Name of query
+     * @return List of scope names
+     */
+    public List<String> getScopeNames(String queryName)
+    {
+        List<String> scopeNameList = new ArrayList<String>();
+        for (Scope scope: scopes.values())
+            if (scope.getQuerySpec(queryName) != null)
+                scopeNameList.add(scope.getName());
+        return scopeNameList;
+    }
+
+    /**
+     * Returns a copy of this program with its compiled scopes, templates, axioms and operands
+     * duplicated, so the copy can execute queries on another thread without re-parsing the script.
+     * Provider and function managers, axiom providers, asynchronous listeners and the executor are shared with the copy.
+     * @return QueryProgram object
+     */
+    public QueryProgram copy()
+    {
+        queryLock.lock();
+        try
+        {
+            return doCopy();
+        }
+        finally
+        {
+            queryLock.unlock();
+        }
+    }
+
+    /**
+     * Returns a copy of this program while holding the query lock
+     * @return QueryProgram object
+     */
+    protected synchronized QueryProgram doCopy()
+    {
+        ObjectGraphCopier copier = new ObjectGraphCopier();
+        copier.share(providerManager);
+        copier.share(functionManager);
+        copier.share(executor);
+        copier.share(batchPool);
+        copier.share(queryLock);
+        // Providers and asynchronous listeners hold external resources and are thread safe
+        copier.shareType(AxiomProvider.class);
+        copier.shareType(AsyncAxiomListener.class);
+        // Schemas of compact axioms are immutable and interned
+        copier.shareType(AxiomSchema.class);
+        QueryProgram queryProgram = copier.copy(this);
+        // Copies make their own batch pool if needed
+        queryProgram.batchPool = null;
+        queryProgram.queryLock = new ReentrantLock();
+        return queryProgram;
+    }
+
+    /**
+     * Returns executor which starts a virtual thread for each query, if supported by the runtime, 
+     * otherwise a pool of daemon threads.
+     * @return Executor object
+     */
+    protected Executor createDefaultExecutor()
+    {
+        try
+        {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (Executor) method.invoke(null);
+        }
+        catch (Exception e)
+        {   // Virtual threads not available
+        }
+        return Executors.newCachedThreadPool(new ThreadFactory()
+        {
+            @Override
+            public Thread newThread(Runnable runnable)
+            {
+                Thread thread = new Thread(runnable, "query-executor");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
     /**
      * Open resource with properties, if supplied
      * @param resourceName Resource name
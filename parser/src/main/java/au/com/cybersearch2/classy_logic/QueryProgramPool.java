@@ -0,0 +1,341 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import au.com.cybersearch2.classy_logic.interfaces.IndexedSolutionHandler;
+import au.com.cybersearch2.classy_logic.pattern.Axiom;
+import au.com.cybersearch2.classy_logic.query.QueryExecutionException;
+
+/**
+ * QueryProgramPool
+ * Lends out copies of a compiled QueryProgram so queries can run on many threads at once.
+ * The script is parsed once into the master program, which is never lent out. Each pooled
+ * program is a deep copy of the master and is used by one thread at a time between
+ * checkout() and checkin(). Copies are created on demand up to the maximum pool size,
+ * or in advance by warmUp().
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class QueryProgramPool
+{
+    /** Compiled program from which pooled programs are copied */
+    protected QueryProgram master;
+    /** Maximum number of programs in the pool */
+    protected int maxSize;
+    /** Programs available for checkout */
+    protected ArrayDeque<QueryProgram> idleQueue;
+    /** All programs belonging to the pool */
+    protected Set<QueryProgram> members;
+    /** Number of programs being created outside the pool lock */
+    protected int creatingCount;
+
+    /**
+     * Construct QueryProgramPool object
+     * @param master Compiled program to copy. Must not be executing queries while copies are being made.
+     * @param maxSize Maximum number of programs to lend out at once
+     */
+    public QueryProgramPool(QueryProgram master, int maxSize)
+    {
+        if (maxSize < 1)
+            throw new IllegalArgumentException("Pool size must be at least 1");
+        this.master = master;
+        this.maxSize = maxSize;
+        idleQueue = new ArrayDeque<QueryProgram>();
+        members = Collections.newSetFromMap(new IdentityHashMap<QueryProgram, Boolean>());
+    }
+
+    /**
+     * Construct QueryProgramPool object compiled to specified script
+     * @param script eXPL program
+     * @param maxSize Maximum number of programs to lend out at once
+     */
+    public QueryProgramPool(String script, int maxSize)
+    {
+        this(new QueryProgram(script), maxSize);
+    }
+
+    /**
+     * Create idle programs so the pool holds at least the given number, within the maximum size
+     * @param count Number of programs required
+     */
+    public void warmUp(int count)
+    {
+        while (reserve(count))
+        {
+            QueryProgram program = null;
+            try
+            {
+                program = master.copy();
+            }
+            finally
+            {
+                add(program);
+            }
+        }
+    }
+
+    /**
+     * Returns a program for the exclusive use of the caller, waiting if all programs are in use
+     * @return QueryProgram object
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public QueryProgram checkout() throws InterruptedException
+    {
+        return checkout(0, null);
+    }
+
+    /**
+     * Returns a program for the exclusive use of the caller, waiting up to given time if all programs are in use
+     * @param timeout Maximum time to wait or 0 to wait indefinitely
+     * @param unit Time unit of timeout. May be null if timeout is 0.
+     * @return QueryProgram object or null if timeout expires
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public QueryProgram checkout(long timeout, TimeUnit unit) throws InterruptedException
+    {
+        long deadline = timeout > 0 ? System.nanoTime() + unit.toNanos(timeout) : 0L;
+        synchronized (this)
+        {
+            while (idleQueue.isEmpty())
+            {
+                if (members.size() + creatingCount < maxSize)
+                {
+                    ++creatingCount;
+                    break;
+                }
+                if (timeout <= 0)
+                    wait();
+                else
+                {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0)
+                        return null;
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                }
+            }
+            if (!idleQueue.isEmpty())
+                return idleQueue.pop();
+        }
+        // Copy outside the lock so other threads can check in and out meanwhile
+        QueryProgram program = null;
+        try
+        {
+            program = master.copy();
+        }
+        finally
+        {
+            synchronized (this)
+            {
+                --creatingCount;
+                if (program != null)
+                    members.add(program);
+                else
+                    notifyAll();
+            }
+        }
+        return program;
+    }
+
+    /**
+     * Return program to the pool
+     * @param program Program obtained from checkout()
+     * @throws IllegalArgumentException if program does not belong to this pool
+     */
+    public synchronized void checkin(QueryProgram program)
+    {
+        if (!members.contains(program))
+            throw new IllegalArgumentException("Query program does not belong to this pool");
+        idleQueue.push(program);
+        notifyAll();
+    }
+
+    /**
+     * Execute query identified by name in named scope once for each parameter set, with up to
+     * the maximum pool size of parameter sets running at once, each program working through
+     * parameter sets in turn.
+     * @param scopeName
+     * @param queryName
+     * @param parameters Parameter axioms in input order
+     * @param solutionHandler Handler to process each Solution, tagged with index of parameter set
+     * @return Result of each parameter set in input order
+     * @throws QueryExecutionException if the query fails for any parameter set
+     * @see QueryProgram#executeBatch(String, String, Iterable, IndexedSolutionHandler)
+     */
+    public List<Result> executeBatch(
+            String scopeName, 
+            String queryName, 
+            Iterable<Axiom> parameters, 
+            IndexedSolutionHandler solutionHandler)
+    {
+        return executeBatch(scopeName, queryName, parameters, solutionHandler, null);
+    }
+
+    /**
+     * Execute query identified by name in named scope once for each parameter set, with pooled
+     * programs working through parameter sets in turn on the executor of the master program. 
+     * An optional program outside the pool works through parameter sets on the calling thread
+     * at the same time.
+     * @param scopeName
+     * @param queryName
+     * @param parameters Parameter axioms in input order
+     * @param solutionHandler Handler to process each Solution, tagged with index of parameter set
+     * @param callerProgram Program to run on the calling thread or null if none
+     * @return Result of each parameter set in input order
+     * @throws QueryExecutionException if the query fails for any parameter set
+     */
+    protected List<Result> executeBatch(
+            final String scopeName, 
+            final String queryName, 
+            Iterable<Axiom> parameters, 
+            final IndexedSolutionHandler solutionHandler,
+            QueryProgram callerProgram)
+    {
+        final List<Axiom> parameterList = QueryProgram.toList(parameters);
+        final Result[] results = new Result[parameterList.size()];
+        final AtomicInteger nextIndex = new AtomicInteger();
+        int workers = Math.min(maxSize, parameterList.size() - (callerProgram != null ? 1 : 0));
+        List<FutureTask<Void>> taskList = new ArrayList<FutureTask<Void>>(Math.max(workers, 0));
+        for (int i = 0; i < workers; ++i)
+        {
+            FutureTask<Void> batchTask = new FutureTask<Void>(new Callable<Void>()
+            {
+                @Override
+                public Void call() throws Exception
+                {
+                    QueryProgram program = checkout();
+                    try
+                    {
+                        program.executeBatch(scopeName, queryName, parameterList, nextIndex, results, solutionHandler);
+                    }
+                    finally
+                    {
+                        checkin(program);
+                    }
+                    return null;
+                }
+            });
+            taskList.add(batchTask);
+            master.getExecutor().execute(batchTask);
+        }
+        try
+        {
+            if (callerProgram != null)
+                callerProgram.executeBatch(scopeName, queryName, parameterList, nextIndex, results, solutionHandler);
+            for (FutureTask<Void> batchTask: taskList)
+            {
+                try
+                {
+                    batchTask.get();
+                }
+                catch (ExecutionException e)
+                {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof QueryExecutionException)
+                        throw (QueryExecutionException)cause;
+                    throw new QueryExecutionException(cause.getMessage(), cause);
+                }
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new QueryExecutionException("Interrupted waiting for parameter sets", e);
+        }
+        finally
+        {   // Stop taking parameter sets after a failure
+            nextIndex.set(parameterList.size());
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Returns compiled program from which pooled programs are copied
+     * @return QueryProgram object
+     */
+    public QueryProgram getMaster()
+    {
+        return master;
+    }
+
+    /**
+     * Returns maximum number of programs in the pool
+     * @return int
+     */
+    public int getMaxSize()
+    {
+        return maxSize;
+    }
+
+    /**
+     * Returns number of programs created by the pool
+     * @return int
+     */
+    public synchronized int getSize()
+    {
+        return members.size();
+    }
+
+    /**
+     * Returns number of programs available for checkout
+     * @return int
+     */
+    public synchronized int getIdleCount()
+    {
+        return idleQueue.size();
+    }
+
+    /**
+     * Reserve space for a new idle program if the pool holds fewer than given number
+     * @param count Number of programs required
+     * @return flag set true if space reserved
+     */
+    private synchronized boolean reserve(int count)
+    {
+        int target = Math.min(count, maxSize);
+        if (members.size() + creatingCount >= target)
+            return false;
+        ++creatingCount;
+        return true;
+    }
+
+    /**
+     * Add new program to the idle queue and release its reservation
+     * @param program Copy of master or null if the copy failed
+     */
+    private synchronized void add(QueryProgram program)
+    {
+        --creatingCount;
+        if (program != null)
+        {
+            members.add(program);
+            idleQueue.push(program);
+        }
+        notifyAll();
+    }
+}
@@ -19,12 +19,15 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.Map;
 
+import au.com.cybersearch2.classy_logic.helper.AxiomUtils;
 import au.com.cybersearch2.classy_logic.helper.QualifiedName;
 import au.com.cybersearch2.classy_logic.pattern.Axiom;
+import au.com.cybersearch2.classy_logic.query.QueryProfiler;
 
 /**
  * Result
- * Contains result lists and axioms generated by a query
+ * Contains result lists and axioms generated by a query.
+ * Lists are held as snapshots of the query output and are only converted to axioms when accessed.
  * @author Andrew Bowley
  * 3 Mar 2015
  */
@@ -36,6 +39,10 @@ public class Result
 	protected Map<QualifiedName, Iterable<Axiom>> listMap;
     /** Container of result axioms */
     protected Map<QualifiedName, Axiom> axiomMap;
+    /** Container of item list snapshots to be packed into result axioms on first access */
+    protected Map<QualifiedName, Iterable<?>> itemListMap;
+    /** Execution counters and timings or null if the query was not profiled */
+    protected QueryProfiler queryProfiler;
 
 	static
 	{
@@ -53,6 +60,18 @@ public class Result
 		this.axiomMap = axiomMap;
 	}
 
+	/**
+	 * Create Result object with item lists to be packed into axioms on demand
+	 * @param listMap Container of result axiom lists accessible by Iterable interface or null if none available
+	 * @param axiomMap Container of result axioms, which must be modifiable
+	 * @param itemListMap Container of item list snapshots
+	 */
+	public Result(Map<QualifiedName, Iterable<Axiom>> listMap, Map<QualifiedName, Axiom> axiomMap, Map<QualifiedName, Iterable<?>> itemListMap) 
+	{
+		this(listMap, axiomMap);
+		this.itemListMap = itemListMap;
+	}
+
 	/**
 	 * Returns iterator for result list specified by key
 	 * @param qname Qualified name of list
@@ -64,13 +83,47 @@ public class Result
 	}
 
     /**
-     * Returns axiom result specified by key
+     * Returns axiom result specified by key. Safe to call from several threads, 
+     * as an item list is packed into an axiom while holding a lock.
      * @param qname Qualified name of axiom
      * @return Axiom object
      */
     public Axiom getAxiom(QualifiedName qname)
     {
-        return axiomMap.get(qname);
+        if (itemListMap == null)
+            return axiomMap.get(qname);
+        synchronized (itemListMap)
+        {
+            Axiom axiom = axiomMap.get(qname);
+            if (axiom == null)
+            {
+                Iterable<?> items = itemListMap.remove(qname);
+                if (items != null)
+                {
+                    axiom = AxiomUtils.marshallItems(qname.getName(), items);
+                    axiomMap.put(qname, axiom);
+                }
+            }
+            return axiom;
+        }
+    }
+
+    /**
+     * Returns execution counters and timings. Call toString() to print them as a tree.
+     * @return QueryProfiler object or null if the query was not profiled
+     */
+    public QueryProfiler getQueryProfiler()
+    {
+        return queryProfiler;
+    }
+
+    /**
+     * Set execution counters and timings
+     * @param queryProfiler QueryProfiler object or null if the query was not profiled
+     */
+    public void setQueryProfiler(QueryProfiler queryProfiler)
+    {
+        this.queryProfiler = queryProfiler;
     }
 
     /**
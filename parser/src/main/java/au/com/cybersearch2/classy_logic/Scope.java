@@ -74,6 +74,13 @@ public class Scope
         EMPTY_PROPERTIES = Collections.emptyMap();
     }
     
+    /**
+     * Construct empty Scope object to be filled by ObjectGraphCopier
+     */
+    protected Scope()
+    {
+    }
+
     /**
      * Construct a Scope object
      * @param scopeMap Scopes container for access to all scopes
@@ -445,6 +452,21 @@ public class Scope
         return listMap;
     }
 
+    /**
+     * Returns result of query just completed in this scope. The result lists are snapshots, 
+     * so they are unaffected when the scope is reset, and are only converted to axioms when accessed.
+     * @return Result object
+     */
+    public Result getResult()
+    {
+        Map<QualifiedName, Axiom> axiomMap = new HashMap<QualifiedName, Axiom>();
+        Map<QualifiedName, Iterable<?>> itemListMap = new HashMap<QualifiedName, Iterable<?>>();
+        if (!name.equals(QueryProgram.GLOBAL_SCOPE))
+            getGlobalParserAssembler().getOperandMap().copyAxioms(axiomMap, itemListMap);
+        parserAssembler.getOperandMap().copyAxioms(axiomMap, itemListMap);
+        return new Result(getListMap(), axiomMap, itemListMap);
+    }
+
     /** 
      * Returns container with axioms in scope 
      * @return Container which maps QualifiedName to Axiom
@@ -584,9 +606,8 @@ public class Scope
     private Axiom createUnknownAxiom(String axiomName, List<String> termNameList)
     {
         Axiom axiom = new Axiom(axiomName);
-        Unknown unknown = new Unknown();
         for (String termName: termNameList)
-            axiom.addTerm(new Parameter(termName, unknown));
+            axiom.addTerm(new Parameter(termName, Unknown.UNKNOWN));
         return axiom;
     }
 
@@ -16,27 +16,26 @@
 package au.com.cybersearch2.classy_logic;
 
 import java.util.List;
-import java.util.Map;
 
 import au.com.cybersearch2.classy_logic.compile.OperandMap;
 import au.com.cybersearch2.classy_logic.helper.QualifiedName;
-import au.com.cybersearch2.classy_logic.interfaces.Operand;
-import au.com.cybersearch2.classy_logic.terms.Parameter;
 
 /**
  * ScopeContext
  * Information to restore a scope to it's original state plus axiom lists of the
  * QueryProgram which owns the context.
+ * Operand state is checkpointed in the operand map undo log, so restoring the scope only 
+ * visits operands changed while the context was active.
  * @author Andrew Bowley
  * 2 Mar 2015
  */
 public class ScopeContext 
 {
 	protected Scope scope;
-	/** Map of operands and values used to save and restore initial state */
-    protected Map<Operand, Parameter> operandValueMap;
-	/** Map of global operands and values used to save and restore initial state */
-    protected Map<Operand, Parameter> globalOperandValueMap;
+	/** Operand map checkpoint mark used to restore initial state */
+    protected int operandMark;
+	/** Global operand map checkpoint mark used to restore initial state */
+    protected int globalOperandMark;
     /** Names of lists which are empty at time of object construction */
     protected List<QualifiedName> emptyListNames;
     /** Names of global lists which are empty at time of object construction */
@@ -44,6 +43,13 @@ public class ScopeContext
     /** Flag to indicate function scope */
     protected boolean isFunctionScope;
 
+	/**
+	 * Construct empty ScopeContext object to be filled by ObjectGraphCopier
+	 */
+	protected ScopeContext()
+	{
+	}
+
 	/**
 	 * Construct ScopeContext object
 	 * @param scope Scope
@@ -53,29 +59,29 @@ public class ScopeContext
 		this.scope = scope;
 		this.isFunctionScope = isFunctionScope;
 		OperandMap operandMap = scope.getParserAssembler().getOperandMap();
-		operandValueMap = operandMap.getOperandValues();
+		operandMark = operandMap.checkpoint();
 		emptyListNames = operandMap.getEmptyListNames();
 		if (!isFunctionScope && !QueryProgram.GLOBAL_SCOPE.equals(scope.getName()))
 		{
 			OperandMap globalOperandMap = scope.getGlobalScope().getParserAssembler().getOperandMap();
-			globalOperandValueMap = globalOperandMap.getOperandValues();
+			globalOperandMark = globalOperandMap.checkpoint();
 	        emptyGlobalListNames = globalOperandMap.getEmptyListNames();
 		}
 	}
 
 	/**
-	 * Reset scope to initial state by clearing all operands and then assigning default values
+	 * Reset scope to initial state by restoring operands changed since this object was constructed
 	 */
 	public void resetScope()
 	{
 		OperandMap operandMap = scope.getParserAssembler().getOperandMap();
-		operandMap.setOperandValues(operandValueMap);
+		operandMap.rollback(operandMark);
 		operandMap.clearLists(emptyListNames);
 		scope.getParserAssembler().clearScopeAxioms();
-		if (globalOperandValueMap != null)
+		if (emptyGlobalListNames != null)
 		{
 			OperandMap globalOperandMap = scope.getGlobalScope().getParserAssembler().getOperandMap();
-			globalOperandMap.setOperandValues(operandValueMap);
+			globalOperandMap.rollback(globalOperandMark);
 			globalOperandMap.clearLists(emptyGlobalListNames);
 			scope.getGlobalParserAssembler().clearScopeAxioms();
 		}
@@ -83,4 +89,16 @@ public class ScopeContext
 		if (QueryProgram.GLOBAL_SCOPE.equals(scope.getName()))
 			scope.getParserAssembler().onScopeChange(scope);
 	}
+
+	/**
+	 * Reset scope to initial state and start recording changes again, so this context can frame 
+	 * another query. Call resetScope() after the last query.
+	 */
+	public void restart()
+	{
+		resetScope();
+		operandMark = scope.getParserAssembler().getOperandMap().checkpoint();
+		if (emptyGlobalListNames != null)
+			globalOperandMark = scope.getGlobalScope().getParserAssembler().getOperandMap().checkpoint();
+	}
 }
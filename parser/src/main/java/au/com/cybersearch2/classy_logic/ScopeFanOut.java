@@ -0,0 +1,224 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import au.com.cybersearch2.classy_logic.interfaces.ScopeSolutionHandler;
+import au.com.cybersearch2.classy_logic.interfaces.SolutionHandler;
+import au.com.cybersearch2.classy_logic.pattern.Axiom;
+import au.com.cybersearch2.classy_logic.query.QueryExecutionException;
+import au.com.cybersearch2.classy_logic.query.Solution;
+
+/**
+ * ScopeFanOut
+ * Runs a query in a set of scopes concurrently and collects the result of each scope.
+ * Each scope runs on its own copy of the program, checked out of a QueryProgramPool, so
+ * scope changes, locale notifications and solution state are not shared between scopes. 
+ * The scopes are given explicitly, or by a fan-out declaration in the script, such as 
+ * "query color_query [french, german];", or else are all the scopes which declare the query.
+ * A fan-out declaration only names the scopes. The script does not run the query.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class ScopeFanOut
+{
+    /** Copies of the program on which scopes run */
+    protected QueryProgramPool pool;
+
+    /**
+     * Construct ScopeFanOut object
+     * @param pool Pool of program copies, the size of which limits the number of scopes running at once
+     */
+    public ScopeFanOut(QueryProgramPool pool)
+    {
+        this.pool = pool;
+    }
+
+    /**
+     * Construct ScopeFanOut object with its own pool of program copies
+     * @param master Compiled program
+     * @param parallelism Maximum number of scopes running at once
+     */
+    public ScopeFanOut(QueryProgram master, int parallelism)
+    {
+        this(new QueryProgramPool(master, parallelism));
+    }
+
+    /**
+     * Execute query in the scopes declared for it by the script, or else in all scopes which declare the query
+     * @param queryName Name of query
+     * @param solutionHandler Handler to process each Solution generated by the query in each scope 
+     * @return Result of each scope by scope name, in scope order
+     */
+    public Map<String, Result> execute(String queryName, ScopeSolutionHandler solutionHandler)
+    {
+        return execute(queryName, getScopeNames(queryName), Collections.<Axiom>emptyList(), solutionHandler);
+    }
+
+    /**
+     * Execute query in given scopes
+     * @param queryName Name of query
+     * @param scopeNames Names of scopes
+     * @param solutionHandler Handler to process each Solution generated by the query in each scope 
+     * @return Result of each scope by scope name, in scope order
+     */
+    public Map<String, Result> execute(String queryName, Collection<String> scopeNames, ScopeSolutionHandler solutionHandler)
+    {
+        return execute(queryName, scopeNames, Collections.<Axiom>emptyList(), solutionHandler);
+    }
+
+    /**
+     * Execute query with parameters in given scopes
+     * @param queryName Name of query
+     * @param scopeNames Names of scopes
+     * @param parameterList Axioms placed in the initial solution of every scope, such as parameter axioms
+     * @param solutionHandler Handler to process each Solution generated by the query in each scope 
+     * @return Result of each scope by scope name, in scope order
+     * @throws IllegalArgumentException if a scope does not exist or does not declare the query
+     * @throws QueryExecutionException if the query fails in any scope
+     */
+    public Map<String, Result> execute(
+            final String queryName, 
+            Collection<String> scopeNames, 
+            final List<Axiom> parameterList, 
+            final ScopeSolutionHandler solutionHandler)
+    {
+        QueryProgram master = pool.getMaster();
+        List<String> scopeNameList = new ArrayList<String>(scopeNames);
+        for (String scopeName: scopeNameList)
+            if (master.getScope(scopeName).getQuerySpec(queryName) == null)
+                throw new IllegalArgumentException("Query \"" + queryName + "\" does not exist in scope \"" + scopeName + "\"");
+        List<FutureTask<Result>> taskList = new ArrayList<FutureTask<Result>>(scopeNameList.size());
+        for (final String scopeName: scopeNameList)
+        {
+            FutureTask<Result> scopeTask = new FutureTask<Result>(new Callable<Result>()
+            {
+                @Override
+                public Result call() throws Exception
+                {
+                    return executeScope(scopeName, queryName, parameterList, solutionHandler);
+                }
+            });
+            taskList.add(scopeTask);
+            master.getExecutor().execute(scopeTask);
+        }
+        Map<String, Result> resultMap = new LinkedHashMap<String, Result>();
+        try
+        {
+            for (int i = 0; i < taskList.size(); ++i)
+            {
+                String scopeName = scopeNameList.get(i);
+                try
+                {
+                    resultMap.put(scopeName, taskList.get(i).get());
+                }
+                catch (ExecutionException e)
+                {
+                    Throwable cause = e.getCause();
+                    throw new QueryExecutionException("Scope \"" + scopeName + "\" failed: " + cause.getMessage(), cause);
+                }
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new QueryExecutionException("Interrupted waiting for scopes", e);
+        }
+        finally
+        {   // Abandon scopes still running after a failure
+            for (FutureTask<Result> scopeTask: taskList)
+                scopeTask.cancel(true);
+        }
+        return resultMap;
+    }
+
+    /**
+     * Returns names of scopes in which to run a query, as declared by the script or
+     * else all scopes which declare the query
+     * @param queryName Name of query
+     * @return List of scope names
+     */
+    public List<String> getScopeNames(String queryName)
+    {
+        QueryProgram master = pool.getMaster();
+        List<String> scopeNameList = master.getFanOutScopes(queryName);
+        if (scopeNameList != null)
+            return scopeNameList;
+        return master.getScopeNames(queryName);
+    }
+
+    /**
+     * Returns pool of program copies
+     * @return QueryProgramPool object
+     */
+    public QueryProgramPool getPool()
+    {
+        return pool;
+    }
+
+    /**
+     * Run query in one scope on a program checked out of the pool
+     * @param scopeName Name of scope
+     * @param queryName Name of query
+     * @param parameterList Axioms for the initial solution
+     * @param solutionHandler Handler shared by all scopes
+     * @return Result object
+     * @throws InterruptedException if interrupted waiting for a program
+     */
+    protected Result executeScope(
+            final String scopeName, 
+            String queryName, 
+            List<Axiom> parameterList, 
+            final ScopeSolutionHandler solutionHandler) throws InterruptedException
+    {
+        QueryProgram program = pool.checkout();
+        try
+        {
+            QueryParams queryParams = program.getQueryParams(scopeName, queryName);
+            if (!parameterList.isEmpty())
+            {   // Each scope gets its own copy, as parameters may be updated by the query
+                Solution initialSolution = queryParams.getInitialSolution();
+                for (Axiom parameter: parameterList)
+                    initialSolution.put(parameter.getName(), parameter.copy());
+            }
+            queryParams.setSolutionHandler(new SolutionHandler()
+            {
+                @Override
+                public boolean onSolution(Solution solution)
+                {
+                    synchronized (solutionHandler)
+                    {
+                        return solutionHandler.onSolution(scopeName, solution);
+                    }
+                }
+            });
+            return program.executeQuery(queryParams);
+        }
+        finally
+        {
+            pool.checkin(program);
+        }
+    }
+}
@@ -35,6 +35,13 @@ public class Group
     /** Name of Group - expected to be same as name of owning Operand */
     protected String name;
 
+	/**
+	 * Construct empty Group object to be filled by ObjectGraphCopier
+	 */
+	protected Group()
+	{
+	}
+
 	/**
 	 * Construct a Group object
 	 * @param name
@@ -6,7 +6,6 @@ package au.com.cybersearch2.classy_logic.compile;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -15,6 +14,7 @@ import java.util.TreeMap;
 
 import au.com.cybersearch2.classy_logic.pattern.Axiom;
 import au.com.cybersearch2.classy_logic.terms.Parameter;
+import au.com.cybersearch2.classy_logic.terms.UndoLog;
 import au.com.cybersearch2.classy_logic.expression.Evaluator;
 import au.com.cybersearch2.classy_logic.expression.ExpressionException;
 import au.com.cybersearch2.classy_logic.expression.IntegerOperand;
@@ -52,7 +52,16 @@ public class OperandMap
 	protected Map<QualifiedName, ItemList<?>> listMap;
     /** Qualified name of enclosing scope/template context */
     protected QualifiedName qualifiedContextname;
+    /** Log of operand changes since checkpoint. Null until first checkpoint. */
+    protected UndoLog undoLog;
     
+	/**
+	 * Construct empty OperandMap object to be filled by ObjectGraphCopier
+	 */
+	protected OperandMap()
+	{
+	}
+
 	/**
 	 * Construct OperandMap object.
 	 * @param qualifiedContextname Qualified name of the enclosing scope
@@ -119,6 +128,31 @@ public class OperandMap
 				entry.getValue().clearValue();
 	}
 
+	/**
+	 * Start recording operand changes so operands can be restored to their current state by rollback(). 
+	 * The cost of a rollback depends on the number of operands changed, not the number in the map.
+	 * @return Mark to pass to rollback()
+	 */
+	public int checkpoint()
+	{
+		if (undoLog == null)
+		{
+			undoLog = new UndoLog();
+			for (Operand operand: operandMap.values())
+				undoLog.attach((Parameter)operand);
+		}
+		return undoLog.checkpoint();
+	}
+
+	/**
+	 * Restore operands changed since checkpoint which returned given mark
+	 * @param mark Value returned by checkpoint()
+	 */
+	public void rollback(int mark)
+	{
+		undoLog.rollback(mark);
+	}
+
 	/**
 	 * Throws exception for 'Duplicate Operand name' if operand name is a duplicat
 	 * @param name Name of operand in text format
@@ -181,6 +215,8 @@ public class OperandMap
 		{
 			param = expression == null ? new Variable(qname) : new Variable(qname, expression);
 			operandMap.put(qname, param);
+			if (undoLog != null)
+				undoLog.attach((Parameter)param);
 	        nameSet.add(qname.getName());
 		}
 		else if (expression != null)
@@ -201,6 +237,8 @@ public class OperandMap
 		QualifiedName qname = operand.getQualifiedName();
         duplicateOperandCheck(qname);
 		operandMap.put(qname, operand);
+		if (undoLog != null)
+			undoLog.attach((Parameter)operand);
         nameSet.add(qname.getName());
     }
 
@@ -388,6 +426,9 @@ public class OperandMap
 	{
 		operandMap.putAll(operandMap2.operandMap);
 		listMap.putAll(operandMap2.listMap);
+		if (undoLog != null)
+			for (Operand operand: operandMap2.operandMap.values())
+				undoLog.attach((Parameter)operand);
 	}
 
 	/**
@@ -409,31 +450,44 @@ public class OperandMap
      * @param axiomMap Container to receive axioms
      */
     public void copyAxioms(Map<QualifiedName, Axiom> axiomMap)
+    {
+        copyAxioms(axiomMap, null);
+    }
+
+    /**
+     * Copy result axioms to supplied containers. Regular item lists are copied as snapshots 
+     * to be packed into axioms on demand, if a container is supplied for them.
+     * @param axiomMap Container to receive axioms
+     * @param itemListMap Container to receive item list snapshots or null to pack item lists now
+     */
+    public void copyAxioms(Map<QualifiedName, Axiom> axiomMap, Map<QualifiedName, Iterable<?>> itemListMap)
     {
         for (Entry<QualifiedName, ItemList<?>> entry: listMap.entrySet())
         {
             ItemList<?> itemList = entry.getValue();
-            // Create deep copy in case item list is cleared
+            // Clearing an item list replaces its contents, so the result can share them
             Axiom axiom = null;
             if (itemList.getItemClass().equals(Term.class))
             {   // AxiomTermList contains backing axiom
                 AxiomTermList axiomTermList = (AxiomTermList)itemList;
-                axiom = new Axiom(entry.getKey().getName());
-                Axiom source = axiomTermList.getAxiom();
-                for (int i = 0; i < source.getTermCount(); i++)
-                    axiom.addTerm(source.getTermByIndex(i));
+                axiom = new Axiom(axiomTermList.getAxiom(), entry.getKey().getName());
             }
             else if (!itemList.getItemClass().equals(Axiom.class))
             {   // Regular ItemList contains objects which are packed into axiom to return
-                axiom = new Axiom(entry.getKey().getName());
-                Iterator<?> iterator = itemList.getIterable().iterator();
-                while (iterator.hasNext())
-                    axiom.addTerm(new Parameter(Term.ANONYMOUS, iterator.next()));
+                if (itemListMap != null)
+                {   // Defer packing. A later entry replaces an earlier one with the same name.
+                    itemListMap.put(itemList.getQualifiedName(), itemList.getIterable());
+                    axiomMap.remove(itemList.getQualifiedName());
+                }
+                else
+                    axiom = AxiomUtils.marshallItems(entry.getKey().getName(), itemList.getIterable());
             }
             if (axiom != null)
             {
                 // Use fully qualified key to avoid name collisions
                 axiomMap.put(itemList.getQualifiedName(), axiom);
+                if (itemListMap != null)
+                    itemListMap.remove(itemList.getQualifiedName());
             }
         }
     }
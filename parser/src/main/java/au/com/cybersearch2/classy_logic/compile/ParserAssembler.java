@@ -74,6 +74,17 @@ public class ParserAssembler implements LocaleListener
 		{
 			return providerManager.getAxiomProvider(name);
 		}
+
+	    /**
+	     * Returns listener to receive axioms for given provider
+	     * @param axiomProvider Axiom Provider
+	     * @param axiomName Axiom name
+	     * @return AxiomListener object
+	     */
+		public AxiomListener getAxiomListener(AxiomProvider axiomProvider, String axiomName)
+		{
+			return providerManager.getAxiomListener(axiomProvider, axiomName);
+		}
 		
 	    /**
 	     * Returns Axiom Source of specified Axiom Provider and Axiom names
@@ -147,6 +158,13 @@ public class ParserAssembler implements LocaleListener
 	/** External function provider for exection plug ins */
 	ExternalFunctionProvider externalFunctionProvider;
 	
+	/**
+	 * Construct empty ParserAssembler object to be filled by ObjectGraphCopier
+	 */
+	protected ParserAssembler()
+	{
+	}
+
 	/**
 	 * Construct a ParserAssembler object 
 	 * @param scope The name of the enclosing scope 
@@ -453,7 +471,7 @@ public class ParserAssembler implements LocaleListener
         if (axiomProvider == null) 
             throw new ExpressionException("Axiom provider \"" + resourceName + "\" not found");
         if (!qualifiedBindingName.getTemplate().isEmpty())
-            registerAxiomListener(qualifiedBindingName, axiomProvider.getAxiomListener(qualifiedBindingName.toString()));
+            registerAxiomListener(qualifiedBindingName, externalAxiomSource.getAxiomListener(axiomProvider, qualifiedBindingName.toString()));
         else
             // Remove entry from axiomListMap so the axiom is not regarded as internal
             axiomListMap.remove(qualifiedBindingName);
@@ -623,7 +641,6 @@ public class ParserAssembler implements LocaleListener
 	 */
 	public void bindAxiomList(AxiomList axiomList) 
 	{
-		AxiomListener axiomListener = axiomList.getAxiomListener();
 		QualifiedName axiomKey = axiomList.getKey();
         QualifiedName qualifiedAxiomName = findQualifiedAxiomName(axiomKey);
         if (qualifiedAxiomName == null)
@@ -633,16 +650,13 @@ public class ParserAssembler implements LocaleListener
         boolean isChoice = templateMap.containsKey(qualifiedTemplateName) &&
                             templateMap.get(qualifiedTemplateName).isChoice();
         List<Axiom> internalAxiomList = axiomListMap.get(qualifiedAxiomName);
-        // Populate list if already created by the script being compiled
+        // Populate list on demand if already created by the script being compiled
         if (!isChoice && (internalAxiomList != null))
-        {
-            for (Axiom axiom: internalAxiomList)
-                axiomListener.onNextAxiom(axiomKey, axiom);
-        }
+            axiomList.setAxiomSource(new AxiomListSource(internalAxiomList), internalAxiomList.size());
         else
         {
 		    List<AxiomListener> axiomListenerList = getAxiomListenerList(qualifiedTemplateName);
-		    axiomListenerList.add(axiomListener);
+		    axiomListenerList.add(axiomList.getAxiomListener());
         }
 		List<String> axiomTermNameList = axiomTermNameMap.get(qualifiedAxiomName);
 		if (axiomTermNameList != null)
@@ -780,12 +794,24 @@ public class ParserAssembler implements LocaleListener
 	 */
 	@SuppressWarnings({ "unchecked", "rawtypes" })
     public Operand getCallOperand(QualifiedName qname, List<OperandParam> operandParamList)
+	{
+        CallEvaluator<?>callEvaluator = getCallEvaluator(qname);
+        String callName = qname.getTemplate() + "." + qname.getName();
+        return new ParameterOperand(QualifiedName.parseName(callName, qname), operandParamList, callEvaluator);
+	}
+
+	/**
+	 * Returns function identified by library and function name
+	 * @param qname Qualified name of function, with library name in place of template name
+	 * @return CallEvaluator object
+	 * @throws ExpressionException if function not found
+	 */
+    public CallEvaluator<?> getCallEvaluator(QualifiedName qname)
 	{
         String library = qname.getTemplate();
         String name = qname.getName();
         if (library.isEmpty())
             throw new ExpressionException("Call name \"" + qname.toString() + "\" is invalid");
-        String callName = library + "." + name;
 	    if (externalFunctionProvider == null)
 	    {
 	    	if (functionManager == null)
@@ -796,9 +822,22 @@ public class ParserAssembler implements LocaleListener
 	    CallEvaluator<?>callEvaluator = functionProvider.getCallEvaluator(name);
 	    if (callEvaluator == null)
 	        throw new ExpressionException("Function \"" + name + "\" not supported");
-        return new ParameterOperand(QualifiedName.parseName(callName, qname), operandParamList, callEvaluator);
+	    return callEvaluator;
 	}
 
+    /**
+     * Returns flag set true if a call using given name resolves to a function library. 
+     * Calls which do so are not taken as built-in list operations of the same name.
+     * Queries cannot be declared with the name of a built-in list operation.
+     * @param name Name as written in the call
+     * @return boolean
+     */
+    public boolean isDeclaredCall(String name)
+    {
+        String library = getContextName(name).getTemplate();
+        return !library.isEmpty() && (functionManager != null) && functionManager.hasFunctionProvider(library);
+    }
+
 	/**
 	 * Returns operand which invokes a query call.
 	 * @param qualifiedQueryName Qualified query name - can be qualified by the name of a scope
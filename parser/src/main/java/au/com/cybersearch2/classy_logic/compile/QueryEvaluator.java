@@ -32,7 +32,9 @@ import au.com.cybersearch2.classy_logic.interfaces.SolutionHandler;
 import au.com.cybersearch2.classy_logic.pattern.Axiom;
 import au.com.cybersearch2.classy_logic.pattern.KeyName;
 import au.com.cybersearch2.classy_logic.pattern.Template;
+import au.com.cybersearch2.classy_logic.pattern.TermSlots;
 import au.com.cybersearch2.classy_logic.query.QueryLauncher;
+import au.com.cybersearch2.classy_logic.query.QueryProfiler;
 import au.com.cybersearch2.classy_logic.query.QuerySpec;
 import au.com.cybersearch2.classy_logic.query.QueryType;
 import au.com.cybersearch2.classy_logic.query.Solution;
@@ -69,6 +71,13 @@ public class QueryEvaluator  extends QueryLauncher implements CallEvaluator<Axio
     /** Term belonging to inner template - holds AxiomTermList */
     protected Term innerTerm;
 
+    /**
+     * Construct empty QueryEvaluator object to be filled by ObjectGraphCopier
+     */
+    protected QueryEvaluator()
+    {
+    }
+
     /**
      * Construct a QueryEvaluator object for a query specified by query parameters
      * @param qualifiedQueryName Qualified query name - can be qualified by the name of a scope
@@ -178,6 +187,16 @@ public class QueryEvaluator  extends QueryLauncher implements CallEvaluator<Axio
         return (AxiomTermList) innerTerm.getValue();
     }
 
+    /**
+     * Returns kind of profile node for queries called as functions
+     * @return QueryProfiler.CALL
+     */
+    @Override
+    protected String getProfileKind()
+    {
+        return QueryProfiler.CALL;
+    }
+
     /**
      * Returns library and function scope
      * @param parserAssembler
@@ -235,6 +254,9 @@ public class QueryEvaluator  extends QueryLauncher implements CallEvaluator<Axio
         return innerTemplate == null ? 
                 QueryParams.DO_NOTHING : 
                 new SolutionHandler(){
+        /** Positions of inner template terms in solution axiom */
+        TermSlots termSlots;
+            
         @Override
         public boolean onSolution(Solution solution)
         {
@@ -248,10 +270,12 @@ public class QueryEvaluator  extends QueryLauncher implements CallEvaluator<Axio
                     if (innerTemplate.evaluate() == EvaluationStatus.COMPLETE);
                     {
                         Axiom innerAxiom = new Axiom(innerTemplate.getKey());
+                        if (termSlots == null)
+                            termSlots = new TermSlots(innerTemplate);
                         for (int i = 0; i < (innerTemplate.getTermCount()); i++)
                         {
                             String termName = innerTemplate.getTermByIndex(i).getName();
-                            Term term = axiom.getTermByName(termName);
+                            Term term = termSlots.getTerm(axiom, i);
                             if (term == null)
                                 term = new Parameter(termName);
                             innerAxiom.addTerm(term);
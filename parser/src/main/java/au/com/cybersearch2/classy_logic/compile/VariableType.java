@@ -38,6 +38,9 @@ import au.com.cybersearch2.classy_logic.interfaces.ItemList;
 import au.com.cybersearch2.classy_logic.interfaces.Operand;
 import au.com.cybersearch2.classy_logic.interfaces.Term;
 import au.com.cybersearch2.classy_logic.list.ArrayItemList;
+import au.com.cybersearch2.classy_logic.list.BooleanItemList;
+import au.com.cybersearch2.classy_logic.list.DoubleItemList;
+import au.com.cybersearch2.classy_logic.list.LongItemList;
 import au.com.cybersearch2.classy_logic.list.AxiomList;
 import au.com.cybersearch2.classy_logic.list.AxiomTermList;
 import au.com.cybersearch2.classy_logic.parser.ParseException;
@@ -69,6 +72,13 @@ public class VariableType
     /** Key value for Currency country evaluation operand property */
 	public final static String QUALIFIER_OPERAND = "QualifierOperand";
 	
+	/**
+	 * Construct empty VariableType object to be filled by ObjectGraphCopier
+	 */
+	protected VariableType()
+	{
+	}
+
 	/**
 	 * Construct VariableType object
 	 * @param operandType Logic programming type enumeration
@@ -238,11 +248,11 @@ public class VariableType
 	    switch (operandType)
 	    {
         case INTEGER:
-            return new ArrayItemList<Long>(Long.class, new IntegerOperand(qname));
+            return new LongItemList(new IntegerOperand(qname));
         case DOUBLE:
-            return new ArrayItemList<Double>(Double.class, new DoubleOperand(qname));
+            return new DoubleItemList(new DoubleOperand(qname));
         case BOOLEAN:
-            return new ArrayItemList<Boolean>(Boolean.class, new BooleanOperand(qname));
+            return new BooleanItemList(new BooleanOperand(qname));
         case STRING:
             return new ArrayItemList<String>(String.class, new StringOperand(qname));
         case DECIMAL:
@@ -25,6 +25,13 @@ import au.com.cybersearch2.classy_logic.helper.QualifiedName;
  */
 public class AssignOnlyOperand extends NullOperand 
 {
+	/**
+	 * Construct empty AssignOnlyOperand object to be filled by ObjectGraphCopier
+	 */
+	protected AssignOnlyOperand()
+	{
+	}
+
 	/**
 	 * Construct AssignOnlyOperand object
      * @param qname Qualified name
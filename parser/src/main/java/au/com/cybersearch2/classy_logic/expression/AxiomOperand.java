@@ -44,6 +44,13 @@ public class AxiomOperand extends ExpressionOperand<AxiomList>implements Concate
     /** Root of Operand tree for unification */
     protected Operand paramsTreeRoot;
     
+    /**
+     * Construct empty AxiomOperand object to be filled by ObjectGraphCopier
+     */
+    protected AxiomOperand()
+    {
+    }
+
     /**
      * Axiom Variable
      * @param qname Qualified name
@@ -45,6 +45,13 @@ public class AxiomParameterOperand extends GenericParameter<AxiomTermList> imple
     /** Root of Operand tree for unification */
     protected Operand paramsTreeRoot;
 
+    /**
+     * Construct empty AxiomParameterOperand object to be filled by ObjectGraphCopier
+     */
+    protected AxiomParameterOperand()
+    {
+    }
+
     /**
      * Construct an AxiomParameterOperand object
      * @param qname Qualified name of operand
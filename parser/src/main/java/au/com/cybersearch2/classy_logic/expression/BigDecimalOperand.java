@@ -24,12 +24,49 @@ import au.com.cybersearch2.classy_logic.interfaces.Term;
 
 /**
  * BigDecimalOperand
+ * Arithmetic and comparisons are performed on values held as a long count of units at a scale,
+ * eg. cents at scale 2, whenever the values fit. A BigDecimal is created only for the result
+ * handed back to the caller. Operations which overflow a long fall back to BigDecimal.
  * @author Andrew Bowley
  * 3 Dec 2014
  */
 public class BigDecimalOperand extends ExpressionOperand<BigDecimal> 
 {
+    /** Largest number of fraction digits held in units */
+    protected static final int MAX_SCALE = 18;
+    /** Powers of ten up to 10^18 */
+    protected static final long[] POWERS_OF_TEN;
+
+    static
+    {
+        POWERS_OF_TEN = new long[MAX_SCALE + 1];
+        long power = 1L;
+        for (int i = 0; i <= MAX_SCALE; ++i)
+        {
+            POWERS_OF_TEN[i] = power;
+            power *= 10L;
+        }
+    }
+
+    /** Result of compareUnits() when values cannot be compared in a long */
+    protected static final int NOT_COMPARED = Integer.MIN_VALUE;
+
+    /** Value in units of 10^-unitScale, valid if unitsValid is true */
+    protected long units;
+    /** Number of fraction digits in units */
+    protected int unitScale;
+    /** Flag set true if value fits in units */
+    protected boolean unitsValid;
+    /** Value from which units were taken, so units are refreshed only when the value changes */
+    protected Object unitsSource;
     
+	/**
+	 * Construct empty BigDecimalOperand object to be filled by ObjectGraphCopier
+	 */
+	protected BigDecimalOperand()
+	{
+	}
+
 	/**
 	 * Construct named, empty BigDecimalOperand object
      * @param qname Qualified name
@@ -142,6 +179,12 @@ public class BigDecimalOperand extends ExpressionOperand<BigDecimal>
 	@Override
 	public Number numberEvaluation(Term leftTerm, OperatorEnum operatorEnum2, Term rightTerm) 
 	{
+		if (hasUnits(leftTerm) && hasUnits(rightTerm))
+		{
+			Number calc = unitsEvaluation(unitsOf(leftTerm), scaleOf(leftTerm), operatorEnum2, unitsOf(rightTerm), scaleOf(rightTerm));
+			if (calc != null)
+				return calc;
+		}
 		BigDecimal right = convertObject(rightTerm.getValue());
 		BigDecimal left = convertObject(leftTerm.getValue());
 		BigDecimal calc = BigDecimal.ZERO;
@@ -169,17 +212,20 @@ public class BigDecimalOperand extends ExpressionOperand<BigDecimal>
 	@Override
 	public Boolean booleanEvaluation(Term leftTerm, OperatorEnum operatorEnum2, Term rightTerm) 
 	{
+		int comparison = NOT_COMPARED;
+		if (hasUnits(leftTerm) && hasUnits(rightTerm))
+			comparison = compareUnits(unitsOf(leftTerm), scaleOf(leftTerm), unitsOf(rightTerm), scaleOf(rightTerm));
+		if (comparison == NOT_COMPARED)
+			comparison = convertObject(leftTerm.getValue()).compareTo(convertObject(rightTerm.getValue()));
 		boolean calc = false;
-		BigDecimal leftBigDec = convertObject(leftTerm.getValue());
-		BigDecimal righttBigDec = convertObject(rightTerm.getValue());
 		switch (operatorEnum2)
 		{
-		case EQ:  calc = leftBigDec.compareTo(righttBigDec) == 0; break; // "=="
-		case NE:  calc = leftBigDec.compareTo(righttBigDec) != 0; break; // "!="
-		case LT:  calc = leftBigDec.compareTo(righttBigDec) < 0; break; // "<"
-		case GT:  calc = leftBigDec.compareTo(righttBigDec) > 0; break; // ">"
-		case LE:  calc = leftBigDec.compareTo(righttBigDec) <= 0; break; // "<="
-		case GE:  calc = leftBigDec.compareTo(righttBigDec) >= 0; break; // ">="
+		case EQ:  calc = comparison == 0; break; // "=="
+		case NE:  calc = comparison != 0; break; // "!="
+		case LT:  calc = comparison < 0; break; // "<"
+		case GT:  calc = comparison > 0; break; // ">"
+		case LE:  calc = comparison <= 0; break; // "<="
+		case GE:  calc = comparison >= 0; break; // ">="
 	    default:
 		}
 		return calc;
@@ -250,4 +296,307 @@ public class BigDecimalOperand extends ExpressionOperand<BigDecimal>
 	{
 		return left.divide(right, BigDecimal.ROUND_FLOOR);
 	}
+
+	/**
+	 * Arithmetic on values held in units. Override to adjust rounding.
+	 * @param leftUnits Left value in units
+	 * @param leftScale Left value scale
+	 * @param operatorEnum2 Operator
+	 * @param rightUnits Right value in units
+	 * @param rightScale Right value scale
+	 * @return BigDecimal object or null if the result does not fit in a long
+	 */
+	protected Number unitsEvaluation(long leftUnits, int leftScale, OperatorEnum operatorEnum2, long rightUnits, int rightScale)
+	{
+		switch (operatorEnum2)
+		{
+		case PLUSASSIGN: // "+="
+		case PLUS:
+			return addUnits(leftUnits, leftScale, rightUnits, rightScale);
+		case MINUSASSIGN: // "-="
+		case MINUS:
+			if (rightUnits == Long.MIN_VALUE)
+				return null;
+			return addUnits(leftUnits, leftScale, -rightUnits, rightScale);
+		case STARASSIGN: // "*="
+		case STAR:
+			return calculateTimes(leftUnits, leftScale, rightUnits, rightScale);
+		case SLASHASSIGN: // "/="
+		case SLASH:
+			return calculateDiv(leftUnits, leftScale, rightUnits, rightScale);
+	    default:
+		}
+		// Remainder is left to BigDecimal
+		return null;
+	}
+
+	/**
+	 * Binary multiply of values held in units. Override to adjust rounding. 
+	 * @param leftUnits Left value in units
+	 * @param leftScale Left value scale
+	 * @param rightUnits Right value in units
+	 * @param rightScale Right value scale
+	 * @return BigDecimal object or null if the result does not fit in a long
+	 */
+	protected BigDecimal calculateTimes(long leftUnits, int leftScale, long rightUnits, int rightScale)
+	{
+		int scale = leftScale + rightScale;
+		long product = multiplyUnits(leftUnits, rightUnits);
+		if ((scale > MAX_SCALE) || (product == Long.MIN_VALUE))
+			return null;
+		return BigDecimal.valueOf(product, scale);
+	}
+
+	/**
+	 * Binary divide of values held in units, matching calculateDiv(BigDecimal, BigDecimal) 
+	 * where the first argument is the divisor. Override to adjust rounding. 
+	 * @param rightUnits Divisor in units
+	 * @param rightScale Divisor scale
+	 * @param leftUnits Dividend in units
+	 * @param leftScale Dividend scale
+	 * @return BigDecimal object or null if the result does not fit in a long
+	 */
+	protected BigDecimal calculateDiv(long rightUnits, int rightScale, long leftUnits, int leftScale)
+	{
+		return divideUnits(leftUnits, leftScale, rightUnits, rightScale, BigDecimal.ROUND_FLOOR);
+	}
+
+	/**
+	 * Returns sum of values held in units, at the larger of the two scales
+	 * @param leftUnits Left value in units
+	 * @param leftScale Left value scale
+	 * @param rightUnits Right value in units
+	 * @param rightScale Right value scale
+	 * @return BigDecimal object or null if the result does not fit in a long
+	 */
+	protected static BigDecimal addUnits(long leftUnits, int leftScale, long rightUnits, int rightScale)
+	{
+		int scale = Math.max(leftScale, rightScale);
+		long left = rescaleUnits(leftUnits, leftScale, scale);
+		long right = rescaleUnits(rightUnits, rightScale, scale);
+		if ((left == Long.MIN_VALUE) || (right == Long.MIN_VALUE))
+			return null;
+		long sum = left + right;
+		// Overflow if both operands have same sign and result sign differs
+		if ((((left ^ sum) & (right ^ sum)) < 0) || (sum == Long.MIN_VALUE))
+			return null;
+		return BigDecimal.valueOf(sum, scale);
+	}
+
+	/**
+	 * Returns quotient of values held in units at the scale of the left value, 
+	 * the same as BigDecimal.divide(BigDecimal, int)
+	 * @param leftUnits Left value in units
+	 * @param leftScale Left value scale
+	 * @param rightUnits Right value in units
+	 * @param rightScale Right value scale
+	 * @param roundingMode BigDecimal.ROUND_FLOOR or BigDecimal.ROUND_HALF_EVEN
+	 * @return BigDecimal object or null if the result does not fit in a long or divisor is zero
+	 */
+	protected static BigDecimal divideUnits(long leftUnits, int leftScale, long rightUnits, int rightScale, int roundingMode)
+	{
+		// Division by zero is left to BigDecimal to report
+		if ((rightUnits == 0) || (rightUnits == Long.MIN_VALUE))
+			return null;
+		// Quotient at left scale is leftUnits * 10^rightScale / rightUnits
+		long dividend = multiplyUnits(leftUnits, POWERS_OF_TEN[rightScale]);
+		if (dividend == Long.MIN_VALUE)
+			return null;
+		return BigDecimal.valueOf(divideAndRound(dividend, rightUnits, roundingMode), leftScale);
+	}
+
+	/**
+	 * Returns units moved to given scale, rounding half-even if digits are discarded
+	 * @param value Value in units
+	 * @param fromScale Current scale
+	 * @param toScale New scale
+	 * @return long or Long.MIN_VALUE if overflow
+	 */
+	protected static long setUnitsScale(long value, int fromScale, int toScale)
+	{
+		if (toScale >= fromScale)
+			return rescaleUnits(value, fromScale, toScale);
+		return divideAndRound(value, POWERS_OF_TEN[fromScale - toScale], BigDecimal.ROUND_HALF_EVEN);
+	}
+
+	/**
+	 * Compare values held in units
+	 * @param leftUnits Left value in units
+	 * @param leftScale Left value scale
+	 * @param rightUnits Right value in units
+	 * @param rightScale Right value scale
+	 * @return -1, 0 or 1 as left is less than, equal to or greater than right, or NOT_COMPARED if overflow
+	 */
+	protected static int compareUnits(long leftUnits, int leftScale, long rightUnits, int rightScale)
+	{
+		int scale = Math.max(leftScale, rightScale);
+		long left = rescaleUnits(leftUnits, leftScale, scale);
+		long right = rescaleUnits(rightUnits, rightScale, scale);
+		if ((left == Long.MIN_VALUE) || (right == Long.MIN_VALUE))
+			return NOT_COMPARED;
+		return (left < right) ? -1 : ((left == right) ? 0 : 1);
+	}
+
+	/**
+	 * Returns true if value of given term is held in units. Only BigDecimalOperand terms, 
+	 * which keep units with their value, and integer values qualify, as taking units from 
+	 * any other BigDecimal costs more than the BigDecimal operation itself.
+	 * @param term Term with non-empty value
+	 * @return boolean
+	 */
+	protected static boolean hasUnits(Term term)
+	{
+		if (term instanceof BigDecimalOperand)
+			return ((BigDecimalOperand)term).loadUnits();
+		Object value = term.getValue();
+		return ((value instanceof Long) || (value instanceof Integer)) && fitsUnits(value);
+	}
+
+	/**
+	 * Returns value of given term in units. Call only if hasUnits() returns true.
+	 * @param term Term with non-empty value
+	 * @return long
+	 */
+	protected static long unitsOf(Term term)
+	{
+		if (term instanceof BigDecimalOperand)
+			return ((BigDecimalOperand)term).units;
+		return toUnits(term.getValue());
+	}
+
+	/**
+	 * Returns scale of value of given term. Call only if hasUnits() returns true.
+	 * @param term Term with non-empty value
+	 * @return int
+	 */
+	protected static int scaleOf(Term term)
+	{
+		if (term instanceof BigDecimalOperand)
+			return ((BigDecimalOperand)term).unitScale;
+		return toUnitScale(term.getValue());
+	}
+
+	/**
+	 * Take units from value if it has changed since last time
+	 * @return flag set true if value fits in units
+	 */
+	protected boolean loadUnits()
+	{
+		Object current = getValue();
+		if (current != unitsSource)
+		{
+			unitsSource = current;
+			unitsValid = fitsUnits(current);
+			if (unitsValid)
+			{
+				units = toUnits(current);
+				unitScale = toUnitScale(current);
+			}
+		}
+		return unitsValid;
+	}
+
+	/**
+	 * Returns true if given value is an integer or a BigDecimal which fits in units
+	 * @param object Value
+	 * @return boolean
+	 */
+	protected static boolean fitsUnits(Object object)
+	{
+		if ((object instanceof Long) || (object instanceof Integer))
+			return ((Number)object).longValue() != Long.MIN_VALUE;
+		if (object instanceof BigDecimal)
+		{
+			BigDecimal value = (BigDecimal)object;
+			// Negative scale is left to BigDecimal so the result scale is preserved
+			return (value.scale() >= 0) && (value.scale() <= MAX_SCALE) && (value.precision() <= MAX_SCALE);
+		}
+		return false;
+	}
+
+	/**
+	 * Returns value in units. Call only if fitsUnits() returns true.
+	 * @param object Value
+	 * @return long
+	 */
+	protected static long toUnits(Object object)
+	{
+		if (object instanceof BigDecimal)
+			return ((BigDecimal)object).unscaledValue().longValue();
+		return ((Number)object).longValue();
+	}
+
+	/**
+	 * Returns scale of value. Call only if fitsUnits() returns true.
+	 * @param object Value
+	 * @return int
+	 */
+	protected static int toUnitScale(Object object)
+	{
+		if (object instanceof BigDecimal)
+			return ((BigDecimal)object).scale();
+		return 0;
+	}
+
+	/**
+	 * Returns units moved from one scale to a scale which is not smaller
+	 * @param value Value in units
+	 * @param fromScale Current scale
+	 * @param toScale New scale
+	 * @return long or Long.MIN_VALUE if overflow
+	 */
+	protected static long rescaleUnits(long value, int fromScale, int toScale)
+	{
+		if (fromScale == toScale)
+			return value;
+		if (toScale > MAX_SCALE)
+			return Long.MIN_VALUE;
+		return multiplyUnits(value, POWERS_OF_TEN[toScale - fromScale]);
+	}
+
+	/**
+	 * Returns product of two longs or Long.MIN_VALUE if overflow.
+	 * Long.MIN_VALUE is reserved as an overflow marker so it is never a valid product.
+	 * @param left Multiplicand
+	 * @param right Multiplier
+	 * @return long
+	 */
+	protected static long multiplyUnits(long left, long right)
+	{
+		long product = left * right;
+		long absLeft = Math.abs(left);
+		long absRight = Math.abs(right);
+		if (((absLeft | absRight) >>> 31) != 0)
+		{   // Slow check only required if either operand exceeds 31 bits
+			if (((right != 0) && ((product / right) != left)) ||
+				((left == Long.MIN_VALUE) && (right == -1)))
+				return Long.MIN_VALUE;
+		}
+		return product;
+	}
+
+	/**
+	 * Returns quotient of two longs rounded by given mode
+	 * @param dividend Dividend
+	 * @param divisor Non-zero divisor other than Long.MIN_VALUE
+	 * @param roundingMode BigDecimal.ROUND_FLOOR or BigDecimal.ROUND_HALF_EVEN
+	 * @return long
+	 */
+	protected static long divideAndRound(long dividend, long divisor, int roundingMode)
+	{
+		long quotient = dividend / divisor;
+		long remainder = dividend % divisor;
+		if (remainder == 0)
+			return quotient;
+		int sign = ((dividend ^ divisor) < 0) ? -1 : 1;
+		if (roundingMode == BigDecimal.ROUND_FLOOR)
+			return sign < 0 ? quotient - 1 : quotient;
+		long absRemainder = Math.abs(remainder);
+		long absDivisor = Math.abs(divisor);
+		// Compare remainder with half divisor without doubling remainder, which may overflow
+		long rest = absDivisor - absRemainder;
+		if ((absRemainder > rest) || ((absRemainder == rest) && ((quotient & 1L) != 0)))
+			quotient += sign;
+		return quotient;
+	}
 }
@@ -29,6 +29,13 @@ import au.com.cybersearch2.classy_logic.interfaces.Term;
 public class BooleanOperand extends ExpressionOperand<Boolean>
 {
 
+	/**
+	 * Construct empty BooleanOperand object to be filled by ObjectGraphCopier
+	 */
+	protected BooleanOperand()
+	{
+	}
+
 	/**
 	 * Boolean Variable
      * @param qname Qualified name
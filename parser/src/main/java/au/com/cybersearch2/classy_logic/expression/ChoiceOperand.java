@@ -35,6 +35,13 @@ public class ChoiceOperand extends BooleanOperand
     /** Root of Operand tree for unification */
     protected Operand termsTreeRoot;
     
+    /**
+     * Construct empty ChoiceOperand object to be filled by ObjectGraphCopier
+     */
+    protected ChoiceOperand()
+    {
+    }
+
     public ChoiceOperand(QualifiedName qname, Template template, Choice choice)
     {
         super(qname);
@@ -50,6 +57,7 @@ public class ChoiceOperand extends BooleanOperand
     @Override
     public EvaluationStatus evaluate(int id)
     {
+        recordChange();
         this.id = id;
         Parameter param = null;
         if (choice.completeSolution(template, id))
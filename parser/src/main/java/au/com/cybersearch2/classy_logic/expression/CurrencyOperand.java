@@ -38,6 +38,13 @@ public class CurrencyOperand extends BigDecimalOperand implements TextFormat, Lo
 	/** Operand to evaluate currency country */
 	protected Operand countryOperand;
 	
+	/**
+	 * Construct empty CurrencyOperand object to be filled by ObjectGraphCopier
+	 */
+	protected CurrencyOperand()
+	{
+	}
+
 	/**
 	 * Construct CurrencyOperand object for specified locale
      * @param qname Qualified name
@@ -208,6 +215,38 @@ public class CurrencyOperand extends BigDecimalOperand implements TextFormat, Lo
 		return left.divide(right, BigDecimal.ROUND_HALF_EVEN);
 	}
 
+	/**
+	 * Binary multiply of values held in units, rounded half-even to currency fraction digits
+	 * @see au.com.cybersearch2.classy_logic.expression.BigDecimalOperand#calculateTimes(long, int, long, int)
+	 */
+	@Override
+	protected BigDecimal calculateTimes(long leftUnits, int leftScale, long rightUnits, int rightScale)
+	{
+		int productScale = leftScale + rightScale;
+		long product = multiplyUnits(leftUnits, rightUnits);
+		if ((productScale > MAX_SCALE) || (product == Long.MIN_VALUE))
+			return null;
+		int scale = localeCurrency.getFractionDigits();
+		if (scale < 0)
+			return BigDecimal.valueOf(product, productScale);
+		if (scale > MAX_SCALE)
+			return null;
+		product = setUnitsScale(product, productScale, scale);
+		if (product == Long.MIN_VALUE)
+			return null;
+		return BigDecimal.valueOf(product, scale);
+	}
+
+	/**
+	 * Binary divide of values held in units, rounded half-even
+	 * @see au.com.cybersearch2.classy_logic.expression.BigDecimalOperand#calculateDiv(long, int, long, int)
+	 */
+	@Override
+	protected BigDecimal calculateDiv(long rightUnits, int rightScale, long leftUnits, int leftScale)
+	{
+		return divideUnits(leftUnits, leftScale, rightUnits, rightScale, BigDecimal.ROUND_HALF_EVEN);
+	}
+
 	/**
 	 * onScopeChange
 	 * @see au.com.cybersearch2.classy_logic.interfaces.LocaleListener#onScopeChange(au.com.cybersearch2.classy_logic.Scope)
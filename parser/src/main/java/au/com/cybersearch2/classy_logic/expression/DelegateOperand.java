@@ -73,6 +73,13 @@ public abstract class DelegateOperand extends Parameter implements Operand, Conc
 	}
 	
 
+	/**
+	 * Construct empty DelegateOperand object to be filled by ObjectGraphCopier
+	 */
+	protected DelegateOperand()
+	{
+	}
+
 	/**
      * Construct empty DelegateOperand object
      * @param qname Qualified name of variable
@@ -188,9 +195,10 @@ public abstract class DelegateOperand extends Parameter implements Operand, Conc
 	public void setValue(Object value)
 	{
 		if (value == null)
-			value = new Null();
+			value = Null.NULL;
 		else
 		{
+			recordChange();
 			this.value = value;
 			this.empty = false;
 		    setDelegate(getValueClass());
@@ -206,6 +214,7 @@ public abstract class DelegateOperand extends Parameter implements Operand, Conc
     public void assign(Term term) 
     {
          setValue(term.getValue());
+         recordChange();
          id = term.getId();
     }
 
@@ -27,6 +27,13 @@ import au.com.cybersearch2.classy_logic.interfaces.Term;
 public class DoubleOperand extends ExpressionOperand<Double> 
 {
 
+	/**
+	 * Construct empty DoubleOperand object to be filled by ObjectGraphCopier
+	 */
+	protected DoubleOperand()
+	{
+	}
+
 	/**
 	 * Construct named DoubleOperand object
      * @param qname Qualified name
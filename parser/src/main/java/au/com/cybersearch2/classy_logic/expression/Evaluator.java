@@ -40,6 +40,13 @@ public class Evaluator extends DelegateOperand
 	/** Short circuit on boolean true result */
 	protected boolean shortCircuitOnTrue;
 
+	/**
+	 * Construct empty Evaluator object to be filled by ObjectGraphCopier
+	 */
+	protected Evaluator()
+	{
+	}
+
 	/**
 	 * Create Evaluator object for postfix unary expression 
 	 * @param leftTerm Left operand
@@ -251,6 +258,15 @@ public class Evaluator extends DelegateOperand
 		return super.numberEvaluation(leftTerm, operatorEnum2, rightTerm);
 	}
 
+	/**
+	 * Returns operator
+	 * @return OperatorEnum
+	 */
+	public OperatorEnum getOperator()
+	{
+		return operatorEnum;
+	}
+
 	/**
 	 * Returns left child of Operand
 	 * @see au.com.cybersearch2.classy_logic.interfaces.Operand#getLeftOperand()
@@ -341,6 +357,7 @@ public class Evaluator extends DelegateOperand
             {   // false && means short circuit
                 if (right == null) // Unary && does not assign a value
                 {
+                    recordChange();
                     this.id = id;
                     return EvaluationStatus.SHORT_CIRCUIT;
                 }
@@ -352,6 +369,7 @@ public class Evaluator extends DelegateOperand
             }
             else if (right == null)
             {   // Nothing more to do
+                recordChange();
                 this.id = id;
                 return EvaluationStatus.SKIP;
             }
@@ -362,6 +380,7 @@ public class Evaluator extends DelegateOperand
             {
                 if (right == null) // Unary || does not assign a value
                 {
+                    recordChange();
                     this.id = id;
                     return EvaluationStatus.SHORT_CIRCUIT;
                 }
@@ -373,6 +392,7 @@ public class Evaluator extends DelegateOperand
             }
             else if (right == null)
             {   // Nothing more to do
+                recordChange();
                 this.id = id;
                 return EvaluationStatus.SKIP;
             }
@@ -503,7 +523,7 @@ public class Evaluator extends DelegateOperand
             else
                 return rightTerm.numberEvaluation(leftTerm, operatorEnum, rightTerm);
         case COMMA: // Comma operator builds a tree of operands instead of performing a calculation
-            return new Null(); // Set dummy value so this variable is no longer empty
+            return Null.NULL; // Set dummy value so this variable is no longer empty
         default:
         }
         return null;
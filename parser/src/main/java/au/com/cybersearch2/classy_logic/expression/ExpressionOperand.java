@@ -32,6 +32,13 @@ public abstract class ExpressionOperand<T> extends GenericParameter<T> implement
     /** Qualified name of operand */
     protected QualifiedName qname;
 	
+	/**
+	 * Construct empty ExpressionOperand object to be filled by ObjectGraphCopier
+	 */
+	protected ExpressionOperand()
+	{
+	}
+
 	/**
 	 * Construct a ExpressionOperand object using given name 
      * @param qname Qualified name
@@ -126,6 +133,7 @@ public abstract class ExpressionOperand<T> extends GenericParameter<T> implement
 			status = expression.evaluate(id);
 			if (!expression.isEmpty())
 			{
+				recordChange();
 				this.value = expression.getValue();
 			    this.empty = false;
 			    this.id = id;
@@ -31,6 +31,13 @@ import au.com.cybersearch2.classy_logic.pattern.Axiom;
 public class FactOperand extends BooleanOperand
 {
 
+    /**
+     * Construct empty FactOperand object to be filled by ObjectGraphCopier
+     */
+    protected FactOperand()
+    {
+    }
+
     public FactOperand(Operand expression)
     {
         super(getFactName(expression), expression);
@@ -61,6 +68,7 @@ public class FactOperand extends BooleanOperand
             else
                 setValue(expression.getValueClass() != Unknown.class);
         }
+        recordChange();
         this.empty = false;
         this.id = id;
         return EvaluationStatus.COMPLETE;
@@ -38,6 +38,13 @@ public class FormatterOperand extends StringOperand implements LocaleListener
 	/** The locale */
 	protected Locale locale;
 	
+	/**
+	 * Construct empty FormatterOperand object to be filled by ObjectGraphCopier
+	 */
+	protected FormatterOperand()
+	{
+	}
+
 	/**
      * @param qname Qualified name
 	 * @param operand The Operand containing the value to format
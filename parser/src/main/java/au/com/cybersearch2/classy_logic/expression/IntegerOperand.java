@@ -27,6 +27,13 @@ import au.com.cybersearch2.classy_logic.interfaces.Term;
 public class IntegerOperand extends ExpressionOperand<Long> 
 {
 
+	/**
+	 * Construct empty IntegerOperand object to be filled by ObjectGraphCopier
+	 */
+	protected IntegerOperand()
+	{
+	}
+
 	/**
 	 * Construct a variable LongOperand object
      * @param qname Qualified name
@@ -30,6 +30,13 @@ public class LiteralListOperand extends Variable
 {
     protected List<Parameter> literalList;
     
+    /**
+     * Construct empty LiteralListOperand object to be filled by ObjectGraphCopier
+     */
+    protected LiteralListOperand()
+    {
+    }
+
     public LiteralListOperand(QualifiedName qname, List<Parameter> literalList)
     {
         super(qname);
@@ -54,6 +61,7 @@ public class LiteralListOperand extends Variable
                     break;
                 }
         }
+        recordChange();
         this.id = id;
         return match ? EvaluationStatus.COMPLETE : EvaluationStatus.SHORT_CIRCUIT;
     }
@@ -20,6 +20,7 @@ import java.util.Date;
 import au.com.cybersearch2.classy_logic.helper.EvaluationStatus;
 import au.com.cybersearch2.classy_logic.helper.QualifiedName;
 import au.com.cybersearch2.classy_logic.query.Calculator;
+import au.com.cybersearch2.classy_logic.query.ExecutionMonitor;
 import au.com.cybersearch2.classy_logic.query.QueryExecutionException;
 import au.com.cybersearch2.classy_logic.pattern.Template;
 
@@ -40,6 +41,13 @@ public class LoopEvaluator extends BooleanOperand
 	/** Flag whether run once or loop */
 	protected boolean runOnce;
 
+	/**
+	 * Construct empty LoopEvaluator object to be filled by ObjectGraphCopier
+	 */
+	protected LoopEvaluator()
+	{
+	}
+
 	/**
 	 * Construct a LoopEvaluator object
 	 * @param template Container for the Operand sequence to be evaluated
@@ -64,6 +72,7 @@ public class LoopEvaluator extends BooleanOperand
 	@Override
 	public EvaluationStatus evaluate(int id)
 	{
+	    recordChange();
 	    this.id = id;
 		long start = new Date().getTime();
 		long timeoutMsecs = Calculator.CALCULATION_TIMEOUT_SECS * 1000;
@@ -80,6 +89,7 @@ public class LoopEvaluator extends BooleanOperand
 			template.backup(true);
 			if (++count == 10)
 			{
+				ExecutionMonitor.checkCurrent();
 				long now = new Date().getTime();
 				if (now - start >= timeoutMsecs)
 				{
@@ -29,6 +29,13 @@ import au.com.cybersearch2.classy_logic.interfaces.Operand;
 public class MatchOperand extends Variable
 {
     
+    /**
+     * Construct empty MatchOperand object to be filled by ObjectGraphCopier
+     */
+    protected MatchOperand()
+    {
+    }
+
     /**
      * Construct MatchOperand object
      * @param qname Qualified name
@@ -33,7 +33,7 @@ public class NullOperand extends ExpressionOperand<Object> implements Operand
      */
 	public NullOperand()
 	{
-		super(QualifiedName.ANONYMOUS, new Null());
+		super(QualifiedName.ANONYMOUS, Null.NULL);
 	}
 
 	/**
@@ -42,7 +42,7 @@ public class NullOperand extends ExpressionOperand<Object> implements Operand
 	 */
 	public NullOperand(QualifiedName qname)
 	{
-		super(qname, new Null());
+		super(qname, Null.NULL);
 	}
 
     /**
@@ -129,6 +129,7 @@ public class NullOperand extends ExpressionOperand<Object> implements Operand
 	@Override
 	public void assign(Term term) 
 	{
+	    recordChange();
 	    id = term.getId();
 	}
 
@@ -16,13 +16,19 @@
 package au.com.cybersearch2.classy_logic.expression;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import au.com.cybersearch2.classy_logic.helper.OperandParam;
+import au.com.cybersearch2.classy_logic.interfaces.BatchCallEvaluator;
 import au.com.cybersearch2.classy_logic.interfaces.CallEvaluator;
+import au.com.cybersearch2.classy_logic.interfaces.CallProperties;
 import au.com.cybersearch2.classy_logic.interfaces.Operand;
 import au.com.cybersearch2.classy_logic.interfaces.Term;
+import au.com.cybersearch2.classy_logic.terms.Parameter;
 
 /**
  * ParameterList
@@ -33,17 +39,86 @@ import au.com.cybersearch2.classy_logic.interfaces.Term;
  */
 public class ParameterList<R>
 {
+    /**
+     * ArgumentKey
+     * Argument values of a pure function call, used as the key of a cached result.
+     * The key used to look up results is refilled on each call, while a copy is stored with each result. 
+     */
+    protected static class ArgumentKey
+    {
+        /** Argument values in parameter order */
+        protected final Object[] values;
+        /** Hash code of values */
+        protected int hash;
+
+        /**
+         * Construct empty ArgumentKey object to be filled by ObjectGraphCopier
+         */
+        protected ArgumentKey()
+        {
+            this(null);
+        }
+
+        /**
+         * Construct ArgumentKey object
+         * @param values Argument values in parameter order
+         */
+        public ArgumentKey(Object[] values)
+        {
+            this.values = values;
+            hash = Arrays.hashCode(values);
+        }
+
+        /**
+         * Update hash code after values have changed
+         */
+        public void rehash()
+        {
+            hash = Arrays.hashCode(values);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other)
+        {
+            return (other instanceof ArgumentKey) && Arrays.equals(values, ((ArgumentKey)other).values);
+        }
+    }
+
+    /** Maximum number of results cached for a pure function */
+    public static final int MAX_CACHED_RESULTS = 64;
+    
     protected static List<Term> EMPTY_TERM_LIST;
     /** Performs function using parameters collected after query evaluation and returns value */
     protected CallEvaluator<R> callEvaluator;
     /** List of Operand arguments or null for no arguments */
     protected List<OperandParam> operandParamList;
+    /** Argument list passed to function on every call. The contents never change, only the operand values */
+    protected List<Term> argumentList;
+    /** Flag set true if function declares itself pure */
+    protected boolean isPure;
+    /** Results of pure function mapped to argument values, in least recently used order */
+    protected Map<ArgumentKey, R> resultCache;
+    /** Argument values of current call, refilled on each call to look up the result cache */
+    protected ArgumentKey lookupKey;
  
     static
     {
         EMPTY_TERM_LIST = Collections.emptyList();
     }
     
+    /**
+     * Construct empty ParameterList object to be filled by ObjectGraphCopier
+     */
+    protected ParameterList()
+    {
+    }
+
     /**
      * Construct a ParameterList object which uses parameters in an an Expression operand 
      * and a supplied evaluator object to create it's value
@@ -54,6 +129,11 @@ public class ParameterList<R>
     {
         this.operandParamList = operandParamList;
         this.callEvaluator = callEvaluator;
+        if ((operandParamList == null) || operandParamList.isEmpty())
+            argumentList = EMPTY_TERM_LIST;
+        else
+            argumentList = Collections.unmodifiableList(new ArrayList<Term>(operandParamList));
+        isPure = (callEvaluator instanceof CallProperties) && ((CallProperties)callEvaluator).isPure();
     }
 
     /**
@@ -65,26 +145,79 @@ public class ParameterList<R>
         return operandParamList;
     }
 
+    /**
+     * Returns flag set true if function declares itself pure
+     * @return boolean
+     */
+    public boolean isPure()
+    {
+        return isPure;
+    }
+    
     /**
      * Perform function using parameters
      * @return Object of generic type
      */
     public R evaluate(int id)
     {
-        if ((operandParamList == null) || operandParamList.isEmpty())
-            return callEvaluator.evaluate(EMPTY_TERM_LIST);
-        final List<Term> argumentList = new ArrayList<Term>(operandParamList.size());
-        if ((operandParamList != null) && !operandParamList.isEmpty())
-        {   
-            for (OperandParam operandParam: operandParamList)
-            {
-                Operand operand = operandParam.getOperand();
-                if (operand.isEmpty())
-                    operand.evaluate(id);
-                argumentList.add(operandParam);
-            }
+        for (int i = 0; i < argumentList.size(); ++i)
+        {
+            Operand operand = operandParamList.get(i).getOperand();
+            if (operand.isEmpty())
+                operand.evaluate(id);
+        }
+        if (!isPure)
+            return callEvaluator.evaluate(argumentList);
+        // Pure function result is cached by argument values
+        if (resultCache == null)
+        {
+            resultCache = createResultCache();
+            lookupKey = new ArgumentKey(new Object[argumentList.size()]);
+        }
+        Object[] values = lookupKey.values;
+        for (int i = 0; i < values.length; ++i)
+            values[i] = argumentList.get(i).getValue();
+        lookupKey.rehash();
+        R result = resultCache.get(lookupKey);
+        if ((result != null) || resultCache.containsKey(lookupKey))
+            return result;
+        result = callEvaluator.evaluate(argumentList);
+        // Only a result which is cached needs a key of its own
+        resultCache.put(new ArgumentKey(values.clone()), result);
+        return result;
+    }
+
+    /**
+     * Perform function on rows of argument values arranged in columns. If the function implements
+     * BatchCallEvaluator, all rows are passed in one call, otherwise the function is called once per row
+     * with a reused argument buffer.
+     * @param argumentColumns Argument values indexed by column then row. Column order matches parameter order.
+     * @param rowCount Number of rows
+     * @return List of results, one per row, in row order
+     */
+    @SuppressWarnings("unchecked")
+    public List<R> evaluateBatch(Object[][] argumentColumns, int rowCount)
+    {
+        int columnCount = argumentList.size();
+        if (argumentColumns.length != columnCount)
+            throw new ExpressionException("Function \"" + callEvaluator.getName() + "\" expects " + columnCount + " argument columns but " + argumentColumns.length + " passed");
+        String[] argumentNames = new String[columnCount];
+        for (int column = 0; column < columnCount; ++column)
+            argumentNames[column] = argumentList.get(column).getName();
+        if (callEvaluator instanceof BatchCallEvaluator)
+            return ((BatchCallEvaluator<R>)callEvaluator).evaluateBatch(argumentNames, argumentColumns, rowCount);
+        Parameter[] buffer = new Parameter[columnCount];
+        for (int column = 0; column < columnCount; ++column)
+            buffer[column] = new Parameter(argumentNames[column]);
+        List<Term> rowArguments = Collections.unmodifiableList(Arrays.<Term>asList(buffer));
+        List<R> resultList = new ArrayList<R>(rowCount);
+        for (int row = 0; row < rowCount; ++row)
+        {
+            for (int column = 0; column < columnCount; ++column)
+                buffer[column].setValue(argumentColumns[column][row]);
+            resultList.add(callEvaluator.evaluate(rowArguments));
         }
-        return callEvaluator.evaluate(argumentList);
+        return resultList;
     }
 
     public void backup(int id)
@@ -98,4 +231,22 @@ public class ParameterList<R>
             }
         }
     }
+
+    /**
+     * Returns map which discards least recently used results once full
+     * @return Map object
+     */
+    protected Map<ArgumentKey, R> createResultCache()
+    {
+        return new LinkedHashMap<ArgumentKey, R>(16, 0.75f, true)
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ArgumentKey, R> eldest)
+            {
+                return size() > MAX_CACHED_RESULTS;
+            }
+        };
+    }
 }
@@ -37,6 +37,13 @@ public class ParameterOperand<R> extends Variable
     /** Root of Operand tree for unification */
     protected Operand paramsTreeRoot;
 
+    /**
+     * Construct empty ParameterOperand object to be filled by ObjectGraphCopier
+     */
+    protected ParameterOperand()
+    {
+    }
+
     /**
      * Construct a ParameterOperand object
      * @param qname Qualified name
@@ -28,6 +28,13 @@ import au.com.cybersearch2.classy_logic.interfaces.Term;
 public class QueryOperand extends ExpressionOperand implements ParserRunner
 {
 
+    /**
+     * Construct empty QueryOperand object to be filled by ObjectGraphCopier
+     */
+    protected QueryOperand()
+    {
+    }
+
     public QueryOperand(QualifiedName qname)
     {
         super(qname);
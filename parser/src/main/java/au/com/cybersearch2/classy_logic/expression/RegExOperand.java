@@ -52,6 +52,13 @@ public class RegExOperand extends StringOperand
 	/** Regular expression operand */
 	protected Operand regexOp;
 	
+	/**
+	 * Construct empty RegExOperand object to be filled by ObjectGraphCopier
+	 */
+	protected RegExOperand()
+	{
+	}
+
 	/**
 	 * Construct RegExOperand object
      * @param qname Qualified name
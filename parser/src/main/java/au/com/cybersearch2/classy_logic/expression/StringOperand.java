@@ -28,6 +28,13 @@ import au.com.cybersearch2.classy_logic.interfaces.Term;
 public class StringOperand  extends ExpressionOperand<String> implements Concaten<String>
 {
 
+	/**
+	 * Construct empty StringOperand object to be filled by ObjectGraphCopier
+	 */
+	protected StringOperand()
+	{
+	}
+
 	/**
 	 * Construct StringOperand with given expression Operand
      * @param qname Qualified name
@@ -34,6 +34,13 @@ public class Variable extends DelegateOperand
 	/** Optional Parameter which evaluates value */
 	protected Operand expression;
 
+	/**
+	 * Construct empty Variable object to be filled by ObjectGraphCopier
+	 */
+	protected Variable()
+	{
+	}
+
 	/**
 	 * Construct a Variable object
 	 * @param qname Qualified name
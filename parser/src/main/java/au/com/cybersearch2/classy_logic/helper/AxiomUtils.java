@@ -81,10 +81,8 @@ public class AxiomUtils
         if (!argumentsValid)
             throw new ExpressionException("Cannot concatenate " + leftOperand.toString() + " to " + rightOperand.toString());
         // For efficiency, update the value of this operand as it will be assigned back to it anyway.
-        Iterator<AxiomTermList> iterator = rightAxiomList.getIterable().iterator();
-        int index = leftAxiomList.getLength();
-        while (iterator.hasNext())
-            leftAxiomList.assignItem(index++, iterator.next());
+        // The right hand items are shared, not copied.
+        leftAxiomList.appendItems(rightAxiomList);
         List<String> leftTermNames = leftAxiomList.getAxiomTermNameList();
         if (leftTermNames == null) 
         {   // Concatenation to an empty list
@@ -124,6 +122,21 @@ public class AxiomUtils
         //return axiomList;
     }
 
+    /**
+     * Returns an axiom containing given items as anonymous terms
+     * @param axiomName Name of axiom
+     * @param items Items to pack into axiom
+     * @return Axiom object
+     */
+    public static Axiom marshallItems(String axiomName, Iterable<?> items)
+    {
+        Axiom axiom = new Axiom(axiomName);
+        Iterator<?> iterator = items.iterator();
+        while (iterator.hasNext())
+            axiom.addTerm(new Parameter(Term.ANONYMOUS, iterator.next()));
+        return axiom;
+    }
+
     /**
      * Returns flag set true if two aciom lists are size-wise congruent. 
      * @param leftAxiomList
@@ -173,23 +186,17 @@ public class AxiomUtils
     }
 
     /**
-     * Create a deep copy of an axiom list object
+     * Create a copy of an axiom list object which shares the items of the original.
+     * Changes made to either list afterwards are not visible in the other list.
      * @param axiomList The axiom list to duplicate
      * @return AxiomList object
      */
     public static AxiomList duplicateAxiomList(AxiomList axiomList)
     {
-        List<Axiom> dupAxioms = AxiomUtils.copyItemList(axiomList.getName(), axiomList);
         AxiomList dupAxiomList = new AxiomList(axiomList.getQualifiedName(), axiomList.getKey());
         dupAxiomList.setAxiomTermNameList(axiomList.getAxiomTermNameList());
-        int index = 0;
-        for (Axiom dupAxiom: dupAxioms)
-        {
-            AxiomTermList axiomTermList = new AxiomTermList(axiomList.getQualifiedName(), axiomList.getKey());
-            axiomTermList.setAxiomTermNameList(axiomList.getAxiomTermNameList());
-            axiomTermList.setAxiom(dupAxiom);
-            dupAxiomList.assignItem(index++, axiomTermList);
-        }
+        dupAxiomList.setKeyTermName(axiomList.getKeyTermName());
+        dupAxiomList.appendItems(axiomList);
         return dupAxiomList;
     }
 
@@ -228,18 +235,12 @@ public class AxiomUtils
         if (itemList.getItemClass().equals(Term.class))
         {   // AxiomTermList contains backing axiom
             AxiomTermList axiomTermList = (AxiomTermList)itemList;
-            axiom = new Axiom(listName);
-            Axiom source = axiomTermList.getAxiom();
-            for (int i = 0; i < source.getTermCount(); i++)
-                axiom.addTerm(source.getTermByIndex(i));
+            axiom = new Axiom(axiomTermList.getAxiom(), listName);
             copyList.add(axiom);
         }
         else if (!itemList.getItemClass().equals(Axiom.class))
         {   // Regular ItemList contains objects which are packed into axiom to return
-            axiom = new Axiom(listName);
-            Iterator<?> iterator = itemList.getIterable().iterator();
-            while (iterator.hasNext())
-                axiom.addTerm(new Parameter(Term.ANONYMOUS, iterator.next()));
+            axiom = marshallItems(listName, itemList.getIterable());
             copyList.add(axiom);
         }
         else
@@ -174,7 +174,7 @@ public class EvaluationUtils
         leftTerm.assign(rightTerm);
         // When the value class is not supported as a delegate, substitute a Null object.
         // This is defensive only as Operands are expected to only support Delegate classes
-        return DelegateOperand.isDelegateClass(rightTerm.getValueClass()) ? value : new Null();
+        return DelegateOperand.isDelegateClass(rightTerm.getValueClass()) ? value : Null.NULL;
     }
 
     /**
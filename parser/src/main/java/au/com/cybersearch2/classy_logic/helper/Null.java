@@ -24,6 +24,8 @@ package au.com.cybersearch2.classy_logic.helper;
  */
 public class Null implements Comparable<Null>
 {
+	/** Shared instance. All Null objects are equal so there is no need to create more than one */
+	public static final Null NULL = new Null();
 
 	/**
 	 * @see java.lang.Comparable#compareTo(java.lang.Object)
@@ -0,0 +1,628 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.helper;
+
+import java.io.File;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.text.Collator;
+import java.text.DecimalFormatSymbols;
+import java.text.Format;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+
+/**
+ * ObjectGraphCopier
+ * Deep copies a graph of engine objects, preserving shared references and cycles.
+ * Engine objects are allocated with a constructor which takes no arguments and then have every 
+ * instance field copied. JDK collections and maps are rebuilt with copied contents, atomics and 
+ * formats are copied and immutable JDK values are shared. Objects registered as shared and the 
+ * values of static fields are never copied, so singletons such as Null.NULL keep their identity in the copy.
+ * Any other object, such as a lock, executor, stream or an instance of a class from another library,
+ * causes an IllegalStateException unless it is registered as shared. 
+ * A copier is not thread safe. Create one for each graph to be copied.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class ObjectGraphCopier
+{
+    /** Package prefix of engine classes, which are the only application classes copied */
+    public static final String ENGINE_PACKAGE = "au.com.cybersearch2.classy_logic.";
+    /** JDK types whose instances cannot be changed, so are shared */
+    private static final Class<?>[] IMMUTABLE_TYPES =
+    {
+        String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class, 
+        Float.class, Double.class, BigInteger.class, BigDecimal.class, Class.class, Locale.class, 
+        Currency.class, File.class, URI.class, UUID.class, Pattern.class, Charset.class
+    };
+    /** Mutable JDK types copied with their public clone() method */
+    private static final Class<?>[] CLONEABLE_TYPES =
+    {
+        Date.class, Format.class, DecimalFormatSymbols.class, Collator.class
+    };
+    /** Concurrent containers which are rebuilt like java.util containers */
+    private static final Set<String> CONCURRENT_CONTAINERS;
+    /** Instance fields of engine classes, including inherited fields */
+    private static final ConcurrentMap<Class<?>, Field[]> fieldCache;
+    /** Constructors which allocate engine objects */
+    private static final ConcurrentMap<Class<?>, Constructor<?>> allocatorCache;
+
+    static
+    {
+        CONCURRENT_CONTAINERS = new HashSet<String>(Arrays.asList(
+            "java.util.concurrent.ConcurrentHashMap",
+            "java.util.concurrent.ConcurrentSkipListMap",
+            "java.util.concurrent.ConcurrentSkipListSet",
+            "java.util.concurrent.CopyOnWriteArrayList",
+            "java.util.concurrent.CopyOnWriteArraySet",
+            "java.util.concurrent.ConcurrentLinkedQueue",
+            "java.util.concurrent.ConcurrentLinkedDeque"));
+        fieldCache = new ConcurrentHashMap<Class<?>, Field[]>();
+        allocatorCache = new ConcurrentHashMap<Class<?>, Constructor<?>>();
+    }
+
+    /** Maps each original object to its copy. Shared objects map to themselves */
+    protected Map<Object, Object> copyMap;
+    /** Objects whose fields or elements remain to be filled */
+    protected List<Object> pendingList;
+    /** Collections and maps to be populated once all objects are filled, in order of discovery */
+    protected List<Object> containerList;
+    /** Maps each original wrapper container to the modifiable container inside its copy */
+    protected Map<Object, Object> innerMap;
+    /** Classes whose static fields have been registered as shared */
+    protected Set<Class<?>> registeredClasses;
+    /** Types whose instances are referenced, not copied */
+    protected List<Class<?>> sharedTypeList;
+
+    /**
+     * Construct ObjectGraphCopier object
+     */
+    public ObjectGraphCopier()
+    {
+        copyMap = new IdentityHashMap<Object, Object>();
+        pendingList = new ArrayList<Object>();
+        containerList = new ArrayList<Object>();
+        innerMap = new IdentityHashMap<Object, Object>();
+        registeredClasses = new LinkedHashSet<Class<?>>();
+        sharedTypeList = new ArrayList<Class<?>>();
+    }
+
+    /**
+     * Register object to be referenced, not copied
+     * @param object Object to share. May be null.
+     */
+    public void share(Object object)
+    {
+        if (object != null)
+            copyMap.put(object, object);
+    }
+
+    /**
+     * Register type of which all instances are to be referenced, not copied, such as 
+     * objects which are thread safe and hold external resources
+     * @param type Class or interface
+     */
+    public void shareType(Class<?> type)
+    {
+        sharedTypeList.add(type);
+    }
+
+    /**
+     * Returns deep copy of given object
+     * @param object Root of graph to copy
+     * @return copy
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T copy(T object)
+    {
+        T copy = (T) copyReference(object);
+        // Fill pending objects breadth first so deep graphs do not exhaust the stack
+        int index = 0;
+        while (index < pendingList.size())
+        {
+            Object original = pendingList.get(index++);
+            fill(original, copyMap.get(original));
+        }
+        pendingList.clear();
+        populateContainers();
+        return copy;
+    }
+
+    /**
+     * Returns copy of given reference, allocating it on first encounter
+     * @param original Object to copy. May be null.
+     * @return Object
+     */
+    protected Object copyReference(Object original)
+    {
+        if (original == null)
+            return null;
+        Class<?> clazz = original.getClass();
+        if (!isJdkClass(clazz))
+            registerStatics(clazz);
+        Object copy = copyMap.get(original);
+        if (copy != null)
+            return copy;
+        copy = allocate(original, clazz);
+        copyMap.put(original, copy);
+        if (copy != original)
+            pendingList.add(original);
+        return copy;
+    }
+
+    /**
+     * Returns new uninitialized copy of given object or the object itself if it is to be shared
+     * @param original Object to copy
+     * @param clazz Class of object
+     * @return Object
+     * @throws IllegalStateException if the object is of a type which cannot be copied and is not shared
+     */
+    protected Object allocate(Object original, Class<?> clazz)
+    {
+        if (clazz.isArray())
+            return Array.newInstance(clazz.getComponentType(), Array.getLength(original));
+        if (clazz.isEnum() || (clazz.getSuperclass() != null && clazz.getSuperclass().isEnum()))
+            return original;
+        for (Class<?> type: sharedTypeList)
+            if (type.isInstance(original))
+                return original;
+        if (!isJdkClass(clazz))
+        {
+            Constructor<?> allocator = getAllocator(clazz);
+            try
+            {
+                return allocator.newInstance(getDefaultArguments(allocator));
+            }
+            catch (Exception e)
+            {
+                throw new IllegalStateException("Error allocating copy of " + clazz.getName(), e);
+            }
+        }
+        if (clazz == Object.class)
+            // Object used as a lock or a token
+            return new Object();
+        Object copy = allocateContainer(original, clazz);
+        if (copy != null)
+            return copy;
+        if (original instanceof AtomicInteger)
+            return new AtomicInteger(((AtomicInteger)original).get());
+        if (original instanceof AtomicLong)
+            return new AtomicLong(((AtomicLong)original).get());
+        if (original instanceof AtomicBoolean)
+            return new AtomicBoolean(((AtomicBoolean)original).get());
+        if (original instanceof AtomicReference)
+            return new AtomicReference<Object>();
+        if (clazz.getName().startsWith("java.time.") || isInstance(IMMUTABLE_TYPES, original))
+            return original;
+        if (isInstance(CLONEABLE_TYPES, original))
+        {
+            try
+            {
+                Method clone = clazz.getMethod("clone");
+                return clone.invoke(original);
+            }
+            catch (Exception e)
+            {
+                throw new IllegalStateException("Error cloning " + clazz.getName(), e);
+            }
+        }
+        // A lock, executor, stream or similar cannot be duplicated safely
+        throw new IllegalStateException("Cannot copy instance of " + clazz.getName() + " unless it is registered as shared");
+    }
+
+    /**
+     * Returns empty collection or map of same type as given object or null if object is not a container.
+     * Unmodifiable, synchronized and singleton wrappers are copied as the same kind of wrapper
+     * around a modifiable container which is populated later.
+     * @param original Object to copy
+     * @param clazz Class of object
+     * @return Object
+     * @throws IllegalStateException if the container is not a java.util container or a non-blocking concurrent container
+     */
+    @SuppressWarnings("unchecked")
+    protected Object allocateContainer(Object original, Class<?> clazz)
+    {
+        if (!(original instanceof Collection) && !(original instanceof Map))
+            return null;
+        String className = clazz.getName();
+        if (className.startsWith("java.util.Collections$Empty"))
+            return original;
+        if (className.equals("java.util.Arrays$ArrayList"))
+        {   // Fixed size list is populated by position
+            List<Object> list = Arrays.asList(new Object[((List<?>)original).size()]);
+            innerMap.put(original, list);
+            return list;
+        }
+        if (className.startsWith("java.util.Collections$") || className.startsWith("java.util.ImmutableCollections$"))
+        {
+            Object inner;
+            if (original instanceof List)
+                inner = new ArrayList<Object>();
+            else if (original instanceof SortedSet)
+                inner = new TreeSet<Object>((Comparator<Object>)copyComparator(((SortedSet<?>)original).comparator()));
+            else if (original instanceof Set)
+                inner = new LinkedHashSet<Object>();
+            else if (original instanceof SortedMap)
+                inner = new TreeMap<Object, Object>((Comparator<Object>)copyComparator(((SortedMap<?,?>)original).comparator()));
+            else if (original instanceof Map)
+                inner = new LinkedHashMap<Object, Object>();
+            else
+                inner = new ArrayList<Object>();
+            innerMap.put(original, inner);
+            return wrap(inner, className.startsWith("java.util.Collections$Synchronized"));
+        }
+        if ((className.startsWith("java.util.concurrent.") && !CONCURRENT_CONTAINERS.contains(className)) ||
+             !className.startsWith("java.util."))
+            // Blocking queues hand objects between threads, so are not program state
+            throw new IllegalStateException("Cannot copy container " + className + " unless it is registered as shared");
+        try
+        {
+            if (original instanceof PriorityQueue)
+                return new PriorityQueue<Object>(11, (Comparator<Object>)copyComparator(((PriorityQueue<?>)original).comparator()));
+            Comparator<?> comparator = null;
+            if (original instanceof SortedSet)
+                comparator = ((SortedSet<?>)original).comparator();
+            else if (original instanceof SortedMap)
+                comparator = ((SortedMap<?,?>)original).comparator();
+            if (comparator != null)
+                return clazz.getConstructor(Comparator.class).newInstance(copyComparator(comparator));
+            return clazz.getConstructor().newInstance();
+        }
+        catch (Exception e)
+        {
+            throw new IllegalStateException("Cannot copy container " + className + " unless it is registered as shared", e);
+        }
+    }
+
+    /**
+     * Fill copy with copies of the fields or elements of the original
+     * @param original Object being copied
+     * @param copy Allocated copy
+     */
+    @SuppressWarnings("unchecked")
+    protected void fill(Object original, Object copy)
+    {
+        Class<?> clazz = original.getClass();
+        if (clazz.isArray())
+        {
+            int length = Array.getLength(original);
+            if (clazz.getComponentType().isPrimitive())
+                System.arraycopy(original, 0, copy, 0, length);
+            else
+            {
+                Object[] source = (Object[])original;
+                Object[] target = (Object[])copy;
+                for (int i = 0; i < length; ++i)
+                    target[i] = copyReference(source[i]);
+            }
+            return;
+        }
+        if (isJdkClass(clazz))
+        {
+            if (original instanceof Collection)
+            {
+                for (Object item: (Collection<?>)original)
+                    copyReference(item);
+                containerList.add(original);
+            }
+            else if (original instanceof Map)
+            {
+                for (Map.Entry<?,?> entry: ((Map<?,?>)original).entrySet())
+                {
+                    copyReference(entry.getKey());
+                    copyReference(entry.getValue());
+                }
+                containerList.add(original);
+            }
+            else if (original instanceof AtomicReference)
+                ((AtomicReference<Object>)copy).set(copyReference(((AtomicReference<?>)original).get()));
+            return;
+        }
+        for (Field field: getFields(clazz))
+        {
+            try
+            {
+                Class<?> type = field.getType();
+                if (type.isPrimitive())
+                    field.set(copy, field.get(original));
+                else
+                    field.set(copy, copyReference(field.get(original)));
+            }
+            catch (IllegalAccessException e)
+            {
+                throw new IllegalStateException("Error copying field " + field.getName() + " of " + clazz.getName(), e);
+            }
+        }
+    }
+
+    /**
+     * Populate copied collections and maps.
+     * Lists are populated first, then hashed and sorted containers in reverse order of discovery,
+     * so nested containers and all elements are complete before their hash codes are taken.
+     */
+    protected void populateContainers()
+    {
+        List<Object> hashedList = new ArrayList<Object>();
+        for (Object original: containerList)
+        {
+            if ((original instanceof List) || (original instanceof IdentityHashMap))
+                populate(original);
+            else
+                hashedList.add(original);
+        }
+        for (int i = hashedList.size() - 1; i >= 0; --i)
+            populate(hashedList.get(i));
+        containerList.clear();
+        innerMap.clear();
+    }
+
+    /**
+     * Returns given container wrapped as unmodifiable or synchronized
+     * @param container Container to wrap
+     * @param isSynchronized Flag set true for synchronized wrapper
+     * @return Object
+     */
+    @SuppressWarnings("unchecked")
+    protected Object wrap(Object container, boolean isSynchronized)
+    {
+        if (container instanceof List)
+            return isSynchronized ? 
+                   Collections.synchronizedList((List<Object>)container) : 
+                   Collections.unmodifiableList((List<Object>)container);
+        if (container instanceof SortedSet)
+            return isSynchronized ? 
+                   Collections.synchronizedSortedSet((SortedSet<Object>)container) : 
+                   Collections.unmodifiableSortedSet((SortedSet<Object>)container);
+        if (container instanceof Set)
+            return isSynchronized ? 
+                   Collections.synchronizedSet((Set<Object>)container) : 
+                   Collections.unmodifiableSet((Set<Object>)container);
+        if (container instanceof SortedMap)
+            return isSynchronized ? 
+                   Collections.synchronizedSortedMap((SortedMap<Object, Object>)container) : 
+                   Collections.unmodifiableSortedMap((SortedMap<Object, Object>)container);
+        if (container instanceof Map)
+            return isSynchronized ? 
+                   Collections.synchronizedMap((Map<Object, Object>)container) : 
+                   Collections.unmodifiableMap((Map<Object, Object>)container);
+        return isSynchronized ? 
+               Collections.synchronizedCollection((Collection<Object>)container) : 
+               Collections.unmodifiableCollection((Collection<Object>)container);
+    }
+
+    /**
+     * Add copied contents of original container to its copy
+     * @param original Original collection or map
+     */
+    @SuppressWarnings("unchecked")
+    protected void populate(Object original)
+    {
+        Object copy = innerMap.containsKey(original) ? innerMap.get(original) : copyMap.get(original);
+        if (original.getClass().getName().equals("java.util.Arrays$ArrayList"))
+        {
+            List<Object> target = (List<Object>)copy;
+            int index = 0;
+            for (Object item: (List<?>)original)
+                target.set(index++, copyMap.get(item));
+        }
+        else if (original instanceof Collection)
+        {
+            Collection<Object> target = (Collection<Object>)copy;
+            for (Object item: (Collection<?>)original)
+                target.add(copyMap.get(item));
+        }
+        else
+        {
+            Map<Object, Object> target = (Map<Object, Object>)copy;
+            for (Map.Entry<?,?> entry: ((Map<?,?>)original).entrySet())
+                target.put(copyMap.get(entry.getKey()), copyMap.get(entry.getValue()));
+        }
+    }
+
+    /**
+     * Returns copy of comparator, which is needed before the container it orders is populated
+     * @param comparator Comparator or null for natural ordering
+     * @return Comparator object or null
+     */
+    protected Comparator<?> copyComparator(Comparator<?> comparator)
+    {
+        return (Comparator<?>)copyReference(comparator);
+    }
+
+    /**
+     * Register values of static fields of given class as shared, including members of static containers
+     * @param clazz Application class
+     */
+    protected void registerStatics(Class<?> clazz)
+    {
+        while ((clazz != null) && !isJdkClass(clazz))
+        {
+            if (!registeredClasses.add(clazz))
+                return;
+            for (Field field: clazz.getDeclaredFields())
+            {
+                if (!Modifier.isStatic(field.getModifiers()) || field.getType().isPrimitive())
+                    continue;
+                try
+                {
+                    field.setAccessible(true);
+                    Object value = field.get(null);
+                    if (value == null)
+                        continue;
+                    share(value);
+                    if (value instanceof Collection)
+                        for (Object item: (Collection<?>)value)
+                            share(item);
+                    else if (value instanceof Map)
+                        for (Map.Entry<?,?> entry: ((Map<?,?>)value).entrySet())
+                        {
+                            share(entry.getKey());
+                            share(entry.getValue());
+                        }
+                }
+                catch (Exception e)
+                {   // Inaccessible static is not referenced by copied objects
+                }
+            }
+            clazz = clazz.getSuperclass();
+        }
+    }
+
+    /**
+     * Returns instance fields of engine class and its superclasses. The allocator has 
+     * checked that Object is the only JDK superclass, so no state is left behind.
+     * @param clazz Engine class
+     * @return Field array
+     */
+    protected static Field[] getFields(Class<?> clazz)
+    {
+        Field[] fields = fieldCache.get(clazz);
+        if (fields != null)
+            return fields;
+        List<Field> fieldList = new ArrayList<Field>();
+        Class<?> current = clazz;
+        while (current != Object.class)
+        {
+            for (Field field: current.getDeclaredFields())
+            {
+                if (Modifier.isStatic(field.getModifiers()))
+                    continue;
+                field.setAccessible(true);
+                fieldList.add(field);
+            }
+            current = current.getSuperclass();
+        }
+        fields = fieldList.toArray(new Field[fieldList.size()]);
+        fieldCache.put(clazz, fields);
+        return fields;
+    }
+
+    /**
+     * Returns constructor which allocates an instance of given engine class. This is the constructor 
+     * without arguments, or for an anonymous or inner class, the constructor which takes only the 
+     * enclosing instance and captured values. Every field is overwritten after allocation.
+     * @param clazz Class which is not a JDK class
+     * @return Constructor object
+     * @throws IllegalStateException if the class is not an engine class, extends a JDK class other than Object 
+     *         or has no suitable constructor
+     */
+    protected static Constructor<?> getAllocator(Class<?> clazz)
+    {
+        Constructor<?> allocator = allocatorCache.get(clazz);
+        if (allocator != null)
+            return allocator;
+        if (!clazz.getName().startsWith(ENGINE_PACKAGE))
+            throw new IllegalStateException("Cannot copy instance of " + clazz.getName() + " unless it is registered as shared");
+        Class<?> superclass = clazz.getSuperclass();
+        while (!isJdkClass(superclass))
+            superclass = superclass.getSuperclass();
+        if (superclass != Object.class)
+            // Fields of the JDK superclass would not be copied
+            throw new IllegalStateException("Cannot copy " + clazz.getName() + " which extends " + superclass.getName());
+        try
+        {
+            if (clazz.isAnonymousClass() || clazz.isLocalClass())
+                allocator = clazz.getDeclaredConstructors()[0];
+            else if (clazz.isMemberClass() && !Modifier.isStatic(clazz.getModifiers()))
+                allocator = clazz.getDeclaredConstructor(clazz.getEnclosingClass());
+            else
+                allocator = clazz.getDeclaredConstructor();
+        }
+        catch (NoSuchMethodException e)
+        {
+            throw new IllegalStateException("Cannot copy " + clazz.getName() + " as it has no constructor without arguments");
+        }
+        allocator.setAccessible(true);
+        allocatorCache.put(clazz, allocator);
+        return allocator;
+    }
+
+    /**
+     * Returns null, zero or false for each parameter of given constructor
+     * @param constructor Allocator
+     * @return Object array
+     */
+    protected static Object[] getDefaultArguments(Constructor<?> constructor)
+    {
+        Class<?>[] types = constructor.getParameterTypes();
+        Object[] arguments = new Object[types.length];
+        for (int i = 0; i < types.length; ++i)
+            if (types[i].isPrimitive())
+                // Default value of primitive type
+                arguments[i] = Array.get(Array.newInstance(types[i], 1), 0);
+        return arguments;
+    }
+
+    /**
+     * Returns flag set true if object is an instance of one of given types
+     * @param types Class array
+     * @param object Object to test
+     * @return boolean
+     */
+    protected static boolean isInstance(Class<?>[] types, Object object)
+    {
+        for (Class<?> type: types)
+            if (type.isInstance(object))
+                return true;
+        return false;
+    }
+
+    /**
+     * Returns flag set true if class belongs to the Java runtime
+     * @param clazz Class to test
+     * @return boolean
+     */
+    protected static boolean isJdkClass(Class<?> clazz)
+    {
+        if (clazz.getClassLoader() == null)
+            return true;
+        String name = clazz.getName();
+        return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("sun.") || name.startsWith("jdk.");
+    }
+}
@@ -35,6 +35,13 @@ public class OperandParam implements Term
     /** The parameter name, hides Operand name */
     protected String name;
 
+    /**
+     * Construct empty OperandParam object to be filled by ObjectGraphCopier
+     */
+    protected OperandParam()
+    {
+    }
+
     /**
      * Construct OperandParam object
      * @param name
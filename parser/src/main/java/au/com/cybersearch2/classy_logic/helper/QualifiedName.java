@@ -41,6 +41,13 @@ public class QualifiedName implements Comparable<QualifiedName>
     protected String template;
     protected String name;
 
+    /**
+     * Construct empty QualifiedName object to be filled by ObjectGraphCopier
+     */
+    protected QualifiedName()
+    {
+    }
+
     /**
      * Construct name-only QualifiedName in global namespace
      * @param name
@@ -25,6 +25,13 @@ import au.com.cybersearch2.classy_logic.QueryProgram;
 public class QualifiedTemplateName extends QualifiedName
 {
 
+    /**
+     * Construct empty QualifiedTemplateName object to be filled by ObjectGraphCopier
+     */
+    protected QualifiedTemplateName()
+    {
+    }
+
     public QualifiedTemplateName(String scope, String name)
     {
         super(QueryProgram.GLOBAL_SCOPE.equals(scope) ? EMPTY : scope, name, EMPTY);
@@ -23,6 +23,9 @@ package au.com.cybersearch2.classy_logic.helper;
  */
 public class Unknown implements Comparable<Unknown>
 {
+    /** Shared instance. All Unknown objects are equal so there is no need to create more than one */
+    public static final Unknown UNKNOWN = new Unknown();
+
     /**
      * @see java.lang.Comparable#compareTo(java.lang.Object)
      */
@@ -0,0 +1,37 @@
+/**
+    Copyright (C) 2015  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.interfaces;
+
+import java.util.List;
+
+/**
+ * BatchCallEvaluator
+ * Optional extension of CallEvaluator to perform a function over many rows of arguments in a single call.
+ * Arguments are passed in columns so a function can amortize setup and work directly on arrays.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public interface BatchCallEvaluator<R> extends CallEvaluator<R>
+{
+    /**
+     * Perform function on rows of arguments
+     * @param argumentNames Argument names in column order. Anonymous arguments have empty names.
+     * @param argumentColumns Argument values indexed by column then row 
+     * @param rowCount Number of rows
+     * @return List of results, one per row, in row order
+     */
+    List<R> evaluateBatch(String[] argumentNames, Object[][] argumentColumns, int rowCount);
+}
@@ -0,0 +1,35 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.interfaces;
+
+import au.com.cybersearch2.classy_logic.query.SolutionBatch;
+
+/**
+ * BatchSolutionHandler
+ * Receives the solutions of a query in batches of copied rows instead of one live Solution at a time
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public interface BatchSolutionHandler 
+{
+	/**
+	 * Handle batch of solutions
+	 * @param batch Solutions in the order found. Empty only when the query has no solutions.
+	 * @param isLast Flag set true if no more batches follow
+	 * @return Flag set true to continue the query
+	 */
+	boolean onBatch(SolutionBatch batch, boolean isLast);
+}
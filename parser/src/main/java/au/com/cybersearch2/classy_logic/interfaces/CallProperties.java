@@ -0,0 +1,33 @@
+/**
+    Copyright (C) 2015  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.interfaces;
+
+/**
+ * CallProperties
+ * Optional declarations a CallEvaluator makes about its behaviour so calls can be optimized.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public interface CallProperties
+{
+    /**
+     * Returns flag set true if the function result depends only on argument values and 
+     * the function has no side effects. The result of a pure call may be cached and 
+     * a call with no arguments is evaluated only once.
+     * @return boolean
+     */
+    boolean isPure();
+}
@@ -0,0 +1,36 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.interfaces;
+
+import au.com.cybersearch2.classy_logic.query.Solution;
+
+/**
+ * IndexedSolutionHandler
+ * Receives solutions of a query executed once for each of a sequence of parameter sets.
+ * Calls are made one at a time, but may come from several threads when parameter sets run in parallel.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public interface IndexedSolutionHandler 
+{
+	/**
+	 * Handle solution found event
+	 * @param index Position of the parameter set in the input sequence
+	 * @param solution The axiom-containing Solution
+	 * @return Flag set true to continue the query for this parameter set
+	 */
+	boolean onSolution(int index, Solution solution);
+}
@@ -0,0 +1,40 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.interfaces;
+
+import java.util.List;
+
+/**
+ * PartitionAxiomProvider
+ * Axiom provider which can select one shard's partition of an axiom at the source,
+ * for example with a query condition, so axioms of other shards are never read.
+ * The partition must be the one given by PartitionedAxiomProvider.shardOf() applied to the partition term.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public interface PartitionAxiomProvider extends AxiomProvider
+{
+	/**
+	 * Returns axiom source for one shard's partition of specified axiom
+	 * @param axiomName Axiom key
+	 * @param axiomTermNameList List of axiom term names or null if use defaults
+	 * @param partitionTerm Name of term whose value selects the shard
+	 * @param shardIndex Index of shard
+	 * @param shardCount Number of shards
+	 * @return AxiomSource object
+	 */
+	AxiomSource getAxiomSource(String axiomName, List<String> axiomTermNameList, String partitionTerm, int shardIndex, int shardCount);
+}
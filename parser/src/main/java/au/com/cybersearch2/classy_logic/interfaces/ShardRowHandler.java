@@ -0,0 +1,35 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.interfaces;
+
+import au.com.cybersearch2.classy_logic.pattern.Axiom;
+
+/**
+ * ShardRowHandler
+ * Receives result rows of a query executed on one shard of a partitioned program
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public interface ShardRowHandler 
+{
+	/**
+	 * Handle result row
+	 * @param shardIndex Index of shard which produced the row
+	 * @param row Result axiom, which the handler may retain
+	 * @return Flag set false to stop receiving rows for the query
+	 */
+	boolean onRow(int shardIndex, Axiom row);
+}
@@ -0,0 +1,50 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.interfaces;
+
+import au.com.cybersearch2.classy_logic.shard.ShardQuery;
+
+/**
+ * ShardTransport
+ * Carries queries to the shards of a partitioned program and their result rows back to the coordinator.
+ * Each shard runs the same script over its own partition of the axioms. 
+ * Implementations must allow different shards to be called concurrently.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public interface ShardTransport 
+{
+	/**
+	 * Returns number of shards
+	 * @return int
+	 */
+	int getShardCount();
+
+	/**
+	 * Execute query on one shard, returning when the shard has produced all rows
+	 * @param shardIndex Index of shard in range 0 to shard count - 1
+	 * @param shardQuery Query to execute, including parameters, sort keys and limit to push down to the shard.
+	 * Rows are returned in sort key order and no more than the limit of rows is returned.
+	 * @param rowHandler Receives each result row
+	 * @throws au.com.cybersearch2.classy_logic.query.QueryExecutionException if the shard fails
+	 */
+	void execute(int shardIndex, ShardQuery shardQuery, ShardRowHandler rowHandler);
+
+	/**
+	 * Release resources held by the transport
+	 */
+	void close();
+}
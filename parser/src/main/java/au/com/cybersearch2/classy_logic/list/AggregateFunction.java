@@ -0,0 +1,67 @@
+/**
+    Copyright (C) 2015  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.list;
+
+import java.util.Locale;
+
+/**
+ * AggregateFunction
+ * Built-in aggregate operations which reduce a list to a single value.
+ * Note aggregate names are not reserved words, so "count" remains a valid variable name,
+ * but they cannot be used as query names.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public enum AggregateFunction 
+{
+	SUM,
+	COUNT,
+	MIN,
+	MAX,
+	AVG;
+
+	/**
+	 * Returns name of function as it appears in a script
+	 * @return String
+	 */
+	public String getFunctionName()
+	{
+		return name().toLowerCase(Locale.US);
+	}
+	
+	/**
+	 * Returns aggregate function matching given name or null if not an aggregate function
+	 * @param name Function name
+	 * @return AggregateFunction object or null
+	 */
+	public static AggregateFunction getFunction(String name)
+	{
+		for (AggregateFunction function: values())
+			if (function.getFunctionName().equals(name))
+				return function;
+		return null;
+	}
+
+	/**
+	 * Returns flag set true if given name is that of an aggregate function
+	 * @param name Function name
+	 * @return boolean
+	 */
+	public static boolean isAggregate(String name)
+	{
+		return getFunction(name) != null;
+	}
+}
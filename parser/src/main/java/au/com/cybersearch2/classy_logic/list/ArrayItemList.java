@@ -16,7 +16,6 @@
 package au.com.cybersearch2.classy_logic.list;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
@@ -32,6 +31,8 @@ import au.com.cybersearch2.classy_logic.interfaces.ItemList;
  * A proxy Operand is supplied to participate in item expressions. 
  * The proxy is shared by dependent ItemListVariable objects which take their values from the list.
  * This object resides in an OperandMap never directly interacts with other operands.
+ * Items are held in a persistent ItemVector. Snapshots returned by getIterable() and lists appended
+ * with appendItems() share the backing chunks, which are copied only when an item in them is overwritten.
  * @author Andrew Bowley
  * 15 Jan 2015
  */
@@ -57,7 +58,7 @@ public class ArrayItemList<T> implements ItemList<T>
     /** Operand delegate to provide evaluation functionality */
     protected Operand proxy;
     /** The list items */
-    protected ArrayList<Object> valueList;
+    protected ItemVector valueList;
  
     static
     {
@@ -142,6 +143,13 @@ public class ArrayItemList<T> implements ItemList<T>
 		    }});
     }
     
+	/**
+	 * Construct empty ArrayItemList object to be filled by ObjectGraphCopier
+	 */
+	protected ArrayItemList()
+	{
+	}
+
     /**
      * Construct a ListOperand object
      * @param clazz Class of list items 
@@ -151,7 +159,7 @@ public class ArrayItemList<T> implements ItemList<T>
 	{
 		this.clazz = clazz;
 		this.proxy = proxy;
-		valueList = new ArrayList<Object>();
+		valueList = new ItemVector();
 	}
 
 	/**
@@ -207,13 +215,31 @@ public class ArrayItemList<T> implements ItemList<T>
 			valueList.set(index, value);
 		else
 		{
-			valueList.ensureCapacity(index + 1);
 			for (int i = valueList.size(); i < index; i++)
 				valueList.add(null);
-			valueList.add(index, value);
+			valueList.add(value);
 		}
 	}
 
+	/**
+	 * Append all items of given list. The items are shared, not copied.
+	 * @param itemList List containing items of same type as this list, which may be this list
+	 */
+	public void appendItems(ArrayItemList<?> itemList) 
+	{
+		if (!clazz.isAssignableFrom(itemList.clazz))
+			throw new ExpressionException("Cannot append List " + itemList.getName() + " to List " + getName());
+		itemList.loadItems();
+		valueList.addAll(itemList.valueList);
+	}
+
+	/**
+	 * Ensure all items are present in the backing vector. Lists which load items on demand override this method.
+	 */
+	protected void loadItems() 
+	{
+	}
+
 	/**
 	 * newVariableInstance
 	 * @see au.com.cybersearch2.classy_logic.interfaces.ItemList#newVariableInstance(int, java.lang.String, int)
@@ -280,10 +306,8 @@ public class ArrayItemList<T> implements ItemList<T>
 	@Override
 	public Iterable<T> getIterable() 
 	{
-		/** Copy of the list items so original can be cleared */
-		final   ArrayList<Object> valueList2 = new ArrayList<Object>();
-		valueList2.addAll(valueList);
-
+		// Share the list items up to the current length. Later changes to this list are not seen. 
+		final ItemVector items = valueList.snapshot();
 		return new Iterable<T>()
 		{
 
@@ -291,14 +315,10 @@ public class ArrayItemList<T> implements ItemList<T>
 			@Override
 			public Iterator<T> iterator() 
 			{   // Return iterator pointing to first non-null member of list
-				Iterator<T> iter = (Iterator<T>)valueList2.listIterator();
-				for (int index = 0; index < valueList2.size(); index++)
-				{
-					if (valueList2.get(index) != null)
-					    break;
-					iter.next();
-				}
-				return  iter;
+				int start = 0;
+				while ((start < items.size()) && (items.get(start) == null))
+					++start;
+				return (Iterator<T>)items.iterator(start, items.size());
 			}
 		};
 	}
@@ -309,8 +329,8 @@ public class ArrayItemList<T> implements ItemList<T>
 	 */
 	@Override
 	public void clear() 
-	{
-		valueList.clear();
+	{   // Leave shared items to snapshots
+		valueList = new ItemVector();
 	}
 
 	/**
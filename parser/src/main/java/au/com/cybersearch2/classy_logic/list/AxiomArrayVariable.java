@@ -31,6 +31,13 @@ public class AxiomArrayVariable extends ItemListVariable<AxiomTermList>
 	/** OperatorEnum const array for assignment only */
 	protected static OperatorEnum[] ASSIGN_OPERAND_OP = { OperatorEnum.ASSIGN };
 
+	/**
+	 * Construct empty AxiomArrayVariable object to be filled by ObjectGraphCopier
+	 */
+	protected AxiomArrayVariable()
+	{
+	}
+
 	/**
 	 * Construct AxiomArrayVariable object for fixed index
 	 * @param itemList Owning list - must contain AxiomTermList objects
@@ -69,6 +76,18 @@ public class AxiomArrayVariable extends ItemListVariable<AxiomTermList>
 		return ASSIGN_OPERAND_OP;
 	}
 
+	/**
+	 * Returns index of axiom with key term matching given name
+	 * @see au.com.cybersearch2.classy_logic.list.ItemListVariable#getIndexForName(java.lang.String)
+	 */
+	@Override
+	protected int getIndexForName(String itemName)
+    {
+		if (itemList instanceof AxiomList)
+			return ((AxiomList)itemList).getIndexForKey(itemName);
+        return -1;
+    }
+
 	/**
 	 * Returns permited operations for this Variable as a left hand term
 	 * @see au.com.cybersearch2.classy_logic.interfaces.Operand#getLeftOperandOps()
@@ -15,27 +15,126 @@
     along with this program.  If not, see <http://www.gnu.org/licenses/> */
 package au.com.cybersearch2.classy_logic.list;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 
 import au.com.cybersearch2.classy_logic.expression.Variable;
 import au.com.cybersearch2.classy_logic.helper.QualifiedName;
 import au.com.cybersearch2.classy_logic.interfaces.AxiomListener;
+import au.com.cybersearch2.classy_logic.interfaces.AxiomSource;
 import au.com.cybersearch2.classy_logic.interfaces.Operand;
+import au.com.cybersearch2.classy_logic.interfaces.Term;
 import au.com.cybersearch2.classy_logic.pattern.Axiom;
 
 /**
  * AxiomList
+ * List of axioms, each wrapped in an AxiomTermList. 
+ * An axiom can be selected by the value of a key term, which is the first term unless another term is nominated.
+ * Keyed access is backed by a hash index built on first use. The index is extended as axioms are appended
+ * and discarded when an existing item is replaced or the list is cleared. Key term values are not expected to change.
+ * Items are shared when lists are concatenated or duplicated, as an axiom in a list is replaced rather than modified.
+ * A list bound to an axiom source wraps axioms as they are read, so only the items accessed are loaded.
+ * The source is iterated once. Snapshots taken before all items are loaded read the remaining items
+ * from the same iteration.
  * @author Andrew Bowley
  * 28 Jan 2015
  */
 public class AxiomList extends ArrayItemList<AxiomTermList> 
 {
+	/**
+	 * SourceLoader
+	 * Reads axioms from an axiom source once, in order, and keeps each axiom wrapped in an AxiomTermList. 
+	 * Shared by a list and the snapshots taken of it, which may be iterated by other threads.
+	 */
+	protected static class SourceLoader
+	{
+		/** Source of axioms or null once exhausted */
+		protected AxiomSource axiomSource;
+		/** Iterator over axiom source, obtained on first read */
+		protected Iterator<Axiom> sourceIterator;
+		/** Name of list */
+		protected QualifiedName qname;
+		/** Axiom key */
+		protected QualifiedName key;
+		/** Items read from the source in order */
+		protected List<AxiomTermList> itemList;
+
+		/**
+		 * Construct empty SourceLoader object to be filled by ObjectGraphCopier
+		 */
+		protected SourceLoader()
+		{
+		}
+
+		/**
+		 * Construct SourceLoader object
+		 * @param axiomSource Axiom source
+		 * @param qname Name of list
+		 * @param key Axiom key
+		 */
+		public SourceLoader(AxiomSource axiomSource, QualifiedName qname, QualifiedName key)
+		{
+			this.axiomSource = axiomSource;
+			this.qname = qname;
+			this.key = key;
+			itemList = new ArrayList<AxiomTermList>();
+		}
+
+		/**
+		 * Returns item at given position in source, reading the source as far as required
+		 * @param index Position of item, not counting null axioms
+		 * @return AxiomTermList object or null if the source is exhausted
+		 */
+		public synchronized AxiomTermList getItem(int index)
+		{
+			while ((axiomSource != null) && (itemList.size() <= index))
+			{
+				if (sourceIterator == null)
+					sourceIterator = axiomSource.iterator();
+				if (!sourceIterator.hasNext())
+				{
+					axiomSource = null;
+					sourceIterator = null;
+					break;
+				}
+				Axiom axiom = sourceIterator.next();
+				if (axiom == null)
+					continue;
+				AxiomTermList axiomTermList = new AxiomTermList(qname, key);
+				axiomTermList.setAxiom(axiom);
+				itemList.add(axiomTermList);
+			}
+			return index < itemList.size() ? itemList.get(index) : null;
+		}
+	}
+
     /** Axiom listener is notified of axiom to add to list */
 	protected AxiomListener axiomListener;
 	/** Axiom term names */
 	protected List<String> axiomTermNameList;
     /** Axiom key */
     protected QualifiedName key;
+    /** Name of term used for keyed access or null for first term */
+    protected String keyTermName;
+    /** Key term value mapped to index of first axiom with that value. Null until keyed access occurs */
+    protected Map<Object, Integer> keyIndex;
+    /** Reader of axioms not yet loaded or null if all items are loaded */
+    protected SourceLoader sourceLoader;
+    /** Length of list once all axioms are loaded or -1 if not known */
+    protected int sourceLength;
+    /** Number of items in list before axiom source was bound */
+    protected int sourceStart;
+
+	/**
+	 * Construct empty AxiomList object to be filled by ObjectGraphCopier
+	 */
+	protected AxiomList()
+	{
+	}
 
 	/**
 	 * Construct an AxiomList object
@@ -104,6 +203,19 @@ public class AxiomList extends ArrayItemList<AxiomTermList>
     	return axiomListVariable;
     }
 
+    /**
+     * Bind list to axiom source. Axioms are read from the source and added to the list when first accessed.
+     * @param axiomSource Axiom source
+     * @param length Number of axioms in source or -1 if not known
+     */
+    public void setAxiomSource(AxiomSource axiomSource, int length)
+    {
+        loadItems();
+        sourceLoader = new SourceLoader(axiomSource, getQualifiedName(), key);
+        sourceStart = valueList.size();
+        sourceLength = length < 0 ? -1 : valueList.size() + length;
+    }
+
     /**
      * Returns listener to add Axiom objects to this container
      * @return AxiomListener
@@ -148,6 +260,264 @@ public class AxiomList extends ArrayItemList<AxiomTermList>
 		this.axiomTermNameList = axiomTermNameList;
 	}
 
+	/**
+	 * Returns name of term used for keyed access
+	 * @return Term name or null if first term is used
+	 */
+	public String getKeyTermName() 
+	{
+		return keyTermName;
+	}
+
+	/**
+	 * Set name of term used for keyed access
+	 * @param keyTermName Term name or null to use first term
+	 */
+	public void setKeyTermName(String keyTermName) 
+	{
+		this.keyTermName = keyTermName;
+		keyIndex = null;
+	}
+
+	/**
+	 * Returns number of items, which is taken from the axiom source if known
+	 * @see au.com.cybersearch2.classy_logic.list.ArrayItemList#getLength()
+	 */
+	@Override
+	public int getLength()
+	{
+		if (sourceLoader != null)
+		{
+			if (sourceLength >= 0)
+				return sourceLength;
+			loadItems();
+		}
+		return super.getLength();
+	}
+
+	/**
+	 * isEmpty
+	 * @see au.com.cybersearch2.classy_logic.list.ArrayItemList#isEmpty()
+	 */
+	@Override
+	public boolean isEmpty() 
+	{
+		loadItem(0);
+		return super.isEmpty();
+	}
+
+	/**
+	 * getItem
+	 * @see au.com.cybersearch2.classy_logic.list.ArrayItemList#getItem(int)
+	 */
+	@Override
+	public AxiomTermList getItem(int index) 
+	{
+		loadItem(index);
+		return super.getItem(index);
+	}
+
+	/**
+	 * hasItem
+	 * @see au.com.cybersearch2.classy_logic.list.ArrayItemList#hasItem(int)
+	 */
+	@Override
+	public boolean hasItem(int index) 
+	{
+		loadItem(index);
+		return super.hasItem(index);
+	}
+
+	/**
+	 * iterator
+	 * @see au.com.cybersearch2.classy_logic.list.ArrayItemList#iterator()
+	 */
+	@Override
+	public Iterator<AxiomTermList> iterator() 
+	{
+		loadItems();
+		return super.iterator();
+	}
+
+	/**
+	 * getIterable
+	 * @see au.com.cybersearch2.classy_logic.list.ArrayItemList#getIterable()
+	 */
+	@Override
+	public Iterable<AxiomTermList> getIterable() 
+	{
+		if (sourceLoader == null)
+			return super.getIterable();
+		// Items not yet loaded are read by the loader of this list when the snapshot is iterated
+		final Iterable<AxiomTermList> loaded = super.getIterable();
+		final int loadedCount = valueList.size() - sourceStart;
+		final SourceLoader loader = sourceLoader;
+		return new Iterable<AxiomTermList>()
+		{
+			@Override
+			public Iterator<AxiomTermList> iterator() 
+			{
+				final Iterator<AxiomTermList> loadedIterator = loaded.iterator();
+				return new Iterator<AxiomTermList>()
+				{
+					int index = loadedCount;
+					AxiomTermList next;
+
+					@Override
+					public boolean hasNext() 
+					{
+						if (loadedIterator.hasNext())
+							return true;
+						if (next == null)
+							next = loader.getItem(index);
+						return next != null;
+					}
+
+					@Override
+					public AxiomTermList next() 
+					{
+						if (!hasNext())
+							throw new NoSuchElementException();
+						if (next == null)
+							return loadedIterator.next();
+						AxiomTermList axiomTermList = next;
+						next = null;
+						++index;
+						return axiomTermList;
+					}
+
+					@Override
+					public void remove() 
+					{
+						throw new UnsupportedOperationException();
+					}
+				};
+			}
+		};
+	}
+
+	/**
+	 * Returns index of first axiom with key term matching given value
+	 * @param keyValue Value to match
+	 * @return Index or -1 if no match
+	 */
+	public int getIndexForKey(Object keyValue)
+	{
+		if (keyIndex == null)
+		{
+			loadItems();
+			keyIndex = new HashMap<Object, Integer>();
+			for (int i = 0; i < valueList.size(); ++i)
+				addKey(i);
+		}
+		Integer index = keyIndex.get(normalizeKey(keyValue));
+		return index == null ? -1 : index.intValue();
+	}
+
+	/**
+	 * Assign value to list item referenced by index, maintaining key index if it exists.
+	 * @see au.com.cybersearch2.classy_logic.list.ArrayItemList#assignItem(int, java.lang.Object)
+	 */
+	@Override
+	public void assignItem(int index, Object value) 
+	{
+		loadItems();
+		boolean isAppend = index >= valueList.size();
+		super.assignItem(index, value);
+		if (keyIndex != null)
+		{
+			if (isAppend)
+				addKey(index);
+			else
+				keyIndex = null;
+		}
+	}
+
+	/**
+	 * Append all items of given list, maintaining key index if it exists.
+	 * @see au.com.cybersearch2.classy_logic.list.ArrayItemList#appendItems(au.com.cybersearch2.classy_logic.list.ArrayItemList)
+	 */
+	@Override
+	public void appendItems(ArrayItemList<?> itemList) 
+	{
+		loadItems();
+		int start = valueList.size();
+		super.appendItems(itemList);
+		if (keyIndex != null)
+			for (int i = start; i < valueList.size(); ++i)
+				addKey(i);
+	}
+
+	/**
+	 * Clear list and key index
+	 * @see au.com.cybersearch2.classy_logic.list.ArrayItemList#clear()
+	 */
+	@Override
+	public void clear() 
+	{
+		super.clear();
+		keyIndex = null;
+		sourceLoader = null;
+	}
+
+	/**
+	 * Load all axioms remaining in axiom source
+	 * @see au.com.cybersearch2.classy_logic.list.ArrayItemList#loadItems()
+	 */
+	@Override
+	protected void loadItems()
+	{
+		loadItem(Integer.MAX_VALUE - 1);
+	}
+
+	/**
+	 * Load axioms from axiom source until item at given index is present or source is exhausted
+	 * @param index Item index
+	 */
+	protected void loadItem(int index)
+	{
+		while ((sourceLoader != null) && (valueList.size() <= index))
+		{
+			AxiomTermList axiomTermList = sourceLoader.getItem(valueList.size() - sourceStart);
+			if (axiomTermList == null)
+			{
+				sourceLoader = null;
+				break;
+			}
+			valueList.add(axiomTermList);
+		}
+	}
+
+	/**
+	 * Add key of item at given index to key index unless key is already present or item does not exist
+	 * @param index int
+	 */
+	protected void addKey(int index)
+	{
+		AxiomTermList axiomTermList = (AxiomTermList)valueList.get(index);
+		if (axiomTermList == null)
+			return;
+		Axiom axiom = axiomTermList.getAxiom();
+		Term keyTerm = keyTermName == null ? axiom.getTermByIndex(0) : axiom.getTermByName(keyTermName);
+		if ((keyTerm == null) || keyTerm.isEmpty() || (keyTerm.getValue() == null))
+			return;
+		Object keyValue = normalizeKey(keyTerm.getValue());
+		if (!keyIndex.containsKey(keyValue))
+			keyIndex.put(keyValue, Integer.valueOf(index));
+	}
+
+	/**
+	 * Returns key value with integer types widened to Long so they match axiom term values 
+	 * @param keyValue Object
+	 * @return Object
+	 */
+	protected static Object normalizeKey(Object keyValue)
+	{
+		if ((keyValue instanceof Integer) || (keyValue instanceof Short) || (keyValue instanceof Byte))
+			return Long.valueOf(((Number)keyValue).longValue());
+		return keyValue;
+	}
+
 	/**
 	 * getItemClass
 	 * @see au.com.cybersearch2.classy_logic.list.ArrayItemList#getItemClass()
@@ -53,7 +53,20 @@ public class AxiomListSpec
     protected Operand axiomListVariable;
     /** Flag set true if assigned to an AxiomTermList */
     protected boolean isTermList;
+    /** Term name list in which the term index was last resolved */
+    protected List<String> resolvedNameList;
+    /** Term name last resolved */
+    protected String resolvedName;
+    /** Index of term name last resolved */
+    protected int resolvedIndex;
  
+    /**
+     * Construct empty AxiomListSpec object to be filled by ObjectGraphCopier
+     */
+    protected AxiomListSpec()
+    {
+    }
+
     /**
      * Construct AxiomListSpec object for case backing AxiomList is available
      * @param axiomList Backing axiom list
@@ -296,8 +309,17 @@ public class AxiomListSpec
      */
     protected int getIndexForName(String itemName, List<String> axiomTermNameList) 
     {
+        // Same name in same term name list resolves to same index, so skip the scan on re-evaluation
+        if ((axiomTermNameList == resolvedNameList) && itemName.equals(resolvedName))
+            return resolvedIndex;
         int index = getIndexByName(itemName, axiomTermNameList);
-        if ((index == -1) && (termExpression != null) && !termExpression.isEmpty())
+        if (index != -1)
+        {
+            resolvedNameList = axiomTermNameList;
+            resolvedName = itemName;
+            resolvedIndex = index;
+        }
+        else if ((termExpression != null) && !termExpression.isEmpty())
             index = getIndexByName(termExpression.getValue().toString(), axiomTermNameList);
         return index;
     }
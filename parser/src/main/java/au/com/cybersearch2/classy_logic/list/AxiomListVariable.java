@@ -61,6 +61,13 @@ public class AxiomListVariable  extends Parameter implements Operand, Concaten<S
 	/** OperatorEnum const array for assignment only */
 	protected static OperatorEnum[] ASSIGN_OPERAND_OP = { OperatorEnum.ASSIGN };
    
+	/**
+	 * Construct empty AxiomListVariable object to be filled by ObjectGraphCopier
+	 */
+	protected AxiomListVariable()
+	{
+	}
+
 	/**
 	 * Construct a fixed index AxiomListVariable object.
 	 * Note axiom term fixed index or expression operand must be set to complete set up
@@ -292,6 +299,8 @@ public class AxiomListVariable  extends Parameter implements Operand, Concaten<S
 			int index = -1;
 			if (axiomExpression.getValue() instanceof Number)
 	            index = ((Number)(axiomExpression.getValue())).intValue();
+			else if (axiomExpression.getValue() instanceof String) // Select axiom by key term value
+				index = axiomList.getIndexForKey(axiomExpression.getValue());
 			if (index == -1)
 				throw new ExpressionException("\"" + axiomList.getName() + "[" + axiomExpression.getValue().toString() + "]\" is not a valid value" );
 			
@@ -311,6 +320,7 @@ public class AxiomListVariable  extends Parameter implements Operand, Concaten<S
 				    super.assign(axiomTermListVariable);
 				}
 			}
+			recordChange();
 			this.id = modifierId;
 		}
 		else if (termExpression != null)
@@ -326,7 +336,7 @@ public class AxiomListVariable  extends Parameter implements Operand, Concaten<S
             if (axiomList.hasItem(axiomIndex))
                 super.setValue(axiomList.getItem(axiomIndex));
             else
-                super.setValue(new Null());
+                super.setValue(Null.NULL);
         }
 		return EvaluationStatus.COMPLETE;
 	}
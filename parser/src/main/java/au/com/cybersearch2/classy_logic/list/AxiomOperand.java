@@ -27,6 +27,13 @@ import au.com.cybersearch2.classy_logic.interfaces.ParserRunner;
  */
 public class AxiomOperand extends ListVariableOperand implements ParserRunner
 {
+    /**
+     * Construct empty AxiomOperand object to be filled by ObjectGraphCopier
+     */
+    protected AxiomOperand()
+    {
+    }
+
     /**
      * Construct an AxiomOperand object
      * @param listName
@@ -55,6 +55,13 @@ public class AxiomTermList implements ItemList<Object>
 		EMPTY_AXIOM = new Axiom("*");
 	}
 	
+	/**
+	 * Construct empty AxiomTermList object to be filled by ObjectGraphCopier
+	 */
+	protected AxiomTermList()
+	{
+	}
+
 	/**
 	 * Construct an AxiomTermList object. The initial axiom is empty until axiomListener is notified.
 	 * @param qname Qualified name of list
@@ -175,7 +182,7 @@ public class AxiomTermList implements ItemList<Object>
 	public void assignItem(int index, Object value) 
 	{   
 		verify(index);
-		axiom.getTermByIndex(index).setValue(value);
+		axiom.setTermValue(index, value);
 	}
 
 	/**
@@ -255,10 +262,8 @@ public class AxiomTermList implements ItemList<Object>
 	@Override
 	public Iterable<Object> getIterable() 
 	{
-		// Use copy of axiom in case clear() is called
-        final Axiom axiom2 = new Axiom(axiom.getName());
-        for (int i = 0; i < axiom.getTermCount(); i++)
-        	axiom2.addTerm(axiom.getTermByIndex(i));
+		// The axiom is replaced, not modified, when clear() or setAxiom() is called, so it can be shared
+        final Axiom axiom2 = axiom;
 		return new Iterable<Object>()
 		{
 			@Override
@@ -30,6 +30,13 @@ import au.com.cybersearch2.classy_logic.interfaces.Term;
 public class AxiomTermListVariable extends ItemListVariable<Object> implements Concaten<String>
 {
 
+	/**
+	 * Construct empty AxiomTermListVariable object to be filled by ObjectGraphCopier
+	 */
+	protected AxiomTermListVariable()
+	{
+	}
+
 	/**
 	 * Construct an AxiomTermListVariable instance
 	 * @param axiomTermList The axiom term list being referenced
@@ -0,0 +1,155 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.list;
+
+import java.util.Arrays;
+
+import au.com.cybersearch2.classy_logic.expression.ExpressionException;
+import au.com.cybersearch2.classy_logic.interfaces.Operand;
+
+/**
+ * BooleanItemList
+ * List of booleans held in a growable boolean array, so items are not boxed until accessed as objects.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class BooleanItemList extends PrimitiveItemList<Boolean> 
+{
+    /** The list items */
+    protected boolean[] values;
+
+	/**
+	 * Construct empty BooleanItemList object to be filled by ObjectGraphCopier
+	 */
+	protected BooleanItemList()
+	{
+	}
+
+    /**
+     * Construct BooleanItemList object
+     * @param proxy Operand delegate to provide evaluation functionality 
+     */
+	public BooleanItemList(Operand proxy) 
+	{
+		super(proxy);
+		values = new boolean[INITIAL_CAPACITY];
+	}
+
+	/**
+	 * Returns item referenced by index as a primitive
+	 * @param index int
+	 * @return boolean
+	 */
+	public boolean getBooleanValue(int index)
+	{
+		if (!hasItem(index))
+			throw new ExpressionException(getName() + " item " + index + " not found");
+		return values[index];
+	}
+
+	/**
+	 * Assign primitive value to list item referenced by index. The list grows to accommodate new item.
+	 * @param index int
+	 * @param value boolean
+	 */
+	public void setBooleanValue(int index, boolean value)
+	{
+		setAssigned(index);
+		values[index] = value;
+	}
+
+	/**
+	 * 
+	 * @see au.com.cybersearch2.classy_logic.interfaces.ItemList#assignItem(int, java.lang.Object)
+	 */
+	@Override
+	public void assignItem(int index, Object value) 
+	{
+		if (!(value instanceof Boolean))
+			throw new ExpressionException("Cannot assign type " + value.getClass().getName() + " to List " + getName());
+		setBooleanValue(index, ((Boolean)value).booleanValue());
+	}
+
+	/**
+	 * getItemClass
+	 * @see au.com.cybersearch2.classy_logic.interfaces.ItemList#getItemClass()
+	 */
+    @Override
+    public Class<?> getItemClass()
+    {
+        return Boolean.class;
+    }
+
+	/**
+	 * newInstance
+	 * @see au.com.cybersearch2.classy_logic.list.PrimitiveItemList#newInstance(au.com.cybersearch2.classy_logic.interfaces.Operand)
+	 */
+	@Override
+	public PrimitiveItemList<Boolean> newInstance(Operand proxy)
+	{
+		return new BooleanItemList(proxy);
+	}
+
+	/**
+	 * getValueAt
+	 * @see au.com.cybersearch2.classy_logic.list.PrimitiveItemList#getValueAt(int)
+	 */
+	@Override
+	protected Boolean getValueAt(int index)
+	{
+		return Boolean.valueOf(values[index]);
+	}
+
+	/**
+	 * isValueAt
+	 * @see au.com.cybersearch2.classy_logic.list.PrimitiveItemList#isValueAt(int, java.lang.Object)
+	 */
+	@Override
+	protected boolean isValueAt(int index, Object value)
+	{
+		return (value instanceof Boolean) && (((Boolean)value).booleanValue() == values[index]);
+	}
+
+	/**
+	 * getCapacity
+	 * @see au.com.cybersearch2.classy_logic.list.PrimitiveItemList#getCapacity()
+	 */
+	@Override
+	protected int getCapacity()
+	{
+		return values.length;
+	}
+
+	/**
+	 * reallocate
+	 * @see au.com.cybersearch2.classy_logic.list.PrimitiveItemList#reallocate(int)
+	 */
+	@Override
+	protected void reallocate(int capacity)
+	{
+		values = Arrays.copyOf(values, capacity);
+	}
+
+	/**
+	 * shareValues
+	 * @see au.com.cybersearch2.classy_logic.list.PrimitiveItemList#shareValues(au.com.cybersearch2.classy_logic.list.PrimitiveItemList)
+	 */
+	@Override
+	protected void shareValues(PrimitiveItemList<Boolean> target)
+	{
+		((BooleanItemList)target).values = values;
+	}
+}
@@ -0,0 +1,188 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.list;
+
+import java.util.Arrays;
+
+import au.com.cybersearch2.classy_logic.expression.ExpressionException;
+import au.com.cybersearch2.classy_logic.interfaces.Operand;
+
+/**
+ * DoubleItemList
+ * List of doubles held in a growable double array, so items are not boxed until accessed as objects.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class DoubleItemList extends PrimitiveItemList<Double> 
+{
+    /** The list items */
+    protected double[] values;
+
+	/**
+	 * Construct empty DoubleItemList object to be filled by ObjectGraphCopier
+	 */
+	protected DoubleItemList()
+	{
+	}
+
+    /**
+     * Construct DoubleItemList object
+     * @param proxy Operand delegate to provide evaluation functionality 
+     */
+	public DoubleItemList(Operand proxy) 
+	{
+		super(proxy);
+		values = new double[INITIAL_CAPACITY];
+	}
+
+	/**
+	 * Returns item referenced by index as a primitive
+	 * @param index int
+	 * @return double
+	 */
+	public double getDoubleValue(int index)
+	{
+		if (!hasItem(index))
+			throw new ExpressionException(getName() + " item " + index + " not found");
+		return values[index];
+	}
+
+	/**
+	 * Assign primitive value to list item referenced by index. The list grows to accommodate new item.
+	 * @param index int
+	 * @param value double
+	 */
+	public void setDoubleValue(int index, double value)
+	{
+		setAssigned(index);
+		values[index] = value;
+	}
+
+	/**
+	 * 
+	 * @see au.com.cybersearch2.classy_logic.interfaces.ItemList#assignItem(int, java.lang.Object)
+	 */
+	@Override
+	public void assignItem(int index, Object value) 
+	{
+		if (!(value instanceof Double))
+			throw new ExpressionException("Cannot assign type " + value.getClass().getName() + " to List " + getName());
+		setDoubleValue(index, ((Double)value).doubleValue());
+	}
+
+	/**
+	 * getItemClass
+	 * @see au.com.cybersearch2.classy_logic.interfaces.ItemList#getItemClass()
+	 */
+    @Override
+    public Class<?> getItemClass()
+    {
+        return Double.class;
+    }
+
+	/**
+	 * newInstance
+	 * @see au.com.cybersearch2.classy_logic.list.PrimitiveItemList#newInstance(au.com.cybersearch2.classy_logic.interfaces.Operand)
+	 */
+	@Override
+	public PrimitiveItemList<Double> newInstance(Operand proxy)
+	{
+		return new DoubleItemList(proxy);
+	}
+
+	/**
+	 * Sort list items by value, removing any gaps
+	 * @param isDescending Flag set true for descending order
+	 */
+	public void sort(boolean isDescending)
+	{
+		detach();
+		compact();
+		Arrays.sort(values, 0, size);
+		if (isDescending)
+			for (int i = 0, j = size - 1; i < j; ++i, --j)
+			{
+				double swap = values[i];
+				values[i] = values[j];
+				values[j] = swap;
+			}
+	}
+
+	/**
+	 * Remove gaps by moving assigned items down
+	 */
+	protected void compact()
+	{
+		if (gaps == null)
+			return;
+		int count = 0;
+		for (int i = 0; i < size; ++i)
+			if (!gaps.get(i))
+				values[count++] = values[i];
+		size = count;
+		gaps = null;
+	}
+
+	/**
+	 * getValueAt
+	 * @see au.com.cybersearch2.classy_logic.list.PrimitiveItemList#getValueAt(int)
+	 */
+	@Override
+	protected Double getValueAt(int index)
+	{
+		return Double.valueOf(values[index]);
+	}
+
+	/**
+	 * isValueAt
+	 * @see au.com.cybersearch2.classy_logic.list.PrimitiveItemList#isValueAt(int, java.lang.Object)
+	 */
+	@Override
+	protected boolean isValueAt(int index, Object value)
+	{
+		return (value instanceof Double) && (Double.doubleToLongBits(((Double)value).doubleValue()) == Double.doubleToLongBits(values[index]));
+	}
+
+	/**
+	 * getCapacity
+	 * @see au.com.cybersearch2.classy_logic.list.PrimitiveItemList#getCapacity()
+	 */
+	@Override
+	protected int getCapacity()
+	{
+		return values.length;
+	}
+
+	/**
+	 * reallocate
+	 * @see au.com.cybersearch2.classy_logic.list.PrimitiveItemList#reallocate(int)
+	 */
+	@Override
+	protected void reallocate(int capacity)
+	{
+		values = Arrays.copyOf(values, capacity);
+	}
+
+	/**
+	 * shareValues
+	 * @see au.com.cybersearch2.classy_logic.list.PrimitiveItemList#shareValues(au.com.cybersearch2.classy_logic.list.PrimitiveItemList)
+	 */
+	@Override
+	protected void shareValues(PrimitiveItemList<Double> target)
+	{
+		((DoubleItemList)target).values = values;
+	}
+}
@@ -31,6 +31,13 @@ import au.com.cybersearch2.classy_logic.interfaces.ParserRunner;
 public class ItemListOperand extends ListVariableOperand implements ParserRunner
 {
 
+    /**
+     * Construct empty ItemListOperand object to be filled by ObjectGraphCopier
+     */
+    protected ItemListOperand()
+    {
+    }
+
     public ItemListOperand(String listName, Operand indexExpression,
             Operand expression2)
     {
@@ -47,6 +47,13 @@ public class ItemListVariable<T> extends GenericParameter<T> implements Operand
 	/** Curent index value. Will be constant if indexExpression is null.  */
 	protected int index;
 
+	/**
+	 * Construct empty ItemListVariable object to be filled by ObjectGraphCopier
+	 */
+	protected ItemListVariable()
+	{
+	}
+
 	/**
 	 * Construct a fixed index ItemListVariable object
 	 * @param itemList The backing operand list
@@ -125,12 +132,14 @@ public class ItemListVariable<T> extends GenericParameter<T> implements Operand
 			if (index == -1)    
 				throw new ExpressionException("\"" +itemList.getName() + "[" + indexExpression.getValue().toString() + "]\" is not a valid value" );
 			onIndexSet(index);
+			recordChange();
 			this.id = id;
 		}
 		else if (empty && itemList.hasItem(index))
 
 		{
 			onIndexSet(index);
+			recordChange();
 			this.id = id;
 		}
 		return EvaluationStatus.COMPLETE;
@@ -0,0 +1,329 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.list;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * ItemVector
+ * Persistent list of objects held in fixed size chunks. Snapshots and concatenation share chunks 
+ * instead of copying items. A chunk is only written in place by the vector which owns it. 
+ * Writing to a shared chunk first replaces it with a private copy, so other vectors holding the chunk
+ * are unaffected. Taking a snapshot costs a constant time and appending another vector costs
+ * one reference per chunk, rather than one per item.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class ItemVector implements Iterable<Object>
+{
+    /** Number of items in a full chunk */
+    public static final int CHUNK_SIZE = 32;
+    /** Shift to convert index to chunk position when all chunks but the last are full */
+    static final int CHUNK_SHIFT = 5;
+    /** Vectors smaller than this are appended item by item */
+    static final int MIN_SHARE_SIZE = CHUNK_SIZE;
+
+    /** The chunks */
+    protected Object[][] chunks;
+    /** Index following last item of each chunk */
+    protected int[] ends;
+    /** Owner token of each chunk. Only chunks marked with this vector's token are written in place. */
+    protected Object[] chunkOwners;
+    /** Number of chunks in use */
+    protected int chunkCount;
+    /** Number of items */
+    protected int size;
+    /** Token identifying chunks this vector may write to */
+    protected Object owner;
+    /** Flag set true if the chunk arrays are not shared with another vector */
+    protected boolean spineOwned;
+    /** Flag set true if all chunks except the last are full, so an index maps directly to a chunk */
+    protected boolean regular;
+
+    /**
+     * Construct empty ItemVector object
+     */
+    public ItemVector()
+    {
+        chunks = new Object[4][];
+        ends = new int[4];
+        chunkOwners = new Object[4];
+        owner = new Object();
+        spineOwned = true;
+        regular = true;
+    }
+
+    /**
+     * Construct ItemVector object which shares the chunks of given vector
+     * @param source Vector to share
+     */
+    protected ItemVector(ItemVector source)
+    {
+        chunks = source.chunks;
+        ends = source.ends;
+        chunkOwners = source.chunkOwners;
+        chunkCount = source.chunkCount;
+        size = source.size;
+        regular = source.regular;
+        owner = new Object();
+        spineOwned = false;
+    }
+
+    /**
+     * Returns number of items
+     * @return int
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Returns flag set true if vector has no items
+     * @return boolean
+     */
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * Returns item at given index
+     * @param index Item position
+     * @return Object, which may be null
+     * @throws IndexOutOfBoundsException if index is out of range
+     */
+    public Object get(int index)
+    {
+        if ((index < 0) || (index >= size))
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        int chunk = chunkIndex(index);
+        return chunks[chunk][index - chunkStart(chunk)];
+    }
+
+    /**
+     * Replace item at given index
+     * @param index Item position
+     * @param value Object, which may be null
+     * @throws IndexOutOfBoundsException if index is out of range
+     */
+    public void set(int index, Object value)
+    {
+        if ((index < 0) || (index >= size))
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        int chunk = chunkIndex(index);
+        ownChunk(chunk);
+        chunks[chunk][index - chunkStart(chunk)] = value;
+    }
+
+    /**
+     * Append item
+     * @param value Object, which may be null
+     */
+    public void add(Object value)
+    {
+        int last = chunkCount - 1;
+        if ((last < 0) || (ends[last] - chunkStart(last) == CHUNK_SIZE))
+        {
+            appendChunk(new Object[CHUNK_SIZE], size, owner);
+            ++last;
+        }
+        else
+            ownChunk(last);
+        chunks[last][ends[last] - chunkStart(last)] = value;
+        ++ends[last];
+        ++size;
+    }
+
+    /**
+     * Append all items of given vector. Large vectors are appended by sharing their chunks.
+     * @param other Vector to append, which may be this vector
+     */
+    public void addAll(ItemVector other)
+    {
+        int otherSize = other.size;
+        if (otherSize < MIN_SHARE_SIZE)
+        {
+            for (int i = 0; i < otherSize; ++i)
+                add(other.get(i));
+            return;
+        }
+        // The other vector must copy its chunks before writing to them from now on
+        other.owner = new Object();
+        Object[][] otherChunks = other.chunks;
+        int[] otherEnds = other.ends;
+        int otherCount = other.chunkCount;
+        if (!other.regular || ((chunkCount > 0) && (ends[chunkCount - 1] - chunkStart(chunkCount - 1) != CHUNK_SIZE)))
+            regular = false;
+        int offset = size;
+        int start = 0;
+        for (int i = 0; i < otherCount; ++i)
+        {
+            appendChunk(otherChunks[i], offset + otherEnds[i] - start, null);
+            offset += otherEnds[i] - start;
+            start = otherEnds[i];
+        }
+        size = offset;
+    }
+
+    /**
+     * Returns a vector which holds the current items of this vector. 
+     * Subsequent changes to either vector are not visible to the other.
+     * @return ItemVector object
+     */
+    public ItemVector snapshot()
+    {
+        ItemVector copy = new ItemVector(this);
+        owner = new Object();
+        spineOwned = false;
+        return copy;
+    }
+
+    /**
+     * Returns iterator over the items of this vector
+     * @see java.lang.Iterable#iterator()
+     */
+    @Override
+    public Iterator<Object> iterator()
+    {
+        return iterator(0, size);
+    }
+
+    /**
+     * Returns iterator over a range of items. The vector must not be changed while the iterator is in use.
+     * @param from Index of first item
+     * @param to Index following last item
+     * @return Iterator object
+     */
+    public Iterator<Object> iterator(final int from, final int to)
+    {
+        return new Iterator<Object>()
+        {
+            int index = from;
+            int chunk = from < to ? chunkIndex(from) : 0;
+            int offset = from < to ? from - chunkStart(chunk) : 0;
+
+            @Override
+            public boolean hasNext()
+            {
+                return index < to;
+            }
+
+            @Override
+            public Object next()
+            {
+                if (index >= to)
+                    throw new NoSuchElementException();
+                if (index == ends[chunk])
+                {
+                    ++chunk;
+                    offset = 0;
+                }
+                ++index;
+                return chunks[chunk][offset++];
+            }
+
+            @Override
+            public void remove()
+            {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    /**
+     * Returns position of chunk containing item at given index
+     * @param index Item position
+     * @return int
+     */
+    protected int chunkIndex(int index)
+    {
+        if (regular)
+            return index >>> CHUNK_SHIFT;
+        int low = 0;
+        int high = chunkCount - 1;
+        while (low < high)
+        {
+            int mid = (low + high) >>> 1;
+            if (ends[mid] <= index)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    /**
+     * Returns index of first item in given chunk
+     * @param chunk Chunk position
+     * @return int
+     */
+    protected int chunkStart(int chunk)
+    {
+        return chunk == 0 ? 0 : ends[chunk - 1];
+    }
+
+    /**
+     * Make chunk at given position writable by this vector
+     * @param chunk Chunk position
+     */
+    protected void ownChunk(int chunk)
+    {
+        if (chunkOwners[chunk] == owner)
+            return;
+        ownSpine();
+        chunks[chunk] = Arrays.copyOf(chunks[chunk], CHUNK_SIZE);
+        chunkOwners[chunk] = owner;
+    }
+
+    /**
+     * Make chunk arrays writable by this vector
+     */
+    protected void ownSpine()
+    {
+        if (spineOwned)
+            return;
+        int capacity = Math.max(chunks.length, 4);
+        chunks = Arrays.copyOf(chunks, capacity);
+        ends = Arrays.copyOf(ends, capacity);
+        chunkOwners = Arrays.copyOf(chunkOwners, capacity);
+        spineOwned = true;
+    }
+
+    /**
+     * Append chunk
+     * @param chunk Chunk array
+     * @param end Index following last item of chunk
+     * @param chunkOwner Owner token or null if chunk is shared
+     */
+    protected void appendChunk(Object[] chunk, int end, Object chunkOwner)
+    {
+        ownSpine();
+        if (chunkCount == chunks.length)
+        {
+            int capacity = chunkCount + (chunkCount >> 1) + 1;
+            chunks = Arrays.copyOf(chunks, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            chunkOwners = Arrays.copyOf(chunkOwners, capacity);
+        }
+        chunks[chunkCount] = chunk;
+        ends[chunkCount] = end;
+        chunkOwners[chunkCount] = chunkOwner;
+        ++chunkCount;
+    }
+}
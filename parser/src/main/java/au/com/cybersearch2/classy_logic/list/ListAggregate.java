@@ -0,0 +1,262 @@
+/**
+    Copyright (C) 2015  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.list;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import au.com.cybersearch2.classy_logic.compile.ParserAssembler;
+import au.com.cybersearch2.classy_logic.expression.ExpressionException;
+import au.com.cybersearch2.classy_logic.expression.ParameterList;
+import au.com.cybersearch2.classy_logic.expression.Variable;
+import au.com.cybersearch2.classy_logic.helper.EvaluationStatus;
+import au.com.cybersearch2.classy_logic.helper.OperandParam;
+import au.com.cybersearch2.classy_logic.helper.QualifiedName;
+import au.com.cybersearch2.classy_logic.interfaces.AxiomSource;
+import au.com.cybersearch2.classy_logic.interfaces.CallEvaluator;
+import au.com.cybersearch2.classy_logic.interfaces.ItemList;
+import au.com.cybersearch2.classy_logic.interfaces.Operand;
+import au.com.cybersearch2.classy_logic.interfaces.ParserRunner;
+import au.com.cybersearch2.classy_logic.pattern.Axiom;
+
+/**
+ * ListAggregate
+ * Operand to evaluate an aggregate function over a list, eg. sum(marks.score) or count(marks).
+ * The argument is either a list name or a list name followed by the name of the axiom term to aggregate.
+ * If a second argument naming a term is provided, the value is a list containing the aggregate of each group.
+ * The argument is resolved when parsing is complete, as the list may be declared after it is referenced.
+ * If no list matches, the argument is tried as an axiom, so the aggregation runs directly over the axiom source.
+ * The argument may instead be a function call on terms of the list, eg. sum(math.add(marks.english, marks.math)).
+ * The function is then performed on all list items in one batch, and its results are aggregated.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class ListAggregate extends Variable implements ParserRunner 
+{
+	/** Function argument, being list name optionally followed by term name */
+	protected String argument;
+	/** Name of term to group by or null if not grouping */
+	protected String groupTermName;
+	/** Aggregator to perform reduction */
+	protected ListAggregator aggregator;
+	/** The list object */
+    protected ItemList<?> itemList;
+    /** Operand containing a list value */
+    protected Operand itemListOperand;
+    /** Qualified name of axiom to aggregate if not a list */
+    protected QualifiedName qualifiedAxiomName;
+    /** Parser assembler used to obtain axiom source */
+    protected ParserAssembler parserAssembler;
+    /** Name of term to aggregate resolved from argument */
+    protected String termName;
+    /** Qualified name of function to perform on list items or null if none */
+    protected QualifiedName callName;
+    /** Names of list item terms passed to function in argument order */
+    protected String[] callTermNames;
+    /** Function to perform on list items in batches */
+    protected ParameterList<Object> callParameterList;
+
+	/**
+	 * Construct empty ListAggregate object to be filled by ObjectGraphCopier
+	 */
+	protected ListAggregate()
+	{
+	}
+
+	/**
+	 * Construct a ListAggregate object
+	 * @param qname Qualified name of Variable
+	 * @param function Aggregate function
+	 * @param argument List name optionally followed by term name
+	 * @param groupTermName Name of term to group by or null if not grouping
+	 */
+	public ListAggregate(QualifiedName qname, AggregateFunction function, String argument, String groupTermName) 
+	{
+		super(qname);
+		this.argument = argument;
+		this.groupTermName = groupTermName;
+		aggregator = new ListAggregator(function, null);
+	}
+
+	/**
+	 * Construct a ListAggregate object for a known list
+	 * @param qname Qualified name of Variable
+	 * @param function Aggregate function
+	 * @param itemList The list object
+	 * @param termName Name of axiom term to aggregate or null to aggregate items
+	 * @param groupTermName Name of term to group by or null if not grouping
+	 */
+	public ListAggregate(QualifiedName qname, AggregateFunction function, ItemList<?> itemList, String termName, String groupTermName) 
+	{
+		super(qname);
+		this.argument = itemList.getName();
+		this.itemList = itemList;
+		this.termName = termName;
+		this.groupTermName = groupTermName;
+		aggregator = new ListAggregator(function, termName);
+	}
+
+	/**
+	 * Set function to perform on list items, the results of which are aggregated
+	 * @param callName Qualified name of function
+	 * @param callTermNames Names of list item terms passed to function in argument order
+	 */
+	public void setCall(QualifiedName callName, List<String> callTermNames)
+	{
+		this.callName = callName;
+		this.callTermNames = callTermNames.toArray(new String[callTermNames.size()]);
+	}
+
+	/**
+	 * Returns the aggregator
+	 * @return ListAggregator object
+	 */
+	public ListAggregator getAggregator()
+	{
+		return aggregator;
+	}
+	
+	/**
+	 * Resolve function argument to a list, list operand or axiom
+	 * @see au.com.cybersearch2.classy_logic.interfaces.ParserRunner#run(au.com.cybersearch2.classy_logic.compile.ParserAssembler)
+	 */
+	@Override
+	public void run(ParserAssembler parserAssembler) 
+	{
+		String listName = argument;
+		termName = null;
+		int pos = argument.lastIndexOf('.');
+		itemList = parserAssembler.findItemList(argument);
+		if ((itemList == null) && (pos != -1))
+		{   // Try list name followed by term name
+			listName = argument.substring(0, pos);
+			termName = argument.substring(pos + 1);
+			itemList = parserAssembler.findItemList(listName);
+		}
+		if (itemList == null)
+		{
+		    itemListOperand = parserAssembler.findOperandByName(listName);
+		    if (itemListOperand == null)
+		    {
+				QualifiedName qualifiedName = parserAssembler.getContextName(listName);
+				qualifiedName.clearTemplate();
+				if (parserAssembler.getAxiomSource(qualifiedName) == null)
+					throw new ExpressionException("List \"" + argument + "\" cannot be found");
+				qualifiedAxiomName = qualifiedName;
+				this.parserAssembler = parserAssembler;
+		    }
+		}
+		aggregator = new ListAggregator(aggregator.getFunction(), termName);
+		if (callName != null)
+		{   // Function arguments are list item terms, passed by name
+			@SuppressWarnings("unchecked")
+			CallEvaluator<Object> callEvaluator = (CallEvaluator<Object>)parserAssembler.getCallEvaluator(callName);
+			List<OperandParam> operandParamList = new ArrayList<OperandParam>(callTermNames.length);
+			for (String callTermName: callTermNames)
+				operandParamList.add(new OperandParam(callTermName, new Variable(new QualifiedName(callTermName, QualifiedName.ANONYMOUS))));
+			callParameterList = new ParameterList<Object>(operandParamList, callEvaluator);
+		}
+	}
+
+	/**
+	 * Evaluate aggregate function
+	 * @param id Identity of caller, which must be provided for backup()
+	 * @return Flag set true if evaluation is to continue
+	 */
+	@Override
+	public EvaluationStatus evaluate(int id) 
+	{
+	    if (itemListOperand != null)
+	    {
+	        if (!itemListOperand.isEmpty() && (itemListOperand.getValue() instanceof ItemList))
+	            itemList = (ItemList<?>)itemListOperand.getValue();
+	    }
+	    if (callParameterList != null)
+	    	setValue(aggregateCall());
+	    else if (itemList != null)
+	    {
+	    	if (groupTermName == null)
+	    		setValue(aggregator.aggregate(itemList));
+	    	else
+	    		setValue(aggregator.groupBy(itemList, groupTermName, qname));
+	    }
+	    else if (qualifiedAxiomName != null)
+	    {
+	    	final AxiomSource axiomSource = parserAssembler.getAxiomSource(qualifiedAxiomName);
+	    	Iterable<Axiom> axiomIterable = new Iterable<Axiom>(){
+
+				@Override
+				public Iterator<Axiom> iterator() 
+				{
+					return axiomSource.iterator();
+				}};
+	    	if (groupTermName == null)
+	    		setValue(aggregator.aggregate(axiomIterable));
+	    	else
+	    		setValue(aggregator.groupBy(axiomIterable, groupTermName, qname));
+	    }
+		recordChange();
+		this.id = id;
+		return EvaluationStatus.COMPLETE;
+	}
+
+	/**
+	 * Returns result of applying aggregate function to results of function performed on all list items 
+	 * @return Long, Double, BigDecimal, or for min and max, the type of the selected value
+	 */
+	protected Object aggregateCall()
+	{
+		List<Axiom> rowList = new ArrayList<Axiom>();
+		if (itemList != null)
+		{
+			int length = itemList.getLength();
+			for (int i = 0; i < length; ++i)
+				if (itemList.hasItem(i))
+					rowList.add(getAxiom(itemList.getItem(i)));
+		}
+		else if (qualifiedAxiomName != null)
+		{
+			Iterator<Axiom> iterator = parserAssembler.getAxiomSource(qualifiedAxiomName).iterator();
+			while (iterator.hasNext())
+				rowList.add(iterator.next());
+		}
+		int rowCount = rowList.size();
+		Object[][] argumentColumns = new Object[callTermNames.length][rowCount];
+		for (int row = 0; row < rowCount; ++row)
+		{
+			Axiom axiom = rowList.get(row);
+			for (int column = 0; column < callTermNames.length; ++column)
+				argumentColumns[column][row] = ListAggregator.getTermValue(axiom, callTermNames[column], -1);
+		}
+		return aggregator.aggregateValues(callParameterList.evaluateBatch(argumentColumns, rowCount));
+	}
+
+	/**
+	 * Returns axiom of given list item
+	 * @param item List item
+	 * @return Axiom object
+	 * @throws ExpressionException if item is not an axiom
+	 */
+	protected Axiom getAxiom(Object item)
+	{
+		if (item instanceof AxiomTermList)
+			return ((AxiomTermList)item).getAxiom();
+		if (item instanceof Axiom)
+			return (Axiom)item;
+		throw new ExpressionException("List \"" + argument + "\" item is not an axiom");
+	}
+}
@@ -0,0 +1,657 @@
+/**
+    Copyright (C) 2015  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.list;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import au.com.cybersearch2.classy_logic.expression.ExpressionException;
+import au.com.cybersearch2.classy_logic.helper.Null;
+import au.com.cybersearch2.classy_logic.helper.QualifiedName;
+import au.com.cybersearch2.classy_logic.helper.Unknown;
+import au.com.cybersearch2.classy_logic.interfaces.ItemList;
+import au.com.cybersearch2.classy_logic.interfaces.Term;
+import au.com.cybersearch2.classy_logic.pattern.Axiom;
+import au.com.cybersearch2.classy_logic.terms.Parameter;
+
+/**
+ * ListAggregator
+ * Reduces a list to a single value by applying an aggregate function in a single pass over the list items.
+ * Items which are axioms contribute the value of a named term, other items contribute their own value.
+ * Empty, null and unknown values are skipped. A sum or average of integers is an integer until a decimal or
+ * double value is encountered and a decimal sum is never converted to double.
+ * Grouping is performed by hash aggregation into an axiom list with one axiom per group in order of first occurrence.
+ * Large lists can optionally be reduced in parallel by splitting the list into ranges.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class ListAggregator 
+{
+	/** Minimum list length for parallel reduction */
+	public static final int PARALLEL_THRESHOLD = 8192;
+	
+	/** Shared pool for parallel reduction, created on first use */
+	static ForkJoinPool forkJoinPool;
+
+	/** Aggregate function */
+	protected AggregateFunction function;
+	/** Name of axiom term to aggregate or null to aggregate items */
+	protected String termName;
+	/** Flag set true if large lists are to be reduced in parallel */
+	protected boolean isParallel;
+
+	/**
+	 * Construct empty ListAggregator object to be filled by ObjectGraphCopier
+	 */
+	protected ListAggregator()
+	{
+	}
+
+	/**
+	 * Construct ListAggregator object
+	 * @param function Aggregate function
+	 * @param termName Name of axiom term to aggregate or null to aggregate item values
+	 */
+	public ListAggregator(AggregateFunction function, String termName) 
+	{
+		this.function = function;
+		this.termName = termName;
+	}
+
+	/**
+	 * Returns aggregate function
+	 * @return AggregateFunction object
+	 */
+	public AggregateFunction getFunction() 
+	{
+		return function;
+	}
+
+	/**
+	 * Returns name of term being aggregated
+	 * @return String or null if item values are aggregated
+	 */
+	public String getTermName() 
+	{
+		return termName;
+	}
+
+	/**
+	 * Returns flag set true if large lists are reduced in parallel
+	 * @return boolean
+	 */
+	public boolean isParallel() 
+	{
+		return isParallel;
+	}
+
+	/**
+	 * Set flag for large lists to be reduced in parallel
+	 * @param isParallel boolean
+	 */
+	public void setParallel(boolean isParallel) 
+	{
+		this.isParallel = isParallel;
+	}
+
+	/**
+	 * Returns result of applying aggregate function to given list
+	 * @param itemList The list
+	 * @return Long, Double, BigDecimal, or for min and max, the type of the selected value
+	 */
+	public Object aggregate(ItemList<?> itemList)
+	{
+		int termIndex = getTermIndex(itemList);
+		int length = itemList.getLength();
+		Accumulator accumulator;
+		if (isParallel && (length >= PARALLEL_THRESHOLD))
+			accumulator = getForkJoinPool().invoke(new AggregateTask(itemList, termIndex, 0, length));
+		else
+		    accumulator = accumulate(itemList, termIndex, 0, length);
+		return accumulator.getResult();
+	}
+
+	/**
+	 * Returns result of applying aggregate function to given axioms, such as those provided by an axiom source
+	 * @param axiomIterable Axiom iterable
+	 * @return Long, Double, BigDecimal, or for min and max, the type of the selected value
+	 */
+	public Object aggregate(Iterable<Axiom> axiomIterable)
+	{
+		Accumulator accumulator = new Accumulator();
+		for (Axiom axiom: axiomIterable)
+			accumulator.add(getTermValue(axiom, -1));
+		return accumulator.getResult();
+	}
+	
+	/**
+	 * Returns axiom list containing aggregate for each distinct value of given group term.
+	 * Each axiom has two terms, the group value named by the group term and the aggregate named by the function.
+	 * @param itemList The list
+	 * @param groupTermName Name of term to group by
+	 * @param qname Qualified name of result list
+	 * @return AxiomList object
+	 */
+	public AxiomList groupBy(ItemList<?> itemList, String groupTermName, QualifiedName qname)
+	{
+		int termIndex = getTermIndex(itemList);
+		int groupIndex = getTermIndex(itemList, groupTermName);
+		int length = itemList.getLength();
+		Map<Object, Accumulator> groupMap;
+		if (isParallel && (length >= PARALLEL_THRESHOLD))
+			groupMap = getForkJoinPool().invoke(new GroupTask(itemList, termIndex, groupTermName, groupIndex, 0, length));
+		else
+			groupMap = accumulateGroups(itemList, termIndex, groupTermName, groupIndex, 0, length);
+		return createGroupList(groupMap, groupTermName, qname);
+	}
+
+	/**
+	 * Returns axiom list containing aggregate for each distinct value of given group term
+	 * @param axiomIterable Axiom iterable
+	 * @param groupTermName Name of term to group by
+	 * @param qname Qualified name of result list
+	 * @return AxiomList object
+	 */
+	public AxiomList groupBy(Iterable<Axiom> axiomIterable, String groupTermName, QualifiedName qname)
+	{
+		Map<Object, Accumulator> groupMap = new LinkedHashMap<Object, Accumulator>();
+		for (Axiom axiom: axiomIterable)
+			addToGroup(groupMap, getTermValue(axiom, groupTermName, -1), getTermValue(axiom, -1));
+		return createGroupList(groupMap, groupTermName, qname);
+	}
+
+	/**
+	 * Accumulate items in given range 
+	 * @param itemList The list
+	 * @param termIndex Fallback index of aggregate term or -1 if unknown
+	 * @param from Index of first item
+	 * @param to Index after last item
+	 * @return Accumulator object
+	 */
+	protected Accumulator accumulate(ItemList<?> itemList, int termIndex, int from, int to)
+	{
+		Accumulator accumulator = new Accumulator();
+		for (int i = from; i < to; ++i)
+			if (itemList.hasItem(i))
+				accumulator.add(getItemValue(itemList.getItem(i), termIndex));
+		return accumulator;
+	}
+
+	/**
+	 * Accumulate items in given range into groups
+	 * @param itemList The list
+	 * @param termIndex Fallback index of aggregate term or -1 if unknown
+	 * @param groupTermName Name of term to group by
+	 * @param groupIndex Fallback index of group term or -1 if unknown
+	 * @param from Index of first item
+	 * @param to Index after last item
+	 * @return Map of accumulators keyed by group value
+	 */
+	protected Map<Object, Accumulator> accumulateGroups(ItemList<?> itemList, int termIndex, String groupTermName, int groupIndex, int from, int to)
+	{
+		Map<Object, Accumulator> groupMap = new LinkedHashMap<Object, Accumulator>();
+		for (int i = from; i < to; ++i)
+		{
+			if (!itemList.hasItem(i))
+				continue;
+			Object item = itemList.getItem(i);
+			if (!(item instanceof AxiomTermList))
+				throw new ExpressionException("Cannot group list \"" + itemList.getName() + "\" because it does not contain axioms");
+			Axiom axiom = ((AxiomTermList)item).getAxiom();
+			addToGroup(groupMap, getTermValue(axiom, groupTermName, groupIndex), getTermValue(axiom, termIndex));
+		}
+		return groupMap;
+	}
+
+	/**
+	 * Add value to accumulator of given group
+	 * @param groupMap Map of accumulators keyed by group value
+	 * @param groupValue Group value
+	 * @param value Value to accumulate
+	 */
+	protected void addToGroup(Map<Object, Accumulator> groupMap, Object groupValue, Object value)
+	{
+		if (isEmptyValue(groupValue))
+			return;
+		Accumulator accumulator = groupMap.get(groupValue);
+		if (accumulator == null)
+		{
+			accumulator = new Accumulator();
+			groupMap.put(groupValue, accumulator);
+		}
+		accumulator.add(value);
+	}
+
+	/**
+	 * Returns axiom list created from group accumulators
+	 * @param groupMap Map of accumulators keyed by group value
+	 * @param groupTermName Name of term to group by
+	 * @param qname Qualified name of result list
+	 * @return AxiomList object
+	 */
+	protected AxiomList createGroupList(Map<Object, Accumulator> groupMap, String groupTermName, QualifiedName qname)
+	{
+		String valueTermName = function.getFunctionName();
+		List<String> axiomTermNameList = new ArrayList<String>(2);
+		axiomTermNameList.add(groupTermName);
+		axiomTermNameList.add(valueTermName);
+		AxiomList axiomList = new AxiomList(qname, qname);
+		axiomList.setAxiomTermNameList(axiomTermNameList);
+		int index = 0;
+		for (Map.Entry<Object, Accumulator> entry: groupMap.entrySet())
+		{
+			Axiom axiom = new Axiom(qname.getName(), 
+					               new Parameter(groupTermName, entry.getKey()), 
+					               new Parameter(valueTermName, entry.getValue().getResult()));
+			AxiomTermList axiomTermList = new AxiomTermList(qname, qname);
+			axiomTermList.setAxiom(axiom);
+			axiomTermList.setAxiomTermNameList(axiomTermNameList);
+			axiomList.assignItem(index++, axiomTermList);
+		}
+		return axiomList;
+	}
+
+	/**
+	 * Returns value to aggregate for given list item
+	 * @param item List item
+	 * @param termIndex Fallback index of aggregate term or -1 if unknown
+	 * @return Object
+	 */
+	protected Object getItemValue(Object item, int termIndex)
+	{
+		if (item instanceof AxiomTermList)
+			return getTermValue(((AxiomTermList)item).getAxiom(), termIndex);
+		if (item instanceof Axiom)
+			return getTermValue((Axiom)item, termIndex);
+		if (item instanceof Term)
+			return ((Term)item).getValue();
+		return item;
+	}
+
+	/**
+	 * Returns value of aggregate term in given axiom. If no term is named, the axiom itself is returned so it can be counted.
+	 * @param axiom Axiom object
+	 * @param termIndex Fallback index of aggregate term or -1 if unknown
+	 * @return Object
+	 */
+	protected Object getTermValue(Axiom axiom, int termIndex)
+	{
+		if (termName == null)
+			return axiom.getTermCount() > 0 ? axiom : null;
+		return getTermValue(axiom, termName, termIndex);
+	}
+
+	/**
+	 * Returns value of named term in given axiom, using the fallback index if axiom terms are anonymous
+	 * @param axiom Axiom object
+	 * @param name Term name
+	 * @param termIndex Fallback index of term or -1 if unknown
+	 * @return Object or null if term not found
+	 */
+	protected static Object getTermValue(Axiom axiom, String name, int termIndex)
+	{
+		Term term = axiom.getTermByName(name);
+		if ((term == null) && (termIndex >= 0) && (termIndex < axiom.getTermCount()))
+			term = axiom.getTermByIndex(termIndex);
+		return term != null ? term.getValue() : null;
+	}
+
+	/**
+	 * Returns result of applying aggregate function to given values, such as partial results to be combined
+	 * @param values Values to aggregate. Empty, null and unknown values are skipped.
+	 * @return Long, Double, BigDecimal, or for min and max, the type of the selected value
+	 */
+	public Object aggregateValues(Iterable<?> values)
+	{
+		Accumulator accumulator = new Accumulator();
+		for (Object value: values)
+			accumulator.add(value);
+		return accumulator.getResult();
+	}
+
+	/**
+	 * Returns position of aggregate term in list axioms
+	 * @param itemList The list
+	 * @return index or -1 if not known
+	 */
+	protected int getTermIndex(ItemList<?> itemList)
+	{
+		return termName == null ? -1 : getTermIndex(itemList, termName);
+	}
+
+	/**
+	 * Returns position of named term in list axioms
+	 * @param itemList The list
+	 * @param name Term name
+	 * @return index or -1 if not known
+	 */
+	protected static int getTermIndex(ItemList<?> itemList, String name)
+	{
+		if (!(itemList instanceof AxiomList))
+			return -1;
+		List<String> axiomTermNameList = ((AxiomList)itemList).getAxiomTermNameList();
+		if (axiomTermNameList == null)
+			return -1;
+		for (int i = 0; i < axiomTermNameList.size(); ++i)
+			if (name.equalsIgnoreCase(axiomTermNameList.get(i)))
+				return i;
+		return -1;
+	}
+
+	/**
+	 * Returns flag set true if value is to be skipped
+	 * @param value Object
+	 * @return boolean
+	 */
+	static boolean isEmptyValue(Object value)
+	{
+		return (value == null) || (value instanceof Null) || (value instanceof Unknown);
+	}
+	
+	/**
+	 * Compare two numbers which may be of different types without loss of precision
+	 * @param left Number
+	 * @param right Number
+	 * @return negative, zero or positive integer
+	 */
+	static int compareNumbers(Number left, Number right)
+	{
+		if ((left instanceof BigDecimal) || (right instanceof BigDecimal))
+			return toBigDecimal(left).compareTo(toBigDecimal(right));
+		if ((left instanceof Double) || (left instanceof Float) || (right instanceof Double) || (right instanceof Float))
+			return Double.compare(left.doubleValue(), right.doubleValue());
+		long leftValue = left.longValue();
+		long rightValue = right.longValue();
+		return leftValue < rightValue ? -1 : (leftValue == rightValue ? 0 : 1);
+	}
+
+	/**
+	 * Returns given number as BigDecimal
+	 * @param number Number
+	 * @return BigDecimal object
+	 */
+	static BigDecimal toBigDecimal(Number number)
+	{
+		if (number instanceof BigDecimal)
+			return (BigDecimal)number;
+		if ((number instanceof Double) || (number instanceof Float))
+			return BigDecimal.valueOf(number.doubleValue());
+		return BigDecimal.valueOf(number.longValue());
+	}
+
+	/**
+	 * Returns shared fork join pool
+	 * @return ForkJoinPool object
+	 */
+	static synchronized ForkJoinPool getForkJoinPool()
+	{
+		if (forkJoinPool == null)
+			forkJoinPool = new ForkJoinPool();
+		return forkJoinPool;
+	}
+
+	/**
+	 * Accumulator
+	 * Running state of one aggregation. Integer, double and decimal sums are kept apart 
+	 * so each value is added without conversion and the sums are combined only for the result.
+	 */
+	class Accumulator
+	{
+		long count;
+		long longSum;
+		double doubleSum;
+		BigDecimal decimalSum;
+		boolean hasDouble;
+		Object selected;
+
+		/**
+		 * Add value to accumulation
+		 * @param value Object
+		 */
+		void add(Object value)
+		{
+			if (isEmptyValue(value))
+				return;
+			++count;
+			switch (function)
+			{
+			case COUNT:
+				break;
+			case MIN:
+				if ((selected == null) || (compare(value, selected) < 0))
+					selected = value;
+				break;
+			case MAX:
+				if ((selected == null) || (compare(value, selected) > 0))
+					selected = value;
+				break;
+			default:
+				addNumber(value);
+			}
+		}
+
+		/**
+		 * Merge other accumulation into this one
+		 * @param other Accumulator object
+		 */
+		void merge(Accumulator other)
+		{
+			if (other.count == 0)
+				return;
+			count += other.count;
+			switch (function)
+			{
+			case COUNT:
+				break;
+			case MIN:
+			case MAX:
+				add(other.selected);
+				// Selected value was counted twice
+				--count;
+				break;
+			default:
+				addLong(other.longSum);
+				doubleSum += other.doubleSum;
+				hasDouble |= other.hasDouble;
+				if (other.decimalSum != null)
+					decimalSum = decimalSum == null ? other.decimalSum : decimalSum.add(other.decimalSum);
+			}
+		}
+
+		/**
+		 * Returns aggregate result
+		 * @return Object
+		 */
+		Object getResult()
+		{
+			switch (function)
+			{
+			case COUNT:
+				return Long.valueOf(count);
+			case MIN:
+			case MAX:
+				return selected != null ? selected : Null.NULL;
+			case SUM:
+				return getSum();
+			default:
+			}
+			if (count == 0)
+				return Double.valueOf(Double.NaN);
+			Number sum = getSum();
+			if (sum instanceof BigDecimal)
+				return ((BigDecimal)sum).divide(BigDecimal.valueOf(count), MathContext.DECIMAL128);
+			return Double.valueOf(sum.doubleValue() / count);
+		}
+
+		/**
+		 * Returns sum of all numbers
+		 * @return Long, Double or BigDecimal
+		 */
+		Number getSum()
+		{
+			if (decimalSum != null)
+			{
+				BigDecimal sum = decimalSum.add(BigDecimal.valueOf(longSum));
+				return hasDouble ? sum.add(BigDecimal.valueOf(doubleSum)) : sum;
+			}
+			if (hasDouble)
+				return Double.valueOf(doubleSum + longSum);
+			return Long.valueOf(longSum);
+		}
+
+		/**
+		 * Add number to running sum
+		 * @param value Object
+		 */
+		void addNumber(Object value)
+		{
+			if ((value instanceof Long) || (value instanceof Integer) || (value instanceof Short) || (value instanceof Byte))
+				addLong(((Number)value).longValue());
+			else if (value instanceof BigDecimal)
+				decimalSum = decimalSum == null ? (BigDecimal)value : decimalSum.add((BigDecimal)value);
+			else if (value instanceof Number)
+			{
+				doubleSum += ((Number)value).doubleValue();
+				hasDouble = true;
+			}
+			else
+				throw new ExpressionException("Aggregate \"" + function.getFunctionName() + "\" requires numeric values but found \"" + value.toString() + "\"");
+		}
+
+		/**
+		 * Add long to running sum, moving the sum to decimal on overflow
+		 * @param value long
+		 */
+		void addLong(long value)
+		{
+			long sum = longSum + value;
+			if (((longSum ^ sum) & (value ^ sum)) < 0)
+			{
+				BigDecimal overflow = BigDecimal.valueOf(longSum).add(BigDecimal.valueOf(value));
+				decimalSum = decimalSum == null ? overflow : decimalSum.add(overflow);
+				longSum = 0;
+			}
+			else
+				longSum = sum;
+		}
+
+		/**
+		 * Compare two values for min and max
+		 * @param left Object
+		 * @param right Object
+		 * @return negative, zero or positive integer
+		 */
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		int compare(Object left, Object right)
+		{
+			if ((left instanceof Number) && (right instanceof Number))
+				return compareNumbers((Number)left, (Number)right);
+			if ((left instanceof Comparable) && (left.getClass() == right.getClass()))
+				return ((Comparable)left).compareTo(right);
+			throw new ExpressionException("Aggregate \"" + function.getFunctionName() + "\" cannot compare \"" + left.toString() + "\" with \"" + right.toString() + "\"");
+		}
+	}
+
+	/**
+	 * AggregateTask
+	 * Reduces a range of list items, splitting the range until it is below the parallel threshold
+	 */
+	class AggregateTask extends RecursiveTask<Accumulator>
+	{
+		private static final long serialVersionUID = 8129366512093574521L;
+
+		ItemList<?> itemList;
+		int termIndex;
+		int from;
+		int to;
+
+		AggregateTask(ItemList<?> itemList, int termIndex, int from, int to)
+		{
+			this.itemList = itemList;
+			this.termIndex = termIndex;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected Accumulator compute() 
+		{
+			if (to - from < PARALLEL_THRESHOLD)
+				return accumulate(itemList, termIndex, from, to);
+			int middle = (from + to) >>> 1;
+			AggregateTask left = new AggregateTask(itemList, termIndex, from, middle);
+			left.fork();
+			Accumulator accumulator = new AggregateTask(itemList, termIndex, middle, to).compute();
+			Accumulator leftAccumulator = left.join();
+			leftAccumulator.merge(accumulator);
+			return leftAccumulator;
+		}
+	}
+
+	/**
+	 * GroupTask
+	 * Reduces a range of list items into groups, splitting the range until it is below the parallel threshold.
+	 * Groups from the lower range are merged first so first occurrence order is preserved.
+	 */
+	class GroupTask extends RecursiveTask<Map<Object, Accumulator>>
+	{
+		private static final long serialVersionUID = -2817413036152447906L;
+
+		ItemList<?> itemList;
+		int termIndex;
+		String groupTermName;
+		int groupIndex;
+		int from;
+		int to;
+
+		GroupTask(ItemList<?> itemList, int termIndex, String groupTermName, int groupIndex, int from, int to)
+		{
+			this.itemList = itemList;
+			this.termIndex = termIndex;
+			this.groupTermName = groupTermName;
+			this.groupIndex = groupIndex;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected Map<Object, Accumulator> compute() 
+		{
+			if (to - from < PARALLEL_THRESHOLD)
+				return accumulateGroups(itemList, termIndex, groupTermName, groupIndex, from, to);
+			int middle = (from + to) >>> 1;
+			GroupTask left = new GroupTask(itemList, termIndex, groupTermName, groupIndex, from, middle);
+			left.fork();
+			Map<Object, Accumulator> rightMap = new GroupTask(itemList, termIndex, groupTermName, groupIndex, middle, to).compute();
+			Map<Object, Accumulator> groupMap = left.join();
+			for (Map.Entry<Object, Accumulator> entry: rightMap.entrySet())
+			{
+				Accumulator accumulator = groupMap.get(entry.getKey());
+				if (accumulator == null)
+					groupMap.put(entry.getKey(), entry.getValue());
+				else
+					accumulator.merge(entry.getValue());
+			}
+			return groupMap;
+		}
+	}
+}
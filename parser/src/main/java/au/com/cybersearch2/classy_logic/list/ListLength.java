@@ -36,6 +36,13 @@ public class ListLength extends Variable
     /** Operand containing a list value */
     protected Operand itemListOperand;
 	
+	/**
+	 * Construct empty ListLength object to be filled by ObjectGraphCopier
+	 */
+	protected ListLength()
+	{
+	}
+
 	/**
 	 * Construct a ListLength object
 	 * @param qname Qualified name of Variable
@@ -0,0 +1,161 @@
+/**
+    Copyright (C) 2015  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.list;
+
+import java.util.List;
+
+import au.com.cybersearch2.classy_logic.compile.ParserAssembler;
+import au.com.cybersearch2.classy_logic.expression.ExpressionException;
+import au.com.cybersearch2.classy_logic.expression.Variable;
+import au.com.cybersearch2.classy_logic.helper.EvaluationStatus;
+import au.com.cybersearch2.classy_logic.helper.QualifiedName;
+import au.com.cybersearch2.classy_logic.interfaces.ItemList;
+import au.com.cybersearch2.classy_logic.interfaces.Operand;
+import au.com.cybersearch2.classy_logic.interfaces.ParserRunner;
+
+/**
+ * ListSort
+ * Operand to sort a list, eg. sort(city_list, altitude desc, name), or select the leading items
+ * of a list in sorted order, eg. top(city_list, 3, altitude desc).
+ * A sort is performed in place and the value is the sorted list. A top selection leaves the list 
+ * unchanged and the value is a new list. String collation follows the locale of the enclosing scope.
+ * The names "sort" and "top" cannot be used as query names.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class ListSort extends Variable implements ParserRunner 
+{
+	/** Function name to sort a list in place */
+	public static final String SORT = "sort";
+	/** Function name to select leading items of a list */
+	public static final String TOP = "top";
+
+	/** List name */
+	protected String listName;
+	/** Sort keys in order of significance */
+	protected List<SortKey> sortKeyList;
+	/** Number of items to select or 0 to sort whole list */
+	protected int limit;
+	/** Sorter created when scope locale is known */
+	protected ListSorter sorter;
+	/** The list object */
+    protected ItemList<?> itemList;
+    /** Operand containing a list value */
+    protected Operand itemListOperand;
+
+	/**
+	 * Construct empty ListSort object to be filled by ObjectGraphCopier
+	 */
+	protected ListSort()
+	{
+	}
+
+	/**
+	 * Construct a ListSort object
+	 * @param qname Qualified name of Variable
+	 * @param listName List name
+	 * @param sortKeyList Sort keys in order of significance
+	 * @param limit Number of items to select or 0 to sort whole list
+	 */
+	public ListSort(QualifiedName qname, String listName, List<SortKey> sortKeyList, int limit) 
+	{
+		super(qname);
+		this.listName = listName;
+		this.sortKeyList = sortKeyList;
+		this.limit = limit;
+	}
+
+	/**
+	 * Returns the sorter
+	 * @return ListSorter object or null if not yet resolved
+	 */
+	public ListSorter getSorter()
+	{
+		return sorter;
+	}
+	
+	/**
+	 * Resolve list and create sorter using scope locale
+	 * @see au.com.cybersearch2.classy_logic.interfaces.ParserRunner#run(au.com.cybersearch2.classy_logic.compile.ParserAssembler)
+	 */
+	@Override
+	public void run(ParserAssembler parserAssembler) 
+	{
+		itemList = parserAssembler.findItemList(listName);
+		if (itemList == null)
+		{
+			itemListOperand = parserAssembler.findOperandByName(listName);
+			if (itemListOperand == null)
+				throw new ExpressionException("List \"" + listName + "\" cannot be found");
+		}
+		sorter = new ListSorter(sortKeyList, parserAssembler.getScopeLocale());
+	}
+
+	/**
+	 * Evaluate sort
+	 * @param id Identity of caller, which must be provided for backup()
+	 * @return Flag set true if evaluation is to continue
+	 */
+	@Override
+	public EvaluationStatus evaluate(int id) 
+	{
+	    if (itemListOperand != null)
+	    {
+	        if (!itemListOperand.isEmpty() && (itemListOperand.getValue() instanceof ItemList))
+	            itemList = (ItemList<?>)itemListOperand.getValue();
+	    }
+	    if (itemList != null)
+	    {
+	    	if (itemList instanceof PrimitiveItemList)
+	    	{
+		    	PrimitiveItemList<?> primitiveList = (PrimitiveItemList<?>)itemList;
+		    	if (limit == 0)
+		    	{
+		    		sorter.sort(primitiveList);
+		    		setValue(primitiveList);
+		    	}
+		    	else
+		    		setValue(sorter.top(primitiveList, limit, qname));
+	    	}
+	    	else
+	    	{
+		    	if (!(itemList instanceof ArrayItemList))
+		    		throw new ExpressionException("List \"" + itemList.getName() + "\" cannot be sorted");
+		    	ArrayItemList<?> arrayItemList = (ArrayItemList<?>)itemList;
+		    	if (limit == 0)
+		    	{
+		    		sorter.sort(arrayItemList);
+		    		setValue(arrayItemList);
+		    	}
+		    	else
+		    		setValue(sorter.top(arrayItemList, limit, qname));
+	    	}
+	    }
+		recordChange();
+		this.id = id;
+		return EvaluationStatus.COMPLETE;
+	}
+
+	/**
+	 * Returns flag set true if given name is that of a sort function
+	 * @param name Function name
+	 * @return boolean
+	 */
+	public static boolean isSortFunction(String name)
+	{
+		return SORT.equals(name) || TOP.equals(name);
+	}
+}
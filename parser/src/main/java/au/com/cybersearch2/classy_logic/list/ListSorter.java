@@ -0,0 +1,549 @@
+/**
+    Copyright (C) 2015  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.list;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.concurrent.RecursiveAction;
+
+import au.com.cybersearch2.classy_logic.expression.ExpressionException;
+import au.com.cybersearch2.classy_logic.expression.Variable;
+import au.com.cybersearch2.classy_logic.helper.QualifiedName;
+import au.com.cybersearch2.classy_logic.interfaces.ItemList;
+import au.com.cybersearch2.classy_logic.interfaces.Term;
+import au.com.cybersearch2.classy_logic.pattern.Axiom;
+
+/**
+ * ListSorter
+ * Sorts a list by one or more keys, each in ascending or descending order. 
+ * Strings are compared using the collation rules of the scope locale. 
+ * Key values are extracted once per item before sorting, with strings converted to collation keys,
+ * so each comparison is a plain value comparison. Empty values sort last and equal items keep their original order.
+ * A top-k selection keeps only the leading items in a bounded heap, so the full list is never sorted.
+ * Large lists can optionally be sorted in parallel.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class ListSorter 
+{
+	/** Minimum list length for parallel sort */
+	public static final int PARALLEL_THRESHOLD = 8192;
+
+	/**
+	 * SortEntry
+	 * List item decorated with extracted key values and original position
+	 */
+	static class SortEntry
+	{
+		Object item;
+		Object[] keys;
+		int sequence;
+		
+		SortEntry(Object item, Object[] keys, int sequence)
+		{
+			this.item = item;
+			this.keys = keys;
+			this.sequence = sequence;
+		}
+	}
+
+	/** Sort keys in order of significance */
+	protected SortKey[] sortKeys;
+	/** Collator for locale-aware string comparison */
+	protected Collator collator;
+	/** Flag set true if large lists are to be sorted in parallel */
+	protected boolean isParallel;
+	/** Comparator of decorated items */
+	protected Comparator<SortEntry> comparator;
+
+	/**
+	 * Construct empty ListSorter object to be filled by ObjectGraphCopier
+	 */
+	protected ListSorter()
+	{
+	}
+
+	/**
+	 * Construct ListSorter object
+	 * @param sortKeys Sort keys in order of significance. If empty, items are sorted by value in ascending order.
+	 * @param locale Locale for string collation
+	 */
+	public ListSorter(List<SortKey> sortKeys, Locale locale) 
+	{
+		if (sortKeys.isEmpty())
+			this.sortKeys = new SortKey[]{ new SortKey(null, false) };
+		else
+			this.sortKeys = sortKeys.toArray(new SortKey[sortKeys.size()]);
+		collator = Collator.getInstance(locale);
+		comparator = new Comparator<SortEntry>(){
+
+			@Override
+			public int compare(SortEntry left, SortEntry right) 
+			{
+				return compareEntries(left, right);
+			}};
+	}
+
+	/**
+	 * Returns flag set true if large lists are sorted in parallel
+	 * @return boolean
+	 */
+	public boolean isParallel() 
+	{
+		return isParallel;
+	}
+
+	/**
+	 * Set flag for large lists to be sorted in parallel
+	 * @param isParallel boolean
+	 */
+	public void setParallel(boolean isParallel) 
+	{
+		this.isParallel = isParallel;
+	}
+
+	/**
+	 * Sort given list in place. Any gaps in the list are removed.
+	 * @param itemList The list
+	 */
+	public void sort(ArrayItemList<?> itemList)
+	{
+		SortEntry[] entries = sortEntries(itemList);
+		itemList.clear();
+		for (SortEntry entry: entries)
+			itemList.valueList.add(entry.item);
+	}
+
+	/**
+	 * Sort given primitive list in place. Any gaps in the list are removed.
+	 * Lists of integers or doubles sorted by value are sorted directly on the backing array.
+	 * @param itemList The list
+	 */
+	public void sort(PrimitiveItemList<?> itemList)
+	{
+		if (isSortByValue())
+		{
+			boolean isDescending = (sortKeys.length > 0) && sortKeys[0].isDescending();
+			if (itemList instanceof LongItemList)
+			{
+				((LongItemList)itemList).sort(isDescending);
+				return;
+			}
+			if (itemList instanceof DoubleItemList)
+			{
+				((DoubleItemList)itemList).sort(isDescending);
+				return;
+			}
+		}
+		SortEntry[] entries = sortEntries(itemList);
+		itemList.clear();
+		for (int i = 0; i < entries.length; ++i)
+			itemList.assignItem(i, entries[i].item);
+	}
+
+	/**
+	 * Returns new list containing the leading items of given list in sorted order. 
+	 * Only the given number of items are retained while the list is scanned.
+	 * @param itemList The list
+	 * @param limit Maximum number of items to return
+	 * @param qname Qualified name of result list
+	 * @return ArrayItemList object, which is an AxiomList if the given list is an AxiomList
+	 */
+	public ArrayItemList<?> top(ArrayItemList<?> itemList, int limit, QualifiedName qname)
+	{
+		ArrayItemList<?> resultList = createList(itemList, qname);
+		for (SortEntry entry: topEntries(itemList, limit))
+			resultList.valueList.add(entry.item);
+		return resultList;
+	}
+
+	/**
+	 * Returns new primitive list containing the leading items of given list in sorted order. 
+	 * @param itemList The list
+	 * @param limit Maximum number of items to return
+	 * @param qname Qualified name of result list
+	 * @return PrimitiveItemList object of same type as given list
+	 */
+	public PrimitiveItemList<?> top(PrimitiveItemList<?> itemList, int limit, QualifiedName qname)
+	{
+		PrimitiveItemList<?> resultList = itemList.newInstance(new Variable(qname));
+		SortEntry[] entries = topEntries(itemList, limit);
+		for (int i = 0; i < entries.length; ++i)
+			resultList.assignItem(i, entries[i].item);
+		return resultList;
+	}
+
+	/**
+	 * Returns comparator which orders axioms by the sort keys. 
+	 * Use to merge axiom sequences which are each already in sort key order.
+	 * @return Comparator object
+	 */
+	public Comparator<Axiom> getAxiomComparator()
+	{
+		final int[] termIndexes = new int[sortKeys.length];
+		Arrays.fill(termIndexes, -1);
+		return new Comparator<Axiom>(){
+
+			@Override
+			public int compare(Axiom left, Axiom right) 
+			{
+				return compareEntries(createEntry(left, termIndexes, 0), createEntry(right, termIndexes, 0));
+			}};
+	}
+
+	/**
+	 * Returns selection which orders rows added one at a time by the sort keys of an axiom per row
+	 * @param limit Maximum number of leading rows to retain or 0 to retain all rows
+	 * @return Selection object
+	 */
+	public <T> Selection<T> newSelection(int limit)
+	{
+		return new Selection<T>(limit);
+	}
+
+	/**
+	 * Returns decorated items of given list in sorted order
+	 * @param itemList The list
+	 * @return SortEntry array
+	 */
+	protected SortEntry[] sortEntries(ItemList<?> itemList)
+	{
+		SortEntry[] entries = createEntries(itemList);
+		if (isParallel && (entries.length >= PARALLEL_THRESHOLD))
+			ListAggregator.getForkJoinPool().invoke(new SortTask(entries, new SortEntry[entries.length], 0, entries.length));
+		else
+			Arrays.sort(entries, comparator);
+		return entries;
+	}
+
+	/**
+	 * Returns leading decorated items of given list in sorted order
+	 * @param itemList The list
+	 * @param limit Maximum number of items to return
+	 * @return SortEntry array
+	 */
+	protected SortEntry[] topEntries(ItemList<?> itemList, int limit)
+	{
+		if (limit <= 0)
+			return new SortEntry[0];
+		int[] termIndexes = getTermIndexes(itemList);
+		// Heap is ordered with the last retained item at the head so it can be displaced
+		PriorityQueue<SortEntry> heap = new PriorityQueue<SortEntry>(Math.min(limit, 1024) + 1, Collections.reverseOrder(comparator));
+		int length = itemList.getLength();
+		for (int i = 0; i < length; ++i)
+		{
+			if (!itemList.hasItem(i))
+				continue;
+			SortEntry entry = createEntry(itemList.getItem(i), termIndexes, i);
+			if (heap.size() < limit)
+				heap.add(entry);
+			else if (comparator.compare(entry, heap.peek()) < 0)
+			{
+				heap.poll();
+				heap.add(entry);
+			}
+		}
+		SortEntry[] entries = heap.toArray(new SortEntry[heap.size()]);
+		Arrays.sort(entries, comparator);
+		return entries;
+	}
+
+	/**
+	 * Returns flag set true if items are sorted by their own value rather than by axiom terms
+	 * @return boolean
+	 */
+	protected boolean isSortByValue()
+	{
+		for (SortKey sortKey: sortKeys)
+			if (sortKey.getTermName() != null)
+				return false;
+		return true;
+	}
+
+	/**
+	 * Returns decorated items of given list
+	 * @param itemList The list
+	 * @return SortEntry array
+	 */
+	protected SortEntry[] createEntries(ItemList<?> itemList)
+	{
+		int[] termIndexes = getTermIndexes(itemList);
+		int length = itemList.getLength();
+		SortEntry[] entries = new SortEntry[length];
+		int count = 0;
+		for (int i = 0; i < length; ++i)
+			if (itemList.hasItem(i))
+				entries[count++] = createEntry(itemList.getItem(i), termIndexes, i);
+		return count == length ? entries : Arrays.copyOf(entries, count);
+	}
+
+	/**
+	 * Returns list item decorated with key values
+	 * @param item List item
+	 * @param termIndexes Fallback term index of each key
+	 * @param sequence Position of item in list
+	 * @return SortEntry object
+	 */
+	protected SortEntry createEntry(Object item, int[] termIndexes, int sequence)
+	{
+		Object[] keys = new Object[sortKeys.length];
+		for (int i = 0; i < sortKeys.length; ++i)
+		{
+			Object value = getKeyValue(item, sortKeys[i].getTermName(), termIndexes[i]);
+			keys[i] = value instanceof String ? collator.getCollationKey((String)value) : value;
+		}
+		return new SortEntry(item, keys, sequence);
+	}
+
+	/**
+	 * Returns key value of list item
+	 * @param item List item
+	 * @param termName Name of axiom term or null to use item value
+	 * @param termIndex Fallback index of term or -1 if unknown
+	 * @return Object
+	 */
+	protected Object getKeyValue(Object item, String termName, int termIndex)
+	{
+		if (item instanceof AxiomTermList)
+		{
+			Axiom axiom = ((AxiomTermList)item).getAxiom();
+			if (termName == null)
+				throw new ExpressionException("Sort key required for list of axioms \"" + axiom.getName() + "\"");
+			return ListAggregator.getTermValue(axiom, termName, termIndex);
+		}
+		if (item instanceof Axiom)
+		{
+			if (termName == null)
+				throw new ExpressionException("Sort key required for axiom \"" + ((Axiom)item).getName() + "\"");
+			return ListAggregator.getTermValue((Axiom)item, termName, termIndex);
+		}
+		if (item instanceof Term)
+			return ((Term)item).getValue();
+		return item;
+	}
+
+	/**
+	 * Returns fallback term index of each sort key
+	 * @param itemList The list
+	 * @return int array
+	 */
+	protected int[] getTermIndexes(ItemList<?> itemList)
+	{
+		int[] termIndexes = new int[sortKeys.length];
+		for (int i = 0; i < sortKeys.length; ++i)
+		{
+			String termName = sortKeys[i].getTermName();
+			termIndexes[i] = termName == null ? -1 : ListAggregator.getTermIndex(itemList, termName);
+		}
+		return termIndexes;
+	}
+
+	/**
+	 * Compare decorated items, key by key, falling back on original position
+	 * @param left SortEntry object
+	 * @param right SortEntry object
+	 * @return negative, zero or positive integer
+	 */
+	protected int compareEntries(SortEntry left, SortEntry right)
+	{
+		for (int i = 0; i < sortKeys.length; ++i)
+		{
+			Object leftKey = left.keys[i];
+			Object rightKey = right.keys[i];
+			boolean isLeftEmpty = ListAggregator.isEmptyValue(leftKey);
+			boolean isRightEmpty = ListAggregator.isEmptyValue(rightKey);
+			if (isLeftEmpty || isRightEmpty)
+			{   // Empty values sort last in either direction
+				if (isLeftEmpty != isRightEmpty)
+					return isLeftEmpty ? 1 : -1;
+				continue;
+			}
+			int result = compareValues(leftKey, rightKey);
+			if (result != 0)
+				return sortKeys[i].isDescending() ? -result : result;
+		}
+		return left.sequence < right.sequence ? -1 : (left.sequence == right.sequence ? 0 : 1);
+	}
+
+	/**
+	 * Compare two key values
+	 * @param left Object
+	 * @param right Object
+	 * @return negative, zero or positive integer
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	protected int compareValues(Object left, Object right)
+	{
+		if ((left instanceof Number) && (right instanceof Number))
+			return ListAggregator.compareNumbers((Number)left, (Number)right);
+		if ((left instanceof CollationKey) && (right instanceof CollationKey))
+			return ((CollationKey)left).compareTo((CollationKey)right);
+		if ((left instanceof Comparable) && (left.getClass() == right.getClass()))
+			return ((Comparable)left).compareTo(right);
+		throw new ExpressionException("Cannot sort \"" + keyText(left) + "\" with \"" + keyText(right) + "\"");
+	}
+
+	/**
+	 * Returns new empty list of same type as given list
+	 * @param itemList The list
+	 * @param qname Qualified name of new list
+	 * @return ArrayItemList object
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	protected ArrayItemList<?> createList(ArrayItemList<?> itemList, QualifiedName qname)
+	{
+		if (itemList instanceof AxiomList)
+		{
+			AxiomList axiomList = (AxiomList)itemList;
+			AxiomList resultList = new AxiomList(qname, axiomList.getKey());
+			resultList.setAxiomTermNameList(axiomList.getAxiomTermNameList());
+			return resultList;
+		}
+		return new ArrayItemList(itemList.clazz, new Variable(qname));
+	}
+
+	private static String keyText(Object key)
+	{
+		return key instanceof CollationKey ? ((CollationKey)key).getSourceString() : key.toString();
+	}
+
+	/**
+	 * Selection
+	 * Rows ordered by the sort keys of an axiom given with each row, as the rows are produced.
+	 * When a limit is set, only the leading rows are retained in a bounded heap.
+	 */
+	public class Selection<T>
+	{
+		/** Fallback term index of each key, which is unknown */
+		int[] termIndexes;
+		/** Maximum number of rows to retain or 0 for no limit */
+		int limit;
+		/** Retained rows, in order of arrival when there is no limit */
+		List<SortEntry> entryList;
+		/** Retained rows with the last in sort order at the head, when there is a limit */
+		PriorityQueue<SortEntry> heap;
+		/** Position of next row */
+		int sequence;
+
+		Selection(int limit)
+		{
+			this.limit = limit;
+			termIndexes = new int[sortKeys.length];
+			Arrays.fill(termIndexes, -1);
+			if (limit > 0)
+				heap = new PriorityQueue<SortEntry>(Math.min(limit, 1024) + 1, Collections.reverseOrder(comparator));
+			else
+				entryList = new ArrayList<SortEntry>();
+		}
+
+		/**
+		 * Add row
+		 * @param axiom Axiom containing the sort key terms, which must not change while it is retained. May be null.
+		 * @param row Row to retain
+		 */
+		public void add(Axiom axiom, T row)
+		{
+			SortEntry entry = createEntry(axiom, termIndexes, sequence++);
+			entry.item = row;
+			if (heap == null)
+				entryList.add(entry);
+			else if (heap.size() < limit)
+				heap.add(entry);
+			else if (comparator.compare(entry, heap.peek()) < 0)
+			{
+				heap.poll();
+				heap.add(entry);
+			}
+		}
+
+		/**
+		 * Returns retained rows in sort key order
+		 * @return List of rows
+		 */
+		@SuppressWarnings("unchecked")
+		public List<T> getRows()
+		{
+			SortEntry[] entries = heap == null ? 
+				entryList.toArray(new SortEntry[entryList.size()]) : 
+				heap.toArray(new SortEntry[heap.size()]);
+			Arrays.sort(entries, comparator);
+			List<T> rowList = new ArrayList<T>(entries.length);
+			for (SortEntry entry: entries)
+				rowList.add((T)entry.item);
+			return rowList;
+		}
+	}
+
+	/**
+	 * SortTask
+	 * Merge sort which sorts each half of a range in parallel until the range is below the parallel threshold
+	 */
+	class SortTask extends RecursiveAction
+	{
+		private static final long serialVersionUID = -4402651318436207254L;
+
+		SortEntry[] entries;
+		SortEntry[] buffer;
+		int from;
+		int to;
+
+		SortTask(SortEntry[] entries, SortEntry[] buffer, int from, int to)
+		{
+			this.entries = entries;
+			this.buffer = buffer;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() 
+		{
+			if (to - from < PARALLEL_THRESHOLD)
+			{
+				Arrays.sort(entries, from, to, comparator);
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			invokeAll(new SortTask(entries, buffer, from, middle), new SortTask(entries, buffer, middle, to));
+			merge(middle);
+		}
+
+		/**
+		 * Merge sorted halves of range, taking from the lower half first when items are equal
+		 * @param middle Start of upper half
+		 */
+		void merge(int middle)
+		{
+			System.arraycopy(entries, from, buffer, from, to - from);
+			int left = from;
+			int right = middle;
+			int index = from;
+			while ((left < middle) && (right < to))
+				entries[index++] = comparator.compare(buffer[right], buffer[left]) < 0 ? buffer[right++] : buffer[left++];
+			while (left < middle)
+				entries[index++] = buffer[left++];
+			while (right < to)
+				entries[index++] = buffer[right++];
+		}
+	}
+}
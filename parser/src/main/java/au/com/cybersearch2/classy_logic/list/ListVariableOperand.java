@@ -20,7 +20,6 @@ import au.com.cybersearch2.classy_logic.compile.ParserAssembler;
 import au.com.cybersearch2.classy_logic.expression.ExpressionException;
 import au.com.cybersearch2.classy_logic.expression.ExpressionOperand;
 import au.com.cybersearch2.classy_logic.expression.OperatorEnum;
-import au.com.cybersearch2.classy_logic.expression.StringOperand;
 import au.com.cybersearch2.classy_logic.helper.QualifiedName;
 import au.com.cybersearch2.classy_logic.interfaces.Concaten;
 import au.com.cybersearch2.classy_logic.interfaces.ItemList;
@@ -47,6 +46,13 @@ public abstract class ListVariableOperand extends ExpressionOperand<Object> impl
     /** Optional Operand to select term in axiom - only applicable to Axiom lists */
     protected Operand expression2 = null;
     
+    /**
+     * Construct empty ListVariableOperand object to be filled by ObjectGraphCopier
+     */
+    protected ListVariableOperand()
+    {
+    }
+
     /**
      * Construct ListVariableOperand object
      * @param listName Name of list
@@ -182,8 +188,6 @@ public abstract class ListVariableOperand extends ExpressionOperand<Object> impl
      */
     protected Operand newListVariableInstance(ParserAssembler parserAssembler, QualifiedName qualifiedListName)
     {
-        if ((expression2 != null) && (indexExpression instanceof StringOperand))
-            throw new ExpressionException("List \"" + qualifiedListName.toString() + "\" cannot be indexed by name");
         ItemList<?> itemList = null;
         AxiomListSpec axiomListSpec = null;
         OperandMap operandMap = parserAssembler.getOperandMap();
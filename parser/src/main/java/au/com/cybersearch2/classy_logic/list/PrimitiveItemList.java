@@ -0,0 +1,363 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.list;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import au.com.cybersearch2.classy_logic.expression.ExpressionException;
+import au.com.cybersearch2.classy_logic.helper.QualifiedName;
+import au.com.cybersearch2.classy_logic.interfaces.ItemList;
+import au.com.cybersearch2.classy_logic.interfaces.Operand;
+
+/**
+ * PrimitiveItemList
+ * Base of lists which store items in a growable primitive array instead of boxed objects. 
+ * Unassigned positions below the list length are tracked as gaps so behaviour matches ArrayItemList.
+ * List variables are created once for each fixed index or index expression and then reused.
+ * Snapshots returned by getIterable() share the backing array. Appending items leaves a snapshot intact,
+ * while overwriting a shared item or clearing the list first detaches the list from its snapshots.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ * @see au.com.cybersearch2.classy_logic.list.LongItemList
+ * @see au.com.cybersearch2.classy_logic.list.DoubleItemList
+ * @see au.com.cybersearch2.classy_logic.list.BooleanItemList
+ */
+public abstract class PrimitiveItemList<T> implements ItemList<T> 
+{
+	/** Initial capacity of backing array */
+	protected static final int INITIAL_CAPACITY = 10;
+
+    /** Operand delegate to provide evaluation functionality */
+    protected Operand proxy;
+    /** Number of positions in use, including gaps */
+    protected int size;
+    /** Positions which have not been assigned. Null if there are no gaps */
+    protected BitSet gaps;
+    /** Number of leading positions visible to published snapshots, which must not be overwritten in place */
+    protected int sharedLength;
+    /** Fixed index variables mapped by suffix */
+    protected Map<String, PrimitiveListVariable<T>> fixedVariableMap;
+    /** Evaluated index variables mapped by index expression */
+    protected Map<Operand, PrimitiveListVariable<T>> expressionVariableMap;
+
+	/**
+	 * Construct empty PrimitiveItemList object to be filled by ObjectGraphCopier
+	 */
+	protected PrimitiveItemList()
+	{
+	}
+
+    /**
+     * Construct PrimitiveItemList object
+     * @param proxy Operand delegate to provide evaluation functionality 
+     */
+	protected PrimitiveItemList(Operand proxy) 
+	{
+		this.proxy = proxy;
+		fixedVariableMap = new HashMap<String, PrimitiveListVariable<T>>();
+		expressionVariableMap = new IdentityHashMap<Operand, PrimitiveListVariable<T>>();
+	}
+
+	/**
+	 * Returns new empty list of the same type
+	 * @param proxy Operand delegate to provide evaluation functionality 
+	 * @return PrimitiveItemList object
+	 */
+	public abstract PrimitiveItemList<T> newInstance(Operand proxy);
+
+	/**
+	 * Returns boxed value at given position, which is known to be assigned
+	 * @param index int
+	 * @return Object of generic type T
+	 */
+	protected abstract T getValueAt(int index);
+
+	/**
+	 * Returns flag set true if given value equals the value at given position without boxing the latter
+	 * @param index int
+	 * @param value Value to compare
+	 * @return boolean
+	 */
+	protected abstract boolean isValueAt(int index, Object value);
+
+	/**
+	 * Returns length of backing array
+	 * @return int
+	 */
+	protected abstract int getCapacity();
+
+	/**
+	 * Replace backing array with a copy of given length
+	 * @param capacity int
+	 */
+	protected abstract void reallocate(int capacity);
+
+	/**
+	 * Set backing array of given list to that of this list
+	 * @param target PrimitiveItemList object of the same type
+	 */
+	protected abstract void shareValues(PrimitiveItemList<T> target);
+
+	/**
+	 * Returns number of items in array
+	 * @return int
+	 */
+	@Override
+	public int getLength()
+	{
+		return size;
+	}
+
+	/**
+	 * getQualifiedName
+	 * @see au.com.cybersearch2.classy_logic.interfaces.ItemList#getQualifiedName()
+	 */
+    @Override
+    public QualifiedName getQualifiedName()
+    {
+        return proxy.getQualifiedName();
+    }
+
+	/**
+	 * 
+	 * @see au.com.cybersearch2.classy_logic.interfaces.ItemList#getName()
+	 */
+	@Override
+	public String getName() 
+	{
+		return proxy.getName();
+	}
+
+	/**
+	 * 
+	 * @see au.com.cybersearch2.classy_logic.interfaces.ItemList#isEmpty()
+	 */
+	@Override
+	public boolean isEmpty() 
+	{
+		return size == 0;
+	}
+
+	/**
+	 * newVariableInstance
+	 * @see au.com.cybersearch2.classy_logic.interfaces.ItemList#newVariableInstance(int, java.lang.String, int)
+	 */
+	@Override
+	public ItemListVariable<T> newVariableInstance(int index, String suffix, int id)
+	{
+		PrimitiveListVariable<T> listVariable = fixedVariableMap.get(suffix);
+		if ((listVariable == null) || (listVariable.getIndex() != index))
+		{
+			listVariable = new PrimitiveListVariable<T>(this, proxy, index, suffix);
+			fixedVariableMap.put(suffix, listVariable);
+		}
+		return listVariable;
+	}
+
+	/**
+	 * newVariableInstance
+	 * @see au.com.cybersearch2.classy_logic.interfaces.ItemList#newVariableInstance(au.com.cybersearch2.classy_logic.interfaces.Operand, java.lang.String, int)
+	 */
+	@Override
+	public ItemListVariable<T> newVariableInstance(Operand expression, String suffix, int id)
+	{
+		PrimitiveListVariable<T> listVariable = expressionVariableMap.get(expression);
+		if ((listVariable == null) || !listVariable.getName().equals(ItemListVariable.getVariableName(getName(), suffix)))
+		{
+			listVariable = new PrimitiveListVariable<T>(this, proxy, expression, suffix);
+			expressionVariableMap.put(expression, listVariable);
+		}
+		return listVariable;
+	}
+
+	/**
+	 * getItem
+	 * @see au.com.cybersearch2.classy_logic.interfaces.ItemList#getItem(int)
+	 */
+	@Override
+	public T getItem(int index) 
+	{
+		if (!hasItem(index))
+			throw new ExpressionException(getName() + " item " + index + " not found");
+		return getValueAt(index);
+	}
+
+	/**
+	 * hasItem
+	 * @see au.com.cybersearch2.classy_logic.interfaces.ItemList#hasItem(int)
+	 */
+	@Override
+	public boolean hasItem(int index) 
+	{
+		return (index >= 0) && (index < size) && ((gaps == null) || !gaps.get(index));
+	}
+
+	/**
+	 * Returns flag set true if item at given index exists and equals given value
+	 * @param index int
+	 * @param value Value to compare
+	 * @return boolean
+	 */
+	public boolean isItem(int index, Object value)
+	{
+		return hasItem(index) && isValueAt(index, value);
+	}
+
+	/**
+	 * iterator
+	 * @see java.lang.Iterable#iterator()
+	 */
+	@Override
+	public Iterator<T> iterator() 
+	{
+		return iterator(0);
+	}
+
+	/**
+	 * getIterable
+	 * @see au.com.cybersearch2.classy_logic.interfaces.ItemList#getIterable()
+	 */
+	@Override
+	public Iterable<T> getIterable() 
+	{
+		// Share the list items up to the current length. Any change to these items will detach the list. 
+		final PrimitiveItemList<T> snapshot = newInstance(proxy);
+		shareValues(snapshot);
+		snapshot.size = size;
+		snapshot.gaps = gaps;
+		if (size > sharedLength)
+			sharedLength = size;
+		return new Iterable<T>()
+		{
+			@Override
+			public Iterator<T> iterator() 
+			{   // Return iterator pointing to first non-null member of list
+				int start = 0;
+				while ((start < snapshot.size) && !snapshot.hasItem(start))
+					++start;
+				return snapshot.iterator(start);
+			}
+		};
+	}
+
+	/**
+	 * clear
+	 * @see au.com.cybersearch2.classy_logic.interfaces.ItemList#clear()
+	 */
+	@Override
+	public void clear() 
+	{
+		if (sharedLength > 0)
+		{   // Leave shared items to snapshots
+			reallocate(INITIAL_CAPACITY);
+			sharedLength = 0;
+		}
+		size = 0;
+		gaps = null;
+	}
+
+	/**
+	 * Replace backing array and gaps with private copies so items shared with snapshots can be changed
+	 */
+	protected void detach()
+	{
+		if (sharedLength == 0)
+			return;
+		reallocate(getCapacity());
+		if (gaps != null)
+			gaps = (BitSet)gaps.clone();
+		sharedLength = 0;
+	}
+
+	/**
+	 * Grow backing array to at least the given capacity
+	 * @param capacity int
+	 */
+	protected void ensureCapacity(int capacity)
+	{
+		int length = getCapacity();
+		if (capacity > length)
+		{
+			int newLength = length + (length >> 1) + 1;
+			reallocate(newLength < capacity ? capacity : newLength);
+		}
+	}
+
+	/**
+	 * Mark given position as assigned, growing the list if required. 
+	 * Any positions skipped over become gaps.
+	 * @param index int
+	 */
+	protected void setAssigned(int index)
+	{
+		if (index < 0)
+			throw new ExpressionException(getName() + " index " + index + " out of range");
+		if (index < sharedLength)
+			detach();
+		if (index >= size)
+		{
+			ensureCapacity(index + 1);
+			if (index > size)
+			{
+				if (gaps == null)
+					gaps = new BitSet();
+				gaps.set(size, index);
+			}
+			size = index + 1;
+		}
+		else if (gaps != null)
+			gaps.clear(index);
+	}
+
+	/**
+	 * Returns iterator over list items from given position. Gaps are returned as null.
+	 * @param start int
+	 * @return Iterator of generic type T
+	 */
+	protected Iterator<T> iterator(final int start)
+	{
+		return new Iterator<T>()
+		{
+			int index = start;
+
+			@Override
+			public boolean hasNext() 
+			{
+				return index < size;
+			}
+
+			@Override
+			public T next() 
+			{
+				if (index >= size)
+					throw new NoSuchElementException();
+				int position = index++;
+				return hasItem(position) ? getValueAt(position) : null;
+			}
+
+			@Override
+			public void remove() 
+			{
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+}
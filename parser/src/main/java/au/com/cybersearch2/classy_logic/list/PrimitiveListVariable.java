@@ -0,0 +1,88 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.list;
+
+import au.com.cybersearch2.classy_logic.interfaces.Operand;
+
+/**
+ * PrimitiveListVariable
+ * ItemListVariable backed by a PrimitiveItemList. 
+ * The current value is compared with the list item in primitive form, so a boxed value is only created when the item changes.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class PrimitiveListVariable<T> extends ItemListVariable<T> 
+{
+	/** The backing list */
+	protected PrimitiveItemList<T> primitiveList;
+
+	/**
+	 * Construct empty PrimitiveListVariable object to be filled by ObjectGraphCopier
+	 */
+	protected PrimitiveListVariable()
+	{
+	}
+
+	/**
+	 * Construct a fixed index PrimitiveListVariable object
+	 * @param itemList The backing list
+	 * @param proxy Proxy to provide Operand evaluation
+	 * @param index The index value to select the list item
+	 * @param suffix To append to name
+	 */
+	public PrimitiveListVariable(PrimitiveItemList<T> itemList, Operand proxy, int index, String suffix) 
+	{
+		super(itemList, proxy, index, suffix);
+		primitiveList = itemList;
+	}
+
+	/**
+	 * Construct an evaluated index PrimitiveListVariable object
+	 * @param itemList The backing list
+	 * @param proxy Proxy to provide Operand evaluation
+	 * @param indexExpression Operand to evaluate index
+	 * @param suffix To append to name
+	 */
+	public PrimitiveListVariable(PrimitiveItemList<T> itemList, Operand proxy, Operand indexExpression, String suffix) 
+	{
+		super(itemList, proxy, indexExpression, suffix);
+		primitiveList = itemList;
+	}
+
+	/**
+	 * Returns current index value
+	 * @return int
+	 */
+	public int getIndex()
+	{
+		return index;
+	}
+
+	/**
+	 * Returns list item, refreshing value only if the item has changed
+	 * @return Object of generic type T
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	protected T getItemValue()
+	{
+		if (!empty && (value != null) && primitiveList.isItem(index, value))
+			return (T)value;
+		T itemValue = primitiveList.getItem(index);
+		setValue(itemValue);
+	    return itemValue;
+	}
+}
@@ -0,0 +1,75 @@
+/**
+    Copyright (C) 2015  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.list;
+
+/**
+ * SortKey
+ * Term to sort a list by and direction of sort
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class SortKey 
+{
+	/** Name of axiom term or null to sort by item value */
+	protected String termName;
+	/** Flag set true for descending order */
+	protected boolean isDescending;
+
+	/**
+	 * Construct empty SortKey object to be filled by ObjectGraphCopier
+	 */
+	protected SortKey()
+	{
+	}
+
+	/**
+	 * Construct SortKey object
+	 * @param termName Name of axiom term or null to sort by item value
+	 * @param isDescending Flag set true for descending order
+	 */
+	public SortKey(String termName, boolean isDescending) 
+	{
+		this.termName = termName;
+		this.isDescending = isDescending;
+	}
+
+	/**
+	 * Returns name of axiom term
+	 * @return String or null if sorting by item value
+	 */
+	public String getTermName() 
+	{
+		return termName;
+	}
+
+	/**
+	 * Returns flag set true for descending order
+	 * @return boolean
+	 */
+	public boolean isDescending() 
+	{
+		return isDescending;
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString()
+	{
+		return (termName == null ? "item" : termName) + (isDescending ? " desc" : " asc");
+	}
+}
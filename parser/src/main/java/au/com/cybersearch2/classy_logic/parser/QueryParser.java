@@ -38,6 +38,10 @@ import au.com.cybersearch2.classy_logic.expression.LiteralListOperand;
 import au.com.cybersearch2.classy_logic.list.AxiomOperand;
 import au.com.cybersearch2.classy_logic.list.ItemListOperand;
 import au.com.cybersearch2.classy_logic.list.ListLength;
+import au.com.cybersearch2.classy_logic.list.AggregateFunction;
+import au.com.cybersearch2.classy_logic.list.ListAggregate;
+import au.com.cybersearch2.classy_logic.list.ListSort;
+import au.com.cybersearch2.classy_logic.list.SortKey;
 import au.com.cybersearch2.classy_logic.terms.StringTerm;
 import au.com.cybersearch2.classy_logic.terms.IntegerTerm;
 import au.com.cybersearch2.classy_logic.terms.DoubleTerm;
@@ -144,6 +148,63 @@ public class QueryParser implements QueryParserConstants
     return operand;
   }
 
+  protected Operand listAggregate(String name,
+                                  ParserAssembler parserAssembler,
+                                  String argument,
+                                  List<String> callArgumentList,
+                                  String groupTermName) throws ParseException
+  {
+    QualifiedName callName = null;
+    List<String> callTermNames = null;
+    if (callArgumentList != null)
+    { // Argument is a function performed on terms of one list, eg. math.add(marks.english, marks.math)
+      if (groupTermName != null)
+        throw new ParseException("Function \u005c"" + name + "\u005c" cannot group results of \u005c"" + argument + "\u005c"");
+      callName = parserAssembler.getContextName(argument);
+      callTermNames = new ArrayList<String>();
+      String listName = null;
+      for (String callArgument: callArgumentList)
+      {
+        int pos = callArgument.lastIndexOf('.');
+        if ((pos == -1) || ((listName != null) && !listName.equals(callArgument.substring(0, pos))))
+          throw new ParseException("Function \u005c"" + argument + "\u005c" arguments must be terms of the same list");
+        listName = callArgument.substring(0, pos);
+        callTermNames.add(callArgument.substring(pos + 1));
+      }
+      argument = listName;
+    }
+    String prefix = callName == null ? argument : argument + "_" + callName.getName();
+    QualifiedName qname = parserAssembler.getContextName(prefix.replace('.', '_') + "_" + name);
+    ListAggregate operand = new ListAggregate(qname, AggregateFunction.getFunction(name), argument, groupTermName);
+    if (callName != null)
+      operand.setCall(callName, callTermNames);
+    parserAssembler.addPending(operand);
+    return operand;
+  }
+
+  protected Operand listSort(String name,
+                             ParserAssembler parserAssembler,
+                             String listName,
+                             List<SortKey> sortKeyList,
+                             Token limitToken) throws ParseException
+  {
+    int limit = 0;
+    if (name.equals(ListSort.TOP))
+    {
+      if (limitToken == null)
+        throw new ParseException("Function \u005c"" + name + "\u005c" requires number of items");
+      limit = Integer.decode(limitToken.image);
+      if (limit == 0)
+        throw new ParseException("Function \u005c"" + name + "\u005c" number of items must be greater than zero");
+    }
+    else if (limitToken != null)
+      throw new ParseException("Function \u005c"" + name + "\u005c" does not take number of items");
+    QualifiedName qname = parserAssembler.getContextName(listName.replace('.', '_') + "_" + name);
+    ListSort operand = new ListSort(qname, listName, sortKeyList, limit);
+    parserAssembler.addPending(operand);
+    return operand;
+  }
+
 /** Root production. */
   final public void input(QueryProgram queryProgram) throws ParseException
   {
@@ -184,16 +245,27 @@ public class QueryParser implements QueryParserConstants
       case IDENTIFIER:
         Statement(queryProgram, queryProgram.getGlobalScope());
         break;
-      case QUERY:
-        QueryChain(queryProgram.getGlobalScope());
-        break;
-      case SCOPE:
-        ScopeDeclaration(queryProgram);
-        break;
       default:
         jj_la1[1] = jj_gen;
-        jj_consume_token(-1);
-        throw new ParseException();
+        if (jj_2_1(3)) 
+        {
+          FanOutDeclaration(queryProgram);
+        } else 
+        {
+          switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
+          {
+          case QUERY:
+            QueryChain(queryProgram.getGlobalScope());
+            break;
+          case SCOPE:
+            ScopeDeclaration(queryProgram);
+            break;
+          default:
+            jj_la1[2] = jj_gen;
+            jj_consume_token(-1);
+            throw new ParseException();
+          }
+        }
       }
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
       {
@@ -217,12 +289,13 @@ public class QueryParser implements QueryParserConstants
         ;
         break;
       default:
-        jj_la1[2] = jj_gen;
+        jj_la1[3] = jj_gen;
         break label_2;
       }
     }
     jj_consume_token(0);
     queryProgram.runPending();
+    queryProgram.checkFanOutQueries();
   }
 
   final public void ScopeDeclaration(QueryProgram queryProgram) throws ParseException
@@ -255,7 +328,7 @@ public class QueryParser implements QueryParserConstants
         ;
         break;
       default:
-        jj_la1[3] = jj_gen;
+        jj_la1[4] = jj_gen;
         break label_3;
       }
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
@@ -281,7 +354,7 @@ public class QueryParser implements QueryParserConstants
         QueryChain(scope);
         break;
       default:
-        jj_la1[4] = jj_gen;
+        jj_la1[5] = jj_gen;
         jj_consume_token(-1);
         throw new ParseException();
       }
@@ -303,7 +376,7 @@ public class QueryParser implements QueryParserConstants
       jj_consume_token(RPAREN);
       break;
     default:
-      jj_la1[5] = jj_gen;
+      jj_la1[6] = jj_gen;
       ;
     }
       {if (true) return queryProgram.scopeInstance(scopeToken.image , properties);}
@@ -325,7 +398,7 @@ public class QueryParser implements QueryParserConstants
         ;
         break;
       default:
-        jj_la1[6] = jj_gen;
+        jj_la1[7] = jj_gen;
         break label_4;
       }
       jj_consume_token(78);
@@ -335,6 +408,54 @@ public class QueryParser implements QueryParserConstants
       scope.addQuerySpec(querySpec);
   }
 
+/** 
+ * Fan-out declaration "query name [scope, ...];" or "query name [*];" for all scopes which declare the query.
+ * Only declares the scope set. The query is run in the scopes at once by ScopeFanOut, not by the script.
+ * Scope names are checked once the whole script is parsed. 
+ */
+  final public void FanOutDeclaration(QueryProgram queryProgram) throws ParseException
+  {
+    Token queryToken;
+    Token scopeToken;
+    List<String> scopeNameList = new ArrayList<String>();
+    jj_consume_token(QUERY);
+    queryToken = jj_consume_token(IDENTIFIER);
+    jj_consume_token(LBRACKET);
+    switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
+    {
+    case STAR:
+      jj_consume_token(STAR);
+      break;
+    case IDENTIFIER:
+      scopeToken = jj_consume_token(IDENTIFIER);
+                              scopeNameList.add(scopeToken.image);
+      label_5:
+      while (true) 
+      {
+        switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
+        {
+        case COMMA:
+          ;
+          break;
+        default:
+          jj_la1[8] = jj_gen;
+          break label_5;
+        }
+        jj_consume_token(COMMA);
+        scopeToken = jj_consume_token(IDENTIFIER);
+                                    scopeNameList.add(scopeToken.image);
+      }
+      break;
+    default:
+      jj_la1[9] = jj_gen;
+      jj_consume_token(-1);
+      throw new ParseException();
+    }
+    jj_consume_token(RBRACKET);
+    jj_consume_token(SEMICOLON);
+      queryProgram.putFanOutQuery(queryToken.image, scopeNameList);
+  }
+
   final public QuerySpec QueryDeclaration(QuerySpec querySpec, Scope scope) throws ParseException
   {
   KeyName firstKeyname;
@@ -342,7 +463,7 @@ public class QueryParser implements QueryParserConstants
   Map<String, Object> properties = new HashMap<String, Object>();
     jj_consume_token(LPAREN);
     firstKeyname = KeyName(querySpec);
-    label_5:
+    label_6:
     while (true) 
     {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
@@ -351,8 +472,8 @@ public class QueryParser implements QueryParserConstants
         ;
         break;
       default:
-        jj_la1[7] = jj_gen;
-        break label_5;
+        jj_la1[10] = jj_gen;
+        break label_6;
       }
       jj_consume_token(COMMA);
       KeyName(querySpec);
@@ -367,7 +488,7 @@ public class QueryParser implements QueryParserConstants
       jj_consume_token(RPAREN);
       break;
     default:
-      jj_la1[8] = jj_gen;
+      jj_la1[11] = jj_gen;
       ;
     }
         {if (true) return scope.buildQuerySpec(querySpec, firstKeyname, keynameCount, properties);}
@@ -378,6 +499,9 @@ public class QueryParser implements QueryParserConstants
   {
     Token queryToken;
     queryToken = jj_consume_token(IDENTIFIER);
+    // Built-in list function names are reserved so calls do not depend on the order of declaration
+    if (AggregateFunction.isAggregate(queryToken.image) || ListSort.isSortFunction(queryToken.image))
+      {if (true) throw new ParseException("Query name \u005c"" + queryToken.image + "\u005c" is reserved for a list function");}
     {if (true) return new QuerySpec(queryToken.image);}
     throw new Error("Missing return statement in function");
   }
@@ -426,7 +550,7 @@ public class QueryParser implements QueryParserConstants
       jj_consume_token(SEMICOLON);
       break;
     default:
-      jj_la1[9] = jj_gen;
+      jj_la1[12] = jj_gen;
       jj_consume_token(-1);
       throw new ParseException();
     }
@@ -456,7 +580,7 @@ public class QueryParser implements QueryParserConstants
       keywordToken = jj_consume_token(LOCAL);
       break;
     default:
-      jj_la1[10] = jj_gen;
+      jj_la1[13] = jj_gen;
       jj_consume_token(-1);
       throw new ParseException();
     }
@@ -468,7 +592,7 @@ public class QueryParser implements QueryParserConstants
       jj_consume_token(GT);
       break;
     default:
-      jj_la1[11] = jj_gen;
+      jj_la1[14] = jj_gen;
       ;
     }
     nameToken = jj_consume_token(IDENTIFIER);
@@ -483,13 +607,13 @@ public class QueryParser implements QueryParserConstants
         qualifiedBindingName = ResourceBinding(QueryParserConstants.TEMPLATE, qualifiedAxiomName, parserAssembler);
         break;
       default:
-        jj_la1[12] = jj_gen;
+        jj_la1[15] = jj_gen;
         ;
       }
       jj_consume_token(RPAREN);
       break;
     default:
-      jj_la1[13] = jj_gen;
+      jj_la1[16] = jj_gen;
       ;
     }
     String listName = nameToken.image;
@@ -556,14 +680,14 @@ public class QueryParser implements QueryParserConstants
           qualifierId = Name();
           break;
         default:
-          jj_la1[14] = jj_gen;
+          jj_la1[17] = jj_gen;
           jj_consume_token(-1);
           throw new ParseException();
         }
         jj_consume_token(RPAREN);
         break;
       default:
-        jj_la1[15] = jj_gen;
+        jj_la1[18] = jj_gen;
         ;
       }
       VariableType varType = new VariableType(OperandType.CURRENCY);
@@ -574,7 +698,7 @@ public class QueryParser implements QueryParserConstants
       {if (true) return varType;}
       break;
     default:
-      jj_la1[16] = jj_gen;
+      jj_la1[19] = jj_gen;
       jj_consume_token(-1);
       throw new ParseException();
     }
@@ -589,7 +713,7 @@ public class QueryParser implements QueryParserConstants
     template = Template(parserAssembler, false);
     jj_consume_token(LPAREN);
     TemplateExpression(template, parserAssembler);
-    label_6:
+    label_7:
     while (true) 
     {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
@@ -598,8 +722,8 @@ public class QueryParser implements QueryParserConstants
         ;
         break;
       default:
-        jj_la1[17] = jj_gen;
-        break label_6;
+        jj_la1[20] = jj_gen;
+        break label_7;
       }
       jj_consume_token(COMMA);
       TemplateExpression(template, parserAssembler);
@@ -667,11 +791,11 @@ public class QueryParser implements QueryParserConstants
       CalculatorQuery(template, parserAssembler);
       break;
     default:
-      jj_la1[18] = jj_gen;
+      jj_la1[21] = jj_gen;
       jj_consume_token(-1);
       throw new ParseException();
     }
-    label_7:
+    label_8:
     while (true) 
     {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
@@ -680,8 +804,8 @@ public class QueryParser implements QueryParserConstants
         ;
         break;
       default:
-        jj_la1[19] = jj_gen;
-        break label_7;
+        jj_la1[22] = jj_gen;
+        break label_8;
       }
       jj_consume_token(COMMA);
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
@@ -724,7 +848,7 @@ public class QueryParser implements QueryParserConstants
         CalculatorQuery(template, parserAssembler);
         break;
       default:
-        jj_la1[20] = jj_gen;
+        jj_la1[23] = jj_gen;
         jj_consume_token(-1);
         throw new ParseException();
       }
@@ -738,7 +862,7 @@ public class QueryParser implements QueryParserConstants
       jj_consume_token(RPAREN);
       break;
     default:
-      jj_la1[21] = jj_gen;
+      jj_la1[24] = jj_gen;
       ;
     }
       if (properties.size() > 0)
@@ -749,7 +873,7 @@ public class QueryParser implements QueryParserConstants
   final public void InitialiserList(Map<String, Object> properties) throws ParseException
   {
     InitialiserDeclaration(properties);
-    label_8:
+    label_9:
     while (true) 
     {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
@@ -758,8 +882,8 @@ public class QueryParser implements QueryParserConstants
         ;
         break;
       default:
-        jj_la1[22] = jj_gen;
-        break label_8;
+        jj_la1[25] = jj_gen;
+        break label_9;
       }
       jj_consume_token(COMMA);
       InitialiserDeclaration(properties);
@@ -795,7 +919,7 @@ public class QueryParser implements QueryParserConstants
       varType = Type(operandMap);
       break;
     default:
-      jj_la1[23] = jj_gen;
+      jj_la1[26] = jj_gen;
       ;
     }
     nameToken = jj_consume_token(IDENTIFIER);
@@ -805,7 +929,7 @@ public class QueryParser implements QueryParserConstants
       index = IndexExpression(parserAssembler);
       break;
     default:
-      jj_la1[24] = jj_gen;
+      jj_la1[27] = jj_gen;
       ;
     }
     switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
@@ -815,7 +939,7 @@ public class QueryParser implements QueryParserConstants
       expression = Expression(parserAssembler);
       break;
     default:
-      jj_la1[25] = jj_gen;
+      jj_la1[28] = jj_gen;
       ;
     }
      String name = nameToken.image;
@@ -862,7 +986,7 @@ public class QueryParser implements QueryParserConstants
       varType = Type(operandMap);
       break;
     default:
-      jj_la1[26] = jj_gen;
+      jj_la1[29] = jj_gen;
       ;
     }
     name = Name();
@@ -873,7 +997,7 @@ public class QueryParser implements QueryParserConstants
       index = IndexExpression(parserAssembler);
       break;
     default:
-      jj_la1[27] = jj_gen;
+      jj_la1[30] = jj_gen;
       ;
     }
     switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
@@ -951,13 +1075,13 @@ public class QueryParser implements QueryParserConstants
             assignToken = jj_consume_token(REMASSIGN);
             break;
           default:
-            jj_la1[28] = jj_gen;
+            jj_la1[31] = jj_gen;
             jj_consume_token(-1);
             throw new ParseException();
           }
           break;
         default:
-          jj_la1[29] = jj_gen;
+          jj_la1[32] = jj_gen;
           jj_consume_token(-1);
           throw new ParseException();
         }
@@ -992,7 +1116,7 @@ public class QueryParser implements QueryParserConstants
           expression = Expression(parserAssembler);
           break;
         default:
-          jj_la1[30] = jj_gen;
+          jj_la1[33] = jj_gen;
           jj_consume_token(-1);
           throw new ParseException();
         }
@@ -1009,7 +1133,7 @@ public class QueryParser implements QueryParserConstants
           regexId = jj_consume_token(IDENTIFIER);
           break;
         default:
-          jj_la1[31] = jj_gen;
+          jj_la1[34] = jj_gen;
           jj_consume_token(-1);
           throw new ParseException();
         }
@@ -1019,7 +1143,7 @@ public class QueryParser implements QueryParserConstants
           group = GroupDeclaration(template, name, parserAssembler);
           break;
         default:
-          jj_la1[32] = jj_gen;
+          jj_la1[35] = jj_gen;
           ;
         }
         jj_consume_token(RPAREN);
@@ -1062,20 +1186,20 @@ public class QueryParser implements QueryParserConstants
           operandParamList = ArgumentList(parserAssembler, true);
           break;
         default:
-          jj_la1[33] = jj_gen;
+          jj_la1[36] = jj_gen;
           ;
         }
         jj_consume_token(RPAREN);
              template.addTerm(parserAssembler.getCallOperand(qname, operandParamList));
         break;
       default:
-        jj_la1[34] = jj_gen;
+        jj_la1[37] = jj_gen;
         jj_consume_token(-1);
         throw new ParseException();
       }
       break;
     default:
-      jj_la1[35] = jj_gen;
+      jj_la1[38] = jj_gen;
       ;
     }
      if (varType == null)
@@ -1171,13 +1295,13 @@ public class QueryParser implements QueryParserConstants
           scToken = jj_consume_token(79);
           break;
         default:
-          jj_la1[36] = jj_gen;
+          jj_la1[39] = jj_gen;
           jj_consume_token(-1);
           throw new ParseException();
         }
         break;
       default:
-        jj_la1[37] = jj_gen;
+        jj_la1[40] = jj_gen;
         ;
       }
       expression = Expression(parserAssembler);
@@ -1187,7 +1311,7 @@ public class QueryParser implements QueryParserConstants
         innerLoop = InnerCalculator(loop_number + 1, templateName, parserAssembler, scToken != null);
         break;
       default:
-        jj_la1[38] = jj_gen;
+        jj_la1[41] = jj_gen;
         ;
       }
     if (scToken != null)
@@ -1209,7 +1333,7 @@ public class QueryParser implements QueryParserConstants
     template.addTerm(choiceOperand);
       break;
     default:
-      jj_la1[39] = jj_gen;
+      jj_la1[42] = jj_gen;
       jj_consume_token(-1);
       throw new ParseException();
     }
@@ -1222,7 +1346,7 @@ public class QueryParser implements QueryParserConstants
   Template template = parserAssembler.chainTemplate(qualifiedTemplateName, loopName);
     jj_consume_token(LBRACE);
     CalculatorExpression(loop_number, template, templateName, parserAssembler);
-    label_9:
+    label_10:
     while (true) 
     {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
@@ -1231,8 +1355,8 @@ public class QueryParser implements QueryParserConstants
         ;
         break;
       default:
-        jj_la1[40] = jj_gen;
-        break label_9;
+        jj_la1[43] = jj_gen;
+        break label_10;
       }
       jj_consume_token(COMMA);
       CalculatorExpression(loop_number, template, templateName, parserAssembler);
@@ -1253,7 +1377,7 @@ public class QueryParser implements QueryParserConstants
       innerTemplate = InnerTemplateDeclaration(template.getQualifiedName(), parserAssembler);
       break;
     default:
-      jj_la1[41] = jj_gen;
+      jj_la1[44] = jj_gen;
       ;
     }
     jj_consume_token(80);
@@ -1290,7 +1414,7 @@ public class QueryParser implements QueryParserConstants
       operandParamList = ArgumentList(parserAssembler, false);
       break;
     default:
-      jj_la1[42] = jj_gen;
+      jj_la1[45] = jj_gen;
       ;
     }
     jj_consume_token(RPAREN);
@@ -1338,7 +1462,7 @@ public class QueryParser implements QueryParserConstants
       operandParamList = ArgumentList(parserAssembler, true);
       break;
     default:
-      jj_la1[43] = jj_gen;
+      jj_la1[46] = jj_gen;
       ;
     }
     jj_consume_token(RPAREN);
@@ -1353,7 +1477,7 @@ public class QueryParser implements QueryParserConstants
     template = InnerTemplate(ownerQualifiedName, parserAssembler);
     jj_consume_token(LPAREN);
     TemplateExpression(template, parserAssembler);
-    label_10:
+    label_11:
     while (true) 
     {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
@@ -1362,8 +1486,8 @@ public class QueryParser implements QueryParserConstants
         ;
         break;
       default:
-        jj_la1[44] = jj_gen;
-        break label_10;
+        jj_la1[47] = jj_gen;
+        break label_11;
       }
       jj_consume_token(COMMA);
       TemplateExpression(template, parserAssembler);
@@ -1417,7 +1541,7 @@ public class QueryParser implements QueryParserConstants
       axiomList = AxiomList(qualifiedAxiomName, parserAssembler);
       break;
     default:
-      jj_la1[45] = jj_gen;
+      jj_la1[48] = jj_gen;
       jj_consume_token(-1);
       throw new ParseException();
     }
@@ -1439,7 +1563,7 @@ public class QueryParser implements QueryParserConstants
   Operand operand;
     operand = AxiomInitializer(qualifiedAxiomName.getName(), qualifiedAxiomName, parserAssembler);
     operandParamList.add(new OperandParam(qualifiedAxiomName.getName(), operand));
-    label_11:
+    label_12:
     while (true) 
     {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
@@ -1448,8 +1572,8 @@ public class QueryParser implements QueryParserConstants
         ;
         break;
       default:
-        jj_la1[46] = jj_gen;
-        break label_11;
+        jj_la1[49] = jj_gen;
+        break label_12;
       }
       operand = AxiomInitializer(qualifiedAxiomName.getName(), qualifiedAxiomName, parserAssembler);
       operandParamList.add(new OperandParam(qualifiedAxiomName.getName(), operand));
@@ -1493,7 +1617,7 @@ public class QueryParser implements QueryParserConstants
       initializeList = ArgumentList(parserAssembler, true);
       break;
     default:
-      jj_la1[47] = jj_gen;
+      jj_la1[50] = jj_gen;
       ;
     }
     jj_consume_token(RBRACE);
@@ -1511,7 +1635,7 @@ public class QueryParser implements QueryParserConstants
   Group group = new Group(name);
     jj_consume_token(LBRACE);
     Group(group, template, name, parserAssembler);
-    label_12:
+    label_13:
     while (true) 
     {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
@@ -1520,8 +1644,8 @@ public class QueryParser implements QueryParserConstants
         ;
         break;
       default:
-        jj_la1[48] = jj_gen;
-        break label_12;
+        jj_la1[51] = jj_gen;
+        break label_13;
       }
       jj_consume_token(COMMA);
       Group(group, template, name, parserAssembler);
@@ -1555,7 +1679,7 @@ public class QueryParser implements QueryParserConstants
       operand = AxiomVariable(qualifiedAxiomName, parserAssembler);
       break;
     default:
-      jj_la1[49] = jj_gen;
+      jj_la1[52] = jj_gen;
       jj_consume_token(-1);
       throw new ParseException();
     }
@@ -1571,7 +1695,7 @@ public class QueryParser implements QueryParserConstants
     {
     case IDENTIFIER:
       TermName(qualifiedAxiomName, parserAssembler);
-      label_13:
+      label_14:
       while (true) 
       {
         switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
@@ -1580,15 +1704,15 @@ public class QueryParser implements QueryParserConstants
           ;
           break;
         default:
-          jj_la1[50] = jj_gen;
-          break label_13;
+          jj_la1[53] = jj_gen;
+          break label_14;
         }
         jj_consume_token(COMMA);
         TermName(qualifiedAxiomName, parserAssembler);
       }
       break;
     default:
-      jj_la1[51] = jj_gen;
+      jj_la1[54] = jj_gen;
       ;
     }
     jj_consume_token(RPAREN);
@@ -1596,10 +1720,10 @@ public class QueryParser implements QueryParserConstants
     {
     case LBRACE:
     case COLON:
-      if (jj_2_1(2)) 
+      if (jj_2_2(2)) 
       {
         ResourceBinding(QueryParserConstants.AXIOM, qualifiedAxiomName, parserAssembler);
-      } else if (jj_2_2(2)) 
+      } else if (jj_2_3(2)) 
       {
         ParameterDeclaration(qualifiedAxiomName, parserAssembler);
       } else 
@@ -1607,7 +1731,7 @@ public class QueryParser implements QueryParserConstants
         switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
         {
         case LBRACE:
-          label_14:
+          label_15:
           while (true) 
           {
             jj_consume_token(LBRACE);
@@ -1619,20 +1743,20 @@ public class QueryParser implements QueryParserConstants
               ;
               break;
             default:
-              jj_la1[52] = jj_gen;
-              break label_14;
+              jj_la1[55] = jj_gen;
+              break label_15;
             }
           }
           break;
         default:
-          jj_la1[53] = jj_gen;
+          jj_la1[56] = jj_gen;
           jj_consume_token(-1);
           throw new ParseException();
         }
       }
       break;
     default:
-      jj_la1[54] = jj_gen;
+      jj_la1[57] = jj_gen;
       ;
     }
   }
@@ -1646,7 +1770,7 @@ public class QueryParser implements QueryParserConstants
     qualifiedAxiomName = Choice(parserAssembler);
     jj_consume_token(LPAREN);
     TermName(qualifiedAxiomName, parserAssembler);
-    label_15:
+    label_16:
     while (true) 
     {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
@@ -1655,14 +1779,14 @@ public class QueryParser implements QueryParserConstants
         ;
         break;
       default:
-        jj_la1[55] = jj_gen;
-        break label_15;
+        jj_la1[58] = jj_gen;
+        break label_16;
       }
       jj_consume_token(COMMA);
       TermName(qualifiedAxiomName, parserAssembler);
     }
     jj_consume_token(RPAREN);
-    label_16:
+    label_17:
     while (true) 
     {
       ChoiceItem(selection, qualifiedAxiomName, parserAssembler);
@@ -1672,8 +1796,8 @@ public class QueryParser implements QueryParserConstants
         ;
         break;
       default:
-        jj_la1[56] = jj_gen;
-        break label_16;
+        jj_la1[59] = jj_gen;
+        break label_17;
       }
     }
       QualifiedName contextName = parserAssembler.getOperandMap().getQualifiedContextname();
@@ -1721,7 +1845,7 @@ public class QueryParser implements QueryParserConstants
   final public void AxiomItem(QualifiedName qualifiedAxiomName, ParserAssembler parserAssembler) throws ParseException
   {
     Fact(qualifiedAxiomName, parserAssembler);
-    label_17:
+    label_18:
     while (true) 
     {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
@@ -1730,8 +1854,8 @@ public class QueryParser implements QueryParserConstants
         ;
         break;
       default:
-        jj_la1[57] = jj_gen;
-        break label_17;
+        jj_la1[60] = jj_gen;
+        break label_18;
       }
       jj_consume_token(COMMA);
       Fact(qualifiedAxiomName, parserAssembler);
@@ -1743,10 +1867,10 @@ public class QueryParser implements QueryParserConstants
   {
     Operand operand;
     String name = parserAssembler.getAxiomTermName(qualifiedAxiomName, 0);
-    parserAssembler.addAxiom(qualifiedAxiomName, new Parameter(Term.ANONYMOUS, new Null()));
+    parserAssembler.addAxiom(qualifiedAxiomName, new Parameter(Term.ANONYMOUS, Null.NULL));
     jj_consume_token(LBRACE);
     operand = ChoiceExpression(name, parserAssembler);
-    label_18:
+    label_19:
     while (true) 
     {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
@@ -1755,8 +1879,8 @@ public class QueryParser implements QueryParserConstants
         ;
         break;
       default:
-        jj_la1[58] = jj_gen;
-        break label_18;
+        jj_la1[61] = jj_gen;
+        break label_19;
       }
       jj_consume_token(COMMA);
       Fact(qualifiedAxiomName, parserAssembler);
@@ -1794,7 +1918,7 @@ public class QueryParser implements QueryParserConstants
       jj_consume_token(RPAREN);
       break;
     default:
-      jj_la1[59] = jj_gen;
+      jj_la1[62] = jj_gen;
       ;
     }
     queryProgram.openResource(getText(nameToken), properties);
@@ -1813,7 +1937,7 @@ public class QueryParser implements QueryParserConstants
       jj_consume_token(RESOURCE);
       break;
     default:
-      jj_la1[60] = jj_gen;
+      jj_la1[63] = jj_gen;
       jj_consume_token(-1);
       throw new ParseException();
     }
@@ -1859,7 +1983,7 @@ public class QueryParser implements QueryParserConstants
     parserAssembler.addAxiom(qualifiedAxiomName, new DoubleTerm("NaN"));
       break;
     default:
-      jj_la1[61] = jj_gen;
+      jj_la1[64] = jj_gen;
       jj_consume_token(-1);
       throw new ParseException();
     }
@@ -1871,7 +1995,7 @@ public class QueryParser implements QueryParserConstants
   Token partToken;
     partToken = jj_consume_token(IDENTIFIER);
     name = partToken.image;
-    label_19:
+    label_20:
     while (true) 
     {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
@@ -1880,8 +2004,8 @@ public class QueryParser implements QueryParserConstants
         ;
         break;
       default:
-        jj_la1[62] = jj_gen;
-        break label_19;
+        jj_la1[65] = jj_gen;
+        break label_20;
       }
       jj_consume_token(DOT);
       partToken = jj_consume_token(IDENTIFIER);
@@ -1903,7 +2027,7 @@ public class QueryParser implements QueryParserConstants
       name2 = Name();
       break;
     default:
-      jj_la1[63] = jj_gen;
+      jj_la1[66] = jj_gen;
       ;
     }
     boolean isBinary = name2 != null;
@@ -1962,14 +2086,14 @@ public class QueryParser implements QueryParserConstants
         assignToken = jj_consume_token(REMASSIGN);
         break;
       default:
-        jj_la1[64] = jj_gen;
+        jj_la1[67] = jj_gen;
         jj_consume_token(-1);
         throw new ParseException();
       }
       assignOperand = Expression(parserAssembler);
       break;
     default:
-      jj_la1[65] = jj_gen;
+      jj_la1[68] = jj_gen;
       ;
     }
     if (assignOperand == null)
@@ -1983,7 +2107,7 @@ public class QueryParser implements QueryParserConstants
   Operand[] params = new Operand[2];
   Token op;
     params[0] = ConditionalAndExpression(parserAssembler);
-    label_20:
+    label_21:
     while (true) 
     {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
@@ -1992,8 +2116,8 @@ public class QueryParser implements QueryParserConstants
         ;
         break;
       default:
-        jj_la1[66] = jj_gen;
-        break label_20;
+        jj_la1[69] = jj_gen;
+        break label_21;
       }
       op = jj_consume_token(SC_OR);
       params[1] = ConditionalAndExpression(parserAssembler);
@@ -2008,7 +2132,7 @@ public class QueryParser implements QueryParserConstants
   Operand[] params = new Operand[2];
   Token op;
     params[0] = InclusiveOrExpression(parserAssembler);
-    label_21:
+    label_22:
     while (true) 
     {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
@@ -2017,8 +2141,8 @@ public class QueryParser implements QueryParserConstants
         ;
         break;
       default:
-        jj_la1[67] = jj_gen;
-        break label_21;
+        jj_la1[70] = jj_gen;
+        break label_22;
       }
       op = jj_consume_token(SC_AND);
       params[1] = InclusiveOrExpression(parserAssembler);
@@ -2033,7 +2157,7 @@ public class QueryParser implements QueryParserConstants
   Operand[] params = new Operand[2];
   Token op;
     params[0] = ExclusiveOrExpression(parserAssembler);
-    label_22:
+    label_23:
     while (true) 
     {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
@@ -2042,8 +2166,8 @@ public class QueryParser implements QueryParserConstants
         ;
         break;
       default:
-        jj_la1[68] = jj_gen;
-        break label_22;
+        jj_la1[71] = jj_gen;
+        break label_23;
       }
       op = jj_consume_token(BIT_OR);
       params[1] = ExclusiveOrExpression(parserAssembler);
@@ -2058,7 +2182,7 @@ public class QueryParser implements QueryParserConstants
   Operand[] params = new Operand[2];
   Token op;
     params[0] = AndExpression(parserAssembler);
-    label_23:
+    label_24:
     while (true) 
     {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
@@ -2067,8 +2191,8 @@ public class QueryParser implements QueryParserConstants
         ;
         break;
       default:
-        jj_la1[69] = jj_gen;
-        break label_23;
+        jj_la1[72] = jj_gen;
+        break label_24;
       }
       op = jj_consume_token(XOR);
       params[1] = AndExpression(parserAssembler);
@@ -2083,7 +2207,7 @@ public class QueryParser implements QueryParserConstants
   Operand[] params = new Operand[2];
   Token op;
     params[0] = EqualityExpression(parserAssembler);
-    label_24:
+    label_25:
     while (true) 
     {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
@@ -2092,8 +2216,8 @@ public class QueryParser implements QueryParserConstants
         ;
         break;
       default:
-        jj_la1[70] = jj_gen;
-        break label_24;
+        jj_la1[73] = jj_gen;
+        break label_25;
       }
       op = jj_consume_token(BIT_AND);
       params[1] = EqualityExpression(parserAssembler);
@@ -2108,7 +2232,7 @@ public class QueryParser implements QueryParserConstants
   Operand[] params = new Operand[2];
   Token op;
     params[0] = RelationalExpression(parserAssembler);
-    label_25:
+    label_26:
     while (true) 
     {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
@@ -2118,8 +2242,8 @@ public class QueryParser implements QueryParserConstants
         ;
         break;
       default:
-        jj_la1[71] = jj_gen;
-        break label_25;
+        jj_la1[74] = jj_gen;
+        break label_26;
       }
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
       {
@@ -2130,7 +2254,7 @@ public class QueryParser implements QueryParserConstants
         op = jj_consume_token(NE);
         break;
       default:
-        jj_la1[72] = jj_gen;
+        jj_la1[75] = jj_gen;
         jj_consume_token(-1);
         throw new ParseException();
       }
@@ -2146,7 +2270,7 @@ public class QueryParser implements QueryParserConstants
   Operand[] params = new Operand[2];
   Token op;
     params[0] = AdditiveExpression(parserAssembler);
-    label_26:
+    label_27:
     while (true) 
     {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
@@ -2158,8 +2282,8 @@ public class QueryParser implements QueryParserConstants
         ;
         break;
       default:
-        jj_la1[73] = jj_gen;
-        break label_26;
+        jj_la1[76] = jj_gen;
+        break label_27;
       }
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
       {
@@ -2176,7 +2300,7 @@ public class QueryParser implements QueryParserConstants
         op = jj_consume_token(GE);
         break;
       default:
-        jj_la1[74] = jj_gen;
+        jj_la1[77] = jj_gen;
         jj_consume_token(-1);
         throw new ParseException();
       }
@@ -2192,7 +2316,7 @@ public class QueryParser implements QueryParserConstants
   Operand[] params = new Operand[2];
   Token op;
     params[0] = MultiplicativeExpression(parserAssembler);
-    label_27:
+    label_28:
     while (true) 
     {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
@@ -2202,8 +2326,8 @@ public class QueryParser implements QueryParserConstants
         ;
         break;
       default:
-        jj_la1[75] = jj_gen;
-        break label_27;
+        jj_la1[78] = jj_gen;
+        break label_28;
       }
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
       {
@@ -2214,7 +2338,7 @@ public class QueryParser implements QueryParserConstants
         op = jj_consume_token(MINUS);
         break;
       default:
-        jj_la1[76] = jj_gen;
+        jj_la1[79] = jj_gen;
         jj_consume_token(-1);
         throw new ParseException();
       }
@@ -2230,7 +2354,7 @@ public class QueryParser implements QueryParserConstants
   Operand[] params = new Operand[2];
   Token op;
     params[0] = UnaryExpression(parserAssembler);
-    label_28:
+    label_29:
     while (true) 
     {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
@@ -2241,8 +2365,8 @@ public class QueryParser implements QueryParserConstants
         ;
         break;
       default:
-        jj_la1[77] = jj_gen;
-        break label_28;
+        jj_la1[80] = jj_gen;
+        break label_29;
       }
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
       {
@@ -2256,7 +2380,7 @@ public class QueryParser implements QueryParserConstants
         op = jj_consume_token(REM);
         break;
       default:
-        jj_la1[78] = jj_gen;
+        jj_la1[81] = jj_gen;
         jj_consume_token(-1);
         throw new ParseException();
       }
@@ -2293,7 +2417,7 @@ public class QueryParser implements QueryParserConstants
     tilde = true;
         break;
       default:
-        jj_la1[79] = jj_gen;
+        jj_la1[82] = jj_gen;
         jj_consume_token(-1);
         throw new ParseException();
       }
@@ -2332,7 +2456,7 @@ public class QueryParser implements QueryParserConstants
     {if (true) return param;}
       break;
     default:
-      jj_la1[80] = jj_gen;
+      jj_la1[83] = jj_gen;
       jj_consume_token(-1);
       throw new ParseException();
     }
@@ -2384,7 +2508,7 @@ public class QueryParser implements QueryParserConstants
     {if (true) return param;}
       break;
     default:
-      jj_la1[81] = jj_gen;
+      jj_la1[84] = jj_gen;
       jj_consume_token(-1);
       throw new ParseException();
     }
@@ -2412,13 +2536,13 @@ public class QueryParser implements QueryParserConstants
     decr = true;
         break;
       default:
-        jj_la1[82] = jj_gen;
+        jj_la1[85] = jj_gen;
         jj_consume_token(-1);
         throw new ParseException();
       }
       break;
     default:
-      jj_la1[83] = jj_gen;
+      jj_la1[86] = jj_gen;
       ;
     }
     if (incr)
@@ -2464,7 +2588,7 @@ public class QueryParser implements QueryParserConstants
         param1 = NamedExpression(name, parserAssembler);
         break;
       default:
-        jj_la1[84] = jj_gen;
+        jj_la1[87] = jj_gen;
         ;
       }
     if (param1 == null)
@@ -2521,7 +2645,7 @@ public class QueryParser implements QueryParserConstants
         {if (true) throw new ParseException("Operand " + name + " not found");}
       break;
     default:
-      jj_la1[85] = jj_gen;
+      jj_la1[88] = jj_gen;
       jj_consume_token(-1);
       throw new ParseException();
     }
@@ -2534,11 +2658,18 @@ public class QueryParser implements QueryParserConstants
   Operand param2 = null;
   List<OperandParam> operandParamList = null;
   QualifiedName qname;
+  String argument;
+  String groupTermName = null;
+  List<String> callArgumentList = null;
+  String callArgument;
+  List<SortKey> sortKeyList = new ArrayList<SortKey>();
+  SortKey sortKey;
+  Token limitToken = null;
     switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
     {
     case LBRACKET:
       param1 = IndexExpression(parserAssembler);
-      if (jj_2_3(2)) 
+      if (jj_2_4(2)) 
       {
         param2 = IndexExpression(parserAssembler);
       } else 
@@ -2549,49 +2680,185 @@ public class QueryParser implements QueryParserConstants
       break;
     case LPAREN:
       jj_consume_token(LPAREN);
-      switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
+      if (jj_2_5(2147483647) && (AggregateFunction.isAggregate(name) && !parserAssembler.isDeclaredCall(name))) 
       {
-      case INTEGER:
-      case DOUBLE:
-      case DECIMAL:
-      case BOOLEAN:
-      case STRING:
-      case SCOPE:
-      case FACT:
-      case LENGTH:
-      case TERM:
-      case CURRENCY:
-      case FORMAT:
-      case INTEGER_LITERAL:
-      case FLOATING_POINT_LITERAL:
-      case NUMBER_LITERAL:
-      case STRING_LITERAL:
-      case TRUE:
-      case FALSE:
-      case UNKNOWN:
-      case IDENTIFIER:
-      case LPAREN:
-      case BANG:
-      case INCR:
-      case DECR:
-      case PLUS:
-      case MINUS:
-      case 81:
-        operandParamList = ArgumentList(parserAssembler, true);
-        break;
-      default:
-        jj_la1[86] = jj_gen;
-        ;
-      }
-      jj_consume_token(RPAREN);
-    qname = parserAssembler.getContextName(name);
-    {if (true) return parserAssembler.getCallOperand(qname, operandParamList);}
-      break;
-    default:
-      jj_la1[87] = jj_gen;
-      jj_consume_token(-1);
-      throw new ParseException();
+        argument = Name();
+        switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
+        {
+        case LPAREN:
+          jj_consume_token(LPAREN);
+          callArgument = Name();
+                                callArgumentList = new ArrayList<String>(); callArgumentList.add(callArgument);
+          label_30:
+          while (true) 
+          {
+            switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
+            {
+            case COMMA:
+              ;
+              break;
+            default:
+              jj_la1[89] = jj_gen;
+              break label_30;
+            }
+            jj_consume_token(COMMA);
+            callArgument = Name();
+                                  callArgumentList.add(callArgument);
+          }
+          jj_consume_token(RPAREN);
+          break;
+        default:
+          jj_la1[90] = jj_gen;
+          ;
+        }
+        switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
+        {
+        case COMMA:
+          jj_consume_token(COMMA);
+          groupTermName = Name();
+          break;
+        default:
+          jj_la1[91] = jj_gen;
+          ;
+        }
+        jj_consume_token(RPAREN);
+      {if (true) return listAggregate(name, parserAssembler, argument, callArgumentList, groupTermName);}
+      } else if (jj_2_6(2147483647) && (ListSort.isSortFunction(name) && !parserAssembler.isDeclaredCall(name))) 
+      {
+        argument = Name();
+        label_31:
+        while (true) 
+        {
+          switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
+          {
+          case COMMA:
+            ;
+            break;
+          default:
+            jj_la1[92] = jj_gen;
+            break label_31;
+          }
+          jj_consume_token(COMMA);
+          switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
+          {
+          case INTEGER_LITERAL:
+            limitToken = jj_consume_token(INTEGER_LITERAL);
+            break;
+          case IDENTIFIER:
+            sortKey = SortKey();
+                            sortKeyList.add(sortKey);
+            break;
+          default:
+            jj_la1[93] = jj_gen;
+            jj_consume_token(-1);
+            throw new ParseException();
+          }
+        }
+        jj_consume_token(RPAREN);
+      {if (true) return listSort(name, parserAssembler, argument, sortKeyList, limitToken);}
+      } else 
+      {
+        switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
+        {
+        case INTEGER:
+        case DOUBLE:
+        case DECIMAL:
+        case BOOLEAN:
+        case STRING:
+        case SCOPE:
+        case FACT:
+        case LENGTH:
+        case TERM:
+        case CURRENCY:
+        case FORMAT:
+        case INTEGER_LITERAL:
+        case FLOATING_POINT_LITERAL:
+        case NUMBER_LITERAL:
+        case STRING_LITERAL:
+        case TRUE:
+        case FALSE:
+        case UNKNOWN:
+        case IDENTIFIER:
+        case LPAREN:
+        case RPAREN:
+        case BANG:
+        case INCR:
+        case DECR:
+        case PLUS:
+        case MINUS:
+        case 81:
+          switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
+          {
+          case INTEGER:
+          case DOUBLE:
+          case DECIMAL:
+          case BOOLEAN:
+          case STRING:
+          case SCOPE:
+          case FACT:
+          case LENGTH:
+          case TERM:
+          case CURRENCY:
+          case FORMAT:
+          case INTEGER_LITERAL:
+          case FLOATING_POINT_LITERAL:
+          case NUMBER_LITERAL:
+          case STRING_LITERAL:
+          case TRUE:
+          case FALSE:
+          case UNKNOWN:
+          case IDENTIFIER:
+          case LPAREN:
+          case BANG:
+          case INCR:
+          case DECR:
+          case PLUS:
+          case MINUS:
+          case 81:
+            operandParamList = ArgumentList(parserAssembler, true);
+            break;
+          default:
+            jj_la1[94] = jj_gen;
+            ;
+          }
+          jj_consume_token(RPAREN);
+      qname = parserAssembler.getContextName(name);
+      {if (true) return parserAssembler.getCallOperand(qname, operandParamList);}
+          break;
+        default:
+          jj_la1[95] = jj_gen;
+          jj_consume_token(-1);
+          throw new ParseException();
+        }
+      }
+      break;
+    default:
+      jj_la1[96] = jj_gen;
+      jj_consume_token(-1);
+      throw new ParseException();
+    }
+    throw new Error("Missing return statement in function");
+  }
+
+  final public SortKey SortKey() throws ParseException
+  {
+  String termName;
+  Token direction = null;
+    termName = Name();
+    switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
+    {
+    case IDENTIFIER:
+      direction = jj_consume_token(IDENTIFIER);
+      break;
+    default:
+      jj_la1[97] = jj_gen;
+      ;
     }
+    if ((direction == null) || direction.image.equals("asc"))
+      {if (true) return new SortKey(termName, false);}
+    if (direction.image.equals("desc"))
+      {if (true) return new SortKey(termName, true);}
+    {if (true) throw new ParseException("Sort direction \u005c"" + direction.image + "\u005c" is invalid");}
     throw new Error("Missing return statement in function");
   }
 
@@ -2611,7 +2878,7 @@ public class QueryParser implements QueryParserConstants
   OperandParam operandParam;
     operandParam = Argument(parserAssembler, nameRequired);
     operandParamList.add(operandParam);
-    label_29:
+    label_32:
     while (true) 
     {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
@@ -2620,8 +2887,8 @@ public class QueryParser implements QueryParserConstants
         ;
         break;
       default:
-        jj_la1[88] = jj_gen;
-        break label_29;
+        jj_la1[98] = jj_gen;
+        break label_32;
       }
       jj_consume_token(COMMA);
       operandParam = Argument(parserAssembler, nameRequired);
@@ -2638,7 +2905,7 @@ public class QueryParser implements QueryParserConstants
     Operand operand = null;
     Operand expression;
     OperandMap operandMap = parserAssembler.getOperandMap();
-    if (jj_2_4(2)) 
+    if (jj_2_7(2)) 
     {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
       {
@@ -2652,7 +2919,7 @@ public class QueryParser implements QueryParserConstants
         varType = Type(operandMap);
         break;
       default:
-        jj_la1[89] = jj_gen;
+        jj_la1[99] = jj_gen;
         ;
       }
       nameToken = jj_consume_token(IDENTIFIER);
@@ -2701,10 +2968,10 @@ public class QueryParser implements QueryParserConstants
       break;
     case UNKNOWN:
       UnknownLiteral();
-    {if (true) return new NullOperand(QualifiedName.ANONYMOUS, new Unknown());}
+    {if (true) return new NullOperand(QualifiedName.ANONYMOUS, Unknown.UNKNOWN);}
       break;
     default:
-      jj_la1[90] = jj_gen;
+      jj_la1[100] = jj_gen;
       jj_consume_token(-1);
       throw new ParseException();
     }
@@ -2736,10 +3003,10 @@ public class QueryParser implements QueryParserConstants
       break;
     case UNKNOWN:
       UnknownLiteral();
-    {if (true) return new Parameter(Term.ANONYMOUS, new Unknown());}
+    {if (true) return new Parameter(Term.ANONYMOUS, Unknown.UNKNOWN);}
       break;
     default:
-      jj_la1[91] = jj_gen;
+      jj_la1[101] = jj_gen;
       jj_consume_token(-1);
       throw new ParseException();
     }
@@ -2752,7 +3019,7 @@ public class QueryParser implements QueryParserConstants
   Parameter parameter;
     parameter = LiteralTerm();
     literalList.add(parameter);
-    label_30:
+    label_33:
     while (true) 
     {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) 
@@ -2761,8 +3028,8 @@ public class QueryParser implements QueryParserConstants
         ;
         break;
       default:
-        jj_la1[92] = jj_gen;
-        break label_30;
+        jj_la1[102] = jj_gen;
+        break label_33;
       }
       jj_consume_token(COMMA);
       parameter = LiteralTerm();
@@ -2785,7 +3052,7 @@ public class QueryParser implements QueryParserConstants
     {if (true) return false;}
       break;
     default:
-      jj_la1[93] = jj_gen;
+      jj_la1[103] = jj_gen;
       jj_consume_token(-1);
       throw new ParseException();
     }
@@ -2825,42 +3092,94 @@ public class QueryParser implements QueryParserConstants
     finally { jj_save(3, xla); }
   }
 
-  private boolean jj_3R_39() {
-    if (jj_scan_token(BOOLEAN)) return true;
+  private boolean jj_2_5(int xla) {
+    jj_la = xla; jj_lastpos = jj_scanpos = token;
+    try { return !jj_3_5(); }
+    catch(LookaheadSuccess ls) { return true; }
+    finally { jj_save(4, xla); }
+  }
+
+  private boolean jj_2_6(int xla) {
+    jj_la = xla; jj_lastpos = jj_scanpos = token;
+    try { return !jj_3_6(); }
+    catch(LookaheadSuccess ls) { return true; }
+    finally { jj_save(5, xla); }
+  }
+
+  private boolean jj_2_7(int xla) {
+    jj_la = xla; jj_lastpos = jj_scanpos = token;
+    try { return !jj_3_7(); }
+    catch(LookaheadSuccess ls) { return true; }
+    finally { jj_save(6, xla); }
+  }
+
+  private boolean jj_3R_92() {
+    if (jj_scan_token(STRING_LITERAL)) return true;
     return false;
   }
 
-  private boolean jj_3_3() {
-    if (jj_3R_33()) return true;
+  private boolean jj_3R_74() {
+    if (jj_scan_token(INCR)) return true;
     return false;
   }
 
-  private boolean jj_3_2() {
-    if (jj_3R_32()) return true;
+  private boolean jj_3R_52() {
+    if (jj_scan_token(DOUBLE)) return true;
     return false;
   }
 
-  private boolean jj_3R_38() {
-    if (jj_scan_token(INTEGER)) return true;
+  private boolean jj_3R_64() {
+    if (jj_3R_65()) return true;
     return false;
   }
 
-  private boolean jj_3R_36() {
+  private boolean jj_3R_84() {
+    if (jj_scan_token(SCOPE)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_91() {
+    if (jj_scan_token(FLOATING_POINT_LITERAL)) return true;
+    return false;
+  }
+
+  private boolean jj_3_6() {
+    if (jj_3R_38()) return true;
+    Token xsp;
+    while (true) {
+      xsp = jj_scanpos;
+      if (jj_3R_41()) { jj_scanpos = xsp; break; }
+    }
+    if (jj_scan_token(RPAREN)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_51() {
+    if (jj_scan_token(BOOLEAN)) return true;
+    return false;
+  }
+
+  private boolean jj_3_3() {
+    if (jj_3R_36()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_47() {
     Token xsp;
     xsp = jj_scanpos;
-    if (jj_3R_38()) {
+    if (jj_3R_50()) {
     jj_scanpos = xsp;
-    if (jj_3R_39()) {
+    if (jj_3R_51()) {
     jj_scanpos = xsp;
-    if (jj_3R_40()) {
+    if (jj_3R_52()) {
     jj_scanpos = xsp;
-    if (jj_3R_41()) {
+    if (jj_3R_53()) {
     jj_scanpos = xsp;
-    if (jj_3R_42()) {
+    if (jj_3R_54()) {
     jj_scanpos = xsp;
-    if (jj_3R_43()) {
+    if (jj_3R_55()) {
     jj_scanpos = xsp;
-    if (jj_3R_44()) return true;
+    if (jj_3R_56()) return true;
     }
     }
     }
@@ -2870,69 +3189,147 @@ public class QueryParser implements QueryParserConstants
     return false;
   }
 
-  private boolean jj_3R_71() {
-    if (jj_3R_78()) return true;
+  private boolean jj_3R_50() {
+    if (jj_scan_token(INTEGER)) return true;
     return false;
   }
 
-  private boolean jj_3_1() {
-    if (jj_3R_31()) return true;
+  private boolean jj_3R_90() {
+    if (jj_scan_token(INTEGER_LITERAL)) return true;
     return false;
   }
 
-  private boolean jj_3R_58() {
-    if (jj_3R_64()) return true;
+  private boolean jj_3R_89() {
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_90()) {
+    jj_scanpos = xsp;
+    if (jj_3R_91()) {
+    jj_scanpos = xsp;
+    if (jj_3R_92()) {
+    jj_scanpos = xsp;
+    if (jj_3R_93()) {
+    jj_scanpos = xsp;
+    if (jj_3R_94()) return true;
+    }
+    }
+    }
+    }
     return false;
   }
 
-  private boolean jj_3R_47() {
-    if (jj_3R_48()) return true;
+  private boolean jj_3R_83() {
+    if (jj_3R_38()) return true;
     return false;
   }
 
-  private boolean jj_3R_57() {
-    if (jj_3R_63()) return true;
+  private boolean jj_3R_70() {
+    if (jj_3R_76()) return true;
     return false;
   }
 
-  private boolean jj_3R_70() {
-    if (jj_scan_token(NUMBER_LITERAL)) return true;
+  private boolean jj_3R_39() {
+    if (jj_scan_token(LPAREN)) return true;
+    if (jj_3R_38()) return true;
+    Token xsp;
+    while (true) {
+      xsp = jj_scanpos;
+      if (jj_3R_45()) { jj_scanpos = xsp; break; }
+    }
+    if (jj_scan_token(RPAREN)) return true;
     return false;
   }
 
-  private boolean jj_3R_56() {
-    if (jj_3R_62()) return true;
+  private boolean jj_3_2() {
+    if (jj_3R_35()) return true;
     return false;
   }
 
-  private boolean jj_3R_78() {
-    if (jj_scan_token(IDENTIFIER)) return true;
+  private boolean jj_3R_42() {
+    if (jj_3R_47()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_59() {
+    if (jj_3R_60()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_97() {
+    if (jj_scan_token(FALSE)) return true;
     return false;
   }
 
   private boolean jj_3R_69() {
-    if (jj_3R_77()) return true;
+    if (jj_3R_75()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_44() {
+    if (jj_scan_token(DOT)) return true;
+    if (jj_scan_token(IDENTIFIER)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_82() {
+    if (jj_scan_token(NUMBER_LITERAL)) return true;
+    return false;
+  }
+
+  private boolean jj_3_5() {
+    if (jj_3R_38()) return true;
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_39()) jj_scanpos = xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_40()) jj_scanpos = xsp;
+    if (jj_scan_token(RPAREN)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_96() {
+    if (jj_scan_token(TRUE)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_95() {
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_96()) {
+    jj_scanpos = xsp;
+    if (jj_3R_97()) return true;
+    }
     return false;
   }
 
   private boolean jj_3R_68() {
+    if (jj_3R_74()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_81() {
+    if (jj_3R_89()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_80() {
     Token xsp;
     xsp = jj_scanpos;
-    if (jj_3R_69()) {
+    if (jj_3R_81()) {
     jj_scanpos = xsp;
-    if (jj_3R_70()) {
+    if (jj_3R_82()) {
     jj_scanpos = xsp;
-    if (jj_3R_71()) {
+    if (jj_3R_83()) {
     jj_scanpos = xsp;
-    if (jj_3R_72()) {
+    if (jj_3R_84()) {
     jj_scanpos = xsp;
-    if (jj_3R_73()) {
+    if (jj_3R_85()) {
     jj_scanpos = xsp;
-    if (jj_3R_74()) {
+    if (jj_3R_86()) {
     jj_scanpos = xsp;
-    if (jj_3R_75()) {
+    if (jj_3R_87()) {
     jj_scanpos = xsp;
-    if (jj_3R_76()) return true;
+    if (jj_3R_88()) return true;
     }
     }
     }
@@ -2943,192 +3340,170 @@ public class QueryParser implements QueryParserConstants
     return false;
   }
 
-  private boolean jj_3R_51() {
-    if (jj_3R_52()) return true;
+  private boolean jj_3R_38() {
+    if (jj_scan_token(IDENTIFIER)) return true;
+    Token xsp;
+    while (true) {
+      xsp = jj_scanpos;
+      if (jj_3R_44()) { jj_scanpos = xsp; break; }
+    }
     return false;
   }
 
-  private boolean jj_3R_33() {
-    if (jj_scan_token(LBRACKET)) return true;
-    if (jj_3R_35()) return true;
+  private boolean jj_3R_63() {
+    if (jj_3R_64()) return true;
     return false;
   }
 
-  private boolean jj_3R_45() {
-    if (jj_3R_47()) return true;
+  private boolean jj_3_7() {
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_42()) jj_scanpos = xsp;
+    if (jj_scan_token(IDENTIFIER)) return true;
+    if (jj_scan_token(ASSIGN)) return true;
     return false;
   }
 
-  private boolean jj_3R_61() {
+  private boolean jj_3R_57() {
+    if (jj_3R_59()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_73() {
     if (jj_scan_token(81)) return true;
     return false;
   }
 
-  private boolean jj_3R_60() {
-    if (jj_scan_token(MINUS)) return true;
+  private boolean jj_3_1() {
+    if (jj_3R_34()) return true;
     return false;
   }
 
-  private boolean jj_3R_83() {
-    if (jj_scan_token(37)) return true;
+  private boolean jj_3R_34() {
+    if (jj_scan_token(QUERY)) return true;
+    if (jj_scan_token(IDENTIFIER)) return true;
+    if (jj_scan_token(LBRACKET)) return true;
     return false;
   }
 
-  private boolean jj_3R_59() {
-    if (jj_scan_token(PLUS)) return true;
+  private boolean jj_3R_72() {
+    if (jj_scan_token(MINUS)) return true;
     return false;
   }
 
-  private boolean jj_3R_82() {
-    if (jj_3R_84()) return true;
+  private boolean jj_3R_71() {
+    if (jj_scan_token(PLUS)) return true;
     return false;
   }
 
-  private boolean jj_3R_54() {
+  private boolean jj_3R_67() {
     Token xsp;
     xsp = jj_scanpos;
-    if (jj_3R_55()) {
-    jj_scanpos = xsp;
-    if (jj_3R_56()) {
+    if (jj_3R_71()) {
     jj_scanpos = xsp;
-    if (jj_3R_57()) {
+    if (jj_3R_72()) {
     jj_scanpos = xsp;
-    if (jj_3R_58()) return true;
-    }
+    if (jj_3R_73()) return true;
     }
     }
     return false;
   }
 
-  private boolean jj_3R_55() {
+  private boolean jj_3R_66() {
     Token xsp;
     xsp = jj_scanpos;
-    if (jj_3R_59()) {
+    if (jj_3R_67()) {
     jj_scanpos = xsp;
-    if (jj_3R_60()) {
+    if (jj_3R_68()) {
     jj_scanpos = xsp;
-    if (jj_3R_61()) return true;
+    if (jj_3R_69()) {
+    jj_scanpos = xsp;
+    if (jj_3R_70()) return true;
+    }
     }
     }
     return false;
   }
 
-  private boolean jj_3R_81() {
-    if (jj_scan_token(STRING_LITERAL)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_37() {
-    if (jj_3R_45()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_50() {
-    if (jj_3R_51()) return true;
+  private boolean jj_3R_62() {
+    if (jj_3R_63()) return true;
     return false;
   }
 
-  private boolean jj_3R_67() {
-    if (jj_3R_68()) return true;
+  private boolean jj_3R_48() {
+    if (jj_3R_57()) return true;
     return false;
   }
 
-  private boolean jj_3R_80() {
-    if (jj_scan_token(FLOATING_POINT_LITERAL)) return true;
+  private boolean jj_3R_79() {
+    if (jj_3R_80()) return true;
     return false;
   }
 
-  private boolean jj_3R_32() {
+  private boolean jj_3R_36() {
     if (jj_scan_token(COLON)) return true;
     if (jj_scan_token(PARAMETER)) return true;
     return false;
   }
 
-  private boolean jj_3R_79() {
-    if (jj_scan_token(INTEGER_LITERAL)) return true;
+  private boolean jj_3R_88() {
+    if (jj_scan_token(FACT)) return true;
     return false;
   }
 
-  private boolean jj_3R_77() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_79()) {
-    jj_scanpos = xsp;
-    if (jj_3R_80()) {
-    jj_scanpos = xsp;
-    if (jj_3R_81()) {
-    jj_scanpos = xsp;
-    if (jj_3R_82()) {
-    jj_scanpos = xsp;
-    if (jj_3R_83()) return true;
-    }
-    }
-    }
-    }
+  private boolean jj_3R_46() {
+    if (jj_3R_49()) return true;
     return false;
   }
 
-  private boolean jj_3R_76() {
-    if (jj_scan_token(FACT)) return true;
+  private boolean jj_3R_78() {
+    if (jj_3R_79()) return true;
     return false;
   }
 
-  private boolean jj_3R_34() {
-    if (jj_3R_36()) return true;
+  private boolean jj_3R_58() {
+    if (jj_scan_token(LPAREN)) return true;
     return false;
   }
 
-  private boolean jj_3R_86() {
-    if (jj_scan_token(FALSE)) return true;
+  private boolean jj_3R_37() {
+    if (jj_scan_token(LBRACKET)) return true;
+    if (jj_3R_43()) return true;
     return false;
   }
 
-  private boolean jj_3R_66() {
-    if (jj_3R_67()) return true;
+  private boolean jj_3R_40() {
+    if (jj_scan_token(COMMA)) return true;
+    if (jj_3R_38()) return true;
     return false;
   }
 
-  private boolean jj_3R_46() {
-    if (jj_scan_token(LPAREN)) return true;
+  private boolean jj_3R_61() {
+    if (jj_3R_62()) return true;
     return false;
   }
 
-  private boolean jj_3R_85() {
-    if (jj_scan_token(TRUE)) return true;
+  private boolean jj_3R_77() {
+    if (jj_scan_token(BANG)) return true;
     return false;
   }
 
-  private boolean jj_3R_84() {
+  private boolean jj_3R_76() {
     Token xsp;
     xsp = jj_scanpos;
-    if (jj_3R_85()) {
+    if (jj_3R_77()) {
     jj_scanpos = xsp;
-    if (jj_3R_86()) return true;
+    if (jj_3R_78()) return true;
     }
     return false;
   }
 
-  private boolean jj_3R_49() {
-    if (jj_3R_50()) return true;
-    return false;
-  }
-
   private boolean jj_3R_65() {
-    if (jj_scan_token(BANG)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_64() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_65()) {
-    jj_scanpos = xsp;
     if (jj_3R_66()) return true;
-    }
     return false;
   }
 
-  private boolean jj_3R_31() {
+  private boolean jj_3R_35() {
     if (jj_scan_token(COLON)) return true;
     Token xsp;
     xsp = jj_scanpos;
@@ -3139,90 +3514,96 @@ public class QueryParser implements QueryParserConstants
     return false;
   }
 
-  private boolean jj_3R_53() {
-    if (jj_3R_54()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_35() {
-    if (jj_3R_37()) return true;
+  private boolean jj_3R_43() {
+    if (jj_3R_48()) return true;
     return false;
   }
 
-  private boolean jj_3R_75() {
+  private boolean jj_3R_87() {
     if (jj_scan_token(FORMAT)) return true;
     return false;
   }
 
-  private boolean jj_3R_44() {
+  private boolean jj_3R_56() {
     if (jj_scan_token(CURRENCY)) return true;
     Token xsp;
     xsp = jj_scanpos;
-    if (jj_3R_46()) jj_scanpos = xsp;
+    if (jj_3R_58()) jj_scanpos = xsp;
     return false;
   }
 
-  private boolean jj_3_4() {
+  private boolean jj_3R_75() {
+    if (jj_scan_token(DECR)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_49() {
+    if (jj_3R_38()) return true;
     Token xsp;
     xsp = jj_scanpos;
-    if (jj_3R_34()) jj_scanpos = xsp;
-    if (jj_scan_token(IDENTIFIER)) return true;
-    if (jj_scan_token(ASSIGN)) return true;
+    if (jj_scan_token(39)) jj_scanpos = xsp;
     return false;
   }
 
-  private boolean jj_3R_63() {
-    if (jj_scan_token(DECR)) return true;
+  private boolean jj_3R_94() {
+    if (jj_scan_token(37)) return true;
     return false;
   }
 
-  private boolean jj_3R_43() {
+  private boolean jj_3R_55() {
     if (jj_scan_token(TERM)) return true;
     return false;
   }
 
-  private boolean jj_3R_74() {
+  private boolean jj_3R_86() {
     if (jj_scan_token(LENGTH)) return true;
     return false;
   }
 
-  private boolean jj_3R_42() {
+  private boolean jj_3R_54() {
     if (jj_scan_token(DECIMAL)) return true;
     return false;
   }
 
-  private boolean jj_3R_48() {
-    if (jj_3R_49()) return true;
+  private boolean jj_3R_93() {
+    if (jj_3R_95()) return true;
     return false;
   }
 
-  private boolean jj_3R_41() {
-    if (jj_scan_token(STRING)) return true;
+  private boolean jj_3R_60() {
+    if (jj_3R_61()) return true;
     return false;
   }
 
-  private boolean jj_3R_73() {
-    if (jj_scan_token(LPAREN)) return true;
+  private boolean jj_3R_41() {
+    if (jj_scan_token(COMMA)) return true;
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_scan_token(28)) {
+    jj_scanpos = xsp;
+    if (jj_3R_46()) return true;
+    }
     return false;
   }
 
-  private boolean jj_3R_62() {
-    if (jj_scan_token(INCR)) return true;
+  private boolean jj_3R_53() {
+    if (jj_scan_token(STRING)) return true;
     return false;
   }
 
-  private boolean jj_3R_40() {
-    if (jj_scan_token(DOUBLE)) return true;
+  private boolean jj_3R_45() {
+    if (jj_scan_token(COMMA)) return true;
+    if (jj_3R_38()) return true;
     return false;
   }
 
-  private boolean jj_3R_52() {
-    if (jj_3R_53()) return true;
+  private boolean jj_3R_85() {
+    if (jj_scan_token(LPAREN)) return true;
     return false;
   }
 
-  private boolean jj_3R_72() {
-    if (jj_scan_token(SCOPE)) return true;
+  private boolean jj_3_4() {
+    if (jj_3R_37()) return true;
     return false;
   }
 
@@ -3237,7 +3618,7 @@ public class QueryParser implements QueryParserConstants
   private Token jj_scanpos, jj_lastpos;
   private int jj_la;
   private int jj_gen;
-  final private int[] jj_la1 = new int[94];
+  final private int[] jj_la1 = new int[104];
   static private int[] jj_la1_0;
   static private int[] jj_la1_1;
   static private int[] jj_la1_2;
@@ -3249,17 +3630,17 @@ public class QueryParser implements QueryParserConstants
   }
   private static void jj_la1_init_0() 
   {
-    jj_la1_0 = new int[] { 0x400000,0x6a7dfc0,0x6a7dfc0,0x6a75fc0,0x6a75fc0,0x0,0x0,0x0,0x0,0x6a65fc0,0x2040000,0x0,0x0,0x0,0x0,0x0,0xa007c0,0x0,0x95b89fc0,0x0,0x95b89fc0,0x0,0x0,0xa007c0,0x0,0x0,0xa007c0,0x0,0x0,0x0,0x91189000,0x0,0x0,0x91b887c0,0x2000,0x2000,0x0,0x0,0x0,0x95b897c0,0x0,0x800,0x91b887c0,0x91b887c0,0x0,0x91188000,0x0,0x91b887c0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x400000,0x90000000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x91188000,0x91188000,0x0,0x0,0x0,0x91188000,0x91b887c0,0x0,0x0,0xa007c0,0x90000000,0x90000000,0x0,0x0, };
+    jj_la1_0 = new int[] { 0x400000,0x6a65fc0,0x18000,0x6a7dfc0,0x6a75fc0,0x6a75fc0,0x0,0x0,0x0,0x0,0x0,0x0,0x6a65fc0,0x2040000,0x0,0x0,0x0,0x0,0x0,0xa007c0,0x0,0x95b89fc0,0x0,0x95b89fc0,0x0,0x0,0xa007c0,0x0,0x0,0xa007c0,0x0,0x0,0x0,0x91189000,0x0,0x0,0x91b887c0,0x2000,0x2000,0x0,0x0,0x0,0x95b897c0,0x0,0x800,0x91b887c0,0x91b887c0,0x0,0x91188000,0x0,0x91b887c0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x400000,0x90000000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x91188000,0x91188000,0x0,0x0,0x0,0x91188000,0x0,0x0,0x0,0x0,0x10000000,0x91b887c0,0x91b887c0,0x0,0x0,0x0,0xa007c0,0x90000000,0x90000000,0x0,0x0, };
   }
   private static void jj_la1_init_1() 
   {
-    jj_la1_1 = new int[] { 0x0,0x80,0x80,0x80,0x80,0x100,0x0,0x8000,0x100,0x80,0x0,0x80000,0x200000,0x100,0x84,0x100,0x0,0x8000,0xf03005bd,0x8000,0xf03005bd,0x100,0x8000,0x0,0x1000,0x20000,0x0,0x1000,0x0,0x220000,0xf01001bd,0x84,0x400,0xf01001bd,0x220500,0x220500,0x200000,0x200000,0x400,0xf03005bd,0x8000,0x0,0xf01001bd,0xf01001bd,0x8000,0xf01005bd,0x400,0xf01001bd,0x8000,0x20100,0x8000,0x80,0x400,0x400,0x200400,0x8000,0x400,0x8000,0x8000,0x100,0x4,0x7d,0x10000,0x200000,0x20000,0x20000,0x4000000,0x8000000,0x0,0x0,0x0,0x2400000,0x2400000,0x18c0000,0x18c0000,0xc0000000,0xc0000000,0x0,0x0,0xc0000000,0xf01001bd,0x1001bd,0x30000000,0x30000000,0x1100,0x1bd,0xf01001bd,0x1100,0x8000,0x0,0x3c,0x3c,0x8000,0x18, };
+    jj_la1_1 = new int[] { 0x0,0x80,0x0,0x80,0x80,0x80,0x100,0x0,0x8000,0x80,0x8000,0x100,0x80,0x0,0x80000,0x200000,0x100,0x84,0x100,0x0,0x8000,0xf03005bd,0x8000,0xf03005bd,0x100,0x8000,0x0,0x1000,0x20000,0x0,0x1000,0x0,0x220000,0xf01001bd,0x84,0x400,0xf01001bd,0x220500,0x220500,0x200000,0x200000,0x400,0xf03005bd,0x8000,0x0,0xf01001bd,0xf01001bd,0x8000,0xf01005bd,0x400,0xf01001bd,0x8000,0x20100,0x8000,0x80,0x400,0x400,0x200400,0x8000,0x400,0x8000,0x8000,0x100,0x4,0x7d,0x10000,0x200000,0x20000,0x20000,0x4000000,0x8000000,0x0,0x0,0x0,0x2400000,0x2400000,0x18c0000,0x18c0000,0xc0000000,0xc0000000,0x0,0x0,0xc0000000,0xf01001bd,0x1001bd,0x30000000,0x30000000,0x1100,0x1bd,0x8000,0x100,0x8000,0x8000,0x80,0xf01001bd,0xf01003bd,0x1100,0x80,0x8000,0x0,0x3c,0x3c,0x8000,0x18, };
   }
   private static void jj_la1_init_2() 
   {
-    jj_la1_2 = new int[] { 0x0,0x0,0x0,0x0,0x0,0x0,0x4000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x38000,0x0,0x38000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x3fc0,0xbfc0,0x20000,0x0,0x0,0x20000,0xbfc0,0xbfc0,0x8000,0x8000,0x0,0x28000,0x0,0x0,0x20000,0x20000,0x0,0x20000,0x0,0x20000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x3fc0,0x3fc0,0x0,0x0,0x8,0x10,0x4,0x0,0x0,0x0,0x0,0x0,0x0,0x23,0x23,0x20000,0x20000,0x0,0x0,0x0,0x0,0x0,0x20000,0x0,0x0,0x0,0x0,0x0,0x0,0x0, };
+    jj_la1_2 = new int[] { 0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x4000,0x0,0x1,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x38000,0x0,0x38000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x3fc0,0xbfc0,0x20000,0x0,0x0,0x20000,0xbfc0,0xbfc0,0x8000,0x8000,0x0,0x28000,0x0,0x0,0x20000,0x20000,0x0,0x20000,0x0,0x20000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x3fc0,0x3fc0,0x0,0x0,0x8,0x10,0x4,0x0,0x0,0x0,0x0,0x0,0x0,0x23,0x23,0x20000,0x20000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x20000,0x20000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0, };
   }
-  final private JJCalls[] jj_2_rtns = new JJCalls[4];
+  final private JJCalls[] jj_2_rtns = new JJCalls[7];
   private boolean jj_rescan = false;
   private int jj_gc = 0;
 
@@ -3283,7 +3664,7 @@ public class QueryParser implements QueryParserConstants
     token = new Token();
     jj_ntk = -1;
     jj_gen = 0;
-    for (int i = 0; i < 94; i++) jj_la1[i] = -1;
+    for (int i = 0; i < 104; i++) jj_la1[i] = -1;
     for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
   }
 
@@ -3307,7 +3688,7 @@ public class QueryParser implements QueryParserConstants
     token = new Token();
     jj_ntk = -1;
     jj_gen = 0;
-    for (int i = 0; i < 94; i++)
+    for (int i = 0; i < 104; i++)
       jj_la1[i] = -1;
     for (int i = 0; i < jj_2_rtns.length; i++)
       jj_2_rtns[i] = new JJCalls();
@@ -3321,7 +3702,7 @@ public class QueryParser implements QueryParserConstants
     token = new Token();
     jj_ntk = -1;
     jj_gen = 0;
-    for (int i = 0; i < 94; i++)
+    for (int i = 0; i < 104; i++)
       jj_la1[i] = -1;
     for (int i = 0; i < jj_2_rtns.length; i++)
       jj_2_rtns[i] = new JJCalls();
@@ -3335,7 +3716,7 @@ public class QueryParser implements QueryParserConstants
     token = new Token();
     jj_ntk = -1;
     jj_gen = 0;
-    for (int i = 0; i < 94; i++)
+    for (int i = 0; i < 104; i++)
       jj_la1[i] = -1;
     for (int i = 0; i < jj_2_rtns.length; i++)
       jj_2_rtns[i] = new JJCalls();
@@ -3348,7 +3729,7 @@ public class QueryParser implements QueryParserConstants
     token = new Token();
     jj_ntk = -1;
     jj_gen = 0;
-    for (int i = 0; i < 94; i++)
+    for (int i = 0; i < 104; i++)
       jj_la1[i] = -1;
     for (int i = 0; i < jj_2_rtns.length; i++)
       jj_2_rtns[i] = new JJCalls();
@@ -3361,7 +3742,7 @@ public class QueryParser implements QueryParserConstants
     token = new Token();
     jj_ntk = -1;
     jj_gen = 0;
-    for (int i = 0; i < 94; i++)
+    for (int i = 0; i < 104; i++)
       jj_la1[i] = -1;
     for (int i = 0; i < jj_2_rtns.length; i++)
       jj_2_rtns[i] = new JJCalls();
@@ -3511,7 +3892,7 @@ public class QueryParser implements QueryParserConstants
       la1tokens[jj_kind] = true;
       jj_kind = -1;
     }
-    for (int i = 0; i < 94; i++) 
+    for (int i = 0; i < 104; i++) 
     {
       if (jj_la1[i] == jj_gen) 
       {
@@ -3565,7 +3946,7 @@ public class QueryParser implements QueryParserConstants
   private void jj_rescan_token() 
   {
     jj_rescan = true;
-    for (int i = 0; i < 4; i++) 
+    for (int i = 0; i < 7; i++) 
     {
     try 
       {
@@ -3581,6 +3962,9 @@ public class QueryParser implements QueryParserConstants
             case 1: jj_3_2(); break;
             case 2: jj_3_3(); break;
             case 3: jj_3_4(); break;
+            case 4: jj_3_5(); break;
+            case 5: jj_3_6(); break;
+            case 6: jj_3_7(); break;
           }
         }
         p = p.next;
@@ -37,6 +37,10 @@ import au.com.cybersearch2.classy_logic.expression.LiteralListOperand;
 import au.com.cybersearch2.classy_logic.list.AxiomOperand;
 import au.com.cybersearch2.classy_logic.list.ItemListOperand;
 import au.com.cybersearch2.classy_logic.list.ListLength;
+import au.com.cybersearch2.classy_logic.list.AggregateFunction;
+import au.com.cybersearch2.classy_logic.list.ListAggregate;
+import au.com.cybersearch2.classy_logic.list.ListSort;
+import au.com.cybersearch2.classy_logic.list.SortKey;
 import au.com.cybersearch2.classy_logic.terms.StringTerm;
 import au.com.cybersearch2.classy_logic.terms.IntegerTerm;
 import au.com.cybersearch2.classy_logic.terms.DoubleTerm;
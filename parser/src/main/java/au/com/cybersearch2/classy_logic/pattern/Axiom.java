@@ -23,7 +23,9 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
+import au.com.cybersearch2.classy_logic.helper.Null;
 import au.com.cybersearch2.classy_logic.helper.QualifiedName;
+import au.com.cybersearch2.classy_logic.helper.Unknown;
 import au.com.cybersearch2.classy_logic.interfaces.Operand;
 import au.com.cybersearch2.classy_logic.interfaces.Term;
 import au.com.cybersearch2.classy_logic.query.Solution;
@@ -56,6 +58,10 @@ public class Axiom extends Structure
 		public Term term1;
 		public Term term2;
 
+		protected TermPair()
+		{
+		}
+
 		public TermPair(Term term1, Term term2)
 		{
 			this.term1 = term1;
@@ -63,12 +69,179 @@ public class Axiom extends Structure
 		}
 	}
 
+	/**
+	 * SlotTerm
+	 * Term which presents one value of a compact axiom. Reads and writes go to the axiom value by slot,
+	 * or to the axiom term at the same position once the axiom has been extended. 
+	 * A value in a compact axiom is never empty, even if null, and has no id. 
+	 */
+	protected static class SlotTerm extends Parameter
+	{
+		/** Axiom which owns the value */
+		protected final Axiom axiom;
+		/** Position of value in axiom */
+		protected final int slot;
+
+		/**
+		 * Construct empty SlotTerm object to be filled by ObjectGraphCopier
+		 */
+		protected SlotTerm()
+		{
+			axiom = null;
+			slot = 0;
+		}
+
+		/**
+		 * Construct SlotTerm object
+		 * @param axiom Compact axiom
+		 * @param slot Position of value
+		 */
+		protected SlotTerm(Axiom axiom, int slot)
+		{
+			this.axiom = axiom;
+			this.slot = slot;
+			name = axiom.schema.getTermName(slot);
+		}
+
+		/**
+		 * Returns axiom term at slot position or null if the axiom is compact
+		 * @return Term object
+		 */
+		protected Term getAxiomTerm()
+		{
+			return axiom.values == null ? axiom.termList.get(slot) : null;
+		}
+
+		/**
+		 * Returns axiom term at slot position, extending the axiom if it is compact
+		 * @return Term object
+		 */
+		protected Term expandAxiomTerm()
+		{
+			axiom.expandTerms();
+			return axiom.termList.get(slot);
+		}
+
+		@Override
+		public String getName()
+		{
+			Term term = getAxiomTerm();
+			return term == null ? name : term.getName();
+		}
+
+		@Override
+		public void setName(String name)
+		{
+			expandAxiomTerm().setName(name);
+		}
+
+		@Override
+		public boolean isEmpty()
+		{
+			Term term = getAxiomTerm();
+			return term == null ? false : term.isEmpty();
+		}
+
+		@Override
+		public Object getValue()
+		{
+			Object[] data = axiom.values;
+			return data == null ? axiom.termList.get(slot).getValue() : data[slot];
+		}
+
+		@Override
+		public Class<?> getValueClass()
+		{
+			Object value = getValue();
+			return value == null ? Null.class : value.getClass();
+		}
+
+		@Override
+		public int getId()
+		{
+			Term term = getAxiomTerm();
+			return term == null ? 0 : term.getId();
+		}
+
+		@Override
+		public void setId(int id)
+		{
+			((Parameter)expandAxiomTerm()).setId(id);
+		}
+
+		@Override
+		public boolean backup(int id)
+		{
+			Term term = getAxiomTerm();
+			return term == null ? false : term.backup(id);
+		}
+
+		@Override
+		public int unify(Term otherTerm, int id)
+		{
+			Term term = expandAxiomTerm();
+			return term instanceof Parameter ? ((Parameter)term).unify(otherTerm, id) : term.unifyTerm(otherTerm, id);
+		}
+
+		@Override
+		public void setValue(Object value)
+		{
+			axiom.setTermValue(slot, value);
+		}
+
+		@Override
+		public void clearValue()
+		{
+			expandAxiomTerm().clearValue();
+		}
+
+		@Override
+		public void assign(Term term)
+		{
+			expandAxiomTerm().assign(term);
+		}
+
+		@Override
+		public boolean equals(Object obj)
+		{
+			Object value = getValue();
+			if ((obj == null) || (value == null))
+				return false;
+			if (obj instanceof Term)
+				return value.equals(((Term)obj).getValue());
+			return false;
+		}
+
+		@Override
+		public int hashCode()
+		{
+			Object value = getValue();
+			return value == null ? 0 : value.hashCode();
+		}
+
+		@Override
+		public String toString()
+		{
+			Term term = getAxiomTerm();
+			if (term != null)
+				return term.toString();
+			Object value = getValue();
+			return name.isEmpty() ? String.valueOf(value) : name + " = " + value;
+		}
+	}
+
 	/** Special case of all Axiom terms are anonymous. Unify termList by position */
 	protected boolean pairByPosition;
     /** Pairs axiom terms in a Solution object with terms in a template */
     protected SolutionPairer solutionPairer;
     /** Pairs axiom terms in this axiom with terms in a template */
     protected AxiomPairer axiomPairer;
+    /** Shared term names of a compact axiom. Null when terms are held individually */
+    transient protected AxiomSchema schema;
+    /** Term values of a compact axiom. Set to null when terms are created for the axiom to be extended */
+    transient protected Object[] values;
+    /** Terms presenting the values of a compact axiom, created on first request */
+    transient protected SlotTerm[] slotTerms;
 	
 	/**
 	 * Construct an empty Axiom. Use addTerm() to add terms. 
@@ -126,9 +299,45 @@ public class Axiom extends Structure
 		pairByPosition = true;
 	}
 
-	public Axiom()
+	/**
+	 * Construct an Axiom which shares the terms of another Axiom under a different name.
+	 * Used to publish results without copying. Terms must not be added to either Axiom afterwards.
+	 * @param source Axiom which owns the terms
+	 * @param name
+	 */
+	public Axiom(Axiom source, String name)
+	{
+		super(source, name);
+		pairByPosition = source.pairByPosition;
+		schema = source.schema;
+		values = source.values;
+	}
+
+	/**
+	 * Construct a compact Axiom which holds only values and refers to a shared schema for term names.
+	 * Terms returned by name or index present the values by schema slot and write through to them.
+	 * Unification reads the values by schema slot, so the axiom is not modified by reading it. 
+	 * The values array must not be modified afterwards.
+	 * @param name
+	 * @param schema Shared term names
+	 * @param values Term values in schema order
+	 */
+	public Axiom(String name, AxiomSchema schema, Object[] values)
+	{
+		super(name);
+		if (values.length != schema.getTermCount())
+			throw new IllegalArgumentException("Axiom \"" + name + "\" has " + values.length + 
+					" values but schema has " + schema.getTermCount() + " terms");
+		this.schema = schema;
+		this.values = values;
+		pairByPosition = schema.isPairByPosition();
+	}
+
+	/**
+	 * Construct empty Axiom object to be filled by ObjectGraphCopier
+	 */
+	protected Axiom()
 	{
-	    super(null);
 	}
 	
 	/**
@@ -139,6 +348,124 @@ public class Axiom extends Structure
 	{
 		pairByPosition = value;
 	}
+
+	/**
+	 * Returns true if all values are set or there are no Terms.
+	 * @see au.com.cybersearch2.classy_logic.pattern.Structure#isFact()
+	 */
+	@Override
+	public boolean isFact()
+	{
+		if (values == null)
+			return super.isFact();
+		for (Object value: values)
+			if ((value == null) || (value.getClass() == Unknown.class))
+				return false;
+		return true;
+	}
+
+	/**
+	 * @see au.com.cybersearch2.classy_logic.pattern.Structure#getTermCount()
+	 */
+	@Override
+	public int getTermCount()
+	{
+		return values == null ? super.getTermCount() : values.length;
+	}
+
+	/**
+	 * @see au.com.cybersearch2.classy_logic.pattern.Structure#getTermByName(java.lang.String)
+	 */
+	@Override
+	public Term getTermByName(String name)
+	{
+		if (values == null)
+			return super.getTermByName(name);
+		if (name == null)
+			throw new IllegalArgumentException("Parameter \"name\" is null");
+		int slot = schema.getTermSlot(name);
+		return slot == -1 ? null : getSlotTerm(slot);
+	}
+
+	/**
+	 * @see au.com.cybersearch2.classy_logic.pattern.Structure#getTermByIndex(int)
+	 */
+	@Override
+	public Term getTermByIndex(int index)
+	{
+		if (values == null)
+			return super.getTermByIndex(index);
+		if ((index < 0) || (index >= values.length))
+			return null;
+		return getSlotTerm(index);
+	}
+
+	/**
+	 * Returns term presenting the value at given slot of this compact axiom.
+	 * A term created concurrently by another thread is equivalent, so the race is benign.
+	 * @param slot Valid slot index
+	 * @return SlotTerm object
+	 */
+	protected SlotTerm getSlotTerm(int slot)
+	{
+		SlotTerm[] terms = slotTerms;
+		if (terms == null)
+		{
+			terms = new SlotTerm[values.length];
+			slotTerms = terms;
+		}
+		SlotTerm term = terms[slot];
+		if (term == null)
+		{
+			term = new SlotTerm(this, slot);
+			terms[slot] = term;
+		}
+		return term;
+	}
+
+	/**
+	 * Set value of term at given position. A compact axiom is updated in place.
+	 * @param index Valid index value
+	 * @param value Object. A null value is ignored, as for Parameter.setValue()
+	 */
+	public void setTermValue(int index, Object value)
+	{
+		if (values == null)
+			getTermByIndex(index).setValue(value);
+		else if (value != null)
+			values[index] = value;
+	}
+
+	/**
+	 * @see au.com.cybersearch2.classy_logic.pattern.Structure#getTermSlot(java.lang.String)
+	 */
+	@Override
+	public int getTermSlot(String name)
+	{
+		return values == null ? super.getTermSlot(name) : schema.getTermSlot(name);
+	}
+
+	/**
+	 * Returns display text of name and terms
+	 * @see au.com.cybersearch2.classy_logic.pattern.Structure#toString()
+	 */
+	@Override
+	public String toString()
+	{
+		if (values == null)
+			return super.toString();
+		StringBuilder builder = new StringBuilder(name).append('(');
+		for (int i = 0; i < values.length; i++)
+		{
+			if (i > 0)
+				builder.append(", ");
+			String termName = schema.getTermName(i);
+			if (!termName.isEmpty())
+				builder.append(termName).append(" = ");
+			builder.append(values[i]);
+		}
+		return builder.append(')').toString();
+	}
 	
 	/**
 	 * Unify this Axiom with given Template, pairing Terms of this Axiom with those
@@ -154,6 +481,8 @@ public class Axiom extends Structure
     {
 		//if (!this.name.equals(other.getKey()))
 		//	return false; // Names don't match
+		if (values != null)
+			return unifyValues(other, solution);
 		Set<String> keySet = solution.keySet();
 		List<TermPair> pairList = new ArrayList<TermPair>(termList != null ? termList.size() : other.termList.size());
 		OperandWalker walker = new OperandWalker(other.termList);
@@ -197,9 +526,12 @@ public class Axiom extends Structure
 				solutionPairer = new SolutionPairer(this, solution, other.getQualifiedName());
 			else
 				solutionPairer.setSolution(solution);
-			if (!walker.visitAllNodes(solutionPairer))
-				return false;
+			boolean isPaired = walker.visitAllNodes(solutionPairer);
 			pairList.addAll(solutionPairer.getPairList());
+			// Release solution, which belongs to the query in progress
+			solutionPairer.setSolution(null);
+			if (!isPaired)
+				return false;
 		}
 		// Proceed with unification term by term
 		for (TermPair termPair: pairList)
@@ -207,12 +539,55 @@ public class Axiom extends Structure
 		return true;
     }
 
+	/**
+	 * Unify values of this compact Axiom with given Template, pairing by schema slot.
+	 * No terms are created and no state of this Axiom is changed.
+     * @param solution Map of Axioms selectable by Axiom name
+	 * @param other Template
+	 * @return Flag unification completed = true
+	 */
+	protected boolean unifyValues(Template other, Solution solution)
+	{
+		Object[] data = values;
+		boolean isPaired = data.length > 0;
+		ValuePairer valuePairer = new ValuePairer(schema, data, other.getQualifiedName());
+		OperandWalker walker = new OperandWalker(other.termList);
+		// Check all pairs first so the template is unchanged if unification fails
+		if (isPaired)
+		{
+			if (pairByPosition && !valuePairer.pairByPosition(other.termList))
+				return false;
+			if (!walker.visitAllNodes(valuePairer))
+				return false;
+		}
+		SolutionPairer pairer = null;
+		if (solution.keySet().size() > 0)
+		{
+			pairer = new SolutionPairer(this, solution, other.getQualifiedName());
+			if (!walker.visitAllNodes(pairer))
+				return false;
+		}
+		// Proceed with unification term by term
+		if (isPaired)
+		{
+			valuePairer.setUnify(other.getId());
+			if (pairByPosition)
+				valuePairer.pairByPosition(other.termList);
+			walker.visitAllNodes(valuePairer);
+		}
+		if (pairer != null)
+			for (TermPair termPair: pairer.getPairList())
+				termPair.term1.unifyTerm(termPair.term2, other.getId());
+		return true;
+	}
+
 	/**
 	 * Exposes super addTerm()
 	 * @param term Term object
 	 */
 	public void addTerm(Term term)
 	{
+		expandTerms();
 		super.addTerm(term);
 		if (!term.getName().isEmpty())
 			pairByPosition = false;
@@ -225,6 +600,7 @@ public class Axiom extends Structure
 	 */
 	public void addTerm(Term term, List<String> nameList)
 	{
+		expandTerms();
 		int index = termList == null ? 0 : termList.size();
 		if (index < nameList.size())
 			term.setName(nameList.get(index));
@@ -232,9 +608,85 @@ public class Axiom extends Structure
 		pairByPosition = false;
 	}
 
+	/**
+	 * Returns a copy of this axiom which does not share values or terms.
+	 * Use to retain an axiom which may be overwritten, such as a solution row.
+	 * @return Axiom object
+	 */
+	public Axiom copy()
+	{
+		if (values != null)
+			return new Axiom(name, schema, values.clone());
+		Axiom copyAxiom = new Axiom(name);
+		for (Term term: termList)
+		{
+			Parameter param = new Parameter(term.getName(), term.getValue());
+			param.setId(term.getId());
+			copyAxiom.addTerm(param);
+		}
+		copyAxiom.pairByPosition = pairByPosition;
+		return copyAxiom;
+	}
+
+	/**
+	 * Overwrite the values of this axiom in place. Terms which have been created are updated.
+	 * @param rowSchema Schema of the new values
+	 * @param source Values in schema order
+	 * @param count Number of values
+	 * @return Flag set false if the layout of this axiom does not match the schema and no values were changed
+	 */
+	protected boolean overwriteValues(AxiomSchema rowSchema, Object[] source, int count)
+	{
+		if (values != null)
+		{
+			if (schema != rowSchema)
+				return false;
+			System.arraycopy(source, 0, values, 0, count);
+			return true;
+		}
+		if (termList.size() != count)
+			return false;
+		for (int i = 0; i < count; i++)
+		{
+			Term term = termList.get(i);
+			if ((term.getClass() != Parameter.class) || (term.getId() != 0) || !term.getName().equals(rowSchema.getTermName(i)))
+				return false;
+		}
+		for (int i = 0; i < count; i++)
+		{
+			Parameter param = (Parameter)termList.get(i);
+			if (source[i] == null)
+				param.clearValue();
+			else
+				param.setValue(source[i]);
+		}
+		return true;
+	}
+
+	/**
+	 * Create terms of a compact axiom so it can be extended. Term names are taken from the schema. 
+	 */
+	protected void expandTerms()
+	{
+		if (values == null)
+			return;
+		Object[] data = values;
+		values = null;
+		for (int i = 0; i < data.length; i++)
+			super.addTerm(new Parameter(schema.getTermName(i), data[i]));
+		schema = null;
+	}
+
     private void writeObject(ObjectOutputStream oos)
             throws IOException 
     {
+        if (values != null)
+        {
+            oos.writeInt(values.length);
+            for (int i = 0; i < values.length; i++)
+                oos.writeObject(new TermStore(schema.getTermName(i), values[i]));
+            return;
+        }
         // termList size
         oos.writeInt(termList.size());
         // terms
@@ -246,13 +698,34 @@ public class Axiom extends Structure
             throws IOException, ClassNotFoundException  
     {
         // termList size
-        Term[] termArray = new Term[ois.readInt()];
+        TermStore[] termStores = new TermStore[ois.readInt()];
+        String[] names = new String[termStores.length];
+        Object[] data = new Object[termStores.length];
+        // Only terms without an id can be held in compact form
+        boolean isCompact = true;
         // terms
-        for (int i = 0; i < termArray.length; i++)
+        for (int i = 0; i < termStores.length; i++)
         {
             TermStore termStore = (TermStore) ois.readObject();
-            Parameter param = new Parameter(termStore.getName(), termStore.getValue());
-            param.setId(termStore.getId());
+            termStores[i] = termStore;
+            names[i] = termStore.getName();
+            data[i] = termStore.getValue();
+            if (termStore.getId() != 0)
+                isCompact = false;
+        }
+        if (isCompact)
+        {
+            termList = EMPTY_TERM_LIST;
+            schema = AxiomSchema.intern(names);
+            values = data;
+            pairByPosition = schema.isPairByPosition();
+            return;
+        }
+        Term[] termArray = new Term[termStores.length];
+        for (int i = 0; i < termArray.length; i++)
+        {
+            Parameter param = new Parameter(names[i], data[i]);
+            param.setId(termStores[i].getId());
             termArray[i] = param;
         }
         setTerms(termArray);
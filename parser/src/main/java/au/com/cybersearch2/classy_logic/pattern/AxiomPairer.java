@@ -38,6 +38,13 @@ public class AxiomPairer implements UnificationPairer
 	/** Qualified name for local context */
 	protected QualifiedName localContext;
 
+	/**
+	 * Construct empty AxiomPairer object to be filled by ObjectGraphCopier
+	 */
+	protected AxiomPairer()
+	{
+	}
+
 	/**
 	 * Construct an AxiomPairer object
 	 * @param owner Structure which is performing unification
@@ -0,0 +1,189 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.pattern;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * AxiomSchema
+ * Term names shared by all compact axioms of the same layout, with a slot index and pairing plan.
+ * Schemas are interned, so axioms produced by the same template or source refer to one instance
+ * and each axiom need only hold its values. The intern table holds schemas weakly, so a schema
+ * is discarded once no axiom or template refers to it.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class AxiomSchema 
+{
+	/**
+	 * SchemaReference
+	 * Weak reference to an interned schema which retains its key for removal once cleared
+	 */
+	private static class SchemaReference extends WeakReference<AxiomSchema>
+	{
+		/** Key of schema in intern table */
+		final String key;
+
+		SchemaReference(String key, AxiomSchema schema, ReferenceQueue<AxiomSchema> queue)
+		{
+			super(schema, queue);
+			this.key = key;
+		}
+	}
+
+	/** Interned schemas keyed by joined term names */
+	private static final ConcurrentMap<String, SchemaReference> schemaMap;
+	/** Queue of references to schemas which have been discarded */
+	private static final ReferenceQueue<AxiomSchema> discardQueue;
+
+	static
+	{
+		schemaMap = new ConcurrentHashMap<String, SchemaReference>();
+		discardQueue = new ReferenceQueue<AxiomSchema>();
+	}
+
+	/** Term names in position order. Anonymous terms have empty names */
+	protected final String[] names;
+	/** Maps term name, as given and in upper case, to position */
+	protected final Map<String, Integer> slotMap;
+	/** Flag set if all terms are anonymous so unification pairs terms by position */
+	protected final boolean pairByPosition;
+
+	/**
+	 * Construct AxiomSchema object
+	 * @param names Term names in position order
+	 */
+	protected AxiomSchema(String[] names)
+	{
+		this.names = names;
+		slotMap = new HashMap<String, Integer>();
+		boolean isAnonymous = true;
+		for (int i = 0; i < names.length; i++)
+		{
+			if (names[i].isEmpty())
+				continue;
+			isAnonymous = false;
+			String key = names[i].toUpperCase();
+			if (!slotMap.containsKey(key))
+			{   // The name as given avoids case conversion on lookup
+				slotMap.put(key, Integer.valueOf(i));
+				slotMap.put(names[i], Integer.valueOf(i));
+			}
+		}
+		pairByPosition = isAnonymous;
+	}
+
+	/**
+	 * Returns number of terms
+	 * @return int
+	 */
+	public int getTermCount()
+	{
+		return names.length;
+	}
+
+	/**
+	 * Returns name of term at given position
+	 * @param index Valid index value
+	 * @return String
+	 */
+	public String getTermName(int index)
+	{
+		return names[index];
+	}
+
+	/**
+	 * Returns position of term with given name, ignoring case
+	 * @param name String
+	 * @return Index or -1 if not found
+	 */
+	public int getTermSlot(String name)
+	{
+		Integer slot = slotMap.get(name);
+		if (slot == null)
+			slot = slotMap.get(name.toUpperCase());
+		return slot == null ? -1 : slot.intValue();
+	}
+
+	/**
+	 * Returns flag set if all terms are anonymous
+	 * @return boolean
+	 */
+	public boolean isPairByPosition()
+	{
+		return pairByPosition;
+	}
+
+	/**
+	 * Returns true if this schema has the given names in the given order
+	 * @param termNames Term names
+	 * @return boolean
+	 */
+	public boolean matches(String[] termNames)
+	{
+		return Arrays.equals(names, termNames);
+	}
+
+	/**
+	 * Returns the shared schema for given term names
+	 * @param names Term names in position order. Must not be modified after this call.
+	 * @return AxiomSchema object
+	 */
+	public static AxiomSchema intern(String... names)
+	{
+		StringBuilder builder = new StringBuilder();
+		for (String name: names)
+		{
+			if (name == null)
+				throw new IllegalArgumentException("Parameter \"names\" contains null");
+			builder.append(name).append('\u0000');
+		}
+		String key = builder.toString();
+		purge();
+		SchemaReference ref = schemaMap.get(key);
+		AxiomSchema schema = ref == null ? null : ref.get();
+		while (schema == null)
+		{
+			AxiomSchema newSchema = new AxiomSchema(names);
+			SchemaReference newRef = new SchemaReference(key, newSchema, discardQueue);
+			if (ref == null)
+				ref = schemaMap.putIfAbsent(key, newRef);
+			else if (schemaMap.replace(key, ref, newRef))
+				ref = null;
+			else
+				ref = schemaMap.get(key);
+			// Use the schema of another thread if it won the race
+			schema = ref == null ? newSchema : ref.get();
+		}
+		return schema;
+	}
+
+	/**
+	 * Remove entries of discarded schemas from the intern table
+	 */
+	private static void purge()
+	{
+		SchemaReference ref;
+		while ((ref = (SchemaReference)discardQueue.poll()) != null)
+			schemaMap.remove(ref.key, ref);
+	}
+}
@@ -38,6 +38,13 @@ public class CallContext
     /** Next CallContext object in stack */
     protected CallContext next;
 
+	/**
+	 * Construct empty CallContext object to be filled by ObjectGraphCopier
+	 */
+	protected CallContext()
+	{
+	}
+
 	/**
 	 * Construct CallContext object
 	 * @param template Template to be preserved
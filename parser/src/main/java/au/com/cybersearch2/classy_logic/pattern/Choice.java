@@ -28,6 +28,7 @@ import au.com.cybersearch2.classy_logic.interfaces.AxiomSource;
 import au.com.cybersearch2.classy_logic.interfaces.Operand;
 import au.com.cybersearch2.classy_logic.interfaces.Term;
 import au.com.cybersearch2.classy_logic.query.Solution;
+import au.com.cybersearch2.classy_logic.terms.Parameter;
 
 /**
  * Choice
@@ -45,6 +46,17 @@ public class Choice
     protected List<Operand> variableList;
     /** Choice term names */
     protected List<String> termNameList;
+    /** Operands contributing to solution axiom, reused for each selection */
+    protected List<Operand> solutionOperandList;
+    /** Positions of choice terms in initializer axiom */
+    protected TermSlots axiomTermSlots;
+
+	/**
+	 * Construct empty Choice object to be filled by ObjectGraphCopier
+	 */
+	protected Choice()
+	{
+	}
 
 	/**
 	 * Construct Choice object
@@ -73,6 +85,8 @@ public class Choice
 	            operand = new Variable(qualifiedTermName);
 	    	variableList.add(operand);
 	    }
+	    solutionOperandList = new ArrayList<Operand>(variableList.size());
+	    axiomTermSlots = new TermSlots(termNameList);
 	}
 
 	/**
@@ -112,43 +126,58 @@ public class Choice
         Term term = template.getTermByIndex(position);
         if (term.getValue() instanceof Null) // Ensure value is valid
         {   // Use initializer axiom term as fallback
-            Term selectionTerm = axiom.getTermByName(choiceAxiom.getTermByIndex(0).getName());
+            Term selectionTerm = axiomTermSlots.getTerm(axiom, 0);
             if (selectionTerm != null)
                 term = selectionTerm;
         }
-        // Create solution axiom using Template toAxiom() method
-		Template solutionTemplate = new Template(template.getQualifiedName());
+        // Collect solution operands
+		solutionOperandList.clear();
 		// Selection term
 		int index = 0;
 		Operand operand = variableList.get(index++);
         operand.backup(0);
         term.unifyTerm(operand, template.getId());
-		solutionTemplate.addTerm(operand);
+		solutionOperandList.add(operand);
 		// Constants
 		while (index < choiceAxiom.getTermCount())
 		{
 			operand = variableList.get(index);
             operand.backup(0);
 			choiceAxiom.getTermByIndex(index).unifyTerm(operand, template.getId());
-			solutionTemplate.addTerm(operand);
+			solutionOperandList.add(operand);
 			++index;
 		}
 		// Add pass-thru variables, if any, to solution
 		while (index < variableList.size())
 		{
-		    term = axiom.getTermByName(termNameList.get(index));
+		    term = axiomTermSlots.getTerm(axiom, index);
 		    if (term != null)
 		    {
 	            operand = variableList.get(index);
 	            operand.backup(0);
 		        term.unifyTerm(operand, template.getId());
-	            solutionTemplate.addTerm(operand);
+	            solutionOperandList.add(operand);
 		    }
             ++index;
 		}
-		solution.put(template.getQualifiedName().toString(), solutionTemplate.toAxiom());
+		solution.put(template.getQualifiedName().toString(), createSolutionAxiom(template.getQualifiedName()));
 		return true;
 	}
+
+	/**
+	 * Returns solution axiom containing values of collected solution operands.
+	 * Equivalent to Template toAxiom() without creating a Template for each selection.
+	 * @param qname Qualified name of choice template
+	 * @return Axiom object
+	 */
+	protected Axiom createSolutionAxiom(QualifiedName qname)
+	{
+        Axiom solutionAxiom = new Axiom(qname.getName().isEmpty() ? qname.getTemplate() : qname.getName());
+        for (Operand operand: solutionOperandList)
+            if (qname.inSameSpace(operand.getQualifiedName()))
+                solutionAxiom.addTerm(new Parameter(operand.getName(), operand.getValue()));
+        return solutionAxiom;
+	}
 	
     /**
      * Complete solution for given parameters
@@ -0,0 +1,273 @@
+/**
+    Copyright (C) 2015  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.pattern;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+import au.com.cybersearch2.classy_logic.expression.Evaluator;
+import au.com.cybersearch2.classy_logic.expression.OperatorEnum;
+import au.com.cybersearch2.classy_logic.interfaces.Operand;
+import au.com.cybersearch2.classy_logic.interfaces.Term;
+
+/**
+ * ChoiceIndex
+ * Interval index over a choice whose rows each compare one common operand with a numeric constant, 
+ * as in a bracket table such as { amount < 12000, ... } { amount < 30000, ... } { amount > 500000, ... }.
+ * The constants divide the number line into open intervals separated by the constants themselves. 
+ * Every value in a region satisfies the same row predicates, so the first matching row of each region
+ * is computed once, and selection becomes a binary search for the region containing the operand value.
+ * This gives the same result as evaluating the rows in order, whether or not the rows overlap.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class ChoiceIndex 
+{
+	/** Operand compared in every row */
+	protected Operand keyOperand;
+	/** Sorted distinct constants */
+	protected BigDecimal[] bounds;
+	/** Constants as longs if all are integers, otherwise null */
+	protected long[] longBounds;
+	/** First matching row position for each region. Region 2k is below bounds[k] and region 2k+1 is bounds[k] itself */
+	protected int[] regionPositions;
+
+	/**
+	 * Construct empty ChoiceIndex object to be filled by ObjectGraphCopier
+	 */
+	protected ChoiceIndex()
+	{
+	}
+
+	/**
+	 * Construct ChoiceIndex object
+	 * @param keyOperand Operand compared in every row
+	 * @param bounds Sorted distinct constants
+	 * @param longBounds Constants as longs or null
+	 * @param regionPositions First matching row position for each region
+	 */
+	protected ChoiceIndex(Operand keyOperand, BigDecimal[] bounds, long[] longBounds, int[] regionPositions) 
+	{
+		this.keyOperand = keyOperand;
+		this.bounds = bounds;
+		this.longBounds = longBounds;
+		this.regionPositions = regionPositions;
+	}
+
+	/**
+	 * Returns operand compared in every row
+	 * @return Operand object
+	 */
+	public Operand getKeyOperand()
+	{
+		return keyOperand;
+	}
+	
+	/**
+	 * Returns position of first row matching given value
+	 * @param value Value of key operand
+	 * @return Row position or Choice.NO_MATCH
+	 */
+	public int select(Number value)
+	{
+		int index;
+		if ((longBounds != null) && ((value instanceof Long) || (value instanceof Integer)))
+			index = Arrays.binarySearch(longBounds, value.longValue());
+		else
+			index = Arrays.binarySearch(bounds, toBigDecimal(value));
+		int region = index >= 0 ? (2 * index + 1) : (-2 * (index + 1));
+		return regionPositions[region];
+	}
+
+	/**
+	 * Returns flag set true if given value can be used to select a row
+	 * @param value Value of key operand
+	 * @return boolean
+	 */
+	public static boolean isSelectable(Object value)
+	{
+		if ((value instanceof Double) || (value instanceof Float))
+		    return !Double.isNaN(((Number)value).doubleValue()) && !Double.isInfinite(((Number)value).doubleValue());
+		return (value instanceof Long) || (value instanceof Integer) || (value instanceof BigDecimal);
+	}
+
+	/**
+	 * Returns index for given choice terms or null if any term is not a range predicate on a common operand
+	 * @param termList Choice template terms, one per row
+	 * @return ChoiceIndex object or null
+	 */
+	public static ChoiceIndex create(List<Term> termList)
+	{
+		int rowCount = termList.size();
+		if (rowCount < 2)
+			return null;
+		Operand keyOperand = null;
+		OperatorEnum[] operators = new OperatorEnum[rowCount];
+		BigDecimal[] constants = new BigDecimal[rowCount];
+		boolean isIntegral = true;
+		for (int row = 0; row < rowCount; ++row)
+		{   // Each row is "key op constant" wrapped in a unary "&&" 
+			Term term = termList.get(row);
+			if (!(term instanceof Evaluator))
+				return null;
+			Evaluator rowEvaluator = (Evaluator)term;
+			if ((rowEvaluator.getOperator() != OperatorEnum.SC_AND) || 
+				(rowEvaluator.getRightOperand() != null) ||
+				!(rowEvaluator.getLeftOperand() instanceof Evaluator))
+				return null;
+			Evaluator predicate = (Evaluator)rowEvaluator.getLeftOperand();
+			Operand left = predicate.getLeftOperand();
+			Operand right = predicate.getRightOperand();
+			OperatorEnum operator = predicate.getOperator();
+			Operand key;
+			Operand constant;
+			if (isConstant(right))
+			{
+				key = left;
+				constant = right;
+				if (reverse(operator) == null)
+					return null;
+			}
+			else if (isConstant(left))
+			{   // Constant first, so reverse the comparison
+				key = right;
+				constant = left;
+				operator = reverse(operator);
+			}
+			else
+				return null;
+			if ((operator == null) || (key == null) || (key instanceof Evaluator) || (key.getLeftOperand() != null) || (key.getRightOperand() != null))
+				return null;
+			if (keyOperand == null)
+				keyOperand = key;
+			else if (keyOperand != key)
+				return null;
+			Object value = constant.getValue();
+			if (!(value instanceof Long) && !(value instanceof Integer))
+				isIntegral = false;
+			operators[row] = operator;
+			constants[row] = toBigDecimal((Number)value);
+		}
+		TreeSet<BigDecimal> boundSet = new TreeSet<BigDecimal>(Arrays.asList(constants));
+		BigDecimal[] bounds = boundSet.toArray(new BigDecimal[boundSet.size()]);
+		long[] longBounds = null;
+		if (isIntegral)
+		{
+			longBounds = new long[bounds.length];
+			for (int i = 0; i < bounds.length; ++i)
+				longBounds[i] = bounds[i].longValue();
+		}
+		int[] boundIndexes = new int[rowCount];
+		for (int row = 0; row < rowCount; ++row)
+			boundIndexes[row] = Arrays.binarySearch(bounds, constants[row]);
+		int[] regionPositions = new int[2 * bounds.length + 1];
+		for (int region = 0; region < regionPositions.length; ++region)
+		{
+			regionPositions[region] = Choice.NO_MATCH;
+			for (int row = 0; row < rowCount; ++row)
+				if (isMatch(region, operators[row], boundIndexes[row]))
+				{
+					regionPositions[region] = row;
+					break;
+				}
+		}
+		return new ChoiceIndex(keyOperand, bounds, longBounds, regionPositions);
+	}
+
+	/**
+	 * Returns flag set true if every value in given region satisfies a row predicate.
+	 * As every constant is a bound, a region is either wholly inside or wholly outside a predicate's range.
+	 * @param region Region index
+	 * @param operator Comparison operator with key operand on the left
+	 * @param boundIndex Index of constant in bounds
+	 * @return boolean
+	 */
+	static boolean isMatch(int region, OperatorEnum operator, int boundIndex)
+	{
+		int k = region / 2;
+		if ((region & 1) == 1)
+		{   // Region is bounds[k]
+			switch (operator)
+			{
+			case LT: return k < boundIndex;
+			case LE: return k <= boundIndex;
+			case GT: return k > boundIndex;
+			case GE: return k >= boundIndex;
+			default: return k == boundIndex;
+			}
+		}
+		// Region lies between bounds[k - 1] and bounds[k]
+		switch (operator)
+		{
+		case LT: 
+		case LE: return boundIndex >= k;
+		case GT: 
+		case GE: return boundIndex < k;
+		default: return false;
+		}
+	}
+
+	/**
+	 * Returns flag set true if operand is a numeric literal
+	 * @param operand Operand object
+	 * @return boolean
+	 */
+	static boolean isConstant(Operand operand)
+	{
+		return (operand != null) && 
+			   !operand.isEmpty() && 
+			   (operand.getId() == 0) &&
+			   !(operand instanceof Evaluator) &&
+			   (operand.getLeftOperand() == null) &&
+			   (operand.getRightOperand() == null) &&
+			   (operand.getQualifiedName().getName().isEmpty()) &&
+			   isSelectable(operand.getValue());
+	}
+
+	/**
+	 * Returns comparison operator with operands swapped or null if not a range comparison
+	 * @param operator Operator
+	 * @return OperatorEnum or null
+	 */
+	static OperatorEnum reverse(OperatorEnum operator)
+	{
+		switch (operator)
+		{
+		case LT: return OperatorEnum.GT;
+		case LE: return OperatorEnum.GE;
+		case GT: return OperatorEnum.LT;
+		case GE: return OperatorEnum.LE;
+		case EQ: return OperatorEnum.EQ;
+		default: return null;
+		}
+	}
+
+	/**
+	 * Returns given number as BigDecimal without loss of precision
+	 * @param number Number
+	 * @return BigDecimal object
+	 */
+	static BigDecimal toBigDecimal(Number number)
+	{
+		if (number instanceof BigDecimal)
+			return (BigDecimal)number;
+		if ((number instanceof Double) || (number instanceof Float))
+			return new BigDecimal(number.doubleValue());
+		return BigDecimal.valueOf(number.longValue());
+	}
+}
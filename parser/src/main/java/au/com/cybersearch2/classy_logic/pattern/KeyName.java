@@ -36,6 +36,13 @@ public class KeyName
 	{
 	    EMPTY_QNAME = new QualifiedName("");
 	}
+	/**
+	 * Construct empty KeyName object to be filled by ObjectGraphCopier
+	 */
+	protected KeyName()
+	{
+	}
+
 	/**
 	 * Construct KeyName object
 	 * @param axiomKey Axiom key
@@ -33,6 +33,13 @@ public class OperandContext
     protected Term term;
     protected OperandContext next;
 
+    /**
+     * Construct empty OperandContext object to be filled by ObjectGraphCopier
+     */
+    protected OperandContext()
+    {
+    }
+
     /**
      * Create OperandContext object
      * @param term Term to preserve
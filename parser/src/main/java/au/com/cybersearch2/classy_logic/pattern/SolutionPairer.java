@@ -32,6 +32,13 @@ public class SolutionPairer extends AxiomPairer
     /** Map of Axioms selectable by Axiom name */
 	protected Solution solution;
 	
+	/**
+	 * Construct empty SolutionPairer object to be filled by ObjectGraphCopier
+	 */
+	protected SolutionPairer()
+	{
+	}
+
 	/**
 	 * Construct SolutionPairer object
 	 * @param owner Structure which is performing unification
@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.Map;
 
 import au.com.cybersearch2.classy_logic.helper.Unknown;
+import au.com.cybersearch2.classy_logic.interfaces.Operand;
 import au.com.cybersearch2.classy_logic.interfaces.Term;
 import au.com.cybersearch2.classy_logic.interfaces.TermVisitor;
 import au.com.cybersearch2.classy_logic.terms.Parameter;
@@ -56,6 +57,13 @@ public class Structure implements Serializable
     /** Terms to be paired on unification by name. */
 	transient protected Map<String, Term> termMap;
 
+	/**
+	 * Construct empty Structure object to be filled by ObjectGraphCopier
+	 */
+	protected Structure()
+	{
+	}
+
 	/**
 	 * Create Structure as super class. 
 	 * One or more Terms must be added to put this object into a valid state.
@@ -111,6 +119,19 @@ public class Structure implements Serializable
 		setTerms(terms);
 	}
 
+	/**
+	 * Construct a named Structure object which shares the terms of another Structure without copying them.
+	 * Terms must not be added to either Structure afterwards.
+	 * @param source Structure which owns the terms
+	 * @param name String
+	 */
+	protected Structure(Structure source, String name)
+	{
+		this(name);
+		termList = source.termList;
+		termMap = source.termMap;
+	}
+
     /**
      * Returns the name of the Structure	
      * @return String
@@ -194,6 +215,19 @@ public class Structure implements Serializable
     	return termList.get(index);
     }
     
+    /**
+     * Returns position of top-level Term with given name, ignoring case
+     * @param name String
+     * @return Index or -1 if not found
+     */
+    public int getTermSlot(String name)
+    {
+        for (int i = 0; i < termList.size(); i++)
+            if (name.equalsIgnoreCase(termList.get(i).getName()))
+                return i;
+        return -1;
+    }
+    
 	/**
 	 * Set Terms from supplied Term list
 	 * @param terms2 Term list
@@ -253,6 +287,12 @@ public class Structure implements Serializable
 		// If the parameter is named, add it to the term map as well
 		if (termMap == null)
 			termMap = new HashMap<String, Term>();
+		if (!(param instanceof Operand))
+		{   // Only Operands have nested terms
+			if (!param.getName().isEmpty())
+				termMap.put(param.getName().toUpperCase(), param);
+			return;
+		}
 		TermWalker termWalker = new TermWalker(param);
 		TermVisitor visitor = new TermVisitor()
 		{
@@ -16,6 +16,7 @@
 package au.com.cybersearch2.classy_logic.pattern;
 
 import java.io.ObjectStreamField;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -94,6 +95,8 @@ public class Template extends Structure
     protected int id;
     /** Initialization data (optional) */
     protected Map<String, Object> initData;
+    /** Terms referenced by initialization data names, resolved on first initialization */
+    protected Map<String, Term> initTermMap;
     /** Link to next Template in chain. Used by Calculator. */
     protected Template next;
     /** Flag true if template declared a calculator */
@@ -108,7 +111,24 @@ public class Template extends Structure
     protected CallContext headCallContext;
     /** Tail of call stack */
     protected CallContext tailCallContext;
+    /** Interval index for choice selection or null if rows must be evaluated in order */
+    protected ChoiceIndex choiceIndex;
+    /** Flag set true once terms have been checked for a choice index */
+    protected boolean isChoiceIndexChecked;
+    /** Schema of the last axiom produced by toAxiom() */
+    protected AxiomSchema axiomSchema;
+    /** Values of the last axiom produced by toAxiom() */
+    protected Object[] valueBuffer;
+    /** Solution row overwritten in place by toRowAxiom() */
+    protected Axiom rowAxiom;
     
+    /**
+     * Construct empty Template object to be filled by ObjectGraphCopier
+     */
+    protected Template()
+    {
+    }
+
     /**
      * Construct a replicate Template object. The new template has a unique id and specified qualified name 
      * @param master Template object to replicate
@@ -315,13 +335,33 @@ public class Template extends Structure
 	}
 
 	/**
-	 * Evaluate Terms of this Template until status COMPLETE is returned 
+	 * Evaluate Terms of this Template until status COMPLETE is returned.
+	 * If every term compares the same operand with a numeric constant, the matching term is found by binary search instead.
 	 * @return Position of first term to return status COMPLETE
 	 */
 	public int select()
 	{
 		if (!termList.isEmpty())
 		{
+			if (!isChoiceIndexChecked)
+			{
+				choiceIndex = ChoiceIndex.create(termList);
+				isChoiceIndexChecked = true;
+			}
+			if (choiceIndex != null)
+			{
+				Operand keyOperand = choiceIndex.getKeyOperand();
+				if (keyOperand.isEmpty())
+					keyOperand.evaluate(id);
+				if (!keyOperand.isEmpty() && ChoiceIndex.isSelectable(keyOperand.getValue()))
+				{
+					int position = choiceIndex.select((Number)keyOperand.getValue());
+					// Evaluate selected term so it is left in the same state as by sequential selection
+					if ((position == Choice.NO_MATCH) || 
+						(termList.get(position).evaluate(id) == EvaluationStatus.COMPLETE))
+						return position;
+				}
+			}
 			int position = 0;
 			for (Term term: termList)
 			{
@@ -360,6 +400,7 @@ public class Template extends Structure
     public void addTerm(Operand operand)
     {
         super.addTerm(operand);
+        initTermMap = null;
     }
 
 	/**
@@ -369,18 +410,72 @@ public class Template extends Structure
 	 */
 	public Axiom toAxiom()
 	{
-        Axiom axiom = new Axiom(name);
-		for (Term term: termList)
+		int count = fillValueBuffer();
+		return new Axiom(name, axiomSchema, Arrays.copyOf(valueBuffer, count));
+	}
+
+	/**
+	 * Returns an axiom containing the values of this template which is overwritten 
+	 * in place by the next call. For solutions which are consumed immediately.
+	 * Use Axiom copy() to retain the result.
+	 * @return Axiom
+	 */
+	public Axiom toRowAxiom()
+	{
+		int count = fillValueBuffer();
+		if ((rowAxiom == null) || !rowAxiom.overwriteValues(axiomSchema, valueBuffer, count))
+			rowAxiom = new Axiom(name, axiomSchema, Arrays.copyOf(valueBuffer, count));
+		return rowAxiom;
+	}
+
+	/**
+	 * Copy values of terms selected for an axiom into the value buffer and 
+	 * update the axiom schema if the selected term names have changed 
+	 * @return Number of values
+	 */
+	protected int fillValueBuffer()
+	{
+		int termCount = termList.size();
+		if ((valueBuffer == null) || (valueBuffer.length < termCount))
+			valueBuffer = new Object[termCount];
+		int count = 0;
+		// The schema of the previous axiom is reused while the selected term names are unchanged
+		boolean isSameSchema = axiomSchema != null;
+		for (int i = 0; i < termCount; i++)
 		{
-		    Operand operand = (Operand)term;
-			if (!operand.isEmpty() && !operand.getName().isEmpty() && 
-			    isReplicate || qname.inSameSpace(operand.getQualifiedName()))
+		    Operand operand = (Operand)termList.get(i);
+			if (isAxiomTerm(operand))
 			{
-				Parameter param = new Parameter(operand.getName(), operand.getValue());
-				axiom.addTerm(param);
+				if (isSameSchema && 
+				    ((count >= axiomSchema.getTermCount()) || !axiomSchema.getTermName(count).equals(operand.getName())))
+					isSameSchema = false;
+				valueBuffer[count++] = operand.getValue();
 			}
 		}
-		return axiom;
+		if (!isSameSchema || (count != axiomSchema.getTermCount()))
+		{
+			String[] names = new String[count];
+			int index = 0;
+			for (int i = 0; i < termCount; i++)
+			{
+			    Operand operand = (Operand)termList.get(i);
+				if (isAxiomTerm(operand))
+					names[index++] = operand.getName();
+			}
+			axiomSchema = AxiomSchema.intern(names);
+		}
+		return count;
+	}
+
+	/**
+	 * Returns flag set true if given term is to be included in an axiom produced from this template
+	 * @param operand Term of this template
+	 * @return boolean
+	 */
+	protected boolean isAxiomTerm(Operand operand)
+	{
+		return !operand.isEmpty() && !operand.getName().isEmpty() && 
+			    isReplicate || qname.inSameSpace(operand.getQualifiedName());
 	}
 	
 	/**
@@ -429,27 +524,47 @@ public class Template extends Structure
 	{
 		if (initData != null)
 		{
-			for (String name: initData.keySet())
+			if (initTermMap == null)
+				initTermMap = new HashMap<String, Term>();
+			for (Map.Entry<String, Object> entry: initData.entrySet())
 			{
-			    QualifiedName qualifiedTermName = QualifiedName.parseName(name, qname);
-                Term term = getTermByName(qualifiedTermName.toString());
-                if ((term == null) && (!qualifiedTermName.getTemplate().isEmpty()))
-                {
-                    qualifiedTermName.clearTemplate();
-                    term = getTermByName(qualifiedTermName.toString());
-                }
-                if ((term == null) && (!qualifiedTermName.getScope().isEmpty()))
-                {
-                    qualifiedTermName.clearScope();
-                    term = getTermByName(qualifiedTermName.toString());
-                }
+				String name = entry.getKey();
+				Term term = initTermMap.get(name);
 				if (term == null)
-					throw new QueryExecutionException("Template \"" + getName() + "\" does not have term \"" + name + "\"");
-				term.assign(new Parameter(Term.ANONYMOUS, initData.get(name)));
+				{
+					term = getInitTerm(name);
+					initTermMap.put(name, term);
+				}
+				term.assign(new Parameter(Term.ANONYMOUS, entry.getValue()));
 			}
 		}
 	}
 
+	/**
+	 * Returns term referenced by initialization data name. 
+	 * The name is tried qualified by this template, then by scope only and then unqualified.
+	 * @param name Property name
+	 * @return Term object
+	 */
+	protected Term getInitTerm(String name)
+	{
+	    QualifiedName qualifiedTermName = QualifiedName.parseName(name, qname);
+        Term term = getTermByName(qualifiedTermName.toString());
+        if ((term == null) && (!qualifiedTermName.getTemplate().isEmpty()))
+        {
+            qualifiedTermName.clearTemplate();
+            term = getTermByName(qualifiedTermName.toString());
+        }
+        if ((term == null) && (!qualifiedTermName.getScope().isEmpty()))
+        {
+            qualifiedTermName.clearScope();
+            term = getTermByName(qualifiedTermName.toString());
+        }
+		if (term == null)
+			throw new QueryExecutionException("Template \"" + getName() + "\" does not have term \"" + name + "\"");
+		return term;
+	}
+
 	/**
 	 * Set initialization data, used for seeding calculations
 	 * @param properties Initialization properties
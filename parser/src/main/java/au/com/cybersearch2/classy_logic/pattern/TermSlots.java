@@ -0,0 +1,107 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.pattern;
+
+import java.util.Arrays;
+import java.util.List;
+
+import au.com.cybersearch2.classy_logic.interfaces.Term;
+
+/**
+ * TermSlots
+ * Binds a fixed list of term names to term positions. The position of each name is resolved on first use
+ * and then checked with a single comparison, so structures sharing a schema are accessed by index.
+ * A structure with a different layout is resolved again, with name lookup as the final fallback. 
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class TermSlots 
+{
+	/** Term names */
+	protected String[] names;
+	/** Resolved position of each name or -1 if not yet resolved */
+	protected int[] slots;
+
+	/**
+	 * Construct empty TermSlots object to be filled by ObjectGraphCopier
+	 */
+	protected TermSlots()
+	{
+	}
+
+	/**
+	 * Construct TermSlots object
+	 * @param nameList Term names
+	 */
+	public TermSlots(List<String> nameList) 
+	{
+		this(nameList.toArray(new String[nameList.size()]));
+	}
+
+	/**
+	 * Construct TermSlots object for names of terms in given structure
+	 * @param structure Template or Axiom
+	 */
+	public TermSlots(Structure structure) 
+	{
+		this(getTermNames(structure));
+	}
+
+	/**
+	 * Construct TermSlots object
+	 * @param names Term names
+	 */
+	protected TermSlots(String[] names) 
+	{
+		this.names = names;
+		slots = new int[names.length];
+		Arrays.fill(slots, -1);
+	}
+
+	/**
+	 * Returns term in given structure referenced by name at given position in name list
+	 * @param structure Axiom or Template
+	 * @param index Position in name list
+	 * @return Term object or null if not found
+	 */
+	public Term getTerm(Structure structure, int index)
+	{
+		String name = names[index];
+		if (name.isEmpty()) // Anonymous terms are not referenced by name
+			return structure.getTermByName(name);
+		Term term = structure.getTermByIndex(slots[index]);
+		if ((term != null) && name.equalsIgnoreCase(term.getName()))
+			return term;
+		int slot = structure.getTermSlot(name);
+		if (slot == -1) // Term may be nested
+			return structure.getTermByName(name);
+		slots[index] = slot;
+		return structure.getTermByIndex(slot);
+	}
+
+	/**
+	 * Returns names of terms in given structure
+	 * @param structure Template or Axiom
+	 * @return String array
+	 */
+	protected static String[] getTermNames(Structure structure)
+	{
+		String[] names = new String[structure.getTermCount()];
+		for (int i = 0; i < names.length; i++)
+			names[i] = structure.getTermByIndex(i).getName();
+		return names;
+	}
+}
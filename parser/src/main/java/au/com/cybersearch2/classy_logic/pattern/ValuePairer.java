@@ -0,0 +1,149 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.pattern;
+
+import java.util.List;
+
+import au.com.cybersearch2.classy_logic.helper.QualifiedName;
+import au.com.cybersearch2.classy_logic.interfaces.Operand;
+import au.com.cybersearch2.classy_logic.interfaces.OperandVisitor;
+import au.com.cybersearch2.classy_logic.interfaces.Term;
+import au.com.cybersearch2.classy_logic.terms.Parameter;
+
+/**
+ * ValuePairer
+ * Pairs template terms with the values of a compact axiom by schema slot, so no axiom terms are created.
+ * A first pass checks every pairing and a second pass, enabled by setUnify(), unifies the empty template terms.
+ * The axiom values are only read, so one compact axiom may be unified by several threads.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class ValuePairer implements OperandVisitor
+{
+    /**
+     * ValueTerm
+     * Non-empty term which presents one axiom value at a time for unification
+     */
+    protected static class ValueTerm extends Parameter
+    {
+        public ValueTerm()
+        {
+            super(Term.ANONYMOUS);
+        }
+
+        /**
+         * Set value, which may be null, without recording a change
+         * @param value Axiom value
+         */
+        public void setSlotValue(Object value)
+        {
+            this.value = value;
+            empty = false;
+        }
+    }
+
+    /** Term names of the axiom */
+    protected AxiomSchema schema;
+    /** Values of the axiom in schema order */
+    protected Object[] values;
+    /** Qualified name for local context */
+    protected QualifiedName localContext;
+    /** Flag set when pairs are unified instead of checked */
+    protected boolean isUnify;
+    /** Identity of template performing unification */
+    protected int id;
+    /** Term passed to template term for unification */
+    protected ValueTerm valueTerm;
+
+    /**
+     * Construct ValuePairer object
+     * @param schema Term names of the axiom
+     * @param values Values of the axiom in schema order
+     * @param localContext Qualified name for local context
+     */
+    public ValuePairer(AxiomSchema schema, Object[] values, QualifiedName localContext)
+    {
+        this.schema = schema;
+        this.values = values;
+        this.localContext = localContext;
+    }
+
+    /**
+     * Switch from checking pairs to unifying them
+     * @param id Identity of template performing unification
+     */
+    public void setUnify(int id)
+    {
+        this.id = id;
+        isUnify = true;
+        valueTerm = new ValueTerm();
+    }
+
+    /**
+     * Pair template terms with anonymous axiom values in list order
+     * @param templateTermList Top-level terms of the template
+     * @return Flag set false if a pair of values does not match
+     */
+    public boolean pairByPosition(List<Term> templateTermList)
+    {
+        int count = Math.min(templateTermList.size(), values.length);
+        for (int index = 0; index < count; ++index)
+        {
+            if (schema.getTermName(index).isEmpty() && !pairValue((Operand)templateTermList.get(index), index))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Visit next term and pair by name
+     * @see au.com.cybersearch2.classy_logic.interfaces.OperandVisitor#next(au.com.cybersearch2.classy_logic.interfaces.Operand, int)
+     */
+    @Override
+    public boolean next(Operand operand, int depth)
+    {
+        if (!operand.getName().isEmpty())
+        {
+            int slot = schema.getTermSlot(operand.getName());
+            if ((slot != -1) && !pairValue(operand, slot))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Check or unify template term with axiom value. An axiom value is never empty, even if null.
+     * @param operand Template term
+     * @param slot Position of value
+     * @return Flag set false if both terms have values which do not match
+     */
+    protected boolean pairValue(Operand operand, int slot)
+    {
+        Object value = values[slot];
+        if (operand.isEmpty())
+        {
+            if (isUnify)
+            {
+                valueTerm.setSlotValue(value);
+                operand.unifyTerm(valueTerm, id);
+            }
+        }
+        else if (!isUnify && localContext.inSameSpace(operand.getQualifiedName()) &&
+                 !operand.getValue().equals(value))
+            return false;
+        return true;
+    }
+}
@@ -0,0 +1,450 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.pipeline;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import au.com.cybersearch2.classy_logic.helper.QualifiedName;
+import au.com.cybersearch2.classy_logic.interfaces.AxiomListener;
+import au.com.cybersearch2.classy_logic.pattern.Axiom;
+import au.com.cybersearch2.classy_logic.query.QueryExecutionException;
+
+/**
+ * AsyncAxiomListener
+ * Passes axiom events to a consumer listener on another thread, so a slow consumer does not stall the query.
+ * Each event is copied into a preallocated ring buffer and a drain task run by the executor delivers 
+ * the events in batches. At most one drain task runs at a time, so the consumer receives events 
+ * one at a time in the order they were published. What happens when the ring buffer is full is set by 
+ * the Backpressure policy. Exceptions thrown by the consumer are counted and do not stop delivery.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class AsyncAxiomListener implements AxiomListener
+{
+    /** Consumer of axiom events */
+    protected AxiomListener axiomListener;
+    /** Runs drain tasks */
+    protected Executor executor;
+    /** Action taken when the ring buffer is full */
+    protected Backpressure backpressure;
+    /** Axiom names of pending events */
+    protected QualifiedName[] nameRing;
+    /** Axioms of pending events */
+    protected Axiom[] axiomRing;
+    /** Ring buffer capacity less one, capacity being a power of 2 */
+    protected int mask;
+    /** Sequence number of next event to deliver */
+    protected long head;
+    /** Sequence number of next event to publish */
+    protected long tail;
+    /** Axiom names of events which overflowed the ring buffer */
+    protected ArrayDeque<QualifiedName> spillNames;
+    /** Axioms of events which overflowed the ring buffer */
+    protected ArrayDeque<Axiom> spillAxioms;
+    /** Axiom names of batch being delivered */
+    protected QualifiedName[] batchNames;
+    /** Axioms of batch being delivered */
+    protected Axiom[] batchAxioms;
+    /** Flag set true while a drain task is queued or running */
+    protected boolean isScheduled;
+    /** Flag set true when no more events are accepted */
+    protected boolean isClosed;
+    /** Number of events delivered to the consumer */
+    protected long deliveredCount;
+    /** Number of events discarded */
+    protected long droppedCount;
+    /** Number of events which overflowed the ring buffer */
+    protected long spilledCount;
+    /** Number of events on which the consumer threw an exception */
+    protected long failureCount;
+    /** First exception thrown by the consumer */
+    protected RuntimeException firstFailure;
+    /** Guards ring buffer and counts */
+    protected final ReentrantLock lock;
+    /** Signalled when the ring buffer has space */
+    protected final Condition notFull;
+    /** Signalled when all events have been delivered */
+    protected final Condition idle;
+    /** Delivers one batch and queues itself again if events remain */
+    protected final Runnable drainTask;
+
+    /**
+     * Construct AsyncAxiomListener object
+     * @param axiomListener Consumer of axiom events
+     * @param executor Runs drain tasks
+     * @param capacity Number of events the ring buffer holds, rounded up to a power of 2
+     * @param batchSize Maximum number of events delivered by each drain task
+     * @param backpressure Action taken when the ring buffer is full
+     */
+    public AsyncAxiomListener(AxiomListener axiomListener, Executor executor, int capacity, int batchSize, Backpressure backpressure)
+    {
+        if ((capacity < 1) || (capacity > (1 << 30)))
+            throw new IllegalArgumentException("Invalid ring buffer capacity " + capacity);
+        if (batchSize < 1)
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        this.axiomListener = axiomListener;
+        this.executor = executor;
+        this.backpressure = backpressure;
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity)
+            size <<= 1;
+        mask = size - 1;
+        nameRing = new QualifiedName[size];
+        axiomRing = new Axiom[size];
+        spillNames = new ArrayDeque<QualifiedName>();
+        spillAxioms = new ArrayDeque<Axiom>();
+        batchNames = new QualifiedName[batchSize];
+        batchAxioms = new Axiom[batchSize];
+        lock = new ReentrantLock();
+        notFull = lock.newCondition();
+        idle = lock.newCondition();
+        drainTask = new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                drain();
+            }
+        };
+    }
+
+    /**
+     * Publish axiom event for delivery to the consumer
+     * @see au.com.cybersearch2.classy_logic.interfaces.AxiomListener#onNextAxiom(au.com.cybersearch2.classy_logic.helper.QualifiedName, au.com.cybersearch2.classy_logic.pattern.Axiom)
+     * @throws QueryExecutionException if interrupted waiting for space in the ring buffer 
+     * @throws IllegalStateException if the listener is closed
+     */
+    @Override
+    public void onNextAxiom(QualifiedName qname, Axiom axiom)
+    {
+        // The query may overwrite the axiom once this call returns
+        Axiom event = axiom.copy();
+        boolean isStarting = false;
+        lock.lock();
+        try
+        {
+            if (isClosed)
+                throw new IllegalStateException("Axiom listener is closed");
+            if (!spillNames.isEmpty() || isFull())
+            {
+                switch (backpressure)
+                {
+                case DROP:
+                    ++droppedCount;
+                    return;
+                case SPILL:
+                    spillNames.add(qname);
+                    spillAxioms.add(event);
+                    ++spilledCount;
+                    isStarting = schedule();
+                    return;
+                case BLOCK:
+                default:
+                    while (isFull())
+                        notFull.await();
+                }
+            }
+            put(qname, event);
+            isStarting = schedule();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new QueryExecutionException("Interrupted waiting for axiom listener", e);
+        }
+        finally
+        {
+            lock.unlock();
+            // Start drain outside the lock in case the executor runs it on this thread
+            if (isStarting)
+                executor.execute(drainTask);
+        }
+    }
+
+    /**
+     * Wait until all published events have been delivered
+     * @param timeout Maximum time to wait
+     * @param unit Time unit of timeout
+     * @return flag set true if all events delivered, false if timeout expired
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean flush(long timeout, TimeUnit unit) throws InterruptedException
+    {
+        long remaining = unit.toNanos(timeout);
+        lock.lock();
+        try
+        {
+            while (isScheduled)
+            {
+                if (remaining <= 0)
+                    return false;
+                remaining = idle.awaitNanos(remaining);
+            }
+            return true;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stop accepting events. Events already published are still delivered.
+     */
+    public void close()
+    {
+        lock.lock();
+        try
+        {
+            isClosed = true;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns consumer of axiom events
+     * @return AxiomListener object
+     */
+    public AxiomListener getAxiomListener()
+    {
+        return axiomListener;
+    }
+
+    /**
+     * Returns action taken when the ring buffer is full
+     * @return Backpressure enum
+     */
+    public Backpressure getBackpressure()
+    {
+        return backpressure;
+    }
+
+    /**
+     * Returns ring buffer capacity
+     * @return int
+     */
+    public int getCapacity()
+    {
+        return mask + 1;
+    }
+
+    /**
+     * Returns number of events waiting for delivery
+     * @return long
+     */
+    public long getPendingCount()
+    {
+        lock.lock();
+        try
+        {
+            return tail - head + spillNames.size();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns number of events delivered to the consumer
+     * @return long
+     */
+    public long getDeliveredCount()
+    {
+        lock.lock();
+        try
+        {
+            return deliveredCount;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns number of events discarded because the ring buffer was full
+     * @return long
+     */
+    public long getDroppedCount()
+    {
+        lock.lock();
+        try
+        {
+            return droppedCount;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns number of events which overflowed the ring buffer
+     * @return long
+     */
+    public long getSpilledCount()
+    {
+        lock.lock();
+        try
+        {
+            return spilledCount;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns number of events on which the consumer threw an exception
+     * @return long
+     */
+    public long getFailureCount()
+    {
+        lock.lock();
+        try
+        {
+            return failureCount;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns first exception thrown by the consumer
+     * @return RuntimeException object or null if none thrown
+     */
+    public RuntimeException getFirstFailure()
+    {
+        lock.lock();
+        try
+        {
+            return firstFailure;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Deliver next batch of events to the consumer. Called only by the drain task.
+     */
+    protected void drain()
+    {
+        int count = 0;
+        lock.lock();
+        try
+        {
+            while ((count < batchNames.length) && (head < tail))
+            {
+                int index = (int)(head++ & mask);
+                batchNames[count] = nameRing[index];
+                batchAxioms[count++] = axiomRing[index];
+                nameRing[index] = null;
+                axiomRing[index] = null;
+            }
+            // Move overflow into the space just made, keeping publication order
+            while (!spillNames.isEmpty() && !isFull())
+                put(spillNames.poll(), spillAxioms.poll());
+            if (count == 0)
+            {
+                isScheduled = false;
+                idle.signalAll();
+                return;
+            }
+            notFull.signalAll();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+        int failures = 0;
+        RuntimeException failure = null;
+        for (int i = 0; i < count; ++i)
+        {
+            try
+            {
+                axiomListener.onNextAxiom(batchNames[i], batchAxioms[i]);
+            }
+            catch (RuntimeException e)
+            {
+                if (failure == null)
+                    failure = e;
+                ++failures;
+            }
+            batchNames[i] = null;
+            batchAxioms[i] = null;
+        }
+        lock.lock();
+        try
+        {
+            deliveredCount += count - failures;
+            failureCount += failures;
+            if (firstFailure == null)
+                firstFailure = failure;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+        // Queue again rather than loop so listeners sharing the executor take turns
+        executor.execute(drainTask);
+    }
+
+    /**
+     * Returns flag set true if the ring buffer is full. Lock must be held.
+     * @return boolean
+     */
+    protected boolean isFull()
+    {
+        return tail - head > mask;
+    }
+
+    /**
+     * Add event to the ring buffer. Lock must be held and the ring buffer not full.
+     * @param qname Axiom name
+     * @param axiom Axiom
+     */
+    protected void put(QualifiedName qname, Axiom axiom)
+    {
+        int index = (int)(tail++ & mask);
+        nameRing[index] = qname;
+        axiomRing[index] = axiom;
+    }
+
+    /**
+     * Mark drain task as scheduled. Lock must be held.
+     * @return flag set true if the caller must start the drain task
+     */
+    protected boolean schedule()
+    {
+        if (isScheduled)
+            return false;
+        isScheduled = true;
+        return true;
+    }
+}
@@ -0,0 +1,202 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.pipeline;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import au.com.cybersearch2.classy_logic.interfaces.AxiomListener;
+
+/**
+ * AxiomListenerPipeline
+ * Creates asynchronous listeners which share a set of consumer threads. 
+ * Set on a ProviderManager, it applies to the listeners of all axiom providers bound by a script,
+ * so exporting solutions to a file or network sink does not hold up unification.
+ * Each listener has its own ring buffer and receives events in order.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class AxiomListenerPipeline
+{
+    /** Default ring buffer capacity of each listener */
+    public static final int DEFAULT_CAPACITY = 1024;
+    /** Default maximum number of events delivered in each batch */
+    public static final int DEFAULT_BATCH_SIZE = 64;
+
+    /** Runs drain tasks of all listeners */
+    protected Executor executor;
+    /** Flag set true if the executor was created by this pipeline */
+    protected boolean isOwnExecutor;
+    /** Ring buffer capacity of each listener */
+    protected int capacity;
+    /** Maximum number of events delivered in each batch */
+    protected int batchSize;
+    /** Action taken when a ring buffer is full */
+    protected Backpressure backpressure;
+    /** Listeners created by this pipeline */
+    protected List<AsyncAxiomListener> listenerList;
+
+    /**
+     * Construct AxiomListenerPipeline object with default capacity and batch size which blocks when full
+     * @param consumerThreads Number of consumer threads
+     */
+    public AxiomListenerPipeline(int consumerThreads)
+    {
+        this(consumerThreads, DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE, Backpressure.BLOCK);
+    }
+
+    /**
+     * Construct AxiomListenerPipeline object
+     * @param consumerThreads Number of consumer threads
+     * @param capacity Ring buffer capacity of each listener, rounded up to a power of 2
+     * @param batchSize Maximum number of events delivered in each batch
+     * @param backpressure Action taken when a ring buffer is full
+     */
+    public AxiomListenerPipeline(int consumerThreads, int capacity, int batchSize, Backpressure backpressure)
+    {
+        this(Executors.newFixedThreadPool(consumerThreads, new ThreadFactory()
+        {
+            @Override
+            public Thread newThread(Runnable runnable)
+            {
+                Thread thread = new Thread(runnable, "axiom-listener");
+                thread.setDaemon(true);
+                return thread;
+            }
+        }), capacity, batchSize, backpressure);
+        isOwnExecutor = true;
+    }
+
+    /**
+     * Construct AxiomListenerPipeline object which runs consumers on given executor
+     * @param executor Executor, which is not shut down by close()
+     * @param capacity Ring buffer capacity of each listener, rounded up to a power of 2
+     * @param batchSize Maximum number of events delivered in each batch
+     * @param backpressure Action taken when a ring buffer is full
+     */
+    public AxiomListenerPipeline(Executor executor, int capacity, int batchSize, Backpressure backpressure)
+    {
+        this.executor = executor;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.backpressure = backpressure;
+        listenerList = new ArrayList<AsyncAxiomListener>();
+    }
+
+    /**
+     * Returns asynchronous listener which passes events to given listener
+     * @param axiomListener Consumer of axiom events
+     * @return AsyncAxiomListener object
+     */
+    public AsyncAxiomListener wrap(AxiomListener axiomListener)
+    {
+        return wrap(axiomListener, backpressure);
+    }
+
+    /**
+     * Returns asynchronous listener with given backpressure policy which passes events to given listener
+     * @param axiomListener Consumer of axiom events
+     * @param backpressure Action taken when the ring buffer is full
+     * @return AsyncAxiomListener object
+     */
+    public synchronized AsyncAxiomListener wrap(AxiomListener axiomListener, Backpressure backpressure)
+    {
+        AsyncAxiomListener asyncListener = new AsyncAxiomListener(axiomListener, executor, capacity, batchSize, backpressure);
+        listenerList.add(asyncListener);
+        return asyncListener;
+    }
+
+    /**
+     * Wait until all listeners have delivered their published events
+     * @param timeout Maximum time to wait
+     * @param unit Time unit of timeout
+     * @return flag set true if all events delivered, false if timeout expired
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean flush(long timeout, TimeUnit unit) throws InterruptedException
+    {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (AsyncAxiomListener asyncListener: getListeners())
+            if (!asyncListener.flush(deadline - System.nanoTime(), TimeUnit.NANOSECONDS))
+                return false;
+        return true;
+    }
+
+    /**
+     * Stop accepting events, wait up to given time for published events to be delivered, 
+     * then release the consumer threads if owned by this pipeline
+     * @param timeout Maximum time to wait
+     * @param unit Time unit of timeout
+     * @return flag set true if all events delivered
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean close(long timeout, TimeUnit unit) throws InterruptedException
+    {
+        List<AsyncAxiomListener> listeners = getListeners();
+        for (AsyncAxiomListener asyncListener: listeners)
+            asyncListener.close();
+        try
+        {
+            return flush(timeout, unit);
+        }
+        finally
+        {
+            if (isOwnExecutor)
+                ((ExecutorService)executor).shutdown();
+        }
+    }
+
+    /**
+     * Returns listeners created by this pipeline
+     * @return List of AsyncAxiomListener objects
+     */
+    public synchronized List<AsyncAxiomListener> getListeners()
+    {
+        return new ArrayList<AsyncAxiomListener>(listenerList);
+    }
+
+    /**
+     * Returns ring buffer capacity of each listener
+     * @return int
+     */
+    public int getCapacity()
+    {
+        return capacity;
+    }
+
+    /**
+     * Returns maximum number of events delivered in each batch
+     * @return int
+     */
+    public int getBatchSize()
+    {
+        return batchSize;
+    }
+
+    /**
+     * Returns default action taken when a ring buffer is full
+     * @return Backpressure enum
+     */
+    public Backpressure getBackpressure()
+    {
+        return backpressure;
+    }
+}
@@ -42,6 +42,13 @@ public class AxiomListSource  implements AxiomSource, Iterable<Axiom>
         EMPTY_LIST = Collections.emptyList();
     }
     
+	/**
+	 * Construct empty AxiomListSource object to be filled by ObjectGraphCopier
+	 */
+	protected AxiomListSource()
+	{
+	}
+
     /**
      * Construct an AxiomListSource object
      * @param axiomList The axiom list or null to create a empty AxiomSource
@@ -43,6 +43,13 @@ public class CalculateChainQuery extends ChainQuery
     protected Choice choice;
     protected Runnable scopeNotifier;
 
+	/**
+	 * Construct empty CalculateChainQuery object to be filled by ObjectGraphCopier
+	 */
+	protected CalculateChainQuery()
+	{
+	}
+
 	/**
 	 * Create a CalculateChainQuery object
 	 * @param template Template to unify and evaluate
@@ -45,6 +45,8 @@ public class Calculator implements SolutionFinder
     protected SolutionPairer pairer;
     /** Choice set if template.isChoice() returns true */
     protected Choice choice;
+    /** Profile of template being calculated or null if not profiling */
+    protected ProfileNode profileNode;
  
 	/**
 	 * Set choice when template is part of a choice
@@ -113,6 +115,33 @@ public class Calculator implements SolutionFinder
 	 */
 	public boolean execute(Axiom seedAxiom, Template template, Solution solution)
 	{
+		QueryProfiler profiler = QueryProfiler.getCurrent();
+		if (profiler == null)
+		{
+			profileNode = null;
+			return calculate(seedAxiom, template, solution);
+		}
+		profileNode = profiler.enter(QueryProfiler.CALCULATE, template.getQualifiedName().toString());
+		try
+		{
+			return calculate(seedAxiom, template, solution);
+		}
+		finally
+		{
+			profiler.exit(profileNode);
+		}
+	}
+
+	/**
+	 * Perform calculation, counting steps if profiling
+	 * @param seedAxiom Optional initializer axiom
+	 * @param template Template used on each iteration
+	 * @param solution Container to aggregate results  
+     * @return Flag to indicate whether or not the query is resolved
+	 */
+	protected boolean calculate(Axiom seedAxiom, Template template, Solution solution)
+	{
+		ProfileNode node = profileNode;
 		if (seedAxiom != null) 
 		{
 			if (!seedAxiom.getName().equals(template.getKey()))
@@ -124,10 +153,18 @@ public class Calculator implements SolutionFinder
 		boolean unificationSuccess = true;
 		if (axiom != null)
 		{
+			if (node != null)
+			{
+				++node.axiomsScanned;
+				++node.unifyAttempts;
+			}
 			if (!axiom.unifyTemplate(template, solution))
 				unificationSuccess = false;
 			else
-			{   // Unify enclosed templates which will participate in ensuing evaluation
+			{
+				if (node != null)
+					++node.unifySuccesses;
+				// Unify enclosed templates which will participate in ensuing evaluation
 				Template chainTemplate = template.getNext();
 				while (chainTemplate != null)
 				{
@@ -146,6 +183,8 @@ public class Calculator implements SolutionFinder
 		            template.backup(true);
 			    return true;
 			}
+			if (node != null)
+				++node.backups;
             template.backup(true);
 		}
 		// Short circuit when solution not available
@@ -172,13 +211,18 @@ public class Calculator implements SolutionFinder
 				{
 					axiom = template.toAxiom();
 					solution.put(template.getQualifiedName().toString(), axiom);
+					if (profileNode != null)
+						++profileNode.solutions;
 					return true;
 				}
-				else
-				    return evaluationStatus != EvaluationStatus.SKIP;
+				if ((evaluationStatus == EvaluationStatus.SHORT_CIRCUIT) && (profileNode != null))
+					++profileNode.shortCircuits;
+			    return evaluationStatus != EvaluationStatus.SKIP;
 			}
-			else
-				return choice.completeSolution(solution, template, axiom);
+			boolean isMatch = choice.completeSolution(solution, template, axiom);
+			if (isMatch && (profileNode != null))
+				++profileNode.solutions;
+			return isMatch;
 		}
 		catch (ExpressionException e)
 		{   // evaluate() exceptions are thrown by Evaluator objects 
@@ -0,0 +1,137 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.query;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ExecutionMonitor
+ * Cancellation flag and optional deadline for a query execution. The monitor is bound to the 
+ * executing thread so long running loops can check it without it being passed down to them.
+ * A cancelled or expired execution is aborted with a QueryExecutionException at the next check.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class ExecutionMonitor 
+{
+	/** Monitor of the query executing on the current thread */
+	private static final ThreadLocal<ExecutionMonitor> currentMonitor;
+
+	static
+	{
+		currentMonitor = new ThreadLocal<ExecutionMonitor>();
+	}
+
+	/** Flag set true when execution is cancelled */
+	protected volatile boolean isCancelled;
+	/** Deadline as System.nanoTime() value. Only valid if hasDeadline is true */
+	protected final long deadline;
+	/** Flag set true if a deadline applies */
+	protected final boolean hasDeadline;
+
+	/**
+	 * Construct ExecutionMonitor object with no deadline
+	 */
+	public ExecutionMonitor()
+	{
+		deadline = 0;
+		hasDeadline = false;
+	}
+
+	/**
+	 * Construct ExecutionMonitor object with a deadline relative to now
+	 * @param timeout Time allowed for execution
+	 * @param unit Time unit of timeout
+	 */
+	public ExecutionMonitor(long timeout, TimeUnit unit)
+	{
+		deadline = System.nanoTime() + unit.toNanos(timeout);
+		hasDeadline = true;
+	}
+
+	/**
+	 * Cancel execution
+	 */
+	public void cancel()
+	{
+		isCancelled = true;
+	}
+
+	/**
+	 * Returns flag set true if execution has been cancelled
+	 * @return boolean
+	 */
+	public boolean isCancelled()
+	{
+		return isCancelled;
+	}
+
+	/**
+	 * Returns flag set true if the deadline has passed
+	 * @return boolean
+	 */
+	public boolean isExpired()
+	{
+		return hasDeadline && (System.nanoTime() - deadline >= 0);
+	}
+
+	/**
+	 * Abort execution if cancelled, the executing thread is interrupted or the deadline has passed
+	 * @throws QueryExecutionException
+	 */
+	public void check()
+	{
+		if (isCancelled || Thread.currentThread().isInterrupted())
+			throw new QueryExecutionException("Query cancelled");
+		if (isExpired())
+			throw new QueryExecutionException("Query deadline exceeded");
+	}
+
+	/**
+	 * Returns monitor bound to current thread
+	 * @return ExecutionMonitor object or null if none bound
+	 */
+	public static ExecutionMonitor getCurrent()
+	{
+		return currentMonitor.get();
+	}
+
+	/**
+	 * Check monitor bound to current thread, if any
+	 * @throws QueryExecutionException if execution is to be aborted
+	 */
+	public static void checkCurrent()
+	{
+		ExecutionMonitor monitor = currentMonitor.get();
+		if (monitor != null)
+			monitor.check();
+	}
+
+	/**
+	 * Bind monitor to current thread 
+	 * @param monitor ExecutionMonitor object or null to unbind
+	 * @return Monitor previously bound or null if none
+	 */
+	public static ExecutionMonitor setCurrent(ExecutionMonitor monitor)
+	{
+		ExecutionMonitor previous = currentMonitor.get();
+		if (monitor == null)
+			currentMonitor.remove();
+		else
+			currentMonitor.set(monitor);
+		return previous;
+	}
+}
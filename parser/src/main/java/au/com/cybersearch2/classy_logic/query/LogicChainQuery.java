@@ -42,6 +42,13 @@ public class LogicChainQuery extends ChainQuery
 	/** Optional axiom listener to receive each solution as it is produced */
 	protected Map<QualifiedName, List<AxiomListener>> axiomListenerMap;
 
+ 	/**
+ 	 * Construct empty LogicChainQuery object to be filled by ObjectGraphCopier
+ 	 */
+ 	protected LogicChainQuery()
+ 	{
+ 	}
+
 	/**
 	 * Create LogicChainQuery object
 	 * @param axiomCollection A set of AxiomSource objects referenced by name
@@ -56,7 +56,16 @@ public class LogicQuery implements SolutionFinder
     protected List<AxiomListener> axiomListenerList;
     /** Pairs axiom terms in a Solution object with terms in a template */
     protected SolutionPairer pairer;
+    /** Profile of template being iterated or null if not profiling */
+    protected ProfileNode profileNode;
   
+	/**
+	 * Construct empty LogicQuery object to be filled by ObjectGraphCopier
+	 */
+	protected LogicQuery()
+	{
+	}
+
     /**
      * Construct QueryLogic object
      * @param axiomSource Source of axiom sequence
@@ -87,6 +96,32 @@ public class LogicQuery implements SolutionFinder
 	@Override
 	public boolean iterate(Solution solution, Template template)
 	{
+		QueryProfiler profiler = QueryProfiler.getCurrent();
+		if (profiler == null)
+		{
+			profileNode = null;
+			return findSolution(solution, template);
+		}
+		profileNode = profiler.enter(QueryProfiler.LOGIC, template.getQualifiedName().toString());
+		try
+		{
+			return findSolution(solution, template);
+		}
+		finally
+		{
+			profiler.exit(profileNode);
+		}
+	}
+
+	/**
+	 * Find a solution for specified template, counting steps if profiling
+	 * @param solution Container to aggregate results  
+	 * @param template Structure to pair with axiom sequence
+	 * @return Flag to indicate if another solution may be available
+	 */
+	protected boolean findSolution(Solution solution, Template template)
+	{
+	    ProfileNode node = profileNode;
 	    boolean emptyTemplate = false;
 		if (queryStatus == QueryStatus.start)
 		{   // Start from beginning of axiom sequence
@@ -100,14 +135,25 @@ public class LogicQuery implements SolutionFinder
     			}
 		    }
 			if (queryStatus == QueryStatus.start)
-			   // When AxiomSource is absent or empty, allow unification solely with solution
-				return unifySolution(solution, template) &&
-					    completeSolution(solution, template);
+			{   // When AxiomSource is absent or empty, allow unification solely with solution
+				if (node != null)
+					++node.unifyAttempts;
+				if (!unifySolution(solution, template))
+					return false;
+				if (node != null)
+					++node.unifySuccesses;
+				return completeSolution(solution, template);
+			}
 		}
 		// Iterate through axioms to find solution
+		ExecutionMonitor monitor = ExecutionMonitor.getCurrent();
 		while (axiomIterator.hasNext())
 		{
+			if (monitor != null)
+				monitor.check();
 			Axiom axiom = axiomIterator.next();
+			if (node != null)
+				++node.axiomsScanned;
 			if (axiomListenerList != null)
 				for (AxiomListener axiomListener: axiomListenerList)
 					axiomListener.onNextAxiom(new QualifiedName(axiom.getName()), axiom);
@@ -124,9 +170,17 @@ public class LogicQuery implements SolutionFinder
 			// Unify use to not happen if keys don't match, but scope names broke this rule
 			//if (!axiom.getName().equals(template.getKey()))
 			//	throw new QueryExecutionException("Axiom key \"" + axiom.getName() + "\" does not match Template key \"" + template.getKey() + "\"");
-			if (axiom.unifyTemplate(template, solution) &&
-				completeSolution(solution, template))
-				return true;
+			if (node != null)
+				++node.unifyAttempts;
+			if (axiom.unifyTemplate(template, solution))
+			{
+				if (node != null)
+					++node.unifySuccesses;
+				if (completeSolution(solution, template))
+					return true;
+			}
+			if (node != null)
+				++node.backups;
 			template.backup(true);
 		}
 		queryStatus = QueryStatus.start;
@@ -171,15 +225,20 @@ public class LogicQuery implements SolutionFinder
 		{
 			// evaluate() may result in a short circuit exit flagged by returning false
 			// isfact() flags true if each term of the template is non-empty
-			if ((template.evaluate() == EvaluationStatus.COMPLETE) && template.isFact())
+			EvaluationStatus evaluationStatus = template.evaluate();
+			if ((evaluationStatus == EvaluationStatus.COMPLETE) && template.isFact())
 			{
 			    String solutionKey = template.getQualifiedName().toString();
-				solution.put(solutionKey, template.toAxiom());
+				solution.put(solutionKey, solution.isReuseRows() ? template.toRowAxiom() : template.toAxiom());
+				if (profileNode != null)
+					++profileNode.solutions;
 				if ((solutionHandler == null) ||
 				     solutionHandler.onSolution(solution))
 					return true;
 				solution.remove(solutionKey);
 			}
+			else if ((evaluationStatus == EvaluationStatus.SHORT_CIRCUIT) && (profileNode != null))
+				++profileNode.shortCircuits;
 		}
 		catch (ExpressionException e)
 		{   // evaluate() exceptions are thrown by Evaluator objects 
@@ -0,0 +1,310 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.query;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ProfileNode
+ * Counters and timings for one query, template or call in a QueryProfiler tree.
+ * Times include all work done while the node is active, so a template of a join includes the 
+ * templates joined after it. A node entered again while already active, as happens with
+ * recursive calls, is timed once from its outermost entry.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class ProfileNode 
+{
+	/** Kind of node - query, call, logic or calculate */
+	protected final String kind;
+	/** Name of query or qualified name of template */
+	protected final String name;
+	/** Child nodes in order of first entry */
+	protected Map<String, ProfileNode> childMap;
+
+	/** Number of times entered */
+	protected long calls;
+	/** Number of axioms taken from the axiom source */
+	protected long axiomsScanned;
+	/** Number of axiom to template unifications attempted */
+	protected long unifyAttempts;
+	/** Number of successful unifications */
+	protected long unifySuccesses;
+	/** Number of template backups following failure */
+	protected long backups;
+	/** Number of evaluations which ended in a short circuit */
+	protected long shortCircuits;
+	/** Number of solutions produced */
+	protected long solutions;
+	/** Number of activations currently open */
+	protected int active;
+	/** Maximum number of activations open at once */
+	protected int maxDepth;
+	/** Total elapsed time in nanoseconds */
+	protected long wallNanos;
+	/** Total thread CPU time in nanoseconds or -1 if not measured */
+	protected long cpuNanos;
+	/** Elapsed time at outermost entry */
+	protected long wallStart;
+	/** Thread CPU time at outermost entry */
+	protected long cpuStart;
+
+	/**
+	 * Construct empty ProfileNode object to be filled by ObjectGraphCopier
+	 */
+	protected ProfileNode()
+	{
+		this(null, null);
+	}
+
+	/**
+	 * Construct ProfileNode object
+	 * @param kind Kind of node - query, call, logic or calculate
+	 * @param name Name of query or qualified name of template
+	 */
+	public ProfileNode(String kind, String name)
+	{
+		this.kind = kind;
+		this.name = name;
+	}
+
+	/**
+	 * Returns kind of node
+	 * @return String
+	 */
+	public String getKind()
+	{
+		return kind;
+	}
+
+	/**
+	 * Returns name of query or qualified name of template
+	 * @return String
+	 */
+	public String getName()
+	{
+		return name;
+	}
+
+	/**
+	 * Returns number of times entered
+	 * @return long
+	 */
+	public long getCalls()
+	{
+		return calls;
+	}
+
+	/**
+	 * Returns number of axioms taken from the axiom source
+	 * @return long
+	 */
+	public long getAxiomsScanned()
+	{
+		return axiomsScanned;
+	}
+
+	/**
+	 * Returns number of axiom to template unifications attempted
+	 * @return long
+	 */
+	public long getUnifyAttempts()
+	{
+		return unifyAttempts;
+	}
+
+	/**
+	 * Returns number of successful unifications
+	 * @return long
+	 */
+	public long getUnifySuccesses()
+	{
+		return unifySuccesses;
+	}
+
+	/**
+	 * Returns number of template backups following failure
+	 * @return long
+	 */
+	public long getBackups()
+	{
+		return backups;
+	}
+
+	/**
+	 * Returns number of evaluations which ended in a short circuit
+	 * @return long
+	 */
+	public long getShortCircuits()
+	{
+		return shortCircuits;
+	}
+
+	/**
+	 * Returns number of solutions produced
+	 * @return long
+	 */
+	public long getSolutions()
+	{
+		return solutions;
+	}
+
+	/**
+	 * Returns maximum number of activations open at once. Greater than 1 for a recursive call.
+	 * @return int
+	 */
+	public int getMaxDepth()
+	{
+		return maxDepth;
+	}
+
+	/**
+	 * Returns total elapsed time
+	 * @return nanoseconds
+	 */
+	protected long getWallNanos()
+	{
+		return wallNanos;
+	}
+
+	/**
+	 * Returns total thread CPU time
+	 * @return nanoseconds or -1 if thread CPU time is not supported
+	 */
+	protected long getCpuNanos()
+	{
+		return cpuNanos;
+	}
+
+	/**
+	 * Returns child node with given kind and name
+	 * @param kind Kind of node
+	 * @param name Name of node
+	 * @return ProfileNode object or null if not found
+	 */
+	public ProfileNode getChild(String kind, String name)
+	{
+		return childMap == null ? null : childMap.get(key(kind, name));
+	}
+
+	/**
+	 * Returns child nodes in order of first entry
+	 * @return Collection of ProfileNode objects
+	 */
+	public Collection<ProfileNode> getChildren()
+	{
+		if (childMap == null)
+			return Collections.emptyList();
+		return childMap.values();
+	}
+
+	/**
+	 * Returns child node with given kind and name, creating it if it does not exist
+	 * @param kind Kind of node
+	 * @param name Name of node
+	 * @return ProfileNode object
+	 */
+	protected ProfileNode child(String kind, String name)
+	{
+		if (childMap == null)
+			childMap = new LinkedHashMap<String, ProfileNode>();
+		String key = key(kind, name);
+		ProfileNode node = childMap.get(key);
+		if (node == null)
+		{
+			node = new ProfileNode(kind, name);
+			childMap.put(key, node);
+		}
+		return node;
+	}
+
+	/**
+	 * Returns flag set true if this node has given kind and name
+	 * @param kind Kind of node
+	 * @param name Name of node
+	 * @return boolean
+	 */
+	protected boolean matches(String kind, String name)
+	{
+		return this.kind.equals(kind) && this.name.equals(name);
+	}
+
+	/**
+	 * Append this node and its children to given builder, one line per node
+	 * @param builder StringBuilder object
+	 * @param indent Indentation of this node
+	 */
+	protected void print(StringBuilder builder, String indent)
+	{
+		builder.append(indent).append(kind).append(' ').append(name).append(':')
+		       .append(" calls=").append(calls);
+		if (axiomsScanned > 0)
+			builder.append(" scanned=").append(axiomsScanned);
+		if (unifyAttempts > 0)
+			builder.append(" unify=").append(unifySuccesses).append('/').append(unifyAttempts);
+		if (backups > 0)
+			builder.append(" backups=").append(backups);
+		if (shortCircuits > 0)
+			builder.append(" short-circuits=").append(shortCircuits);
+		if (solutions > 0)
+			builder.append(" solutions=").append(solutions);
+		if (maxDepth > 1)
+			builder.append(" depth=").append(maxDepth);
+		builder.append(" wall=").append(millis(wallNanos));
+		if (cpuNanos >= 0)
+			builder.append(" cpu=").append(millis(cpuNanos));
+		builder.append(System.getProperty("line.separator"));
+		if (childMap != null)
+			for (ProfileNode node: childMap.values())
+				node.print(builder, indent + "  ");
+	}
+
+	/**
+	 * Returns text representation of this node and its children as an indented tree
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString()
+	{
+		StringBuilder builder = new StringBuilder();
+		print(builder, "");
+		return builder.toString();
+	}
+
+	/**
+	 * Returns nanoseconds formatted as milliseconds
+	 * @param nanos Time in nanoseconds
+	 * @return String
+	 */
+	private static String millis(long nanos)
+	{
+		return String.format("%.3fms", nanos / 1000000.0);
+	}
+
+	/**
+	 * Returns map key for given kind and name
+	 * @param kind Kind of node
+	 * @param name Name of node
+	 * @return String
+	 */
+	private static String key(String kind, String name)
+	{
+		return kind + " " + name;
+	}
+}
@@ -115,6 +115,7 @@ public class QueryExecuter extends ChainQueryExecuter
 			return false;
 		do
 		{
+			ExecutionMonitor.checkCurrent();
 			switch (logicQuery.getQueryStatus())
 			{
 			case in_progress:
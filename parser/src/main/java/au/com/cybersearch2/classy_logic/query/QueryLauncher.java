@@ -41,6 +41,38 @@ public class QueryLauncher
      * @param queryParams Query parameters
      */
     public void launch(QueryParams queryParams)
+    {
+        QueryProfiler profiler = QueryProfiler.getCurrent();
+        if (profiler == null)
+        {
+            execute(queryParams);
+            return;
+        }
+        ProfileNode node = profiler.enter(getProfileKind(), queryParams.getQuerySpec().getName());
+        try
+        {
+            execute(queryParams);
+        }
+        finally
+        {
+            profiler.exit(node);
+        }
+    }
+
+    /**
+     * Returns kind of profile node for queries launched by this object
+     * @return QueryProfiler.QUERY
+     */
+    protected String getProfileKind()
+    {
+        return QueryProfiler.QUERY;
+    }
+
+    /**
+     * Execute query by specification
+     * @param queryParams Query parameters
+     */
+    protected void execute(QueryParams queryParams)
     {
         Scope scope = queryParams.getScope();
         QuerySpec querySpec = queryParams.getQuerySpec();
@@ -72,10 +104,20 @@ public class QueryLauncher
                     headQuery.chain(chainQueryParams.getAxiomCollection(), chainQueryParams.getTemplateList());
                 }
             }
+        SolutionBatcher solutionBatcher = null;
+        if (queryParams.getBatchSolutionHandler() != null)
+        {   // Batches hold copies, so solution rows can be overwritten in place
+            solutionBatcher = new SolutionBatcher(queryParams.getBatchSolutionHandler(), queryParams.getBatchSize());
+            solutionHandler = solutionBatcher;
+        }
         Solution solution = headQuery.getSolution();
         solution.setSolutionHandler(solutionHandler);
+        solution.setReuseRows(queryParams.isReuseRows() || (solutionBatcher != null));
+        ExecutionMonitor monitor = ExecutionMonitor.getCurrent();
         while (headQuery.execute())
         {
+            if (monitor != null)
+                monitor.check();
             if ((solution.evaluate() == EvaluationStatus.SHORT_CIRCUIT) || isCalculation)
                 break;
         }
@@ -84,6 +126,8 @@ public class QueryLauncher
             headQuery.backupToStart();
         else
             headQuery.reset();
+        if (solutionBatcher != null)
+            solutionBatcher.finish();
     }
 
     /**
@@ -0,0 +1,199 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.query;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * QueryProfiler
+ * Opt-in collector of counters and timings for a query execution, arranged as a tree of 
+ * ProfileNode objects for queries, function calls and the templates they unify. Like the
+ * ExecutionMonitor, the profiler is bound to the executing thread, so query components fetch 
+ * it once and skip all profiling when none is bound. Profiles accumulate over executions 
+ * until reset(). A profiler is not thread safe and must only be used by one query at a time.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class QueryProfiler 
+{
+	/** Kind of node for a query */
+	public static final String QUERY = "query";
+	/** Kind of node for a query called as a function */
+	public static final String CALL = "call";
+	/** Kind of node for a template unified by a logic query */
+	public static final String LOGIC = "logic";
+	/** Kind of node for a template evaluated by a calculator */
+	public static final String CALCULATE = "calculate";
+
+	/** Profiler of the query executing on the current thread */
+	private static final ThreadLocal<QueryProfiler> currentProfiler;
+	/** Source of thread CPU time or null if not supported */
+	private static final ThreadMXBean threadMXBean;
+
+	static
+	{
+		currentProfiler = new ThreadLocal<QueryProfiler>();
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		threadMXBean = bean.isCurrentThreadCpuTimeSupported() ? bean : null;
+	}
+
+	/** Parent of top level query nodes */
+	protected ProfileNode root;
+	/** Nodes currently entered, innermost last */
+	protected List<ProfileNode> activeList;
+
+	/**
+	 * Construct QueryProfiler object
+	 */
+	public QueryProfiler()
+	{
+		activeList = new ArrayList<ProfileNode>();
+		reset();
+	}
+
+	/**
+	 * Discard all profiles
+	 */
+	public void reset()
+	{
+		root = new ProfileNode("profile", "");
+		activeList.clear();
+	}
+
+	/**
+	 * Returns parent of top level query nodes
+	 * @return ProfileNode object
+	 */
+	public ProfileNode getRoot()
+	{
+		return root;
+	}
+
+	/**
+	 * Start profiling a query, call or template. A query or call node is a child of the innermost
+	 * active node, while a template node is a child of the innermost active query or call node, so 
+	 * the templates of a join are siblings. A node of the same kind and name which is already 
+	 * active is entered again, so recursion does not deepen the tree.
+	 * @param kind Kind of node - QUERY, CALL, LOGIC or CALCULATE
+	 * @param name Name of query or qualified name of template
+	 * @return ProfileNode object to pass to exit()
+	 */
+	public ProfileNode enter(String kind, String name)
+	{
+		ProfileNode node = null;
+		for (int i = activeList.size() - 1; i >= 0; --i)
+			if (activeList.get(i).matches(kind, name))
+			{
+				node = activeList.get(i);
+				break;
+			}
+		if (node == null)
+			node = getParent(QUERY.equals(kind) || CALL.equals(kind)).child(kind, name);
+		++node.calls;
+		if (node.active++ == 0)
+		{
+			node.wallStart = System.nanoTime();
+			node.cpuStart = threadMXBean != null ? threadMXBean.getCurrentThreadCpuTime() : 0;
+		}
+		if (node.active > node.maxDepth)
+			node.maxDepth = node.active;
+		activeList.add(node);
+		return node;
+	}
+
+	/**
+	 * Stop profiling node returned by enter()
+	 * @param node ProfileNode object
+	 */
+	public void exit(ProfileNode node)
+	{
+		activeList.remove(activeList.lastIndexOf(node));
+		if (--node.active == 0)
+		{
+			node.wallNanos += System.nanoTime() - node.wallStart;
+			if (threadMXBean != null)
+				node.cpuNanos += threadMXBean.getCurrentThreadCpuTime() - node.cpuStart;
+			else
+				node.cpuNanos = -1;
+		}
+	}
+
+	/**
+	 * Returns parent for a new node
+	 * @param isQuery Flag set true if new node is for a query or call
+	 * @return ProfileNode object
+	 */
+	protected ProfileNode getParent(boolean isQuery)
+	{
+		for (int i = activeList.size() - 1; i >= 0; --i)
+		{
+			ProfileNode node = activeList.get(i);
+			if (isQuery || QUERY.equals(node.kind) || CALL.equals(node.kind))
+				return node;
+		}
+		return root;
+	}
+
+	/**
+	 * Returns profile of top level query with given name
+	 * @param queryName Name of query
+	 * @return ProfileNode object or null if query not profiled
+	 */
+	public ProfileNode getQuery(String queryName)
+	{
+		return root.getChild(QUERY, queryName);
+	}
+
+	/**
+	 * Returns profiles as an indented tree, one line per node
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString()
+	{
+		StringBuilder builder = new StringBuilder();
+		for (ProfileNode node: root.getChildren())
+			node.print(builder, "");
+		return builder.toString();
+	}
+
+	/**
+	 * Returns profiler bound to current thread
+	 * @return QueryProfiler object or null if none bound
+	 */
+	public static QueryProfiler getCurrent()
+	{
+		return currentProfiler.get();
+	}
+
+	/**
+	 * Bind profiler to current thread 
+	 * @param profiler QueryProfiler object or null to unbind
+	 * @return Profiler previously bound or null if none
+	 */
+	public static QueryProfiler setCurrent(QueryProfiler profiler)
+	{
+		QueryProfiler previous = currentProfiler.get();
+		if (profiler == null)
+			currentProfiler.remove();
+		else
+			currentProfiler.set(profiler);
+		return previous;
+	}
+}
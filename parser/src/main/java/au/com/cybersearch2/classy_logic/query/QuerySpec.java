@@ -41,6 +41,13 @@ public class QuerySpec
 	/** Properties for calculations referenced by template name */
 	protected Map<String, Map<String, Object>> propertiesMap;
 
+	/**
+	 * Construct empty QuerySpec object to be filled by ObjectGraphCopier
+	 */
+	protected QuerySpec()
+	{
+	}
+
 	/**
 	 * Construct a QuerySpec object 
 	 * @param name
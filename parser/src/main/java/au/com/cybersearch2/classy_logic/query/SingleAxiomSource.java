@@ -37,6 +37,13 @@ public class SingleAxiomSource implements AxiomSource, Iterator<Axiom>, Iterable
     /** The term names */
     protected List<String> axiomTermNameList;
 
+    /**
+     * Construct empty SingleAxiomSource object to be filled by ObjectGraphCopier
+     */
+    protected SingleAxiomSource()
+    {
+    }
+
     /**
      * Construct SingleAxiomSource object
      * @param axiom The axiom object
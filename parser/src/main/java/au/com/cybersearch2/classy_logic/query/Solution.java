@@ -46,6 +46,8 @@ public class Solution
 	protected String[] keyStack;
 	/** Solution handler for self-evaluation */
 	protected SolutionHandler solutionHandler;
+	/** Flag set true if axioms are overwritten in place by the next solution */
+	protected boolean reuseRows;
 	
 	/**
 	 * Construct a Solution object
@@ -67,6 +69,24 @@ public class Solution
         this.solutionHandler = solutionHandler;
     }
 
+	/**
+	 * Returns flag set true if axioms are overwritten in place by the next solution
+	 * @return boolean
+	 */
+	public boolean isReuseRows()
+	{
+		return reuseRows;
+	}
+
+	/**
+	 * Set flag to allow axioms to be overwritten in place by the next solution
+	 * @param reuseRows boolean
+	 */
+	public void setReuseRows(boolean reuseRows)
+	{
+		this.reuseRows = reuseRows;
+	}
+
 	/**
 	 * Returns key used for last put()
 	 * @return key or null if not available
@@ -93,10 +113,16 @@ public class Solution
     public void put(String key, Axiom axiom) 
     {
         axiomMap.put(key, axiom);
-        QualifiedName qname = QualifiedName.parseTemplateName(key);
-        if ((axiomListenerMap != null) && axiomListenerMap.containsKey(qname))
-            for (AxiomListener axiomListener: axiomListenerMap.get(qname))
-                axiomListener.onNextAxiom(new QualifiedName(key), axiom);
+        if (axiomListenerMap != null)
+        {
+            QualifiedName qname = QualifiedName.parseTemplateName(key);
+            if (axiomListenerMap.containsKey(qname))
+            {   // Listeners may retain the axiom, so give them a copy of a reused row 
+                Axiom listenerAxiom = reuseRows ? axiom.copy() : axiom;
+                for (AxiomListener axiomListener: axiomListenerMap.get(qname))
+                    axiomListener.onNextAxiom(new QualifiedName(key), listenerAxiom);
+            }
+        }
         keyStack[1] = keyStack[0];
         keyStack[0] = key;
     }
@@ -0,0 +1,159 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import au.com.cybersearch2.classy_logic.interfaces.Term;
+import au.com.cybersearch2.classy_logic.pattern.Axiom;
+
+/**
+ * SolutionBatch
+ * Unmodifiable sequence of solution rows delivered to a BatchSolutionHandler.
+ * Each row holds a copy of every axiom of a solution, indexed by the solution keys of the batch, 
+ * so rows remain valid after the query moves on. Axioms held by the schema they were 
+ * produced with are copied as a single value array.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class SolutionBatch
+{
+    /** Empty row */
+    static final Axiom[] EMPTY_ROW = new Axiom[0];
+
+    /** Solution keys in order of first appearance in the batch */
+    protected String[] keys;
+    /** Axioms of each row in key order. A row may be shorter than the key array. */
+    protected Axiom[][] rows;
+    /** Number of rows */
+    protected int size;
+
+    /**
+     * Construct SolutionBatch object
+     * @param keys Solution keys
+     * @param rows Axioms of each row in key order
+     * @param size Number of rows
+     */
+    protected SolutionBatch(String[] keys, Axiom[][] rows, int size)
+    {
+        this.keys = keys;
+        this.rows = rows;
+        this.size = size;
+    }
+
+    /**
+     * Returns number of rows
+     * @return int
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Returns flag set true if batch has no rows
+     * @return boolean
+     */
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * Returns solution keys in order of first appearance in the batch
+     * @return List of axiom keys
+     */
+    public List<String> getKeys()
+    {
+        return Collections.unmodifiableList(Arrays.asList(keys));
+    }
+
+    /**
+     * Returns axiom referenced by row and key
+     * @param row Row index
+     * @param key Axiom key
+     * @return Axiom object or null if the solution of the row has no axiom for the key
+     * @throws IndexOutOfBoundsException if row is out of range
+     */
+    public Axiom getAxiom(int row, String key)
+    {
+        Axiom[] axioms = getRow(row);
+        for (int i = 0; i < axioms.length; ++i)
+            if (keys[i].equals(key))
+                return axioms[i];
+        return null;
+    }
+
+    /**
+     * Returns axioms of all rows referenced by key
+     * @param key Axiom key
+     * @return List of Axiom objects, including null for rows which have no axiom for the key
+     */
+    public List<Axiom> getAxioms(String key)
+    {
+        List<Axiom> axiomList = new ArrayList<Axiom>(size);
+        for (int row = 0; row < size; ++row)
+            axiomList.add(getAxiom(row, key));
+        return axiomList;
+    }
+
+    /**
+     * Returns term value referenced by row, axiom key and term name
+     * @param row Row index
+     * @param key Axiom key
+     * @param name Term name
+     * @return Object or null if axiom or term not found
+     */
+    public Object getValue(int row, String key, String name)
+    {
+        Axiom axiom = getAxiom(row, key);
+        if (axiom != null)
+        {
+            Term term = axiom.getTermByName(name);
+            if (term != null)
+                return term.getValue();
+        }
+        return null;
+    }
+
+    /**
+     * Returns term value as String referenced by row, axiom key and term name
+     * @param row Row index
+     * @param key Axiom key
+     * @param name Term name
+     * @return String or null if axiom or term not found
+     */
+    public String getString(int row, String key, String name)
+    {
+        Object object = getValue(row, key, name);
+        return object == null ? null : object.toString();
+    }
+
+    /**
+     * Returns axioms of row in key order
+     * @param row Row index
+     * @return Axiom array
+     */
+    protected Axiom[] getRow(int row)
+    {
+        if ((row < 0) || (row >= size))
+            throw new IndexOutOfBoundsException("Row " + row + " not in batch of size " + size);
+        return rows[row];
+    }
+}
@@ -0,0 +1,132 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.query;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import au.com.cybersearch2.classy_logic.interfaces.BatchSolutionHandler;
+import au.com.cybersearch2.classy_logic.interfaces.SolutionHandler;
+import au.com.cybersearch2.classy_logic.pattern.Axiom;
+
+/**
+ * SolutionBatcher
+ * Solution handler which copies each solution into a batch and passes full batches to a BatchSolutionHandler.
+ * A full batch is held back until the next solution arrives, so the last batch can be flagged as such
+ * when the query completes.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class SolutionBatcher implements SolutionHandler
+{
+    /** Receives batches */
+    protected BatchSolutionHandler batchSolutionHandler;
+    /** Number of rows in a full batch */
+    protected int batchSize;
+    /** Index of each solution key in the batch being filled */
+    protected Map<String, Integer> keyIndexMap;
+    /** Rows of the batch being filled */
+    protected Axiom[][] rows;
+    /** Number of rows in the batch being filled */
+    protected int count;
+    /** Full batch waiting to be delivered */
+    protected SolutionBatch fullBatch;
+    /** Flag set true when the handler asks for the query to stop */
+    protected boolean isStopped;
+
+    /**
+     * Construct SolutionBatcher object
+     * @param batchSolutionHandler Receives batches
+     * @param batchSize Number of rows in a full batch
+     */
+    public SolutionBatcher(BatchSolutionHandler batchSolutionHandler, int batchSize)
+    {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        this.batchSolutionHandler = batchSolutionHandler;
+        this.batchSize = batchSize;
+        keyIndexMap = new LinkedHashMap<String, Integer>();
+        rows = new Axiom[batchSize][];
+    }
+
+    /**
+     * Copy solution into the current batch
+     * @see au.com.cybersearch2.classy_logic.interfaces.SolutionHandler#onSolution(au.com.cybersearch2.classy_logic.query.Solution)
+     */
+    @Override
+    public boolean onSolution(Solution solution)
+    {
+        if (fullBatch != null)
+        {
+            SolutionBatch batch = fullBatch;
+            fullBatch = null;
+            isStopped = !batchSolutionHandler.onBatch(batch, false);
+        }
+        if (isStopped)
+            return false;
+        Set<String> keySet = solution.keySet();
+        for (String key: keySet)
+            if (!keyIndexMap.containsKey(key))
+                keyIndexMap.put(key, Integer.valueOf(keyIndexMap.size()));
+        Axiom[] row = keySet.isEmpty() ? SolutionBatch.EMPTY_ROW : new Axiom[keyIndexMap.size()];
+        for (String key: keySet)
+            row[keyIndexMap.get(key).intValue()] = solution.getAxiom(key).copy();
+        rows[count++] = row;
+        if (count == batchSize)
+            fullBatch = createBatch();
+        return true;
+    }
+
+    /**
+     * Deliver the final batch, flagged as last. Call when the query completes.
+     */
+    public void finish()
+    {
+        if (isStopped)
+            return;
+        SolutionBatch batch = fullBatch != null ? fullBatch : createBatch();
+        fullBatch = null;
+        isStopped = true;
+        batchSolutionHandler.onBatch(batch, true);
+    }
+
+    /**
+     * Returns flag set true if the handler asked for the query to stop
+     * @return boolean
+     */
+    public boolean isStopped()
+    {
+        return isStopped;
+    }
+
+    /**
+     * Returns batch of rows collected so far and starts a new batch
+     * @return SolutionBatch object
+     */
+    protected SolutionBatch createBatch()
+    {
+        String[] keys = keyIndexMap.keySet().toArray(new String[keyIndexMap.size()]);
+        Axiom[][] batchRows = new Axiom[count][];
+        System.arraycopy(rows, 0, batchRows, 0, count);
+        SolutionBatch batch = new SolutionBatch(keys, batchRows, count);
+        keyIndexMap.clear();
+        for (int i = 0; i < count; ++i)
+            rows[i] = null;
+        count = 0;
+        return batch;
+    }
+}
@@ -0,0 +1,149 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.shard;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import au.com.cybersearch2.classy_logic.expression.ExpressionException;
+import au.com.cybersearch2.classy_logic.interfaces.AxiomProvider;
+import au.com.cybersearch2.classy_logic.interfaces.AxiomSource;
+import au.com.cybersearch2.classy_logic.interfaces.Term;
+import au.com.cybersearch2.classy_logic.pattern.Axiom;
+
+/**
+ * AxiomPartitioner
+ * Splits the axioms of a provider into one partition per shard. The axioms of a partitioned axiom
+ * are read from the provider once, on first request by any shard, and each shard is then served
+ * only its own partition. Call clear() to read the provider again.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class AxiomPartitioner
+{
+    /** Provider of all axioms */
+    protected AxiomProvider axiomProvider;
+    /** Number of shards */
+    protected int shardCount;
+    /** Maps axiom name to name of term which selects the shard */
+    protected Map<String, String> partitionTermMap;
+    /** Maps axiom key to its partitions, indexed by shard */
+    protected Map<String, List<List<Axiom>>> partitionMap;
+
+    /**
+     * Construct AxiomPartitioner object
+     * @param axiomProvider Provider of all axioms
+     * @param shardCount Number of shards
+     */
+    public AxiomPartitioner(AxiomProvider axiomProvider, int shardCount)
+    {
+        if (shardCount < 1)
+            throw new IllegalArgumentException("Shard count " + shardCount + " must be at least 1");
+        this.axiomProvider = axiomProvider;
+        this.shardCount = shardCount;
+        partitionTermMap = new HashMap<String, String>();
+        partitionMap = new HashMap<String, List<List<Axiom>>>();
+    }
+
+    /**
+     * Declare term which partitions an axiom
+     * @param axiomName Axiom name, without scope
+     * @param termName Name of term whose value selects the shard
+     */
+    public synchronized void setPartitionTerm(String axiomName, String termName)
+    {
+        partitionTermMap.put(axiomName, termName);
+    }
+
+    /**
+     * Returns name of term which partitions given axiom
+     * @param axiomName Axiom name, without scope
+     * @return term name or null if axiom is replicated
+     */
+    public synchronized String getPartitionTerm(String axiomName)
+    {
+        return partitionTermMap.get(axiomName);
+    }
+
+    /**
+     * Returns provider of all axioms
+     * @return AxiomProvider object
+     */
+    public AxiomProvider getAxiomProvider()
+    {
+        return axiomProvider;
+    }
+
+    /**
+     * Returns number of shards
+     * @return int
+     */
+    public int getShardCount()
+    {
+        return shardCount;
+    }
+
+    /**
+     * Returns provider of one shard's partition
+     * @param shardIndex Index of shard in range 0 to shardCount - 1
+     * @return PartitionedAxiomProvider object
+     */
+    public PartitionedAxiomProvider getAxiomProvider(int shardIndex)
+    {
+        return new PartitionedAxiomProvider(this, shardIndex);
+    }
+
+    /**
+     * Returns axioms of one shard's partition, reading and splitting all axioms on first request
+     * @param axiomSource Source of all axioms
+     * @param axiomKey Axiom key
+     * @param termName Name of term whose value selects the shard
+     * @param shardIndex Index of shard
+     * @return List of Axiom objects
+     */
+    public synchronized List<Axiom> getPartition(AxiomSource axiomSource, String axiomKey, String termName, int shardIndex)
+    {
+        List<List<Axiom>> partitionList = partitionMap.get(axiomKey);
+        if (partitionList == null)
+        {
+            partitionList = new ArrayList<List<Axiom>>(shardCount);
+            for (int i = 0; i < shardCount; ++i)
+                partitionList.add(new ArrayList<Axiom>());
+            Iterator<Axiom> iterator = axiomSource.iterator();
+            while (iterator.hasNext())
+            {
+                Axiom axiom = iterator.next();
+                Term term = axiom.getTermByName(termName);
+                if (term == null)
+                    throw new ExpressionException("Partition term \"" + termName + "\" not found in axiom \"" + axiom.getName() + "\"");
+                partitionList.get(PartitionedAxiomProvider.shardOf(term.getValue(), shardCount)).add(axiom);
+            }
+            partitionMap.put(axiomKey, partitionList);
+        }
+        return partitionList.get(shardIndex);
+    }
+
+    /**
+     * Discard all partitions so axioms are read from the provider again on next request
+     */
+    public synchronized void clear()
+    {
+        partitionMap.clear();
+    }
+}
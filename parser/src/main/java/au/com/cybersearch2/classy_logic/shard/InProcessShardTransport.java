@@ -0,0 +1,121 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.shard;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import au.com.cybersearch2.classy_logic.QueryParams;
+import au.com.cybersearch2.classy_logic.QueryProgram;
+import au.com.cybersearch2.classy_logic.interfaces.ShardRowHandler;
+import au.com.cybersearch2.classy_logic.interfaces.ShardTransport;
+import au.com.cybersearch2.classy_logic.interfaces.SolutionHandler;
+import au.com.cybersearch2.classy_logic.list.ListSorter;
+import au.com.cybersearch2.classy_logic.pattern.Axiom;
+import au.com.cybersearch2.classy_logic.query.Solution;
+
+/**
+ * InProcessShardTransport
+ * Runs each shard as a QueryProgram in the current process. Each shard orders its own rows by the sort keys
+ * and stops at the limit of the query.
+ * Queries on the same shard are serialized by the program, queries on different shards run concurrently.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class InProcessShardTransport implements ShardTransport
+{
+    /** Program of each shard, in shard order */
+    protected List<QueryProgram> programList;
+
+    /**
+     * Construct InProcessShardTransport object
+     * @param programList Program of each shard, in shard order
+     */
+    public InProcessShardTransport(List<QueryProgram> programList)
+    {
+        if (programList.isEmpty())
+            throw new IllegalArgumentException("At least one shard program required");
+        this.programList = new ArrayList<QueryProgram>(programList);
+    }
+
+    /**
+     * @see au.com.cybersearch2.classy_logic.interfaces.ShardTransport#getShardCount()
+     */
+    @Override
+    public int getShardCount()
+    {
+        return programList.size();
+    }
+
+    /**
+     * @see au.com.cybersearch2.classy_logic.interfaces.ShardTransport#execute(int, au.com.cybersearch2.classy_logic.shard.ShardQuery, au.com.cybersearch2.classy_logic.interfaces.ShardRowHandler)
+     */
+    @Override
+    public void execute(final int shardIndex, ShardQuery shardQuery, final ShardRowHandler rowHandler)
+    {
+        QueryProgram queryProgram = programList.get(shardIndex);
+        QueryParams queryParams = queryProgram.getQueryParams(shardQuery.getScopeName(), shardQuery.getQueryPart());
+        shardQuery.applyParameters(queryParams);
+        final String resultName = shardQuery.getResultName();
+        final int limit = shardQuery.getLimit();
+        if (shardQuery.getSortKeyList().isEmpty())
+        {
+            final int[] count = new int[1];
+            queryParams.setSolutionHandler(new SolutionHandler()
+            {
+                @Override
+                public boolean onSolution(Solution solution)
+                {
+                    Axiom row = solution.getAxiom(resultName);
+                    if (row == null)
+                        return true;
+                    // Solution axioms are recycled, so pass a copy
+                    return rowHandler.onRow(shardIndex, row.copy()) && ((limit <= 0) || (++count[0] < limit));
+                }
+            });
+            queryProgram.executeQuery(queryParams);
+            return;
+        }
+        // Order rows on the shard, retaining no more than the limit
+        final ListSorter.Selection<Axiom> selection = shardQuery.getListSorter().newSelection(limit);
+        queryParams.setSolutionHandler(new SolutionHandler()
+        {
+            @Override
+            public boolean onSolution(Solution solution)
+            {
+                Axiom row = solution.getAxiom(resultName);
+                if (row != null)
+                {
+                    Axiom copy = row.copy();
+                    selection.add(copy, copy);
+                }
+                return true;
+            }
+        });
+        queryProgram.executeQuery(queryParams);
+        for (Axiom row: selection.getRows())
+            if (!rowHandler.onRow(shardIndex, row))
+                break;
+    }
+
+    /**
+     * @see au.com.cybersearch2.classy_logic.interfaces.ShardTransport#close()
+     */
+    @Override
+    public void close()
+    {
+    }
+}
@@ -0,0 +1,215 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.shard;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import au.com.cybersearch2.classy_logic.expression.ExpressionException;
+import au.com.cybersearch2.classy_logic.helper.QualifiedName;
+import au.com.cybersearch2.classy_logic.interfaces.AxiomListener;
+import au.com.cybersearch2.classy_logic.interfaces.AxiomProvider;
+import au.com.cybersearch2.classy_logic.interfaces.AxiomSource;
+import au.com.cybersearch2.classy_logic.interfaces.PartitionAxiomProvider;
+import au.com.cybersearch2.classy_logic.pattern.Axiom;
+
+/**
+ * PartitionedAxiomProvider
+ * Presents one shard's partition of the axioms of another provider. An axiom belongs to the shard 
+ * selected by the hash of its partition term, so each shard sees a disjoint subset and the shards together 
+ * see every axiom. Axioms without a declared partition term are replicated to every shard.
+ * A provider which implements PartitionAxiomProvider selects the partition at the source. Otherwise the
+ * axioms are split once by an AxiomPartitioner, which should be shared by all shards so the provider is read once.
+ * The provider has the same name as the provider it wraps, so scripts run unchanged on each shard.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class PartitionedAxiomProvider implements AxiomProvider
+{
+    /** Splits axioms into partitions */
+    protected AxiomPartitioner partitioner;
+    /** Provider of all axioms */
+    protected AxiomProvider axiomProvider;
+    /** Index of this shard */
+    protected int shardIndex;
+    /** Number of shards */
+    protected int shardCount;
+
+    /**
+     * Construct PartitionedAxiomProvider object which shares given partitioner with other shards
+     * @param partitioner Splits axioms into partitions
+     * @param shardIndex Index of this shard in range 0 to shardCount - 1
+     */
+    public PartitionedAxiomProvider(AxiomPartitioner partitioner, int shardIndex)
+    {
+        this.partitioner = partitioner;
+        this.axiomProvider = partitioner.getAxiomProvider();
+        this.shardIndex = shardIndex;
+        this.shardCount = partitioner.getShardCount();
+        if ((shardIndex < 0) || (shardIndex >= shardCount))
+            throw new IllegalArgumentException("Shard index " + shardIndex + " out of range 0 to " + (shardCount - 1));
+    }
+
+    /**
+     * Construct PartitionedAxiomProvider object with a partitioner of its own
+     * @param axiomProvider Provider of all axioms
+     * @param shardIndex Index of this shard in range 0 to shardCount - 1
+     * @param shardCount Number of shards
+     */
+    public PartitionedAxiomProvider(AxiomProvider axiomProvider, int shardIndex, int shardCount)
+    {
+        this(new AxiomPartitioner(axiomProvider, shardCount), shardIndex);
+    }
+
+    /**
+     * Declare term which partitions an axiom
+     * @param axiomName Axiom name, without scope
+     * @param termName Name of term whose value selects the shard
+     */
+    public void setPartitionTerm(String axiomName, String termName)
+    {
+        partitioner.setPartitionTerm(axiomName, termName);
+    }
+
+    /**
+     * Returns name of term which partitions given axiom
+     * @param axiomName Axiom name, without scope
+     * @return term name or null if axiom is replicated
+     */
+    public String getPartitionTerm(String axiomName)
+    {
+        return partitioner.getPartitionTerm(axiomName);
+    }
+
+    /**
+     * Returns index of this shard
+     * @return int
+     */
+    public int getShardIndex()
+    {
+        return shardIndex;
+    }
+
+    /**
+     * Returns number of shards
+     * @return int
+     */
+    public int getShardCount()
+    {
+        return shardCount;
+    }
+
+    /**
+     * @see au.com.cybersearch2.classy_logic.interfaces.AxiomProvider#getName()
+     */
+    @Override
+    public String getName()
+    {
+        return axiomProvider.getName();
+    }
+
+    /**
+     * @see au.com.cybersearch2.classy_logic.interfaces.AxiomProvider#open(java.util.Map)
+     */
+    @Override
+    public void open(Map<String, Object> properties) throws ExpressionException
+    {
+        axiomProvider.open(properties);
+    }
+
+    /**
+     * @see au.com.cybersearch2.classy_logic.interfaces.AxiomProvider#close()
+     */
+    @Override
+    public void close()
+    {
+        axiomProvider.close();
+    }
+
+    /**
+     * Returns source of the axioms belonging to this shard 
+     * @see au.com.cybersearch2.classy_logic.interfaces.AxiomProvider#getAxiomSource(java.lang.String, java.util.List)
+     */
+    @Override
+    public AxiomSource getAxiomSource(final String axiomName, List<String> axiomTermNameList)
+    {
+        final String termName = partitioner.getPartitionTerm(QualifiedName.parseName(axiomName).getName());
+        if (termName == null)
+            return axiomProvider.getAxiomSource(axiomName, axiomTermNameList);
+        if (axiomProvider instanceof PartitionAxiomProvider)
+            return ((PartitionAxiomProvider)axiomProvider).getAxiomSource(axiomName, axiomTermNameList, termName, shardIndex, shardCount);
+        final AxiomSource axiomSource = axiomProvider.getAxiomSource(axiomName, axiomTermNameList);
+        if (axiomSource == null)
+            return null;
+        return new AxiomSource()
+        {
+            @Override
+            public Iterator<Axiom> iterator()
+            {
+                return Collections.unmodifiableList(partitioner.getPartition(axiomSource, axiomName, termName, shardIndex)).iterator();
+            }
+
+            @Override
+            public List<String> getAxiomTermNameList()
+            {
+                return axiomSource.getAxiomTermNameList();
+            }
+        };
+    }
+
+    /**
+     * @see au.com.cybersearch2.classy_logic.interfaces.AxiomProvider#getAxiomListener(java.lang.String)
+     */
+    @Override
+    public AxiomListener getAxiomListener(String axiomName)
+    {
+        return axiomProvider.getAxiomListener(axiomName);
+    }
+
+    /**
+     * @see au.com.cybersearch2.classy_logic.interfaces.AxiomProvider#isEmpty()
+     */
+    @Override
+    public boolean isEmpty()
+    {
+        return axiomProvider.isEmpty();
+    }
+
+    /**
+     * Returns index of shard which owns given partition key. 
+     * The hash depends only on the key value, so every process assigns a key to the same shard.
+     * Integral numbers of any type hash alike.
+     * @param key Partition term value
+     * @param shardCount Number of shards
+     * @return int
+     */
+    public static int shardOf(Object key, int shardCount)
+    {
+        long hash;
+        if ((key instanceof Long) || (key instanceof Integer) || (key instanceof Short) || (key instanceof Byte))
+            hash = ((Number)key).longValue();
+        else
+            hash = key == null ? 0 : key.toString().hashCode();
+        // Mix bits so sequential keys spread evenly
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        int shard = (int)(hash % shardCount);
+        return shard < 0 ? shard + shardCount : shard;
+    }
+}
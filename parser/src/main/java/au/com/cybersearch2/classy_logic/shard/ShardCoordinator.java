@@ -0,0 +1,489 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.shard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+
+import au.com.cybersearch2.classy_logic.interfaces.ShardRowHandler;
+import au.com.cybersearch2.classy_logic.interfaces.ShardTransport;
+import au.com.cybersearch2.classy_logic.interfaces.Term;
+import au.com.cybersearch2.classy_logic.list.AggregateFunction;
+import au.com.cybersearch2.classy_logic.list.ListAggregator;
+import au.com.cybersearch2.classy_logic.pattern.Axiom;
+import au.com.cybersearch2.classy_logic.query.QueryExecutionException;
+import au.com.cybersearch2.classy_logic.terms.Parameter;
+
+/**
+ * ShardCoordinator
+ * Scatter-gather execution of a query over the shards of a partitioned program.
+ * The query is sent to every shard at once, or only to the shard which owns its route key, 
+ * and the shard results are merged according to the query:
+ * <ul>
+ * <li>No sort keys or aggregates: rows are passed on in order of arrival</li>
+ * <li>Sort keys: each shard returns its leading rows in sort key order and the coordinator 
+ * merges the shard streams through a heap as the rows arrive, stopping at the limit</li>
+ * <li>Aggregates: partial results from all shards are combined into a single row</li>
+ * </ul>
+ * Sort keys, limit and parameters are pushed down to the shards, so a shard never returns more rows than the limit.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class ShardCoordinator
+{
+    /** Shard index given to a row which combines rows from several shards */
+    public static final int COMBINED_ROW = -1;
+
+    /** Connection to the shards */
+    protected ShardTransport transport;
+    /** Runs shard queries concurrently */
+    protected ExecutorService executorService;
+    /** Flag set true if the executor was created by this coordinator */
+    protected boolean isOwnExecutor;
+
+    /**
+     * Construct ShardCoordinator object with a thread for each shard
+     * @param transport Connection to the shards
+     */
+    public ShardCoordinator(ShardTransport transport)
+    {
+        this(transport, Executors.newFixedThreadPool(transport.getShardCount(), new ThreadFactory()
+        {
+            @Override
+            public Thread newThread(Runnable runnable)
+            {
+                Thread thread = new Thread(runnable, "shard-coordinator");
+                thread.setDaemon(true);
+                return thread;
+            }
+        }));
+        isOwnExecutor = true;
+    }
+
+    /**
+     * Construct ShardCoordinator object
+     * @param transport Connection to the shards
+     * @param executorService Runs shard queries concurrently
+     */
+    public ShardCoordinator(ShardTransport transport, ExecutorService executorService)
+    {
+        this.transport = transport;
+        this.executorService = executorService;
+    }
+
+    /**
+     * Returns merged result rows of query
+     * @param shardQuery Query to execute on the shards
+     * @return List of Axiom objects
+     */
+    public List<Axiom> execute(ShardQuery shardQuery)
+    {
+        final List<Axiom> rowList = new ArrayList<Axiom>();
+        execute(shardQuery, new ShardRowHandler()
+        {
+            @Override
+            public boolean onRow(int shardIndex, Axiom row)
+            {
+                rowList.add(row);
+                return true;
+            }
+        });
+        return rowList;
+    }
+
+    /**
+     * Execute query on the shards and pass merged result rows to given handler.
+     * The handler is called by one thread at a time. Rows are passed on while shards are still running, 
+     * so the handler may receive rows before a shard fails.
+     * @param shardQuery Query to execute on the shards
+     * @param rowHandler Receives merged rows. The shard index is COMBINED_ROW for a row of combined aggregates.
+     * @throws QueryExecutionException if a shard fails
+     */
+    public void execute(ShardQuery shardQuery, ShardRowHandler rowHandler)
+    {
+        int[] shards = selectShards(shardQuery);
+        if (!shardQuery.getAggregateMap().isEmpty())
+        {
+            Axiom combined = combine(shardQuery, gather(shardQuery, shards));
+            if (combined != null)
+                rowHandler.onRow(COMBINED_ROW, combined);
+        }
+        else if (!shardQuery.getSortKeyList().isEmpty() && (shards.length > 1))
+            mergeSorted(shardQuery, shards, rowHandler);
+        else // A single shard returns its rows in sort key order
+            scatter(shardQuery, shards, new StreamingHandler(rowHandler, shardQuery.getLimit()));
+    }
+
+    /**
+     * Shut down executor, if created by this coordinator, and close transport
+     */
+    public void close()
+    {
+        if (isOwnExecutor)
+            executorService.shutdownNow();
+        transport.close();
+    }
+
+    /**
+     * Returns indexes of shards to which query is sent
+     * @param shardQuery Query
+     * @return int array
+     */
+    protected int[] selectShards(ShardQuery shardQuery)
+    {
+        int shardCount = transport.getShardCount();
+        if (shardQuery.getRouteKey() != null)
+            return new int[] { PartitionedAxiomProvider.shardOf(shardQuery.getRouteKey(), shardCount) };
+        int[] shards = new int[shardCount];
+        for (int i = 0; i < shardCount; ++i)
+            shards[i] = i;
+        return shards;
+    }
+
+    /**
+     * Returns result rows of each shard, indexed by shard
+     * @param shardQuery Query
+     * @param shards Indexes of shards to query
+     * @return List of row lists. Shards not queried have empty lists.
+     */
+    protected List<List<Axiom>> gather(ShardQuery shardQuery, int[] shards)
+    {
+        final List<List<Axiom>> shardRowList = new ArrayList<List<Axiom>>();
+        for (int i = 0; i < transport.getShardCount(); ++i)
+            shardRowList.add(new ArrayList<Axiom>());
+        scatter(shardQuery, shards, new ShardRowHandler()
+        {
+            @Override
+            public boolean onRow(int shardIndex, Axiom row)
+            {   // Each list is only written by the thread querying its shard
+                shardRowList.get(shardIndex).add(row);
+                return true;
+            }
+        });
+        return shardRowList;
+    }
+
+    /**
+     * Execute query on given shards concurrently and wait for all to complete
+     * @param shardQuery Query
+     * @param shards Indexes of shards to query
+     * @param rowHandler Receives rows from all shards
+     * @throws QueryExecutionException if a shard fails
+     */
+    protected void scatter(ShardQuery shardQuery, int[] shards, ShardRowHandler rowHandler)
+    {
+        if (shards.length == 1)
+        {
+            transport.execute(shards[0], shardQuery, rowHandler);
+            return;
+        }
+        List<Future<Void>> futureList = submit(shardQuery, shards, rowHandler, null);
+        try
+        {
+            await(futureList, shards);
+        }
+        finally
+        {   // Abandon shards still running after a failure
+            for (Future<Void> future: futureList)
+                future.cancel(true);
+        }
+    }
+
+    /**
+     * Start query on given shards
+     * @param shardQuery Query
+     * @param shards Indexes of shards to query
+     * @param rowHandler Receives rows from all shards
+     * @param cursors Cursors indexed by shard to finish when each shard completes or null if none
+     * @return List of Future objects in shard order
+     */
+    protected List<Future<Void>> submit(final ShardQuery shardQuery, int[] shards, final ShardRowHandler rowHandler, final ShardCursor[] cursors)
+    {
+        List<Future<Void>> futureList = new ArrayList<Future<Void>>(shards.length);
+        for (final int shardIndex: shards)
+            futureList.add(executorService.submit(new Callable<Void>()
+            {
+                @Override
+                public Void call() throws Exception
+                {
+                    try
+                    {
+                        transport.execute(shardIndex, shardQuery, rowHandler);
+                    }
+                    finally
+                    {
+                        if (cursors != null)
+                            cursors[shardIndex].finish();
+                    }
+                    return null;
+                }
+            }));
+        return futureList;
+    }
+
+    /**
+     * Wait for started shards to complete
+     * @param futureList Future of each shard
+     * @param shards Indexes of shards
+     * @throws QueryExecutionException if a shard fails or the wait is interrupted
+     */
+    protected void await(List<Future<Void>> futureList, int[] shards)
+    {
+        try
+        {
+            for (int i = 0; i < futureList.size(); ++i)
+            {
+                try
+                {
+                    futureList.get(i).get();
+                }
+                catch (ExecutionException e)
+                {
+                    Throwable cause = e.getCause();
+                    throw new QueryExecutionException("Shard " + shards[i] + " failed: " + cause.getMessage(), cause);
+                }
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new QueryExecutionException("Interrupted waiting for shards", e);
+        }
+    }
+
+    /**
+     * Merge the row streams of the shards in sort key order as the rows arrive. 
+     * Each shard returns its rows in sort key order, so the next row is always at the head of one of the streams.
+     * @param shardQuery Query
+     * @param shards Indexes of shards to query
+     * @param rowHandler Receives merged rows
+     * @throws QueryExecutionException if a shard fails
+     */
+    protected void mergeSorted(ShardQuery shardQuery, int[] shards, ShardRowHandler rowHandler)
+    {
+        final ShardCursor[] cursors = new ShardCursor[transport.getShardCount()];
+        for (int shardIndex: shards)
+            cursors[shardIndex] = new ShardCursor(shardIndex);
+        List<Future<Void>> futureList = submit(shardQuery, shards, new ShardRowHandler()
+        {
+            @Override
+            public boolean onRow(int shardIndex, Axiom row)
+            {
+                return cursors[shardIndex].put(row);
+            }
+        }, cursors);
+        try
+        {
+            merge(shardQuery, cursors, rowHandler);
+            await(futureList, shards);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new QueryExecutionException("Interrupted waiting for shards", e);
+        }
+        finally
+        {   // Stop shards still producing rows after the limit or a failure
+            for (ShardCursor cursor: cursors)
+                if (cursor != null)
+                    cursor.stop();
+            for (Future<Void> future: futureList)
+                future.cancel(true);
+        }
+    }
+
+    /**
+     * Pass rows to the handler in sort key order, taking the lowest row at the head of the shard streams each time
+     * @param shardQuery Query
+     * @param cursors Stream of each shard queried, indexed by shard
+     * @param rowHandler Receives merged rows
+     * @throws InterruptedException if interrupted waiting for a row
+     */
+    protected void merge(ShardQuery shardQuery, ShardCursor[] cursors, ShardRowHandler rowHandler) throws InterruptedException
+    {
+        final Comparator<Axiom> comparator = shardQuery.getListSorter().getAxiomComparator();
+        // Heap holds the next row of each shard. Ties go to the lower shard index.
+        PriorityQueue<ShardCursor> heap = new PriorityQueue<ShardCursor>(cursors.length + 1, new Comparator<ShardCursor>()
+        {
+            @Override
+            public int compare(ShardCursor left, ShardCursor right)
+            {
+                int result = comparator.compare(left.current, right.current);
+                return result != 0 ? result : left.shardIndex - right.shardIndex;
+            }
+        });
+        for (ShardCursor cursor: cursors)
+            if ((cursor != null) && cursor.advance())
+                heap.add(cursor);
+        int limit = shardQuery.getLimit();
+        int count = 0;
+        while (!heap.isEmpty() && ((limit <= 0) || (count < limit)))
+        {
+            ShardCursor cursor = heap.poll();
+            ++count;
+            if (!rowHandler.onRow(cursor.shardIndex, cursor.current))
+                break;
+            if (cursor.advance())
+                heap.add(cursor);
+        }
+    }
+
+    /**
+     * Returns single row combining partial results from all shards. 
+     * Aggregate terms are combined by their functions, other terms take the value of the first row.
+     * @param shardQuery Query
+     * @param shardRowList Rows of each shard
+     * @return Axiom object or null if there are no rows
+     */
+    protected Axiom combine(ShardQuery shardQuery, List<List<Axiom>> shardRowList)
+    {
+        List<Axiom> partialList = new ArrayList<Axiom>();
+        for (List<Axiom> rowList: shardRowList)
+            partialList.addAll(rowList);
+        if (partialList.isEmpty())
+            return null;
+        Axiom first = partialList.get(0);
+        Map<String, AggregateFunction> aggregateMap = shardQuery.getAggregateMap();
+        Axiom combined = new Axiom(first.getName());
+        for (int i = 0; i < first.getTermCount(); ++i)
+        {
+            Term term = first.getTermByIndex(i);
+            AggregateFunction function = aggregateMap.get(term.getName());
+            Object value = term.getValue();
+            if (function != null)
+            {
+                List<Object> valueList = new ArrayList<Object>(partialList.size());
+                for (Axiom partial: partialList)
+                {
+                    Term partialTerm = partial.getTermByName(term.getName());
+                    if (partialTerm != null)
+                        valueList.add(partialTerm.getValue());
+                }
+                value = new ListAggregator(function, term.getName()).aggregateValues(valueList);
+            }
+            combined.addTerm(new Parameter(term.getName(), value));
+        }
+        return combined;
+    }
+
+    /**
+     * StreamingHandler
+     * Passes rows on as they arrive from any shard, one at a time, until the limit is reached or the handler stops
+     */
+    static class StreamingHandler implements ShardRowHandler
+    {
+        ShardRowHandler rowHandler;
+        int limit;
+        int count;
+        boolean isStopped;
+
+        StreamingHandler(ShardRowHandler rowHandler, int limit)
+        {
+            this.rowHandler = rowHandler;
+            this.limit = limit;
+        }
+
+        @Override
+        public synchronized boolean onRow(int shardIndex, Axiom row)
+        {
+            if (isStopped)
+                return false;
+            ++count;
+            if (!rowHandler.onRow(shardIndex, row) || ((limit > 0) && (count >= limit)))
+                isStopped = true;
+            return !isStopped;
+        }
+    }
+
+    /**
+     * ShardCursor
+     * Stream of rows from one shard during a sorted merge. The shard adds rows without waiting, as a 
+     * transport may deliver rows of several queries on one thread. A shard returns no more than the limit of rows.
+     */
+    static class ShardCursor
+    {
+        /** Marks end of stream */
+        static final Axiom END = new Axiom("end");
+
+        int shardIndex;
+        BlockingQueue<Axiom> rowQueue;
+        volatile boolean isStopped;
+        Axiom current;
+
+        ShardCursor(int shardIndex)
+        {
+            this.shardIndex = shardIndex;
+            rowQueue = new LinkedBlockingQueue<Axiom>();
+        }
+
+        /**
+         * Add row produced by the shard
+         * @param row Axiom object
+         * @return Flag set false if the merge has stopped
+         */
+        boolean put(Axiom row)
+        {
+            if (isStopped)
+                return false;
+            rowQueue.add(row);
+            return true;
+        }
+
+        /**
+         * Mark end of stream when the shard completes
+         */
+        void finish()
+        {
+            rowQueue.add(END);
+        }
+
+        /**
+         * Wait for next row
+         * @return Flag set false if the stream has ended
+         * @throws InterruptedException if interrupted while waiting
+         */
+        boolean advance() throws InterruptedException
+        {
+            current = rowQueue.take();
+            if (current == END)
+            {
+                current = null;
+                return false;
+            }
+            return true;
+        }
+
+        /**
+         * Stop receiving rows and discard any not yet merged
+         */
+        void stop()
+        {
+            isStopped = true;
+            rowQueue.clear();
+        }
+    }
+}
@@ -0,0 +1,265 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.shard;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import au.com.cybersearch2.classy_logic.QueryParams;
+import au.com.cybersearch2.classy_logic.helper.NameParser;
+import au.com.cybersearch2.classy_logic.list.AggregateFunction;
+import au.com.cybersearch2.classy_logic.list.ListSorter;
+import au.com.cybersearch2.classy_logic.list.SortKey;
+import au.com.cybersearch2.classy_logic.pattern.Axiom;
+import au.com.cybersearch2.classy_logic.query.Solution;
+import au.com.cybersearch2.classy_logic.terms.Parameter;
+
+/**
+ * ShardQuery
+ * A query to run on every shard of a partitioned program and how to merge the shard results.
+ * Each shard returns the axiom of the result name from each of its solutions. Parameters are pushed 
+ * down to the shards as axioms in the initial solution, so shards filter before returning rows.
+ * A route key confines the query to the single shard which owns that partition key.
+ * Sort keys and limit are also pushed down, so each shard returns no more than the limit of rows, already in 
+ * sort key order. Results are merged in order of arrival, or by sort keys, or combined into one row when 
+ * aggregates are declared for partial results such as those of a calculator.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class ShardQuery
+{
+    /** Query name, optionally qualified with scope name */
+    protected String queryName;
+    /** Name of solution axiom to return */
+    protected String resultName;
+    /** Parameter values mapped by axiom name then term name */
+    protected Map<String, Map<String, Object>> parameterMap;
+    /** Partition key which selects a single shard or null to broadcast */
+    protected Object routeKey;
+    /** Keys by which shard results are ordered */
+    protected List<SortKey> sortKeyList;
+    /** Maximum number of merged rows or 0 for no limit */
+    protected int limit;
+    /** Functions to combine partial results mapped by term name */
+    protected Map<String, AggregateFunction> aggregateMap;
+    /** Locale for ordering strings by sort keys */
+    protected Locale locale;
+
+    /**
+     * Construct ShardQuery object
+     * @param queryName Query name, optionally qualified with scope name
+     * @param resultName Name of solution axiom which each shard returns as a row
+     */
+    public ShardQuery(String queryName, String resultName)
+    {
+        this.queryName = queryName;
+        this.resultName = resultName;
+        parameterMap = new LinkedHashMap<String, Map<String, Object>>();
+        sortKeyList = new ArrayList<SortKey>();
+        aggregateMap = new LinkedHashMap<String, AggregateFunction>();
+        locale = Locale.getDefault();
+    }
+
+    /**
+     * Returns query name
+     * @return String
+     */
+    public String getQueryName()
+    {
+        return queryName;
+    }
+
+    /**
+     * Returns scope part of query name
+     * @return String
+     */
+    public String getScopeName()
+    {
+        return NameParser.getScopePart(queryName);
+    }
+
+    /**
+     * Returns query name without scope part
+     * @return String
+     */
+    public String getQueryPart()
+    {
+        return NameParser.getNamePart(queryName);
+    }
+
+    /**
+     * Returns name of solution axiom returned as a row
+     * @return String
+     */
+    public String getResultName()
+    {
+        return resultName;
+    }
+
+    /**
+     * Add parameter to push down to the shards
+     * @param axiomName Name of axiom in the initial solution
+     * @param termName Term name
+     * @param value Term value
+     */
+    public void putParameter(String axiomName, String termName, Object value)
+    {
+        Map<String, Object> termMap = parameterMap.get(axiomName);
+        if (termMap == null)
+        {
+            termMap = new LinkedHashMap<String, Object>();
+            parameterMap.put(axiomName, termMap);
+        }
+        termMap.put(termName, value);
+    }
+
+    /**
+     * Returns parameters mapped by axiom name then term name
+     * @return Unmodifiable map
+     */
+    public Map<String, Map<String, Object>> getParameterMap()
+    {
+        return Collections.unmodifiableMap(parameterMap);
+    }
+
+    /**
+     * Put parameters in the initial solution of given query parameters
+     * @param queryParams Query parameters
+     */
+    public void applyParameters(QueryParams queryParams)
+    {
+        if (parameterMap.isEmpty())
+            return;
+        Solution initialSolution = queryParams.getInitialSolution();
+        for (Map.Entry<String, Map<String, Object>> entry: parameterMap.entrySet())
+        {
+            Axiom axiom = new Axiom(entry.getKey());
+            for (Map.Entry<String, Object> term: entry.getValue().entrySet())
+                axiom.addTerm(new Parameter(term.getKey(), term.getValue()));
+            initialSolution.put(entry.getKey(), axiom);
+        }
+    }
+
+    /**
+     * Returns partition key which selects a single shard
+     * @return Object or null if query is broadcast to all shards
+     */
+    public Object getRouteKey()
+    {
+        return routeKey;
+    }
+
+    /**
+     * Set partition key to confine the query to the shard which owns the key
+     * @param routeKey Partition term value or null to broadcast
+     */
+    public void setRouteKey(Object routeKey)
+    {
+        this.routeKey = routeKey;
+    }
+
+    /**
+     * Add key by which each shard orders its results before they are merged in the same order
+     * @param termName Result term name
+     * @param isDescending Flag set true for descending order
+     */
+    public void addSortKey(String termName, boolean isDescending)
+    {
+        sortKeyList.add(new SortKey(termName, isDescending));
+    }
+
+    /**
+     * Returns sort keys
+     * @return List of SortKey objects, empty if rows are merged in order of arrival
+     */
+    public List<SortKey> getSortKeyList()
+    {
+        return sortKeyList;
+    }
+
+    /**
+     * Returns maximum number of merged rows
+     * @return int or 0 if there is no limit
+     */
+    public int getLimit()
+    {
+        return limit;
+    }
+
+    /**
+     * Set maximum number of merged rows, which is also the maximum number of rows each shard returns
+     * @param limit Row limit or 0 for no limit
+     */
+    public void setLimit(int limit)
+    {
+        this.limit = limit;
+    }
+
+    /**
+     * Returns locale for ordering strings by sort keys
+     * @return Locale object
+     */
+    public Locale getLocale()
+    {
+        return locale;
+    }
+
+    /**
+     * Set locale for ordering strings by sort keys, on the shards and when merging
+     * @param locale Locale object
+     */
+    public void setLocale(Locale locale)
+    {
+        this.locale = locale;
+    }
+
+    /**
+     * Returns sorter which orders rows by the sort keys
+     * @return ListSorter object
+     */
+    public ListSorter getListSorter()
+    {
+        return new ListSorter(sortKeyList, locale);
+    }
+
+    /**
+     * Declare how a result term of partial results is combined into a single row.
+     * Partial counts are combined with SUM. AVG cannot be combined from partial averages, 
+     * so return the sum and count from the shards instead.
+     * @param termName Result term name
+     * @param function SUM, MIN or MAX
+     * @throws IllegalArgumentException if function is AVG or COUNT
+     */
+    public void putAggregate(String termName, AggregateFunction function)
+    {
+        if ((function == AggregateFunction.AVG) || (function == AggregateFunction.COUNT))
+            throw new IllegalArgumentException("Partial results cannot be combined with \"" + function.getFunctionName() + "\"");
+        aggregateMap.put(termName, function);
+    }
+
+    /**
+     * Returns functions to combine partial results mapped by term name
+     * @return Map, empty if rows are not combined
+     */
+    public Map<String, AggregateFunction> getAggregateMap()
+    {
+        return aggregateMap;
+    }
+}
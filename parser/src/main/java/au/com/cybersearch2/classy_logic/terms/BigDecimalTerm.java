@@ -26,6 +26,13 @@ import au.com.cybersearch2.classy_logic.interfaces.Term;
  */
 public class BigDecimalTerm extends GenericParameter<BigDecimal>
 {
+	/**
+	 * Construct empty BigDecimalTerm object to be filled by ObjectGraphCopier
+	 */
+	protected BigDecimalTerm()
+	{
+	}
+
     /**
      * Construct a BigDecimalTerm object
      * @param value String representation of {@code BigDecimal}
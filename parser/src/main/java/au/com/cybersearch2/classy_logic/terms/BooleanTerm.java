@@ -25,6 +25,13 @@ import au.com.cybersearch2.classy_logic.interfaces.Term;
 public class BooleanTerm extends GenericParameter<Boolean> 
 {
 
+	/**
+	 * Construct empty BooleanTerm object to be filled by ObjectGraphCopier
+	 */
+	protected BooleanTerm()
+	{
+	}
+
 	/**
 	 * Construct a BooleanTerm object
 	 * @param value
@@ -26,6 +26,13 @@ public class DoubleTerm extends GenericParameter<Double>
 {
 
 
+	/**
+	 * Construct empty DoubleTerm object to be filled by ObjectGraphCopier
+	 */
+	protected DoubleTerm()
+	{
+	}
+
 	/**
 	 * Construct an anonymous DoubleTerm object
 	 * @param value double
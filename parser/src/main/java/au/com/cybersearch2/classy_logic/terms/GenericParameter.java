@@ -27,6 +27,13 @@ import au.com.cybersearch2.classy_logic.helper.Null;
 public  class GenericParameter<T> extends Parameter  
 {
 
+	/**
+	 * Construct empty GenericParameter object to be filled by ObjectGraphCopier
+	 */
+	protected GenericParameter()
+	{
+	}
+
 	/**
 	 * Construct a non-empty named GenericParameter object
 	 * @param name String
@@ -53,8 +60,9 @@ public  class GenericParameter<T> extends Parameter
 	 */
 	public void setTypeValue(T value)
 	{
+		recordChange();
 		if (value == null)
-			this.value = new Null();
+			this.value = Null.NULL;
 		else
 			this.value = value;
 	    this.empty = false;
@@ -24,6 +24,13 @@ import au.com.cybersearch2.classy_logic.interfaces.Term;
  */
 public class IntegerTerm extends GenericParameter<Long> 
 {
+	/**
+	 * Construct empty IntegerTerm object to be filled by ObjectGraphCopier
+	 */
+	protected IntegerTerm()
+	{
+	}
+
 	/**
 	 * Construct an anonymous IntegerTerm object 
 	 * @param value int
@@ -36,6 +36,13 @@ public class NumberTerm extends GenericParameter<Number> implements LocaleListen
     /** The locale */
     protected Locale locale;
 
+    /**
+     * Construct empty NumberTerm object to be filled by ObjectGraphCopier
+     */
+    protected NumberTerm()
+    {
+    }
+
     /**
      * Construct an anonymous NumberTerm object 
      * @param formated Decimal number to parse 
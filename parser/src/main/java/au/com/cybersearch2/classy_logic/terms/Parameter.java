@@ -36,6 +36,17 @@ public class Parameter implements Term
 	protected boolean empty;
 	/** Identity - assigned when performing unification - see backup() for application */
 	protected int id;
+	/** Log to record state before change or null if state is not checkpointed */
+	protected UndoLog undoLog;
+	/** Epoch of undo log in which state was last recorded */
+	protected int undoEpoch;
+
+	/**
+	 * Construct empty Parameter object to be filled by ObjectGraphCopier
+	 */
+	protected Parameter()
+	{
+	}
 
 	/**
 	 * Construct a non-empty named Parameter object
@@ -125,6 +136,7 @@ public class Parameter implements Term
      */
     public void setId(int id)
     {
+        recordChange();
         this.id = id;
     }
     
@@ -199,10 +211,10 @@ public class Parameter implements Term
 			return false;
 		if (obj instanceof Parameter)
 		{
-			Parameter other =  (Parameter)obj;
-			if (other.value == null)
+			Object otherValue = ((Parameter)obj).getValue();
+			if (otherValue == null)
 				return false;
-			return value.equals(other.value);
+			return value.equals(otherValue);
 		}
 		return false;
 	}
@@ -216,6 +228,7 @@ public class Parameter implements Term
 	 */
 	public int unify(Term otherTerm, int id)
 	{
+		recordChange();
 		this.id = id;
 		setValue(otherTerm.getValue());
 		return this.id;
@@ -229,9 +242,10 @@ public class Parameter implements Term
 	public void setValue(Object value)
 	{
 		if (value == null)
-			value = new Null();
+			value = Null.NULL;
 		else
 		{
+			recordChange();
 			this.value = value;
 			this.empty = false;
 		}
@@ -242,9 +256,10 @@ public class Parameter implements Term
 	 */
 	public void clearValue()
 	{
+		recordChange();
 		empty = true;
 		// Set value to avoid NPE on accidental access despite empty flag being set true
-		value = new Null();
+		value = Null.NULL;
 		id = 0;
 	}
 	
@@ -266,10 +281,20 @@ public class Parameter implements Term
 	@Override
 	public void assign(Term term) 
 	{
+		recordChange();
 		setValue(term.getValue());
 		id = term.getId();
 	}
 
+	/**
+	 * Record current state in undo log, if attached, before it is changed
+	 */
+	protected void recordChange()
+	{
+		if (undoLog != null)
+			undoLog.record(this);
+	}
+
 	/**
 	 * @see java.lang.Object#hashCode()
 	 */
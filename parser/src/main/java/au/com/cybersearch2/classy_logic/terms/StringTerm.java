@@ -25,6 +25,13 @@ import au.com.cybersearch2.classy_logic.interfaces.Term;
 public class StringTerm extends GenericParameter<String> 
 {
 
+	/**
+	 * Construct empty StringTerm object to be filled by ObjectGraphCopier
+	 */
+	protected StringTerm()
+	{
+	}
+
 	/**
 	 * Construct an anonymous StringTerm object
 	 * @param value Text
@@ -39,6 +39,12 @@ public class TermStore implements Serializable
         name = term.getName();
         value = term.getValue();
     }
+
+    public TermStore(String name, Object value)
+    {
+        this.name = name;
+        this.value = value;
+    }
     
     public int getId()
     {
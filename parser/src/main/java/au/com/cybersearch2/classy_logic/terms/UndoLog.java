@@ -0,0 +1,155 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.terms;
+
+import java.util.Arrays;
+
+import au.com.cybersearch2.classy_logic.helper.Null;
+
+/**
+ * UndoLog
+ * Records the state of attached Parameters the first time each one changes after a checkpoint, 
+ * so a rollback restores only those Parameters which changed. Checkpoints may be nested, provided
+ * each is rolled back in reverse order. Each checkpoint starts a new epoch and a Parameter is 
+ * recorded at most once per epoch.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class UndoLog 
+{
+	/** Recorded Parameters */
+	protected Parameter[] terms;
+	/** Recorded values */
+	protected Object[] values;
+	/** Recorded ids */
+	protected int[] ids;
+	/** Recorded empty flags */
+	protected boolean[] empties;
+	/** Number of records */
+	protected int size;
+	/** Current epoch or 0 if no checkpoint is active */
+	protected int epoch;
+	/** Epoch number last issued */
+	protected int lastEpoch;
+	/** Epochs of enclosing checkpoints */
+	protected int[] epochStack;
+	/** Number of active checkpoints */
+	protected int depth;
+	/** Flag set true while rolling back, when changes are not recorded */
+	protected boolean isRestoring;
+
+	/**
+	 * Construct UndoLog object
+	 */
+	public UndoLog() 
+	{
+		terms = new Parameter[16];
+		values = new Object[16];
+		ids = new int[16];
+		empties = new boolean[16];
+		epochStack = new int[4];
+	}
+
+	/**
+	 * Attach Parameter to this log unless it is already attached to a log
+	 * @param term Parameter object
+	 */
+	public void attach(Parameter term)
+	{
+		if (term.undoLog == null)
+			term.undoLog = this;
+	}
+
+	/**
+	 * Start recording changes
+	 * @return Mark to pass to rollback()
+	 */
+	public int checkpoint()
+	{
+		if (depth == epochStack.length)
+			epochStack = Arrays.copyOf(epochStack, depth * 2);
+		epochStack[depth++] = epoch;
+		epoch = ++lastEpoch;
+		return size;
+	}
+
+	/**
+	 * Restore Parameters changed since the checkpoint which returned given mark
+	 * @param mark Value returned by checkpoint()
+	 */
+	public void rollback(int mark)
+	{
+		isRestoring = true;
+		try
+		{   // Restore in reverse order so the earliest record of a Parameter prevails
+			for (int i = size - 1; i >= mark; --i)
+			{
+				Parameter term = terms[i];
+				Object value = values[i];
+				if (empties[i] || (value instanceof Null))
+					term.clearValue();
+				else
+				{
+					Parameter param = new Parameter(term.getName(), value);
+					param.setId(ids[i]);
+					term.assign(param);
+				}
+				terms[i] = null;
+				values[i] = null;
+			}
+		}
+		finally
+		{
+			isRestoring = false;
+			size = mark;
+			epoch = epochStack[--depth];
+		}
+	}
+
+	/**
+	 * Returns number of Parameters recorded since checkpoint which returned given mark
+	 * @param mark Value returned by checkpoint()
+	 * @return int
+	 */
+	public int getChangeCount(int mark)
+	{
+		return size - mark;
+	}
+
+	/**
+	 * Record state of given Parameter, unless already recorded in the current epoch
+	 * @param term Parameter about to change
+	 */
+	protected void record(Parameter term)
+	{
+		if ((epoch == 0) || (term.undoEpoch == epoch) || isRestoring)
+			return;
+		term.undoEpoch = epoch;
+		if (size == terms.length)
+		{
+			int capacity = size * 2;
+			terms = Arrays.copyOf(terms, capacity);
+			values = Arrays.copyOf(values, capacity);
+			ids = Arrays.copyOf(ids, capacity);
+			empties = Arrays.copyOf(empties, capacity);
+		}
+		terms[size] = term;
+		values[size] = term.value;
+		ids[size] = term.id;
+		empties[size] = term.empty;
+		++size;
+	}
+}
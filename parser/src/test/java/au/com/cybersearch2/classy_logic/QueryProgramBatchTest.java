@@ -0,0 +1,161 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.failBecauseExceptionWasNotThrown;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+
+import au.com.cybersearch2.classy_logic.helper.QualifiedName;
+import au.com.cybersearch2.classy_logic.interfaces.IndexedSolutionHandler;
+import au.com.cybersearch2.classy_logic.pattern.Axiom;
+import au.com.cybersearch2.classy_logic.query.QueryExecutionException;
+import au.com.cybersearch2.classy_logic.query.Solution;
+import au.com.cybersearch2.classy_logic.terms.Parameter;
+
+/**
+ * QueryProgramBatchTest
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class QueryProgramBatchTest
+{
+    static final String CITY_THRESHOLD = 
+        "axiom city (name, altitude)\n" +
+        "    {\"bilene\", 1718}\n" +
+        "    {\"addis ababa\", 8000}\n" +
+        "    {\"denver\", 5280}\n" +
+        "    {\"flagstaff\", 6970}\n" +
+        "    {\"jacksonville\", 8}\n" +
+        "    {\"leadville\", 10200}\n" +
+        "    {\"madrid\", 1305}\n" +
+        "    {\"richmond\",19}\n" +
+        "    {\"spokane\", 1909}\n" +
+        "    {\"wichita\", 1305};\n" +
+        "axiom threshold (height) : parameter;\n" +
+        "template limit(height);\n" +
+        "template above(name, altitude ? altitude > limit.height);\n" +
+        "list above_list(above);\n" +
+        "query above_threshold (threshold : limit, city : above);\n";
+
+    static final long[] HEIGHTS = { 0, 5000, 7000, 9000, 20000 };
+    static final int[] COUNTS = { 10, 4, 2, 1, 0 };
+
+    /**
+     * CountingHandler
+     * Counts solutions of each parameter set
+     */
+    static class CountingHandler implements IndexedSolutionHandler
+    {
+        int[] counts;
+
+        CountingHandler(int size)
+        {
+            counts = new int[size];
+        }
+
+        @Override
+        public boolean onSolution(int index, Solution solution)
+        {
+            ++counts[index];
+            return true;
+        }
+    }
+
+    @Test
+    public void test_execute_batch()
+    {
+        QueryProgram queryProgram = new QueryProgram(CITY_THRESHOLD);
+        List<Axiom> parameterList = thresholds(HEIGHTS.length);
+        CountingHandler handler = new CountingHandler(parameterList.size());
+        List<Result> resultList = queryProgram.executeBatch(QueryProgram.GLOBAL_SCOPE, "above_threshold", parameterList, handler);
+        assertThat(handler.counts).isEqualTo(COUNTS);
+        assertThat(resultList).hasSize(HEIGHTS.length);
+        // Each result holds the list of its own parameter set
+        for (int i = 0; i < HEIGHTS.length; ++i)
+            assertThat(count(resultList.get(i))).isEqualTo(COUNTS[i]);
+        // Scope is reset after the batch
+        CountingHandler single = new CountingHandler(1);
+        queryProgram.executeBatch(QueryProgram.GLOBAL_SCOPE, "above_threshold", thresholds(2).subList(1, 2), single);
+        assertThat(single.counts[0]).isEqualTo(4);
+    }
+
+    @Test
+    public void test_execute_batch_parallel()
+    {
+        QueryProgram queryProgram = new QueryProgram(CITY_THRESHOLD);
+        List<Axiom> parameterList = thresholds(200);
+        CountingHandler handler = new CountingHandler(parameterList.size());
+        List<Result> resultList = queryProgram.executeBatch(QueryProgram.GLOBAL_SCOPE, "above_threshold", parameterList, handler, 4);
+        for (int i = 0; i < parameterList.size(); ++i)
+        {
+            assertThat(handler.counts[i]).isEqualTo(COUNTS[i % COUNTS.length]);
+            assertThat(count(resultList.get(i))).isEqualTo(COUNTS[i % COUNTS.length]);
+        }
+        // Copies are kept for the next batch, with the program itself taking a share
+        QueryProgramPool pool = queryProgram.batchPool;
+        assertThat(pool.getSize()).isEqualTo(3);
+        handler = new CountingHandler(parameterList.size());
+        resultList = queryProgram.executeBatch(QueryProgram.GLOBAL_SCOPE, "above_threshold", parameterList, handler, 3);
+        assertThat(queryProgram.batchPool).isSameAs(pool);
+        assertThat(pool.getSize()).isEqualTo(3);
+        for (int i = 0; i < parameterList.size(); ++i)
+            assertThat(handler.counts[i]).isEqualTo(COUNTS[i % COUNTS.length]);
+        assertThat(queryProgram.copy().batchPool).isNull();
+    }
+
+    @Test
+    public void test_execute_batch_failure()
+    {
+        QueryProgram queryProgram = new QueryProgram(CITY_THRESHOLD);
+        List<Axiom> parameterList = thresholds(3);
+        parameterList.set(1, new Axiom("threshold", new Parameter("depth", Long.valueOf(5))));
+        try
+        {
+            queryProgram.executeBatch(QueryProgram.GLOBAL_SCOPE, "above_threshold", parameterList, new CountingHandler(3));
+            failBecauseExceptionWasNotThrown(QueryExecutionException.class);
+        }
+        catch (QueryExecutionException e)
+        {
+            assertThat(e.getMessage()).startsWith("Parameter set 1 failed: ");
+        }
+    }
+
+    static List<Axiom> thresholds(int size)
+    {
+        List<Axiom> parameterList = new ArrayList<Axiom>();
+        for (int i = 0; i < size; ++i)
+            parameterList.add(new Axiom("threshold", new Parameter("height", Long.valueOf(HEIGHTS[i % HEIGHTS.length]))));
+        return parameterList;
+    }
+
+    static int count(Result result)
+    {
+        int count = 0;
+        Iterator<Axiom> iterator = result.getIterator(QualifiedName.parseGlobalName("above_list"));
+        while (iterator.hasNext())
+        {
+            iterator.next();
+            ++count;
+        }
+        return count;
+    }
+}
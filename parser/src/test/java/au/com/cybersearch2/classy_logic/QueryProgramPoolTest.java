@@ -0,0 +1,171 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.failBecauseExceptionWasNotThrown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import au.com.cybersearch2.classy_logic.helper.Null;
+import au.com.cybersearch2.classy_logic.helper.ObjectGraphCopier;
+import au.com.cybersearch2.classy_logic.interfaces.SolutionHandler;
+import au.com.cybersearch2.classy_logic.query.Solution;
+
+/**
+ * QueryProgramPoolTest
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class QueryProgramPoolTest
+{
+    static final String GRADES_REPORT =
+        "axiom grades (student, english, math, history)\n" +
+        " {\"Amy\", 14, 16, 6}\n" +
+        " {\"George\", 15, 13, 16}\n" +
+        " {\"Sarah\", 12, 17, 15};\n" +
+        "axiom alpha_marks()\n" +
+        " {\"\", \"f-\", \"f\", \"f+\", \"e-\", \"e\", \"e+\", \"d-\", \"d\", \"d+\",\n" +
+        "  \"c-\", \"c\", \"c+\", \"b-\", \"b\", \"b+\", \"a-\", \"a\", \"a+\"};\n" +
+        "list<term> mark(alpha_marks);\n" +
+        "scope school\n" +
+        "{\n" +
+        "  calc total_score(\n" +
+        "    integer english,\n" +
+        "    integer math,\n" +
+        "    integer history,\n" +
+        "    string label =\"Total score\",\n" +
+        "    integer value = english+math+history\n" +
+        "  );\n" +
+        "}\n"  +
+        "calc score(\n" +
+        "    template total(label, value) << school.total_score(english,math,history),\n" +
+        "    string total_text = student + \" \" + mark[(english)] + \" \" + total[label] + \": \" + total[value]\n" +
+        ");\n" +
+        "query marks(grades : score);";
+
+    static final String[] REPORT =
+    {
+        "Amy b Total score: 36",
+        "George b+ Total score: 44",
+        "Sarah c+ Total score: 44"
+    };
+
+    @Test
+    public void test_copy()
+    {
+        QueryProgram master = new QueryProgram(GRADES_REPORT);
+        QueryProgram copy = master.copy();
+        assertThat(copy).isNotSameAs(master);
+        assertThat(copy.getScope("school")).isNotSameAs(master.getScope("school"));
+        assertThat(copy.getScope("school").getParserAssembler()).isNotSameAs(master.getScope("school").getParserAssembler());
+        assertThat(copy.getGlobalScope().getParserAssembler().getOperandMap()).isNotSameAs(master.getGlobalScope().getParserAssembler().getOperandMap());
+        assertThat(runReport(copy)).containsExactly(REPORT);
+        // Master is unaffected by running the copy and produces the same results
+        assertThat(runReport(master)).containsExactly(REPORT);
+        assertThat(runReport(master.copy())).containsExactly(REPORT);
+        assertThat(runReport(copy)).containsExactly(REPORT);
+        // Placeholder singletons keep their identity
+        List<Object> list = new ArrayList<Object>();
+        list.add(Null.NULL);
+        List<Object> listCopy = new ObjectGraphCopier().copy(list);
+        assertThat(listCopy).isNotSameAs(list);
+        assertThat(listCopy.get(0)).isSameAs(Null.NULL);
+    }
+
+    @Test
+    public void test_checkout_checkin() throws Exception
+    {
+        QueryProgramPool pool = new QueryProgramPool(GRADES_REPORT, 2);
+        pool.warmUp(1);
+        assertThat(pool.getSize()).isEqualTo(1);
+        assertThat(pool.getIdleCount()).isEqualTo(1);
+        QueryProgram program1 = pool.checkout();
+        assertThat(program1).isNotSameAs(pool.getMaster());
+        assertThat(pool.getIdleCount()).isEqualTo(0);
+        QueryProgram program2 = pool.checkout(1, TimeUnit.SECONDS);
+        assertThat(program2).isNotNull().isNotSameAs(program1);
+        assertThat(pool.getSize()).isEqualTo(2);
+        // Pool exhausted
+        assertThat(pool.checkout(50, TimeUnit.MILLISECONDS)).isNull();
+        pool.checkin(program1);
+        assertThat(pool.checkout(50, TimeUnit.MILLISECONDS)).isSameAs(program1);
+        try
+        {
+            pool.checkin(pool.getMaster());
+            failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertThat(e.getMessage()).isEqualTo("Query program does not belong to this pool");
+        }
+        pool.warmUp(5);
+        assertThat(pool.getSize()).isEqualTo(2);
+    }
+
+    @Test
+    public void test_concurrent_queries() throws Exception
+    {
+        final QueryProgramPool pool = new QueryProgramPool(GRADES_REPORT, 3);
+        pool.warmUp(3);
+        ExecutorService executorService = Executors.newFixedThreadPool(6);
+        List<Future<Boolean>> futureList = new ArrayList<Future<Boolean>>();
+        for (int i = 0; i < 60; ++i)
+            futureList.add(executorService.submit(new Callable<Boolean>()
+            {
+                @Override
+                public Boolean call() throws Exception
+                {
+                    QueryProgram program = pool.checkout();
+                    try
+                    {
+                        assertThat(runReport(program)).containsExactly(REPORT);
+                    }
+                    finally
+                    {
+                        pool.checkin(program);
+                    }
+                    return Boolean.TRUE;
+                }
+            }));
+        for (Future<Boolean> future: futureList)
+            assertThat(future.get(30, TimeUnit.SECONDS)).isTrue();
+        executorService.shutdown();
+        assertThat(pool.getSize()).isEqualTo(3);
+        assertThat(pool.getIdleCount()).isEqualTo(3);
+    }
+
+    static List<String> runReport(QueryProgram queryProgram)
+    {
+        final List<String> reportList = new ArrayList<String>();
+        queryProgram.executeQuery("marks", new SolutionHandler(){
+            @Override
+            public boolean onSolution(Solution solution)
+            {
+                reportList.add(solution.getString("score", "total_text"));
+                return true;
+            }});
+        return reportList;
+    }
+}
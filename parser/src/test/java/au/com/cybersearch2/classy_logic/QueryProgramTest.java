@@ -19,8 +19,15 @@ import static org.fest.assertions.api.Assertions.assertThat;
 import static org.fest.assertions.api.Assertions.failBecauseExceptionWasNotThrown;
 import static org.mockito.Mockito.*;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -35,6 +42,7 @@ import au.com.cybersearch2.classy_logic.interfaces.SolutionHandler;
 import au.com.cybersearch2.classy_logic.interfaces.Term;
 import au.com.cybersearch2.classy_logic.pattern.KeyName;
 import au.com.cybersearch2.classy_logic.pattern.Template;
+import au.com.cybersearch2.classy_logic.query.QueryExecutionException;
 import au.com.cybersearch2.classy_logic.query.QuerySpec;
 import au.com.cybersearch2.classy_logic.query.QueryType;
 import au.com.cybersearch2.classy_logic.query.Solution;
@@ -59,6 +67,10 @@ public class QueryProgramTest
 	private static final String SCOPE_NAME = "ScopeName";
 	private static final String QUERY_SPEC_NAME = "QuerySpec";
 	private static final String VARIABLE_NAME = "VariableName";
+	private static final String CITY_ALTITUDES = 
+		"axiom city (name, altitude) {\"bilene\", 1718} {\"addis ababa\", 8000} {\"denver\", 5280};\n" +
+		"template high_city(name, altitude ? altitude > 5000);\n" +
+		"query high_cities (city : high_city);";
     protected QualifiedName Q_VARIABLE_NAME = new QualifiedName(SCOPE_NAME, VARIABLE_NAME);
 
 	@Before
@@ -327,4 +339,130 @@ public class QueryProgramTest
 		}
 	}
 
+	@Test
+	public void test_execute_query_async() throws Exception
+	{
+		QueryProgram queryProgram = new QueryProgram(CITY_ALTITUDES);
+		final List<String> cityList = new ArrayList<String>();
+		SolutionHandler solutionHandler = new SolutionHandler()
+		{
+			@Override
+			public boolean onSolution(Solution solution) 
+			{
+				cityList.add(solution.getString("high_city", "name"));
+				return true;
+			}
+		};
+		Future<Result> future = queryProgram.executeQueryAsync(QueryProgram.GLOBAL_SCOPE, "high_cities", solutionHandler);
+		assertThat(future.get(10, TimeUnit.SECONDS)).isNotNull();
+		assertThat(cityList).containsExactly("addis ababa", "denver");
+		// Deadline already passed
+		future = queryProgram.executeQueryAsync(QueryProgram.GLOBAL_SCOPE, "high_cities", solutionHandler, 0, TimeUnit.SECONDS);
+		try
+		{
+			future.get(10, TimeUnit.SECONDS);
+			failBecauseExceptionWasNotThrown(ExecutionException.class);
+		}
+		catch (ExecutionException e)
+		{
+			assertThat(e.getCause()).isInstanceOf(QueryExecutionException.class);
+			assertThat(e.getCause().getMessage()).isEqualTo("Query deadline exceeded");
+		}
+		assertThat(cityList).hasSize(2);
+	}
+
+	@Test
+	public void test_execute_query_async_cancel() throws Exception
+	{
+		QueryProgram queryProgram = new QueryProgram(CITY_ALTITUDES);
+		final List<String> cityList = new ArrayList<String>();
+		final List<Future<Result>> futureList = new ArrayList<Future<Result>>();
+		final CountDownLatch startSignal = new CountDownLatch(1);
+		SolutionHandler solutionHandler = new SolutionHandler()
+		{
+			@Override
+			public boolean onSolution(Solution solution) 
+			{
+				try
+				{
+					startSignal.await();
+				}
+				catch (InterruptedException e)
+				{
+				}
+				cityList.add(solution.getString("high_city", "name"));
+				// Cancel without interrupting so the query must observe the cancellation itself
+				futureList.get(0).cancel(false);
+				return true;
+			}
+		};
+		futureList.add(queryProgram.executeQueryAsync(QueryProgram.GLOBAL_SCOPE, "high_cities", solutionHandler));
+		startSignal.countDown();
+		try
+		{
+			futureList.get(0).get(10, TimeUnit.SECONDS);
+			failBecauseExceptionWasNotThrown(CancellationException.class);
+		}
+		catch (CancellationException e)
+		{
+		}
+		// Wait for the aborted query to release the program
+		QueryParams queryParams = queryProgram.getQueryParams(QueryProgram.GLOBAL_SCOPE, "high_cities");
+		queryProgram.executeQuery(queryParams);
+		assertThat(cityList).containsExactly("addis ababa");
+	}
+
+	@Test
+	public void test_execute_query_async_queued_cancel() throws Exception
+	{
+		QueryProgram queryProgram = new QueryProgram(CITY_ALTITUDES);
+		final CountDownLatch startSignal = new CountDownLatch(1);
+		final CountDownLatch releaseSignal = new CountDownLatch(1);
+		final List<String> cityList = new ArrayList<String>();
+		SolutionHandler blockingHandler = new SolutionHandler()
+		{
+			@Override
+			public boolean onSolution(Solution solution) 
+			{
+				startSignal.countDown();
+				try
+				{
+					releaseSignal.await();
+				}
+				catch (InterruptedException e)
+				{
+				}
+				cityList.add(solution.getString("high_city", "name"));
+				return true;
+			}
+		};
+		final List<String> queuedCityList = new ArrayList<String>();
+		SolutionHandler queuedHandler = new SolutionHandler()
+		{
+			@Override
+			public boolean onSolution(Solution solution) 
+			{
+				queuedCityList.add(solution.getString("high_city", "name"));
+				return true;
+			}
+		};
+		Future<Result> future = queryProgram.executeQueryAsync(QueryProgram.GLOBAL_SCOPE, "high_cities", blockingHandler);
+		assertThat(startSignal.await(10, TimeUnit.SECONDS)).isTrue();
+		// Second query waits for the first to release the program
+		Future<Result> queuedFuture = queryProgram.executeQueryAsync(QueryProgram.GLOBAL_SCOPE, "high_cities", queuedHandler);
+		long deadline = System.currentTimeMillis() + 10000;
+		while (!queryProgram.queryLock.hasQueuedThreads() && (System.currentTimeMillis() < deadline))
+			Thread.sleep(10);
+		assertThat(queryProgram.queryLock.hasQueuedThreads()).isTrue();
+		assertThat(queuedFuture.cancel(true)).isTrue();
+		// Cancelled query stops waiting while the first query still holds the program
+		while (queryProgram.queryLock.hasQueuedThreads() && (System.currentTimeMillis() < deadline))
+			Thread.sleep(10);
+		assertThat(queryProgram.queryLock.hasQueuedThreads()).isFalse();
+		releaseSignal.countDown();
+		assertThat(future.get(10, TimeUnit.SECONDS)).isNotNull();
+		assertThat(cityList).containsExactly("addis ababa", "denver");
+		assertThat(queuedCityList).isEmpty();
+	}
+
 }
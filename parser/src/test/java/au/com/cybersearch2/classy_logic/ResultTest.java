@@ -0,0 +1,109 @@
+/**
+    Copyright (C) 2015  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import au.com.cybersearch2.classy_logic.helper.QualifiedName;
+import au.com.cybersearch2.classy_logic.pattern.Axiom;
+
+/**
+ * ResultTest
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class ResultTest 
+{
+	@Test
+	public void test_item_list_packed_on_demand()
+	{
+		QualifiedName qname = QualifiedName.parseName("colors");
+		List<String> items = new ArrayList<String>();
+		items.add("red");
+		items.add("green");
+		Map<QualifiedName, Iterable<?>> itemListMap = new HashMap<QualifiedName, Iterable<?>>();
+		itemListMap.put(qname, items);
+		Result result = new Result(null, new HashMap<QualifiedName, Axiom>(), itemListMap);
+		assertThat(result.getIterator(qname).hasNext()).isFalse();
+		Axiom axiom = result.getAxiom(qname);
+		assertThat(axiom.getName()).isEqualTo("colors");
+		assertThat(axiom.getTermCount()).isEqualTo(2);
+		assertThat(axiom.getTermByIndex(1).getValue()).isEqualTo("green");
+		assertThat(result.getAxiom(qname)).isSameAs(axiom);
+		assertThat(result.getAxiom(QualifiedName.parseName("shapes"))).isNull();
+	}
+
+	@Test
+	public void test_item_lists_packed_by_concurrent_callers() throws Exception
+	{
+		final int listCount = 20;
+		Map<QualifiedName, Iterable<?>> itemListMap = new HashMap<QualifiedName, Iterable<?>>();
+		for (int i = 0; i < listCount; ++i)
+		{
+			List<Long> items = new ArrayList<Long>();
+			for (long j = 0; j <= i; ++j)
+				items.add(Long.valueOf(j));
+			itemListMap.put(QualifiedName.parseName("list" + i), items);
+		}
+		final Result result = new Result(null, new HashMap<QualifiedName, Axiom>(), itemListMap);
+		final CountDownLatch startSignal = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try
+		{
+			List<Future<Axiom[]>> futureList = new ArrayList<Future<Axiom[]>>();
+			for (int t = 0; t < 8; ++t)
+				futureList.add(executor.submit(new Callable<Axiom[]>()
+				{
+					@Override
+					public Axiom[] call() throws Exception 
+					{
+						startSignal.await();
+						Axiom[] axioms = new Axiom[listCount];
+						for (int i = 0; i < listCount; ++i)
+							axioms[i] = result.getAxiom(QualifiedName.parseName("list" + i));
+						return axioms;
+					}
+				}));
+			startSignal.countDown();
+			Axiom[] first = futureList.get(0).get();
+			for (int i = 0; i < listCount; ++i)
+				assertThat(first[i].getTermCount()).isEqualTo(i + 1);
+			// Every caller gets the one axiom packed from each list
+			for (Future<Axiom[]> future: futureList)
+			{
+				Axiom[] axioms = future.get();
+				for (int i = 0; i < listCount; ++i)
+					assertThat(axioms[i]).isSameAs(first[i]);
+			}
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+	}
+}
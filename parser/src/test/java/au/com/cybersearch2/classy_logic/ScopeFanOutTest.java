@@ -0,0 +1,195 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.failBecauseExceptionWasNotThrown;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import au.com.cybersearch2.classy_logic.expression.ExpressionException;
+import au.com.cybersearch2.classy_logic.interfaces.ScopeSolutionHandler;
+import au.com.cybersearch2.classy_logic.interfaces.SolutionHandler;
+import au.com.cybersearch2.classy_logic.pattern.Axiom;
+import au.com.cybersearch2.classy_logic.query.Solution;
+import au.com.cybersearch2.classy_logic.terms.Parameter;
+
+/**
+ * ScopeFanOutTest
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class ScopeFanOutTest
+{
+    static final String FOREIGN_COLORS =
+        "axiom lexicon (aqua, black, blue, white);\n" +
+        "axiom german.lexicon (aqua, black, blue, white)\n" +
+        "  {\"Wasser\", \"schwarz\", \"blau\", \"weiß\"};\n" +
+        "axiom french.lexicon (aqua, black, blue, white)\n" +
+        "  {\"bleu vert\", \"noir\", \"bleu\", \"blanc\"};\n" +
+        "axiom italian.lexicon (aqua, black, blue, white)\n" +
+        "  {\"acqua\", \"nero\", \"blu\", \"bianco\"};\n" +
+        "local colors(lexicon);" +
+        "choice swatch (name, red, green, blue)\n" +
+        "{colors[aqua], 0, 255, 255}\n" +
+        "{colors[black], 0, 0, 0}\n" +
+        "{colors[blue], 0, 0, 255}\n" +
+        "{colors[white], 255, 255, 255};\n" +
+        "axiom shade (name) : parameter;\n" +
+        "query color_query [german, french];\n" +
+        "scope french (language=\"fr\", region=\"FR\")\n" +
+        "{\n" +
+        "  query color_query (shade : swatch);\n" +
+        "  calc format_summary(string summary = \"language = \" + scope[language] + \", region = \" + scope[region]);\n" +
+        "  query properties_query(format_summary);\n" +
+        "}\n" +
+        "scope german (language=\"de\", region=\"DE\")\n" +
+        "{\n" +
+        "  query color_query (shade : swatch);\n" +
+        "  calc format_summary(string summary = \"language = \" + scope[language] + \", region = \" + scope[region]);\n" +
+        "  query properties_query(format_summary);\n" +
+        "}\n" +
+        "scope italian (language=\"it\", region=\"IT\")\n" +
+        "{\n" +
+        "  query color_query (shade : swatch);\n" +
+        "  calc format_summary(string summary = \"language = \" + scope[language] + \", region = \" + scope[region]);\n" +
+        "  query properties_query(format_summary);\n" +
+        "}\n";
+
+    @Test
+    public void test_all_scopes()
+    {
+        ScopeFanOut scopeFanOut = new ScopeFanOut(new QueryProgram(FOREIGN_COLORS), 3);
+        assertThat(scopeFanOut.getScopeNames("properties_query")).containsExactly("french", "german", "italian");
+        final Map<String, String> summaryMap = new HashMap<String, String>();
+        Map<String, Result> resultMap = scopeFanOut.execute("properties_query", new ScopeSolutionHandler()
+        {
+            @Override
+            public boolean onSolution(String scopeName, Solution solution)
+            {
+                summaryMap.put(scopeName, solution.getString(scopeName + ".format_summary", "summary"));
+                return true;
+            }
+        });
+        assertThat(resultMap.keySet()).containsExactly("french", "german", "italian");
+        assertThat(summaryMap.get("french")).isEqualTo("language = fr, region = FR");
+        assertThat(summaryMap.get("german")).isEqualTo("language = de, region = DE");
+        assertThat(summaryMap.get("italian")).isEqualTo("language = it, region = IT");
+    }
+
+    @Test
+    public void test_declared_scopes_with_parameter()
+    {
+        QueryProgram queryProgram = new QueryProgram(FOREIGN_COLORS);
+        ScopeFanOut scopeFanOut = new ScopeFanOut(queryProgram, 2);
+        assertThat(scopeFanOut.getScopeNames("color_query")).containsExactly("german", "french");
+        final List<String> swatchList = new ArrayList<String>();
+        ScopeSolutionHandler solutionHandler = new ScopeSolutionHandler()
+        {
+            @Override
+            public boolean onSolution(String scopeName, Solution solution)
+            {
+                swatchList.add(scopeName + ": " + solution.getAxiom("swatch").toString());
+                return true;
+            }
+        };
+        List<Axiom> parameterList = Collections.singletonList(new Axiom("shade", new Parameter("name", "blau")));
+        // Each run gives the same solutions as running the scopes one after the other on the master program
+        List<String> expectedList = new ArrayList<String>();
+        for (String scopeName: scopeFanOut.getScopeNames("color_query"))
+        {
+            QueryParams queryParams = queryProgram.getQueryParams(scopeName, "color_query");
+            queryParams.getInitialSolution().put("shade", parameterList.get(0).copy());
+            queryParams.setSolutionHandler(new SolutionHandler()
+            {
+                @Override
+                public boolean onSolution(Solution solution)
+                {
+                    swatchList.add(solution.getAxiom("swatch").toString());
+                    return true;
+                }
+            });
+            swatchList.clear();
+            queryProgram.executeQuery(queryParams);
+            expectedList.add(scopeName + ": " + swatchList.get(0));
+        }
+        assertThat(expectedList.get(0)).isEqualTo("german: swatch(name = blau, red = 0, green = 0, blue = 255)");
+        for (int i = 0; i < 3; ++i)
+        {
+            swatchList.clear();
+            scopeFanOut.execute("color_query", scopeFanOut.getScopeNames("color_query"), parameterList, solutionHandler);
+            assertThat(swatchList).hasSize(expectedList.size());
+            assertThat(swatchList).containsAll(expectedList);
+        }
+    }
+
+    @Test
+    public void test_unknown_scope()
+    {
+        ScopeFanOut scopeFanOut = new ScopeFanOut(new QueryProgram(FOREIGN_COLORS), 2);
+        try
+        {
+            scopeFanOut.execute("properties_query", Arrays.asList("french", "spanish"), null);
+            failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertThat(e.getMessage()).isEqualTo("Scope \"spanish\" does not exist");
+        }
+    }
+
+    @Test
+    public void test_fan_out_scopes_checked_on_parse()
+    {
+        String script = FOREIGN_COLORS.replace("[german, french]", "[german, spanish]");
+        try
+        {
+            new QueryProgram(script);
+            failBecauseExceptionWasNotThrown(ExpressionException.class);
+        }
+        catch (ExpressionException e)
+        {
+            assertThat(e.getMessage()).isEqualTo("Fan-out query \"color_query\" scope \"spanish\" does not exist");
+        }
+        script = FOREIGN_COLORS + "query properties_query [german, global];\n";
+        try
+        {
+            new QueryProgram(script);
+            failBecauseExceptionWasNotThrown(ExpressionException.class);
+        }
+        catch (ExpressionException e)
+        {
+            assertThat(e.getMessage()).isEqualTo("Query \"properties_query\" does not exist in scope \"global\"");
+        }
+        script = FOREIGN_COLORS + "query summary_query [*];\n";
+        try
+        {
+            new QueryProgram(script);
+            failBecauseExceptionWasNotThrown(ExpressionException.class);
+        }
+        catch (ExpressionException e)
+        {
+            assertThat(e.getMessage()).isEqualTo("Fan-out query \"summary_query\" is not declared in any scope");
+        }
+    }
+}
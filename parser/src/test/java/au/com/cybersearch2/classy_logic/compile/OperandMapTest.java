@@ -22,6 +22,7 @@ import org.junit.Test;
 
 import au.com.cybersearch2.classy_logic.compile.OperandMap;
 import au.com.cybersearch2.classy_logic.expression.IntegerOperand;
+import au.com.cybersearch2.classy_logic.expression.Variable;
 import au.com.cybersearch2.classy_logic.helper.QualifiedName;
 import au.com.cybersearch2.classy_logic.interfaces.Operand;
 import au.com.cybersearch2.classy_logic.interfaces.ItemList;
@@ -29,6 +30,7 @@ import au.com.cybersearch2.classy_logic.list.AxiomList;
 import au.com.cybersearch2.classy_logic.list.AxiomListSpec;
 import au.com.cybersearch2.classy_logic.list.AxiomListVariable;
 import au.com.cybersearch2.classy_logic.list.ItemListVariable;
+import au.com.cybersearch2.classy_logic.terms.Parameter;
 
 
 /**
@@ -182,4 +184,36 @@ public class OperandMapTest
 		when(axiomList.newVariableInstance(eq(0), eq(0), isA(String.class))).thenReturn(axiomListVariable);
 		assertThat(operandMap.newListVariableInstance(axiomListSpec)).isEqualTo(axiomListVariable);
 	}
+
+	@Test
+	public void test_checkpoint_rollback()
+	{
+		OperandMap operandMap = new OperandMap(QualifiedName.ANONYMOUS);
+		IntegerOperand x = new IntegerOperand(QualifiedName.parseName("x"), Long.valueOf(3));
+		Variable y = new Variable(QualifiedName.parseName("y"));
+		operandMap.addOperand(x);
+		operandMap.addOperand(y);
+		for (int i = 0; i < 1000; ++i)
+			operandMap.addOperand(new Variable(QualifiedName.parseName("v" + i)));
+		int mark = operandMap.checkpoint();
+		x.setValue(Long.valueOf(4));
+		y.unify(new Parameter("y", "hello"), 7);
+		x.setValue(Long.valueOf(5));
+		assertThat(operandMap.undoLog.getChangeCount(mark)).isEqualTo(2);
+		// Nested checkpoint restores state at time it was taken
+		int nestedMark = operandMap.checkpoint();
+		x.setValue(Long.valueOf(6));
+		y.clearValue();
+		operandMap.rollback(nestedMark);
+		assertThat(x.getValue()).isEqualTo(Long.valueOf(5));
+		assertThat(y.getValue()).isEqualTo("hello");
+		assertThat(y.getId()).isEqualTo(7);
+		operandMap.rollback(mark);
+		assertThat(x.getValue()).isEqualTo(Long.valueOf(3));
+		assertThat(y.isEmpty()).isTrue();
+		assertThat(y.getId()).isEqualTo(0);
+		// Changes outside a checkpoint are not recorded
+		x.setValue(Long.valueOf(8));
+		assertThat(operandMap.undoLog.getChangeCount(0)).isEqualTo(0);
+	}
 }
@@ -16,7 +16,9 @@
 package au.com.cybersearch2.classy_logic.expression;
 
 import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.failBecauseExceptionWasNotThrown;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
@@ -27,6 +29,7 @@ import au.com.cybersearch2.classy_logic.FunctionManager;
 import au.com.cybersearch2.classy_logic.QueryProgram;
 import au.com.cybersearch2.classy_logic.Result;
 import au.com.cybersearch2.classy_logic.helper.QualifiedName;
+import au.com.cybersearch2.classy_logic.interfaces.BatchCallEvaluator;
 import au.com.cybersearch2.classy_logic.interfaces.CallEvaluator;
 import au.com.cybersearch2.classy_logic.interfaces.FunctionProvider;
 import au.com.cybersearch2.classy_logic.interfaces.SolutionHandler;
@@ -191,6 +194,65 @@ public class CallOperandTest
         
     }
 
+    static class MaxEvaluator implements BatchCallEvaluator<Long>
+    {
+        static int batchCount;
+        String name;
+
+        public MaxEvaluator(String name)
+        {
+            this.name = name;
+        }
+
+        @Override
+        public String getName()
+        {
+            return name;
+        }
+
+        @Override
+        public Long evaluate(List<Term> argumentList)
+        {
+            long max = Long.MIN_VALUE;
+            for (Term term: argumentList)
+                max = Math.max(max, ((Long)term.getValue()).longValue());
+            return Long.valueOf(max);
+        }
+
+        @Override
+        public List<Long> evaluateBatch(String[] argumentNames, Object[][] argumentColumns, int rowCount)
+        {
+            ++batchCount;
+            List<Long> resultList = new ArrayList<Long>(rowCount);
+            for (int row = 0; row < rowCount; ++row)
+            {
+                long max = Long.MIN_VALUE;
+                for (Object[] column: argumentColumns)
+                    max = Math.max(max, ((Long)column[row]).longValue());
+                resultList.add(Long.valueOf(max));
+            }
+            return resultList;
+        }
+    }
+
+    static class LimitsFunctionProvider implements FunctionProvider<Long>
+    {
+
+        @Override
+        public String getName()
+        {
+            return "limits";
+        }
+
+        @Override
+        public CallEvaluator<Long> getCallEvaluator(String identifier)
+        {
+            if (identifier.equals("max") || identifier.equals("top"))
+                return new MaxEvaluator(identifier);
+            throw new ExpressionException("Unknown function identifier: " + identifier);
+        }
+    }
+
     static final String TWO_ARG_CALC =
         " calc test (integer x = math.add(1,2));\n" +
         " query two_arg_query (test);";
@@ -361,6 +423,60 @@ public class CallOperandTest
             "));\n" +
             "query average_height (city : average);";
     
+    static final String CITY_AGGREGATE_CALC = CITY_EVELATIONS +
+            "list city_list(city);\n" +
+            "calc city_stats (\n" +
+            "  integer city_count = count(city_list),\n" +
+            "  integer total_height = sum(city_list.altitude),\n" +
+            "  integer min_height = min(city_list.altitude),\n" +
+            "  integer max_height = max(city_list.altitude),\n" +
+            "  double average_height = avg(city_list.altitude),\n" +
+            "  string highest = max(city_list.name),\n" +
+            "  altitude_groups = count(city_list, altitude)\n" +
+            ");\n" +
+            "query city_stats (city : city_stats);";
+    
+    static final String CITY_SORT_CALC = CITY_EVELATIONS +
+            "list city_list(city);\n" +
+            "calc city_rank (\n" +
+            "  highest = top(city_list, 3, altitude desc),\n" +
+            "  by_altitude = sort(city_list, altitude, name desc)\n" +
+            ");\n" +
+            "query city_rank (city : city_rank);";
+    
+    static final String CITY_KEYED_CALC = CITY_EVELATIONS +
+            "list city_list(city);\n" +
+            "calc city_lookup (\n" +
+            "  string city_name = \"flagstaff\",\n" +
+            "  denver_altitude = city_list[\"denver\"][altitude],\n" +
+            "  altitude = city_list[city_name][altitude],\n" +
+            "  wichita = city_list[\"wichita\"]\n" +
+            ");\n" +
+            "query city_lookup (city : city_lookup);";
+    
+    static final String LIMITS_CALC = 
+            "calc limits (\n" +
+            "  integer low = 3,\n" +
+            "  integer high = 7,\n" +
+            "  integer larger = max(low, high),\n" +
+            "  integer bounded = max(low, 5),\n" +
+            "  integer best = top(low, high, 9)\n" +
+            ");\n" +
+            "query limits (limits);";
+    
+    static final String GRADES_AGGREGATE_CALC = 
+            "axiom grades (student, english, math, history)\n" +
+            " {\"George\", 15, 13, 16}\n" +
+            " {\"Sarah\", 12, 17, 15}\n" +
+            " {\"Amy\", 14, 16, 6};\n" +
+            "list grade_list(grades);\n" +
+            "calc grade_stats (\n" +
+            "  integer all_marks = sum(math.add(grade_list.english, grade_list.math, grade_list.history)),\n" +
+            "  integer best_marks = sum(limits.max(grade_list.english, grade_list.math, grade_list.history)),\n" +
+            "  integer top_total = max(math.add(grade_list.english, grade_list.history))\n" +
+            ");\n" +
+            "query grade_stats (grade_stats);";
+    
     static final String CITY_AVERAGE_HEIGHT_CALC2 = CITY_EVELATIONS +
             "list city_list(city);\n" +
             "scope city\n" +
@@ -768,6 +884,130 @@ public class CallOperandTest
             }});
     }
 
+    @Test
+    public void test_list_operation_name_call()
+    {   // Calls to a function library named "limits" are not taken as list operations
+        queryProgram.parseScript(LIMITS_CALC);
+        queryProgram.executeQuery("limits", new SolutionHandler(){
+            @Override
+            public boolean onSolution(Solution solution)
+            {
+                assertThat(solution.getValue("limits", "larger")).isEqualTo(Long.valueOf(7));
+                assertThat(solution.getValue("limits", "bounded")).isEqualTo(Long.valueOf(5));
+                assertThat(solution.getValue("limits", "best")).isEqualTo(Long.valueOf(9));
+                return true;
+            }});
+    }
+
+    @Test
+    public void test_aggregate_of_function()
+    {
+        MaxEvaluator.batchCount = 0;
+        queryProgram.parseScript(GRADES_AGGREGATE_CALC);
+        queryProgram.executeQuery("grade_stats", new SolutionHandler(){
+            @Override
+            public boolean onSolution(Solution solution)
+            {
+                assertThat(solution.getValue("grade_stats", "all_marks")).isEqualTo(Long.valueOf(15+13+16+12+17+15+14+16+6));
+                assertThat(solution.getValue("grade_stats", "best_marks")).isEqualTo(Long.valueOf(16+17+16));
+                assertThat(solution.getValue("grade_stats", "top_total")).isEqualTo(Long.valueOf(31));
+                return true;
+            }});
+        // All list items passed to batch function in one call
+        assertThat(MaxEvaluator.batchCount).isEqualTo(1);
+    }
+
+    @Test
+    public void test_list_operation_name_reserved()
+    {   // A query named like a list operation would change how earlier calls of the same name are parsed
+        try
+        {
+            queryProgram.parseScript(
+                "axiom item (x) {1};\n" +
+                "scope other\n" +
+                "{\n" +
+                "  query count (item);\n" +
+                "}\n");
+            failBecauseExceptionWasNotThrown(ExpressionException.class);
+        }
+        catch (ExpressionException e)
+        {
+            assertThat(e.getMessage()).isEqualTo("Error compiling script: Query name \"count\" is reserved for a list function");
+        }
+        try
+        {
+            new QueryProgram("axiom item (x) {1};\nquery top (item);\n");
+            failBecauseExceptionWasNotThrown(ExpressionException.class);
+        }
+        catch (ExpressionException e)
+        {
+            assertThat(e.getMessage()).isEqualTo("Error compiling script: Query name \"top\" is reserved for a list function");
+        }
+    }
+
+    @Test
+    public void test_list_aggregates()
+    {
+        queryProgram.parseScript(CITY_AGGREGATE_CALC);
+        queryProgram.executeQuery("city_stats", new SolutionHandler(){
+            @Override
+            public boolean onSolution(Solution solution)
+            {
+                long totalHeight = 1718+8000+5280+6970+8+10200+1305+19+1909+1305;
+                assertThat(solution.getValue("city_stats", "city_count")).isEqualTo(Long.valueOf(10));
+                assertThat(solution.getValue("city_stats", "total_height")).isEqualTo(Long.valueOf(totalHeight));
+                assertThat(solution.getValue("city_stats", "min_height")).isEqualTo(Long.valueOf(8));
+                assertThat(solution.getValue("city_stats", "max_height")).isEqualTo(Long.valueOf(10200));
+                assertThat(solution.getValue("city_stats", "average_height")).isEqualTo(Double.valueOf(totalHeight / 10.0));
+                assertThat(solution.getValue("city_stats", "highest")).isEqualTo("wichita");
+                AxiomList altitudeGroups = (AxiomList)solution.getValue("city_stats", "altitude_groups");
+                // Only madrid and wichita share an altitude
+                assertThat(altitudeGroups.getLength()).isEqualTo(9);
+                Axiom madridGroup = altitudeGroups.getItem(6).getAxiom();
+                assertThat(madridGroup.getTermByName("altitude").getValue()).isEqualTo(Long.valueOf(1305));
+                assertThat(madridGroup.getTermByName("count").getValue()).isEqualTo(Long.valueOf(2));
+                return true;
+            }});
+    }
+
+    @Test
+    public void test_list_sort()
+    {
+        queryProgram.parseScript(CITY_SORT_CALC);
+        queryProgram.executeQuery("city_rank", new SolutionHandler(){
+            @Override
+            public boolean onSolution(Solution solution)
+            {
+                AxiomList highest = (AxiomList)solution.getValue("city_rank", "highest");
+                assertThat(highest.getLength()).isEqualTo(3);
+                assertThat(highest.getItem(0).getAxiom().getTermByName("name").getValue()).isEqualTo("leadville");
+                assertThat(highest.getItem(1).getAxiom().getTermByName("name").getValue()).isEqualTo("addis ababa");
+                assertThat(highest.getItem(2).getAxiom().getTermByName("name").getValue()).isEqualTo("flagstaff");
+                AxiomList byAltitude = (AxiomList)solution.getValue("city_rank", "by_altitude");
+                String[] expected = { "jacksonville", "richmond", "wichita", "madrid", "bilene", "spokane", "denver", "flagstaff", "addis ababa", "leadville" };
+                assertThat(byAltitude.getLength()).isEqualTo(expected.length);
+                for (int i = 0; i < expected.length; ++i)
+                    assertThat(byAltitude.getItem(i).getAxiom().getTermByName("name").getValue()).isEqualTo(expected[i]);
+                return true;
+            }});
+    }
+
+    @Test
+    public void test_list_keyed_lookup()
+    {
+        queryProgram.parseScript(CITY_KEYED_CALC);
+        queryProgram.executeQuery("city_lookup", new SolutionHandler(){
+            @Override
+            public boolean onSolution(Solution solution)
+            {
+                assertThat(solution.getValue("city_lookup", "denver_altitude")).isEqualTo(Long.valueOf(5280));
+                assertThat(solution.getValue("city_lookup", "altitude")).isEqualTo(Long.valueOf(6970));
+                AxiomTermList wichita = (AxiomTermList)solution.getValue("city_lookup", "wichita");
+                assertThat(wichita.getAxiom().getTermByName("altitude").getValue()).isEqualTo(Long.valueOf(1305));
+                return true;
+            }});
+    }
+
     @Test
     public void test_calculator()
     {
@@ -828,6 +1068,8 @@ public class CallOperandTest
         functionManager.putFunctionProvider(eduFunctionProvider.getName(), eduFunctionProvider);
         SystemFunctionProvider systemFunctionProvider = new SystemFunctionProvider();
         functionManager.putFunctionProvider(systemFunctionProvider.getName(), systemFunctionProvider);
+        LimitsFunctionProvider limitsFunctionProvider = new LimitsFunctionProvider();
+        functionManager.putFunctionProvider(limitsFunctionProvider.getName(), limitsFunctionProvider);
         return functionManager;
     }
 }
@@ -106,6 +106,50 @@ public class CurrencyOperandTest
 		}
 	}
 	
+	@Test
+	public void test_units_arithmetic()
+	{
+		String[] amounts = new String[] { "12345.67", "-0.05", "0.125", "3", "-7.5", "0.335", "92233720368547758.07", "1E+3" };
+		OperatorEnum[] operators = new OperatorEnum[] { OperatorEnum.PLUS, OperatorEnum.MINUS, OperatorEnum.STAR, OperatorEnum.SLASH };
+		CurrencyOperand currencyOperand = new CurrencyOperand(QNAME, Locale.US);
+		BigDecimalOperand decimalOperand = new BigDecimalOperand(QNAME);
+		for (String leftAmount: amounts)
+			for (String rightAmount: amounts)
+			{
+				BigDecimal left = new BigDecimal(leftAmount);
+				BigDecimal right = new BigDecimal(rightAmount);
+				BigDecimalOperand leftOperand = new BigDecimalOperand(QNAME, left);
+				BigDecimalOperand rightParam = new BigDecimalOperand(QNAME, right);
+				for (OperatorEnum operator: operators)
+				{
+					BigDecimal expected = null;
+					BigDecimal expectedCurrency = null;
+					switch (operator)
+					{
+					case PLUS:
+						expected = expectedCurrency = left.add(right);
+						break;
+					case MINUS:
+						expected = expectedCurrency = left.subtract(right);
+						break;
+					case STAR:
+						expected = left.multiply(right);
+						expectedCurrency = expected.setScale(2, BigDecimal.ROUND_HALF_EVEN);
+						break;
+					case SLASH: // Operand divides right value by left value
+						expected = right.divide(left, BigDecimal.ROUND_FLOOR);
+						expectedCurrency = right.divide(left, BigDecimal.ROUND_HALF_EVEN);
+						break;
+				    default:
+					}
+					assertThat(decimalOperand.numberEvaluation(leftOperand, operator, rightParam)).isEqualTo(expected);
+					assertThat(currencyOperand.numberEvaluation(leftOperand, operator, rightParam)).isEqualTo(expectedCurrency);
+				}
+				assertThat(decimalOperand.booleanEvaluation(leftOperand, OperatorEnum.LT, rightParam)).isEqualTo(left.compareTo(right) < 0);
+				assertThat(decimalOperand.booleanEvaluation(leftOperand, OperatorEnum.EQ, rightParam)).isEqualTo(left.compareTo(right) == 0);
+			}
+	}
+	
 	private void testOperand(Locale locale, String amount, BigDecimal expectedResult, boolean useCountryOperand)
 	{
 		CurrencyOperand currencyOperand = new CurrencyOperand(QNAME, Locale.getDefault(/*Category.FORMAT*/));
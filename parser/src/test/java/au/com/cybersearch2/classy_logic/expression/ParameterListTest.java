@@ -0,0 +1,162 @@
+/**
+    Copyright (C) 2015  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.expression;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import au.com.cybersearch2.classy_logic.helper.OperandParam;
+import au.com.cybersearch2.classy_logic.interfaces.BatchCallEvaluator;
+import au.com.cybersearch2.classy_logic.interfaces.CallEvaluator;
+import au.com.cybersearch2.classy_logic.interfaces.CallProperties;
+import au.com.cybersearch2.classy_logic.interfaces.Term;
+
+/**
+ * ParameterListTest
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class ParameterListTest
+{
+    static class SumEvaluator implements CallEvaluator<Long>, CallProperties
+    {
+        int callCount;
+        List<Term> lastArgumentList;
+        boolean isPure;
+
+        public SumEvaluator(boolean isPure)
+        {
+            this.isPure = isPure;
+        }
+        
+        @Override
+        public String getName()
+        {
+            return "sum";
+        }
+
+        @Override
+        public Long evaluate(List<Term> argumentList)
+        {
+            ++callCount;
+            lastArgumentList = argumentList;
+            long sum = 0;
+            for (Term term: argumentList)
+                sum += ((Long)term.getValue()).longValue();
+            return Long.valueOf(sum);
+        }
+
+        @Override
+        public boolean isPure()
+        {
+            return isPure;
+        }
+    }
+    
+    static class BatchSumEvaluator extends SumEvaluator implements BatchCallEvaluator<Long>
+    {
+        int batchCount;
+
+        public BatchSumEvaluator()
+        {
+            super(false);
+        }
+        
+        @Override
+        public List<Long> evaluateBatch(String[] argumentNames, Object[][] argumentColumns, int rowCount)
+        {
+            ++batchCount;
+            List<Long> resultList = new ArrayList<Long>(rowCount);
+            for (int row = 0; row < rowCount; ++row)
+            {
+                long sum = 0;
+                for (Object[] column: argumentColumns)
+                    sum += ((Long)column[row]).longValue();
+                resultList.add(sum);
+            }
+            return resultList;
+        }
+    }
+    
+    @Test
+    public void test_argument_list_reused()
+    {
+        SumEvaluator sumEvaluator = new SumEvaluator(false);
+        TestIntegerOperand x = new TestIntegerOperand("x", Long.valueOf(2));
+        TestIntegerOperand y = new TestIntegerOperand("y", Long.valueOf(3));
+        ParameterList<Long> parameterList = new ParameterList<Long>(paramList(x, y), sumEvaluator);
+        assertThat(parameterList.evaluate(1)).isEqualTo(5L);
+        List<Term> firstArgumentList = sumEvaluator.lastArgumentList;
+        x.setValue(Long.valueOf(7));
+        assertThat(parameterList.evaluate(1)).isEqualTo(10L);
+        assertThat(sumEvaluator.lastArgumentList).isSameAs(firstArgumentList);
+        assertThat(sumEvaluator.callCount).isEqualTo(2);
+    }
+
+    @Test
+    public void test_pure_call_cached()
+    {
+        SumEvaluator sumEvaluator = new SumEvaluator(true);
+        TestIntegerOperand x = new TestIntegerOperand("x", Long.valueOf(2));
+        TestIntegerOperand y = new TestIntegerOperand("y", Long.valueOf(3));
+        ParameterList<Long> parameterList = new ParameterList<Long>(paramList(x, y), sumEvaluator);
+        assertThat(parameterList.isPure()).isTrue();
+        assertThat(parameterList.evaluate(1)).isEqualTo(5L);
+        assertThat(parameterList.evaluate(1)).isEqualTo(5L);
+        assertThat(sumEvaluator.callCount).isEqualTo(1);
+        x.setValue(Long.valueOf(7));
+        assertThat(parameterList.evaluate(1)).isEqualTo(10L);
+        assertThat(sumEvaluator.callCount).isEqualTo(2);
+        x.setValue(Long.valueOf(2));
+        assertThat(parameterList.evaluate(1)).isEqualTo(5L);
+        assertThat(sumEvaluator.callCount).isEqualTo(2);
+    }
+
+    @Test
+    public void test_evaluate_batch()
+    {
+        Object[][] columns = new Object[][]
+        {
+            { Long.valueOf(1), Long.valueOf(2), Long.valueOf(3) },
+            { Long.valueOf(10), Long.valueOf(20), Long.valueOf(30) }
+        };
+        TestIntegerOperand x = new TestIntegerOperand("x");
+        TestIntegerOperand y = new TestIntegerOperand("y");
+        // Scalar fallback
+        SumEvaluator sumEvaluator = new SumEvaluator(false);
+        ParameterList<Long> parameterList = new ParameterList<Long>(paramList(x, y), sumEvaluator);
+        assertThat(parameterList.evaluateBatch(columns, 3)).containsExactly(11L, 22L, 33L);
+        assertThat(sumEvaluator.callCount).isEqualTo(3);
+        // Batch entry point
+        BatchSumEvaluator batchSumEvaluator = new BatchSumEvaluator();
+        parameterList = new ParameterList<Long>(paramList(x, y), batchSumEvaluator);
+        assertThat(parameterList.evaluateBatch(columns, 3)).containsExactly(11L, 22L, 33L);
+        assertThat(batchSumEvaluator.batchCount).isEqualTo(1);
+        assertThat(batchSumEvaluator.callCount).isEqualTo(0);
+    }
+    
+    protected List<OperandParam> paramList(TestIntegerOperand... operands)
+    {
+        List<OperandParam> operandParamList = new ArrayList<OperandParam>();
+        for (TestIntegerOperand operand: operands)
+            operandParamList.add(new OperandParam(operand.getName(), operand));
+        return operandParamList;
+    }
+}
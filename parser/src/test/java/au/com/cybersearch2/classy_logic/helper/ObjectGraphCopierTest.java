@@ -0,0 +1,316 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.helper;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.failBecauseExceptionWasNotThrown;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.junit.Test;
+
+import au.com.cybersearch2.classy_logic.QueryProgram;
+import au.com.cybersearch2.classy_logic.interfaces.SolutionHandler;
+import au.com.cybersearch2.classy_logic.pattern.AxiomSchema;
+import au.com.cybersearch2.classy_logic.query.Solution;
+
+/**
+ * ObjectGraphCopierTest
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class ObjectGraphCopierTest
+{
+    static final String GRADES_REPORT =
+        "axiom grades (student, english, math, history)\n" +
+        " {\"Amy\", 14, 16, 6}\n" +
+        " {\"George\", 15, 13, 16}\n" +
+        " {\"Sarah\", 12, 17, 15};\n" +
+        "axiom alpha_marks()\n" +
+        " {\"\", \"f-\", \"f\", \"f+\", \"e-\", \"e\", \"e+\", \"d-\", \"d\", \"d+\",\n" +
+        "  \"c-\", \"c\", \"c+\", \"b-\", \"b\", \"b+\", \"a-\", \"a\", \"a+\"};\n" +
+        "list<term> mark(alpha_marks);\n" +
+        "scope school\n" +
+        "{\n" +
+        "  calc total_score(\n" +
+        "    integer english,\n" +
+        "    integer math,\n" +
+        "    integer history,\n" +
+        "    string label =\"Total score\",\n" +
+        "    integer value = english+math+history\n" +
+        "  );\n" +
+        "}\n"  +
+        "calc score(\n" +
+        "    template total(label, value) << school.total_score(english,math,history),\n" +
+        "    string total_text = student + \" \" + mark[(english)] + \" \" + total[label] + \": \" + total[value]\n" +
+        ");\n" +
+        "query marks(grades : score);";
+
+    static final String CITY_LISTS =
+        "axiom city (name, altitude)\n" +
+        "    {\"bilene\", 1718}\n" +
+        "    {\"addis ababa\", 8000}\n" +
+        "    {\"denver\", 5280}\n" +
+        "    {\"flagstaff\", 6970}\n" +
+        "    {\"jacksonville\", 8}\n" +
+        "    {\"leadville\", 10200}\n" +
+        "    {\"madrid\", 1305}\n" +
+        "    {\"richmond\",19}\n" +
+        "    {\"spokane\", 1909}\n" +
+        "    {\"wichita\", 1305};\n" +
+        "list city_list(city);\n" +
+        "calc city_stats (\n" +
+        "  integer city_count = count(city_list),\n" +
+        "  integer total_height = sum(city_list.altitude),\n" +
+        "  double average_height = avg(city_list.altitude),\n" +
+        "  altitude_groups = count(city_list, altitude),\n" +
+        "  highest = top(city_list, 3, altitude desc),\n" +
+        "  by_altitude = sort(city_list, altitude, name desc),\n" +
+        "  denver_altitude = city_list[\"denver\"][altitude]\n" +
+        ");\n" +
+        "query city_stats (city : city_stats);";
+
+    static final String CALCULATIONS =
+        "choice bracket (amount, threshold, base, percent)\n" +
+        "  {amount <  12000,      0,     0.00, 1.00}\n" +
+        "  {amount <  30000,  12000,   120.00, 2.00}\n" +
+        "  {amount > 30000,   30000,   480.00, 3.00};\n" +
+        "axiom transaction_amount (amount) { 23456 };\n" +
+        "calc payable(duty = bracket.base + (amount - bracket.threshold) * (bracket.percent / 100));\n" +
+        "query stamp_duty_query (transaction_amount : bracket) >> (payable);\n" +
+        "axiom item (amount) { 1234.56 };\n" +
+        "template charge(currency(\"AU\") amount);\n" +
+        "calc charge_plus_gst(currency(\"AU\") total = charge.amount * 1.1);\n" +
+        "calc format_total(string total_text = \"Total + gst: \" + format(charge_plus_gst.total));\n" +
+        "query item_query(item : charge) >> (charge_plus_gst) >> (format_total);\n" +
+        "axiom words (word, definition)\n" +
+        "    {\"inert\", \"n. lacking the ability to move\"}\n" +
+        "    {\"pert\", \"adj. lively\"};\n" +
+        "template in_words (word regex(\"^in[^ ]+\"), definition regex( \"^(.)\\. (.*+)\" { part, text }));\n" +
+        "query in_words_query(words : in_words);\n" +
+        "calc factorial (\n" +
+        "  integer n,\n" +
+        "  integer i,\n" +
+        "  decimal factorial,\n" +
+        "  {\n" +
+        "    factorial *= i,\n" +
+        "    ? i++ < n\n" +
+        "  }\n" +
+        ")(factorial = 1, i = 1);\n" +
+        "scope factorial_example\n" +
+        "{\n" +
+        "  query factorial(factorial)(n = 4);\n" +
+        "}";
+
+    @Test
+    public void test_compiled_program_classes_can_be_copied()
+    {
+        Set<String> uncopyableSet = new TreeSet<String>();
+        checkProgram(uncopyableSet, GRADES_REPORT, "marks");
+        checkProgram(uncopyableSet, CITY_LISTS, "city_stats");
+        checkProgram(uncopyableSet, CALCULATIONS, 
+                "stamp_duty_query", "item_query", "in_words_query", "factorial_example.factorial");
+        assertThat(uncopyableSet).isEmpty();
+    }
+
+    @Test
+    public void test_uncopyable_object()
+    {
+        List<Object> list = new ArrayList<Object>();
+        list.add(new ReentrantLock());
+        try
+        {
+            new ObjectGraphCopier().copy(list);
+            failBecauseExceptionWasNotThrown(IllegalStateException.class);
+        }
+        catch (IllegalStateException e)
+        {
+            assertThat(e.getMessage()).isEqualTo("Cannot copy instance of java.util.concurrent.locks.ReentrantLock unless it is registered as shared");
+        }
+        ObjectGraphCopier copier = new ObjectGraphCopier();
+        copier.share(list.get(0));
+        List<Object> listCopy = copier.copy(list);
+        assertThat(listCopy).isNotSameAs(list);
+        assertThat(listCopy.get(0)).isSameAs(list.get(0));
+    }
+
+    /**
+     * Compile and run a program, add the names of engine classes in its graph which 
+     * the copier cannot allocate to given set, then, if none found, copy the program and run the copy
+     * @param uncopyableSet Set of class names
+     * @param script Program script
+     * @param queryNames Names of queries, qualified by scope if not global
+     */
+    static void checkProgram(Set<String> uncopyableSet, String script, String... queryNames)
+    {
+        QueryProgram queryProgram = runQueries(new QueryProgram(script), queryNames);
+        for (Class<?> clazz: getEngineClasses(queryProgram))
+            if (!hasAllocator(clazz))
+                uncopyableSet.add(clazz.getName());
+        // Copy would fail on the first class reported
+        if (uncopyableSet.isEmpty())
+            runQueries(queryProgram.copy(), queryNames);
+    }
+
+    /**
+     * Execute given queries and check each has at least one solution
+     * @param queryProgram Query program
+     * @param queryNames Names of queries, qualified by scope if not global
+     * @return the query program
+     */
+    static QueryProgram runQueries(QueryProgram queryProgram, String... queryNames)
+    {
+        final int[] solutionCount = new int[] { 0 };
+        SolutionHandler solutionHandler = new SolutionHandler(){
+            @Override
+            public boolean onSolution(Solution solution)
+            {
+                ++solutionCount[0];
+                return true;
+            }};
+        for (String queryName: queryNames)
+        {
+            solutionCount[0] = 0;
+            queryProgram.executeQuery(queryName, solutionHandler);
+            assertThat(solutionCount[0]).isGreaterThan(0);
+        }
+        return queryProgram;
+    }
+
+    /**
+     * Returns the engine classes of all objects reachable from given root which the copier 
+     * allocates, other than anonymous and inner classes, which have the enclosing instance
+     * passed to their constructor. As in the copier, enums and the values of static fields 
+     * of engine classes, including members of static containers, are shared, not copied.
+     * Axiom schemas are also shared, as by QueryProgram.copy().
+     * @param root Object at root of graph
+     * @return Set of Class objects
+     */
+    static Set<Class<?>> getEngineClasses(Object root)
+    {
+        Set<Class<?>> classSet = new HashSet<Class<?>>();
+        Set<Class<?>> staticsClassSet = new HashSet<Class<?>>();
+        Map<Object, Boolean> visitedMap = new IdentityHashMap<Object, Boolean>();
+        Map<Object, Boolean> sharedMap = new IdentityHashMap<Object, Boolean>();
+        Deque<Object> pendingDeque = new ArrayDeque<Object>();
+        pendingDeque.push(root);
+        while (!pendingDeque.isEmpty())
+        {
+            Object object = pendingDeque.pop();
+            if (visitedMap.put(object, Boolean.TRUE) != null)
+                continue;
+            Class<?> clazz = object.getClass();
+            if (clazz.isArray())
+            {
+                if (!clazz.getComponentType().isPrimitive())
+                    for (int i = 0; i < Array.getLength(object); ++i)
+                        push(pendingDeque, Array.get(object, i));
+                continue;
+            }
+            if (object instanceof Collection)
+                for (Object item: (Collection<?>)object)
+                    push(pendingDeque, item);
+            if (object instanceof Map)
+                for (Map.Entry<?, ?> entry: ((Map<?, ?>)object).entrySet())
+                {
+                    push(pendingDeque, entry.getKey());
+                    push(pendingDeque, entry.getValue());
+                }
+            if (!clazz.getName().startsWith(ObjectGraphCopier.ENGINE_PACKAGE) || (object instanceof Enum))
+                continue;
+            for (Class<?> current = clazz; current != Object.class; current = current.getSuperclass())
+                if (staticsClassSet.add(current))
+                    addStatics(current, sharedMap);
+            if (sharedMap.containsKey(object) || (object instanceof AxiomSchema))
+                continue;
+            if (!clazz.isAnonymousClass() && !clazz.isLocalClass() &&
+                 (!clazz.isMemberClass() || Modifier.isStatic(clazz.getModifiers())))
+                classSet.add(clazz);
+            for (Class<?> current = clazz; current != Object.class; current = current.getSuperclass())
+                for (Field field: current.getDeclaredFields())
+                    if (!Modifier.isStatic(field.getModifiers()) && !field.getType().isPrimitive())
+                        push(pendingDeque, getField(field, object));
+        }
+        return classSet;
+    }
+
+    static void addStatics(Class<?> clazz, Map<Object, Boolean> sharedMap)
+    {
+        for (Field field: clazz.getDeclaredFields())
+        {
+            if (!Modifier.isStatic(field.getModifiers()) || field.getType().isPrimitive())
+                continue;
+            Object value = getField(field, null);
+            if (value == null)
+                continue;
+            sharedMap.put(value, Boolean.TRUE);
+            if (value instanceof Collection)
+                for (Object item: (Collection<?>)value)
+                    sharedMap.put(item, Boolean.TRUE);
+            else if (value instanceof Map)
+                for (Map.Entry<?, ?> entry: ((Map<?, ?>)value).entrySet())
+                {
+                    sharedMap.put(entry.getKey(), Boolean.TRUE);
+                    sharedMap.put(entry.getValue(), Boolean.TRUE);
+                }
+        }
+    }
+
+    static Object getField(Field field, Object object)
+    {
+        field.setAccessible(true);
+        try
+        {
+            return field.get(object);
+        }
+        catch (IllegalAccessException e)
+        {
+            throw new IllegalStateException("Error reading field " + field, e);
+        }
+    }
+
+    static void push(Deque<Object> pendingDeque, Object object)
+    {
+        if (object != null)
+            pendingDeque.push(object);
+    }
+
+    static boolean hasAllocator(Class<?> clazz)
+    {
+        try
+        {
+            clazz.getDeclaredConstructor();
+            return true;
+        }
+        catch (NoSuchMethodException e)
+        {
+            return false;
+        }
+    }
+}
@@ -16,6 +16,7 @@
 package au.com.cybersearch2.classy_logic.list;
 
 import java.math.BigDecimal;
+import java.util.Iterator;
 
 import org.junit.Test;
 
@@ -148,4 +149,31 @@ public class ArrayItemListTest
 		decListVariable.evaluate(1);
 		assertThat(decListVariable.getValue()).isEqualTo(BigDecimal.ONE);
 	}
+
+	@Test
+	public void test_snapshot_copy_on_write()
+	{
+		ArrayItemList<Long> listOperand = new ArrayItemList<Long>(Long.class, new TestIntegerOperand(NAME));
+		listOperand.assignItem(1, Long.valueOf(1));
+		listOperand.assignItem(2, Long.valueOf(2));
+		Iterable<Long> snapshot = listOperand.getIterable();
+		// Append and overwrite are not visible to snapshot
+		listOperand.assignItem(3, Long.valueOf(3));
+		listOperand.assignItem(1, Long.valueOf(-1));
+		Iterator<Long> iterator = snapshot.iterator();
+		assertThat(iterator.next()).isEqualTo(1);
+		assertThat(iterator.next()).isEqualTo(2);
+		assertThat(iterator.hasNext()).isFalse();
+		assertThat(listOperand.getItem(1)).isEqualTo(-1);
+		assertThat(listOperand.getItem(3)).isEqualTo(3);
+		snapshot = listOperand.getIterable();
+		listOperand.clear();
+		listOperand.assignItem(0, Long.valueOf(7));
+		iterator = snapshot.iterator();
+		assertThat(iterator.next()).isEqualTo(-1);
+		assertThat(iterator.next()).isEqualTo(2);
+		assertThat(iterator.next()).isEqualTo(3);
+		assertThat(iterator.hasNext()).isFalse();
+		assertThat(listOperand.getLength()).isEqualTo(1);
+	}
 }
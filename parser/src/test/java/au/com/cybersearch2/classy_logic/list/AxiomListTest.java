@@ -15,15 +15,21 @@
     along with this program.  If not, see <http://www.gnu.org/licenses/> */
 package au.com.cybersearch2.classy_logic.list;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
 import org.junit.Test;
 
 import au.com.cybersearch2.classy_logic.expression.TestIntegerOperand;
 import au.com.cybersearch2.classy_logic.helper.QualifiedName;
 import au.com.cybersearch2.classy_logic.interfaces.AxiomListener;
+import au.com.cybersearch2.classy_logic.interfaces.AxiomSource;
 import au.com.cybersearch2.classy_logic.interfaces.Operand;
 import au.com.cybersearch2.classy_logic.list.AxiomTermList;
 import au.com.cybersearch2.classy_logic.list.ItemListVariable;
 import au.com.cybersearch2.classy_logic.pattern.Axiom;
+import au.com.cybersearch2.classy_logic.terms.Parameter;
 import static org.fest.assertions.api.Assertions.assertThat;
 import static org.fest.assertions.api.Assertions.failBecauseExceptionWasNotThrown;
 
@@ -105,4 +111,122 @@ public class AxiomListTest
 		AxiomTermList axiomOperandList2 = axiomList.getItem(1);
 		assertThat(axiomOperandList2.toString()).isEqualTo("two()");
 	}
+
+	@Test
+	public void test_keyed_access()
+	{
+		AxiomList axiomList = new AxiomList(QNAME, Q_KEY);
+		AxiomListener axiomListener = axiomList.getAxiomListener();
+		axiomListener.onNextAxiom(Q_KEY, new Axiom(KEY, new Parameter("code", "AU"), new Parameter("symbol", "$")));
+		axiomListener.onNextAxiom(Q_KEY, new Axiom(KEY, new Parameter("code", "GB"), new Parameter("symbol", "£")));
+		assertThat(axiomList.getIndexForKey("GB")).isEqualTo(1);
+		// Appended axiom is added to existing index, duplicate key keeps first position
+		axiomListener.onNextAxiom(Q_KEY, new Axiom(KEY, new Parameter("code", "DE"), new Parameter("symbol", "€")));
+		axiomListener.onNextAxiom(Q_KEY, new Axiom(KEY, new Parameter("code", "AU"), new Parameter("symbol", "A$")));
+		assertThat(axiomList.getIndexForKey("DE")).isEqualTo(2);
+		assertThat(axiomList.getIndexForKey("AU")).isEqualTo(0);
+		assertThat(axiomList.getIndexForKey("US")).isEqualTo(-1);
+		// Replacing an item invalidates index
+		AxiomTermList axiomTermList = new AxiomTermList(QNAME, Q_KEY);
+		axiomTermList.setAxiom(new Axiom(KEY, new Parameter("code", "US"), new Parameter("symbol", "$")));
+		axiomList.assignItem(0, axiomTermList);
+		assertThat(axiomList.getIndexForKey("US")).isEqualTo(0);
+		assertThat(axiomList.getIndexForKey("AU")).isEqualTo(3);
+		axiomList.setKeyTermName("symbol");
+		assertThat(axiomList.getIndexForKey("$")).isEqualTo(0);
+		assertThat(axiomList.getIndexForKey("€")).isEqualTo(2);
+		axiomList.clear();
+		assertThat(axiomList.getIndexForKey("$")).isEqualTo(-1);
+	}
+
+	@Test
+	public void test_axiom_source()
+	{
+		final List<Axiom> axioms = new ArrayList<Axiom>();
+		for (int i = 0; i < 100; ++i)
+			axioms.add(new Axiom(KEY, new Parameter("x", Long.valueOf(i))));
+		final int[] readCount = new int[1];
+		final int[] openCount = new int[1];
+		AxiomSource axiomSource = new AxiomSource(){
+
+			@Override
+			public Iterator<Axiom> iterator() 
+			{
+				++openCount[0];
+				final Iterator<Axiom> iterator = axioms.iterator();
+				return new Iterator<Axiom>(){
+
+					@Override
+					public boolean hasNext() 
+					{
+						return iterator.hasNext();
+					}
+
+					@Override
+					public Axiom next() 
+					{
+						++readCount[0];
+						return iterator.next();
+					}
+
+					@Override
+					public void remove() 
+					{
+					}};
+			}
+
+			@Override
+			public List<String> getAxiomTermNameList() 
+			{
+				return null;
+			}};
+		AxiomList axiomList = new AxiomList(QNAME, Q_KEY);
+		axiomList.setAxiomSource(axiomSource, axioms.size());
+		// Snapshot reads source only when iterated
+		assertThat(axiomList.getItem(1).getAxiom()).isSameAs(axioms.get(1));
+		Iterable<AxiomTermList> snapshot = axiomList.getIterable();
+		assertThat(readCount[0]).isEqualTo(2);
+		int count = 0;
+		for (AxiomTermList axiomTermList: snapshot)
+			assertThat(axiomTermList.getAxiom()).isSameAs(axioms.get(count++));
+		assertThat(count).isEqualTo(100);
+		// The source is read once, shared by the list and all snapshots
+		count = 0;
+		for (AxiomTermList axiomTermList: snapshot)
+			assertThat(axiomTermList.getAxiom()).isSameAs(axioms.get(count++));
+		assertThat(count).isEqualTo(100);
+		Iterator<AxiomTermList> snapshotIterator = snapshot.iterator();
+		for (int i = 0; i < 50; ++i)
+			snapshotIterator.next();
+		assertThat(axiomList.getItem(50)).isSameAs(snapshotIterator.next());
+		assertThat(axiomList.getLength()).isEqualTo(100);
+		assertThat(readCount[0]).isEqualTo(100);
+		assertThat(openCount[0]).isEqualTo(1);
+		// Later changes to the list are not seen by the snapshot
+		axiomList.assignItem(99, axiomList.getItem(0));
+		snapshotIterator = snapshot.iterator();
+		AxiomTermList last = null;
+		while (snapshotIterator.hasNext())
+			last = snapshotIterator.next();
+		assertThat(last.getAxiom()).isSameAs(axioms.get(99));
+		readCount[0] = 0;
+		axiomList = new AxiomList(QNAME, Q_KEY);
+		axiomList.setAxiomSource(axiomSource, axioms.size());
+		assertThat(axiomList.getLength()).isEqualTo(100);
+		assertThat(axiomList.isEmpty()).isFalse();
+		assertThat(readCount[0]).isEqualTo(1);
+		assertThat(axiomList.getItem(2).getAxiom()).isSameAs(axioms.get(2));
+		assertThat(axiomList.getItem(2).getKey()).isEqualTo(Q_KEY);
+		assertThat(readCount[0]).isEqualTo(3);
+		assertThat(axiomList.getIndexForKey(Long.valueOf(50))).isEqualTo(50);
+		assertThat(readCount[0]).isEqualTo(100);
+		// Unknown length is found by loading the source
+		axiomList = new AxiomList(QNAME, Q_KEY);
+		axiomList.setAxiomSource(axiomSource, -1);
+		assertThat(axiomList.hasItem(99)).isTrue();
+		assertThat(axiomList.hasItem(100)).isFalse();
+		assertThat(axiomList.getLength()).isEqualTo(100);
+		axiomList.getAxiomListener().onNextAxiom(Q_KEY, new Axiom(KEY, new Parameter("x", Long.valueOf(100))));
+		assertThat(axiomList.getLength()).isEqualTo(101);
+	}
 }
@@ -0,0 +1,161 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.list;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.failBecauseExceptionWasNotThrown;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * ItemVectorTest
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class ItemVectorTest 
+{
+	@Test
+	public void test_add_get_set()
+	{
+		ItemVector vector = new ItemVector();
+		for (int i = 0; i < 100; ++i)
+			vector.add(Integer.valueOf(i));
+		vector.set(65, "x");
+		assertThat(vector.size()).isEqualTo(100);
+		assertThat(vector.get(0)).isEqualTo(0);
+		assertThat(vector.get(65)).isEqualTo("x");
+		assertThat(vector.get(99)).isEqualTo(99);
+		try
+		{
+			vector.get(100);
+			failBecauseExceptionWasNotThrown(IndexOutOfBoundsException.class);
+		}
+		catch (IndexOutOfBoundsException e)
+		{
+		}
+	}
+
+	@Test
+	public void test_snapshot_isolation()
+	{
+		ItemVector vector = new ItemVector();
+		for (int i = 0; i < 40; ++i)
+			vector.add(Integer.valueOf(i));
+		ItemVector snapshot = vector.snapshot();
+		vector.set(3, "a");
+		vector.set(35, "b");
+		vector.add("c");
+		assertThat(snapshot.size()).isEqualTo(40);
+		assertThat(snapshot.get(3)).isEqualTo(3);
+		assertThat(snapshot.get(35)).isEqualTo(35);
+		assertThat(vector.get(3)).isEqualTo("a");
+		assertThat(vector.get(40)).isEqualTo("c");
+	}
+
+	@Test
+	public void test_add_all_shares_and_isolates()
+	{
+		ItemVector left = new ItemVector();
+		for (int i = 0; i < 45; ++i)
+			left.add("L" + i);
+		ItemVector right = new ItemVector();
+		for (int i = 0; i < 70; ++i)
+			right.add("R" + i);
+		left.addAll(right);
+		assertThat(left.size()).isEqualTo(115);
+		assertThat(left.get(44)).isEqualTo("L44");
+		assertThat(left.get(45)).isEqualTo("R0");
+		assertThat(left.get(114)).isEqualTo("R69");
+		// Changes to either vector are not seen by the other
+		right.set(0, "changed");
+		right.add("R70");
+		left.set(46, "updated");
+		left.add("L115");
+		assertThat(left.get(45)).isEqualTo("R0");
+		assertThat(left.get(115)).isEqualTo("L115");
+		assertThat(right.get(1)).isEqualTo("R1");
+		assertThat(right.get(70)).isEqualTo("R70");
+		assertThat(right.size()).isEqualTo(71);
+	}
+
+	@Test
+	public void test_add_all_to_self()
+	{
+		ItemVector vector = new ItemVector();
+		for (int i = 0; i < 50; ++i)
+			vector.add(Integer.valueOf(i));
+		vector.addAll(vector);
+		assertThat(vector.size()).isEqualTo(100);
+		for (int i = 0; i < 100; ++i)
+			assertThat(vector.get(i)).isEqualTo(i % 50);
+	}
+
+	@Test
+	public void test_matches_array_list()
+	{
+		Random random = new Random(17);
+		ItemVector vector = new ItemVector();
+		List<Object> model = new ArrayList<Object>();
+		List<ItemVector> snapshots = new ArrayList<ItemVector>();
+		List<List<Object>> snapshotModels = new ArrayList<List<Object>>();
+		for (int step = 0; step < 2000; ++step)
+		{
+			int action = random.nextInt(10);
+			if ((action < 5) || model.isEmpty())
+			{
+				Integer value = Integer.valueOf(step);
+				vector.add(value);
+				model.add(value);
+			}
+			else if (action < 8)
+			{
+				int index = random.nextInt(model.size());
+				vector.set(index, "s" + step);
+				model.set(index, "s" + step);
+			}
+			else if (action == 8)
+			{
+				snapshots.add(vector.snapshot());
+				snapshotModels.add(new ArrayList<Object>(model));
+			}
+			else if (!snapshots.isEmpty() && (model.size() < 5000))
+			{
+				int which = random.nextInt(snapshots.size());
+				vector.addAll(snapshots.get(which));
+				model.addAll(snapshotModels.get(which));
+			}
+		}
+		assertContents(vector, model);
+		for (int i = 0; i < snapshots.size(); ++i)
+			assertContents(snapshots.get(i), snapshotModels.get(i));
+	}
+
+	private void assertContents(ItemVector vector, List<Object> model)
+	{
+		assertThat(vector.size()).isEqualTo(model.size());
+		for (int i = 0; i < model.size(); ++i)
+			assertThat(vector.get(i)).isEqualTo(model.get(i));
+		Iterator<Object> iterator = vector.iterator();
+		for (Object item: model)
+			assertThat(iterator.next()).isEqualTo(item);
+		assertThat(iterator.hasNext()).isFalse();
+	}
+}
@@ -0,0 +1,156 @@
+/**
+    Copyright (C) 2015  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.list;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import au.com.cybersearch2.classy_logic.expression.TestIntegerOperand;
+import au.com.cybersearch2.classy_logic.expression.TestDoubleOperand;
+import au.com.cybersearch2.classy_logic.helper.Null;
+import au.com.cybersearch2.classy_logic.helper.QualifiedName;
+import au.com.cybersearch2.classy_logic.pattern.Axiom;
+import au.com.cybersearch2.classy_logic.terms.Parameter;
+
+/**
+ * ListAggregatorTest
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class ListAggregatorTest 
+{
+	private static QualifiedName QNAME = QualifiedName.parseName("marks");
+	private static QualifiedName GROUP_QNAME = QualifiedName.parseName("subject_marks");
+	private static final String[] SUBJECTS = { "maths", "english", "maths", "history", "english" };
+	private static final long[] MARKS = { 80, 65, 90, 71, 75 };
+
+	@Test
+	public void test_long_aggregates()
+	{
+		ArrayItemList<Long> itemList = new ArrayItemList<Long>(Long.class, new TestIntegerOperand("numbers"));
+		for (int i = 0; i < MARKS.length; ++i)
+			itemList.assignItem(i, Long.valueOf(MARKS[i]));
+		assertThat(new ListAggregator(AggregateFunction.SUM, null).aggregate(itemList)).isEqualTo(Long.valueOf(381));
+		assertThat(new ListAggregator(AggregateFunction.COUNT, null).aggregate(itemList)).isEqualTo(Long.valueOf(5));
+		assertThat(new ListAggregator(AggregateFunction.MIN, null).aggregate(itemList)).isEqualTo(Long.valueOf(65));
+		assertThat(new ListAggregator(AggregateFunction.MAX, null).aggregate(itemList)).isEqualTo(Long.valueOf(90));
+		assertThat(new ListAggregator(AggregateFunction.AVG, null).aggregate(itemList)).isEqualTo(Double.valueOf(76.2));
+	}
+
+	@Test
+	public void test_empty_list()
+	{
+		ArrayItemList<Double> itemList = new ArrayItemList<Double>(Double.class, new TestDoubleOperand("numbers"));
+		assertThat(new ListAggregator(AggregateFunction.SUM, null).aggregate(itemList)).isEqualTo(Long.valueOf(0));
+		assertThat(new ListAggregator(AggregateFunction.COUNT, null).aggregate(itemList)).isEqualTo(Long.valueOf(0));
+		assertThat(new ListAggregator(AggregateFunction.MAX, null).aggregate(itemList)).isInstanceOf(Null.class);
+		assertThat(((Double)new ListAggregator(AggregateFunction.AVG, null).aggregate(itemList)).isNaN()).isTrue();
+	}
+
+	@Test
+	public void test_mixed_number_types()
+	{
+		AxiomList axiomList = createAxiomList(new Object[] { Long.valueOf(1), new BigDecimal("2.50"), Long.valueOf(3) });
+		assertThat(new ListAggregator(AggregateFunction.SUM, "mark").aggregate(axiomList)).isEqualTo(new BigDecimal("6.50"));
+		assertThat(new ListAggregator(AggregateFunction.MAX, "mark").aggregate(axiomList)).isEqualTo(Long.valueOf(3));
+		assertThat(new ListAggregator(AggregateFunction.AVG, "mark").aggregate(axiomList).toString()).isEqualTo("2.166666666666666666666666666666667");
+		axiomList = createAxiomList(new Object[] { Long.valueOf(Long.MAX_VALUE), Long.valueOf(1), Double.valueOf(0.5) });
+		assertThat(new ListAggregator(AggregateFunction.SUM, "mark").aggregate(axiomList)).isEqualTo(new BigDecimal("9223372036854775808.5"));
+	}
+
+	@Test
+	public void test_group_by()
+	{
+		AxiomList axiomList = createAxiomList();
+		AxiomList groupList = new ListAggregator(AggregateFunction.SUM, "mark").groupBy(axiomList, "subject", GROUP_QNAME);
+		assertThat(groupList.getLength()).isEqualTo(3);
+		assertThat(groupList.getAxiomTermNameList()).containsExactly("subject", "sum");
+		assertThat(groupList.getItem(0).getAxiom().toString()).isEqualTo("subject_marks(subject = maths, sum = 170)");
+		assertThat(groupList.getItem(1).getAxiom().toString()).isEqualTo("subject_marks(subject = english, sum = 140)");
+		assertThat(groupList.getItem(2).getAxiom().toString()).isEqualTo("subject_marks(subject = history, sum = 71)");
+	}
+
+	@Test
+	public void test_parallel_matches_sequential()
+	{
+		int length = ListAggregator.PARALLEL_THRESHOLD * 4 + 17;
+		Object[] marks = new Object[length];
+		String[] subjects = new String[length];
+		for (int i = 0; i < length; ++i)
+		{
+			marks[i] = Long.valueOf(i % 101);
+			subjects[i] = SUBJECTS[i % SUBJECTS.length];
+		}
+		AxiomList axiomList = createAxiomList(subjects, marks);
+		for (AggregateFunction function: AggregateFunction.values())
+		{
+			ListAggregator sequential = new ListAggregator(function, "mark");
+			ListAggregator parallel = new ListAggregator(function, "mark");
+			parallel.setParallel(true);
+			assertThat(parallel.aggregate(axiomList)).isEqualTo(sequential.aggregate(axiomList));
+			AxiomList sequentialGroups = sequential.groupBy(axiomList, "subject", GROUP_QNAME);
+			AxiomList parallelGroups = parallel.groupBy(axiomList, "subject", GROUP_QNAME);
+			assertThat(parallelGroups.getLength()).isEqualTo(sequentialGroups.getLength());
+			for (int i = 0; i < sequentialGroups.getLength(); ++i)
+				assertThat(parallelGroups.getItem(i).getAxiom().toString()).isEqualTo(sequentialGroups.getItem(i).getAxiom().toString());
+		}
+	}
+
+	@Test
+	public void test_axiom_iterable()
+	{
+		AxiomList axiomList = createAxiomList();
+		List<Axiom> axioms = new ArrayList<Axiom>();
+		for (int i = 0; i < axiomList.getLength(); ++i)
+			axioms.add(axiomList.getItem(i).getAxiom());
+		assertThat(new ListAggregator(AggregateFunction.COUNT, null).aggregate(axioms)).isEqualTo(Long.valueOf(5));
+		AxiomList groupList = new ListAggregator(AggregateFunction.MAX, "mark").groupBy(axioms, "subject", GROUP_QNAME);
+		assertThat(groupList.getItem(0).getAxiom().toString()).isEqualTo("subject_marks(subject = maths, max = 90)");
+	}
+
+	private AxiomList createAxiomList()
+	{
+		Object[] marks = new Object[MARKS.length];
+		for (int i = 0; i < MARKS.length; ++i)
+			marks[i] = Long.valueOf(MARKS[i]);
+		return createAxiomList(SUBJECTS, marks);
+	}
+
+	private AxiomList createAxiomList(Object[] marks)
+	{
+		String[] subjects = new String[marks.length];
+		for (int i = 0; i < marks.length; ++i)
+			subjects[i] = SUBJECTS[i % SUBJECTS.length];
+		return createAxiomList(subjects, marks);
+	}
+
+	private AxiomList createAxiomList(String[] subjects, Object[] marks)
+	{
+		AxiomList axiomList = new AxiomList(QNAME, QNAME);
+		for (int i = 0; i < marks.length; ++i)
+		{
+			AxiomTermList axiomTermList = new AxiomTermList(QNAME, QNAME);
+			axiomTermList.setAxiom(new Axiom("marks", new Parameter("subject", subjects[i]), new Parameter("mark", marks[i])));
+			axiomList.assignItem(i, axiomTermList);
+		}
+		return axiomList;
+	}
+}
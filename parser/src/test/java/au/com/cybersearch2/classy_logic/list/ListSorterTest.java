@@ -0,0 +1,166 @@
+/**
+    Copyright (C) 2015  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.list;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.Test;
+
+import au.com.cybersearch2.classy_logic.expression.TestIntegerOperand;
+import au.com.cybersearch2.classy_logic.expression.TestStringOperand;
+import au.com.cybersearch2.classy_logic.helper.QualifiedName;
+import au.com.cybersearch2.classy_logic.pattern.Axiom;
+import au.com.cybersearch2.classy_logic.terms.Parameter;
+
+/**
+ * ListSorterTest
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class ListSorterTest 
+{
+	private static QualifiedName QNAME = QualifiedName.parseName("cities");
+	private static QualifiedName TOP_QNAME = QualifiedName.parseName("top_cities");
+	private static final String[] NAMES = { "denver", "leadville", "madrid", "wichita", "addis ababa" };
+	private static final long[] ALTITUDES = { 5280, 10200, 1305, 1305, 8000 };
+
+	@Test
+	public void test_sort_by_multiple_keys()
+	{
+		AxiomList axiomList = createAxiomList();
+		List<SortKey> sortKeys = new ArrayList<SortKey>();
+		sortKeys.add(new SortKey("altitude", true));
+		sortKeys.add(new SortKey("name", false));
+		new ListSorter(sortKeys, Locale.US).sort(axiomList);
+		assertThat(getNames(axiomList)).containsExactly("leadville", "addis ababa", "denver", "madrid", "wichita");
+		sortKeys.set(1, new SortKey("name", true));
+		new ListSorter(sortKeys, Locale.US).sort(axiomList);
+		assertThat(getNames(axiomList)).containsExactly("leadville", "addis ababa", "denver", "wichita", "madrid");
+	}
+
+	@Test
+	public void test_sort_values_with_gaps()
+	{
+		ArrayItemList<Long> itemList = new ArrayItemList<Long>(Long.class, new TestIntegerOperand("numbers"));
+		itemList.assignItem(0, Long.valueOf(3));
+		itemList.assignItem(2, Long.valueOf(1));
+		itemList.assignItem(4, Long.valueOf(2));
+		new ListSorter(Collections.<SortKey>emptyList(), Locale.US).sort(itemList);
+		assertThat(itemList.getLength()).isEqualTo(3);
+		assertThat(itemList.getItem(0)).isEqualTo(Long.valueOf(1));
+		assertThat(itemList.getItem(1)).isEqualTo(Long.valueOf(2));
+		assertThat(itemList.getItem(2)).isEqualTo(Long.valueOf(3));
+	}
+
+	@Test
+	public void test_locale_collation()
+	{
+		ArrayItemList<String> itemList = new ArrayItemList<String>(String.class, new TestStringOperand("words"));
+		String[] words = { "Zebra", "Äpfel", "apfel", "Birne" };
+		for (int i = 0; i < words.length; ++i)
+			itemList.assignItem(i, words[i]);
+		new ListSorter(Collections.<SortKey>emptyList(), Locale.GERMANY).sort(itemList);
+		assertThat(itemList.getItem(0)).isEqualTo("apfel");
+		assertThat(itemList.getItem(1)).isEqualTo("Äpfel");
+		assertThat(itemList.getItem(2)).isEqualTo("Birne");
+		assertThat(itemList.getItem(3)).isEqualTo("Zebra");
+	}
+
+	@Test
+	public void test_top()
+	{
+		AxiomList axiomList = createAxiomList();
+		ListSorter sorter = new ListSorter(Collections.singletonList(new SortKey("altitude", true)), Locale.US);
+		ArrayItemList<?> topList = sorter.top(axiomList, 3, TOP_QNAME);
+		assertThat(topList).isInstanceOf(AxiomList.class);
+		assertThat(getNames((AxiomList)topList)).containsExactly("leadville", "addis ababa", "denver");
+		// Original list is unchanged
+		assertThat(getNames(axiomList)).containsExactly(NAMES);
+		// Equal items keep original order
+		sorter = new ListSorter(Collections.singletonList(new SortKey("altitude", false)), Locale.US);
+		assertThat(getNames((AxiomList)sorter.top(axiomList, 2, TOP_QNAME))).containsExactly("madrid", "wichita");
+		assertThat(sorter.top(axiomList, 10, TOP_QNAME).getLength()).isEqualTo(5);
+	}
+
+	@Test
+	public void test_selection()
+	{
+		ListSorter sorter = new ListSorter(Collections.singletonList(new SortKey("altitude", true)), Locale.US);
+		ListSorter.Selection<String> selection = sorter.newSelection(3);
+		ListSorter.Selection<String> all = sorter.newSelection(0);
+		AxiomList axiomList = createAxiomList();
+		for (int i = 0; i < axiomList.getLength(); ++i)
+		{
+			Axiom axiom = axiomList.getItem(i).getAxiom();
+			selection.add(axiom, NAMES[i]);
+			all.add(axiom, NAMES[i]);
+		}
+		assertThat(selection.getRows()).containsExactly("leadville", "addis ababa", "denver");
+		// Equal items keep order of arrival
+		assertThat(all.getRows()).containsExactly("leadville", "addis ababa", "denver", "madrid", "wichita");
+	}
+
+	@Test
+	public void test_parallel_sort_and_top()
+	{
+		int length = ListSorter.PARALLEL_THRESHOLD * 4 + 11;
+		Random random = new Random(17);
+		ArrayItemList<Long> itemList = new ArrayItemList<Long>(Long.class, new TestIntegerOperand("numbers"));
+		Long[] expected = new Long[length];
+		for (int i = 0; i < length; ++i)
+		{
+			expected[i] = Long.valueOf(random.nextInt(100000));
+			itemList.assignItem(i, expected[i]);
+		}
+		ListSorter sorter = new ListSorter(Collections.singletonList(new SortKey(null, true)), Locale.US);
+		ArrayItemList<?> topList = sorter.top(itemList, 20, TOP_QNAME);
+		sorter.setParallel(true);
+		sorter.sort(itemList);
+		Arrays.sort(expected, Collections.reverseOrder());
+		for (int i = 0; i < length; ++i)
+			assertThat(itemList.getItem(i)).isEqualTo(expected[i]);
+		assertThat(topList.getLength()).isEqualTo(20);
+		for (int i = 0; i < 20; ++i)
+			assertThat(topList.getItem(i)).isEqualTo(expected[i]);
+	}
+
+	private List<String> getNames(AxiomList axiomList)
+	{
+		List<String> names = new ArrayList<String>();
+		for (int i = 0; i < axiomList.getLength(); ++i)
+			names.add(axiomList.getItem(i).getAxiom().getTermByName("name").getValue().toString());
+		return names;
+	}
+
+	private AxiomList createAxiomList()
+	{
+		AxiomList axiomList = new AxiomList(QNAME, QNAME);
+		for (int i = 0; i < NAMES.length; ++i)
+		{
+			AxiomTermList axiomTermList = new AxiomTermList(QNAME, QNAME);
+			axiomTermList.setAxiom(new Axiom("city", new Parameter("name", NAMES[i]), new Parameter("altitude", Long.valueOf(ALTITUDES[i]))));
+			axiomList.assignItem(i, axiomTermList);
+		}
+		return axiomList;
+	}
+}
@@ -0,0 +1,141 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.list;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.failBecauseExceptionWasNotThrown;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Locale;
+
+import org.junit.Test;
+
+import au.com.cybersearch2.classy_logic.expression.ExpressionException;
+import au.com.cybersearch2.classy_logic.expression.IntegerOperand;
+import au.com.cybersearch2.classy_logic.expression.TestBooleanOperand;
+import au.com.cybersearch2.classy_logic.expression.TestDoubleOperand;
+import au.com.cybersearch2.classy_logic.expression.TestIntegerOperand;
+import au.com.cybersearch2.classy_logic.helper.QualifiedName;
+
+/**
+ * PrimitiveItemListTest
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class PrimitiveItemListTest 
+{
+	private static final String NAME = "numbers";
+
+	@Test
+	public void test_assign_with_gaps()
+	{
+		LongItemList itemList = new LongItemList(new TestIntegerOperand(NAME));
+		assertThat(itemList.isEmpty()).isTrue();
+		for (int i = 0; i < 100; ++i)
+			itemList.assignItem(i * 2 + 1, Long.valueOf(i));
+		assertThat(itemList.getLength()).isEqualTo(200);
+		assertThat(itemList.hasItem(0)).isFalse();
+		assertThat(itemList.hasItem(199)).isTrue();
+		assertThat(itemList.hasItem(200)).isFalse();
+		assertThat(itemList.getItem(199)).isEqualTo(Long.valueOf(99));
+		assertThat(itemList.getLongValue(41)).isEqualTo(20L);
+		itemList.assignItem(0, Long.valueOf(-1));
+		assertThat(itemList.hasItem(0)).isTrue();
+		try
+		{
+			itemList.getItem(2);
+			failBecauseExceptionWasNotThrown(ExpressionException.class);
+		}
+		catch (ExpressionException e)
+		{
+			assertThat(e.getMessage()).isEqualTo(NAME + " item 2 not found");
+		}
+		try
+		{
+			itemList.assignItem(0, "one");
+			failBecauseExceptionWasNotThrown(ExpressionException.class);
+		}
+		catch (ExpressionException e)
+		{
+			assertThat(e.getMessage()).isEqualTo("Cannot assign type java.lang.String to List " + NAME);
+		}
+		itemList.clear();
+		assertThat(itemList.isEmpty()).isTrue();
+		assertThat(itemList.hasItem(1)).isFalse();
+	}
+
+	@Test
+	public void test_iterable_is_snapshot()
+	{
+		DoubleItemList itemList = new DoubleItemList(new TestDoubleOperand(NAME));
+		itemList.assignItem(1, Double.valueOf(1.5));
+		itemList.assignItem(3, Double.valueOf(3.5));
+		Iterable<Double> iterable = itemList.getIterable();
+		itemList.assignItem(3, Double.valueOf(-3.5));
+		itemList.assignItem(5, Double.valueOf(5.5));
+		assertThat(itemList.getItem(3)).isEqualTo(Double.valueOf(-3.5));
+		itemList.clear();
+		itemList.assignItem(1, Double.valueOf(0.0));
+		Iterator<Double> iterator = iterable.iterator();
+		// Leading gap is skipped, interior gap is null
+		assertThat(iterator.next()).isEqualTo(Double.valueOf(1.5));
+		assertThat(iterator.next()).isNull();
+		assertThat(iterator.next()).isEqualTo(Double.valueOf(3.5));
+		assertThat(iterator.hasNext()).isFalse();
+	}
+
+	@Test
+	public void test_variables_reused()
+	{
+		BooleanItemList itemList = new BooleanItemList(new TestBooleanOperand(NAME));
+		itemList.assignItem(0, Boolean.TRUE);
+		ItemListVariable<Boolean> variable = itemList.newVariableInstance(0, "0", 0);
+		assertThat(itemList.newVariableInstance(0, "0", 0)).isSameAs(variable);
+		assertThat(variable.getValue()).isEqualTo(Boolean.TRUE);
+		itemList.assignItem(0, Boolean.FALSE);
+		assertThat(variable.getValue()).isEqualTo(Boolean.FALSE);
+		IntegerOperand indexExpression = new IntegerOperand(QualifiedName.parseName("i"));
+		ItemListVariable<Boolean> indexVariable = itemList.newVariableInstance(indexExpression, "i", 0);
+		assertThat(itemList.newVariableInstance(indexExpression, "i", 0)).isSameAs(indexVariable);
+		assertThat(indexVariable).isNotSameAs(variable);
+	}
+
+	@Test
+	public void test_sort_and_top()
+	{
+		LongItemList itemList = new LongItemList(new TestIntegerOperand(NAME));
+		itemList.assignItem(0, Long.valueOf(3));
+		itemList.assignItem(2, Long.valueOf(1));
+		itemList.assignItem(4, Long.valueOf(2));
+		ListSorter sorter = new ListSorter(Collections.singletonList(new SortKey(null, true)), Locale.US);
+		PrimitiveItemList<?> topList = sorter.top(itemList, 2, QualifiedName.parseName("top"));
+		assertThat(topList).isInstanceOf(LongItemList.class);
+		assertThat(topList.getLength()).isEqualTo(2);
+		assertThat(topList.getItem(0)).isEqualTo(Long.valueOf(3));
+		assertThat(topList.getItem(1)).isEqualTo(Long.valueOf(2));
+		sorter.sort(itemList);
+		assertThat(itemList.getLength()).isEqualTo(3);
+		assertThat(itemList.getItem(0)).isEqualTo(Long.valueOf(3));
+		assertThat(itemList.getItem(2)).isEqualTo(Long.valueOf(1));
+		BooleanItemList booleanList = new BooleanItemList(new TestBooleanOperand(NAME));
+		booleanList.assignItem(0, Boolean.TRUE);
+		booleanList.assignItem(1, Boolean.FALSE);
+		new ListSorter(Collections.<SortKey>emptyList(), Locale.US).sort(booleanList);
+		assertThat(booleanList.getItem(0)).isEqualTo(Boolean.FALSE);
+		assertThat(booleanList.getItem(1)).isEqualTo(Boolean.TRUE);
+	}
+}
@@ -21,6 +21,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.lang.ref.WeakReference;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
@@ -30,8 +31,10 @@ import org.junit.Test;
 
 import au.com.cybersearch2.classy_logic.expression.IntegerOperand;
 import au.com.cybersearch2.classy_logic.expression.StringOperand;
+import au.com.cybersearch2.classy_logic.expression.Variable;
 import au.com.cybersearch2.classy_logic.helper.QualifiedName;
 import au.com.cybersearch2.classy_logic.helper.QualifiedTemplateName;
+import au.com.cybersearch2.classy_logic.helper.Unknown;
 import au.com.cybersearch2.classy_logic.interfaces.Operand;
 import au.com.cybersearch2.classy_logic.interfaces.Term;
 import au.com.cybersearch2.classy_logic.pattern.Axiom;
@@ -131,6 +134,103 @@ public class AxiomTest
     	assertThat(axiom.getTermByName("x")).isEqualTo(term);
 	}
     
+    @Test
+	public void test_compact_axiom()
+	{
+    	Template template = new Template("templateKey", parseTemplateName("myTemplate"));
+    	IntegerOperand x = new IntegerOperand(QualifiedName.parseGlobalName("x"), new Integer(2));
+    	StringOperand y = new StringOperand(QualifiedName.parseGlobalName("y"), "two");
+    	template.addTerm(x);
+    	template.addTerm(y);
+    	Axiom axiom1 = template.toAxiom();
+    	x.assign(new Parameter(Term.ANONYMOUS, Long.valueOf(3)));
+    	Axiom axiom2 = template.toAxiom();
+    	assertThat(axiom1.schema).isNotNull();
+    	assertThat(axiom2.schema).isSameAs(axiom1.schema);
+    	assertThat(axiom1.schema).isSameAs(AxiomSchema.intern("x", "y"));
+    	assertThat(axiom1.getTermCount()).isEqualTo(2);
+    	assertThat(axiom1.getTermSlot("Y")).isEqualTo(1);
+    	assertThat(axiom1.isFact()).isTrue();
+    	assertThat(axiom1.pairByPosition).isFalse();
+    	assertThat(axiom1.toString()).isEqualTo("myTemplate(x = 2, y = two)");
+    	assertThat(axiom2.toString()).isEqualTo("myTemplate(x = 3, y = two)");
+    	// Reading terms leaves the axiom compact
+    	Axiom copy = new Axiom(axiom1, "copy");
+    	assertThat(axiom1.getTermByName("x").getValue().toString()).isEqualTo("2");
+    	assertThat(axiom1.getTermByName("X").getName()).isEqualTo("x");
+    	assertThat(axiom1.getTermByName("z")).isNull();
+    	assertThat(axiom1.getTermByIndex(2)).isNull();
+    	assertThat(axiom1.values).isNotNull();
+    	assertThat(axiom1.toString()).isEqualTo("myTemplate(x = 2, y = two)");
+    	assertThat(copy.getTermByIndex(1).getName()).isEqualTo("y");
+    	copy.setTermValue(1, "deux");
+    	assertThat(axiom1.toString()).isEqualTo("myTemplate(x = 2, y = deux)");
+    	// Terms are views which are reused and write through to the values
+    	Term yTerm = axiom1.getTermByIndex(1);
+    	assertThat(axiom1.getTermByName("y")).isSameAs(yTerm);
+    	assertThat(yTerm.isEmpty()).isFalse();
+    	yTerm.setValue("zwei");
+    	assertThat(axiom1.toString()).isEqualTo("myTemplate(x = 2, y = zwei)");
+    	assertThat(yTerm).isEqualTo(new Parameter("y", "zwei"));
+    	assertThat(new Parameter("y", "zwei").equals(yTerm)).isTrue();
+    	Parameter target1 = new Parameter("y");
+    	yTerm.unifyTerm(target1, 1);
+    	assertThat(target1.getValue()).isEqualTo("zwei");
+    	assertThat(axiom1.values).isNotNull();
+    	// Clearing a value extends the axiom and the view follows the new term
+    	yTerm.clearValue();
+    	assertThat(axiom1.values).isNull();
+    	assertThat(yTerm.isEmpty()).isTrue();
+    	yTerm.unifyTerm(new Parameter("y", "drei"), 2);
+    	assertThat(axiom1.getTermByIndex(1).getValue()).isEqualTo("drei");
+    	assertThat(yTerm.getId()).isEqualTo(2);
+    	assertThat(yTerm.backup(2)).isTrue();
+    	assertThat(axiom1.getTermByIndex(1).isEmpty()).isTrue();
+    	assertThat(copy.toString()).isEqualTo("copy(x = 2, y = zwei)");
+    	// Unification pairs values by slot without creating terms
+    	Template target = new Template("templateKey", parseTemplateName("target"));
+    	Variable yVar = new Variable(QualifiedName.parseName("y", target.getQualifiedName()));
+    	Variable xVar = new Variable(QualifiedName.parseName("x", target.getQualifiedName()));
+    	target.addTerm(yVar);
+    	target.addTerm(xVar);
+    	assertThat(axiom2.unifyTemplate(target, solution)).isTrue();
+    	assertThat(yVar.getValue()).isEqualTo("two");
+    	assertThat(xVar.getValue()).isEqualTo(Long.valueOf(3));
+    	assertThat(axiom2.values).isNotNull();
+    	target.backup(false);
+    	xVar.assign(new Parameter(Term.ANONYMOUS, Long.valueOf(4)));
+    	assertThat(axiom2.unifyTemplate(target, solution)).isFalse();
+    	assertThat(yVar.isEmpty()).isTrue();
+    	axiom2.addTerm(new Parameter("z", "three"));
+    	assertThat(axiom2.getTermCount()).isEqualTo(3);
+    	assertThat(axiom2.getTermSlot("z")).isEqualTo(2);
+    	assertThat(new Axiom(NAME, AxiomSchema.intern("", ""), new Object[] { "a", new Unknown() }).isFact()).isFalse();
+    	try
+    	{
+    		new Axiom(NAME, AxiomSchema.intern("x", "y"), new Object[] { "a" });
+    		failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+    	}
+    	catch (IllegalArgumentException e)
+    	{
+    	}
+	}
+    
+    @Test
+	public void test_schema_discarded()
+	{
+    	AxiomSchema schema = AxiomSchema.intern("discard", "me");
+    	assertThat(AxiomSchema.intern("discard", "me")).isSameAs(schema);
+    	WeakReference<AxiomSchema> schemaRef = new WeakReference<AxiomSchema>(schema);
+    	schema = null;
+    	for (int i = 0; (i < 50) && (schemaRef.get() != null); ++i)
+    		System.gc();
+    	// The intern table does not keep an unused schema
+    	assertThat(schemaRef.get()).isNull();
+    	schema = AxiomSchema.intern("discard", "me");
+    	assertThat(schema.getTermSlot("ME")).isEqualTo(1);
+    	assertThat(AxiomSchema.intern("discard", "me")).isSameAs(schema);
+	}
+    
    @Test
 	public void test_unification_by_position()
 	{
@@ -555,6 +655,22 @@ public class AxiomTest
         assertThat(marshalled.pairByPosition).isFalse();
     }
     
+    @Test 
+    public void test_compact_serialization() throws Exception
+    {
+        Axiom axiom = new Axiom(NAME, AxiomSchema.intern("", ""), new Object[] { BigDecimal.TEN, "ten" });
+        File serializeFile = File.createTempFile("axiom_test_compact_serialization", null, null);
+        serializeFile.deleteOnExit();
+        writeAxiom(axiom, serializeFile);
+        Axiom marshalled = readAxiom(serializeFile);
+        assertThat(marshalled.getName()).isEqualTo(NAME);
+        assertThat(marshalled.schema).isSameAs(axiom.schema);
+        assertThat(marshalled.pairByPosition).isTrue();
+        assertThat(marshalled.getTermCount()).isEqualTo(2);
+        assertThat(marshalled.getTermByIndex(0).getValue()).isEqualTo(BigDecimal.TEN);
+        assertThat(marshalled.getTermByIndex(1).getValue()).isEqualTo("ten");
+    }
+    
     private Axiom readAxiom(File serializeFile) throws IOException, ClassNotFoundException
     {
         FileInputStream fis = new FileInputStream(serializeFile);
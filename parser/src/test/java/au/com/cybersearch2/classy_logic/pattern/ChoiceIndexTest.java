@@ -0,0 +1,125 @@
+/**
+    Copyright (C) 2015  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.pattern;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import au.com.cybersearch2.classy_logic.expression.DoubleOperand;
+import au.com.cybersearch2.classy_logic.expression.Evaluator;
+import au.com.cybersearch2.classy_logic.expression.IntegerOperand;
+import au.com.cybersearch2.classy_logic.expression.StringOperand;
+import au.com.cybersearch2.classy_logic.expression.Variable;
+import au.com.cybersearch2.classy_logic.helper.QualifiedName;
+import au.com.cybersearch2.classy_logic.interfaces.Operand;
+import au.com.cybersearch2.classy_logic.interfaces.Term;
+
+/**
+ * ChoiceIndexTest
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class ChoiceIndexTest 
+{
+	private static QualifiedName AMOUNT = QualifiedName.parseName("amount");
+
+	@Test
+	public void test_bracket_table()
+	{
+		Variable amount = new Variable(AMOUNT);
+		long[] limits = { 12000, 30000, 50000, 100000, 200000, 250000, 300000, 500000 };
+		List<Term> termList = new ArrayList<Term>();
+		for (long limit: limits)
+			termList.add(row(amount, "<", new IntegerOperand(QualifiedName.ANONYMOUS, Long.valueOf(limit))));
+		termList.add(row(amount, ">", new IntegerOperand(QualifiedName.ANONYMOUS, Long.valueOf(500000))));
+		ChoiceIndex choiceIndex = ChoiceIndex.create(termList);
+		assertThat(choiceIndex).isNotNull();
+		assertThat(choiceIndex.getKeyOperand()).isSameAs(amount);
+		assertThat(choiceIndex.select(Long.valueOf(0))).isEqualTo(0);
+		assertThat(choiceIndex.select(Long.valueOf(11999))).isEqualTo(0);
+		assertThat(choiceIndex.select(Long.valueOf(12000))).isEqualTo(1);
+		assertThat(choiceIndex.select(new BigDecimal("123458.00"))).isEqualTo(4);
+		assertThat(choiceIndex.select(Double.valueOf(499999.5))).isEqualTo(7);
+		// Boundary value matches no row
+		assertThat(choiceIndex.select(Long.valueOf(500000))).isEqualTo(Choice.NO_MATCH);
+		assertThat(choiceIndex.select(new BigDecimal("500000.01"))).isEqualTo(8);
+	}
+
+	@Test
+	public void test_matches_sequential_selection()
+	{
+		Variable amount = new Variable(AMOUNT);
+		// Overlapping rows, reversed comparisons and mixed number types
+		List<Term> termList = new ArrayList<Term>();
+		termList.add(row(amount, "==", new IntegerOperand(QualifiedName.ANONYMOUS, Long.valueOf(5))));
+		termList.add(row(amount, "<=", new IntegerOperand(QualifiedName.ANONYMOUS, Long.valueOf(3))));
+		termList.add(row(new DoubleOperand(QualifiedName.ANONYMOUS, Double.valueOf(7.5)), ">", amount));
+		termList.add(row(amount, ">=", new IntegerOperand(QualifiedName.ANONYMOUS, Long.valueOf(10))));
+		termList.add(row(amount, "<", new IntegerOperand(QualifiedName.ANONYMOUS, Long.valueOf(9))));
+		Template template = new Template(QualifiedName.parseTemplateName("bracket"));
+		for (Term term: termList)
+			template.addTerm((Operand)term);
+		ChoiceIndex choiceIndex = ChoiceIndex.create(termList);
+		assertThat(choiceIndex).isNotNull();
+		double[] values = { -1, 0, 2.5, 3, 3.5, 4.99, 5, 5.01, 7.4, 7.5, 7.6, 8.99, 9, 9.5, 10, 11 };
+		for (double value: values)
+		{
+			int expected = sequentialSelect(value);
+			assertThat(choiceIndex.select(Double.valueOf(value))).isEqualTo(expected);
+			if (value == Math.rint(value))
+				assertThat(choiceIndex.select(Long.valueOf((long)value))).isEqualTo(expected);
+			amount.assign(new DoubleOperand(QualifiedName.ANONYMOUS, Double.valueOf(value)));
+			assertThat(template.select()).isEqualTo(expected);
+			template.backup(true);
+			amount.backup(0);
+		}
+	}
+
+	@Test
+	public void test_general_predicates_not_indexed()
+	{
+		Variable amount = new Variable(AMOUNT);
+		Variable other = new Variable(QualifiedName.parseName("other"));
+		List<Term> termList = new ArrayList<Term>();
+		termList.add(row(amount, "<", new IntegerOperand(QualifiedName.ANONYMOUS, Long.valueOf(1))));
+		termList.add(row(other, "<", new IntegerOperand(QualifiedName.ANONYMOUS, Long.valueOf(2))));
+		assertThat(ChoiceIndex.create(termList)).isNull();
+		termList.set(1, row(amount, "!=", new IntegerOperand(QualifiedName.ANONYMOUS, Long.valueOf(2))));
+		assertThat(ChoiceIndex.create(termList)).isNull();
+		termList.set(1, row(amount, "<", new StringOperand(QualifiedName.ANONYMOUS, "2")));
+		assertThat(ChoiceIndex.create(termList)).isNull();
+	}
+
+	private int sequentialSelect(double value)
+	{
+		if (value == 5) return 0;
+		if (value <= 3) return 1;
+		if (7.5 > value) return 2;
+		if (value >= 10) return 3;
+		if (value < 9) return 4;
+		return Choice.NO_MATCH;
+	}
+
+	private Evaluator row(Operand left, String operator, Operand right)
+	{
+		return new Evaluator(AMOUNT, new Evaluator(left, operator, right), "&&");
+	}
+}
@@ -23,10 +23,13 @@ import org.junit.Test;
 import static org.fest.assertions.api.Assertions.assertThat;
 import static org.fest.assertions.api.Assertions.failBecauseExceptionWasNotThrown;
 import static org.mockito.Mockito.*;
+import au.com.cybersearch2.classy_logic.expression.IntegerOperand;
 import au.com.cybersearch2.classy_logic.helper.EvaluationStatus;
 import au.com.cybersearch2.classy_logic.helper.QualifiedName;
 import au.com.cybersearch2.classy_logic.helper.QualifiedTemplateName;
 import au.com.cybersearch2.classy_logic.interfaces.Operand;
+import au.com.cybersearch2.classy_logic.interfaces.Term;
+import au.com.cybersearch2.classy_logic.terms.Parameter;
 
 /**
  * TemplateTest
@@ -165,6 +168,34 @@ public class TemplateTest
 		assertThat(testTemplate.getKey()).isEqualTo(KEY+"!");
 	}
 	
+	@Test
+	public void test_to_row_axiom()
+	{
+		Template template = new Template(KEY, parseTemplateName(NAME));
+		IntegerOperand x = new IntegerOperand(QualifiedName.parseGlobalName("x"), Long.valueOf(1));
+		template.addTerm(x);
+		Axiom row = template.toRowAxiom();
+		assertThat(row.toString()).isEqualTo(NAME + "(x = 1)");
+		Axiom retained = row.copy();
+		x.assign(new Parameter(Term.ANONYMOUS, Long.valueOf(2)));
+		assertThat(template.toRowAxiom()).isSameAs(row);
+		assertThat(row.toString()).isEqualTo(NAME + "(x = 2)");
+		assertThat(retained.toString()).isEqualTo(NAME + "(x = 1)");
+		// Terms returned by access present the row values, so use copy() to retain them
+		Term term = row.getTermByName("x");
+		x.assign(new Parameter(Term.ANONYMOUS, Long.valueOf(3)));
+		assertThat(template.toRowAxiom()).isSameAs(row);
+		assertThat(term.getValue()).isEqualTo(Long.valueOf(3));
+		assertThat(row.getTermByName("x")).isSameAs(term);
+		assertThat(retained.getTermByName("x").getValue()).isEqualTo(Long.valueOf(1));
+		// toAxiom() does not share the row buffer
+		Axiom axiom = template.toAxiom();
+		x.assign(new Parameter(Term.ANONYMOUS, Long.valueOf(4)));
+		template.toRowAxiom();
+		assertThat(axiom.getTermByName("x").getValue()).isEqualTo(Long.valueOf(3));
+		assertThat(row.getTermByName("x").getValue()).isEqualTo(Long.valueOf(4));
+	}
+	
 	protected List<Operand> getTermList()
 	{
 		List<Operand> paramList = new ArrayList<Operand>();
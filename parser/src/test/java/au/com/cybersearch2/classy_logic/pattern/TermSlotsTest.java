@@ -0,0 +1,67 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.pattern;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import au.com.cybersearch2.classy_logic.interfaces.Term;
+import au.com.cybersearch2.classy_logic.terms.Parameter;
+
+/**
+ * TermSlotsTest
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class TermSlotsTest 
+{
+	@Test
+	public void test_shared_layout()
+	{
+		TermSlots termSlots = new TermSlots(Arrays.asList("name", "city"));
+		Axiom axiom1 = new Axiom("person", new Parameter("name", "Alice"), new Parameter("age", 23), new Parameter("city", "Sydney"));
+		Axiom axiom2 = new Axiom("person", new Parameter("name", "Bob"), new Parameter("age", 31), new Parameter("city", "Perth"));
+		assertThat(termSlots.getTerm(axiom1, 1).getValue()).isEqualTo("Sydney");
+		assertThat(termSlots.getTerm(axiom2, 1).getValue()).isEqualTo("Perth");
+		assertThat(termSlots.getTerm(axiom2, 0).getValue()).isEqualTo("Bob");
+	}
+
+	@Test
+	public void test_different_layout()
+	{
+		TermSlots termSlots = new TermSlots(Arrays.asList("name", "city"));
+		Axiom axiom1 = new Axiom("person", new Parameter("name", "Alice"), new Parameter("city", "Sydney"));
+		Axiom axiom2 = new Axiom("person", new Parameter("City", "Perth"), new Parameter("NAME", "Bob"));
+		assertThat(termSlots.getTerm(axiom1, 1).getValue()).isEqualTo("Sydney");
+		assertThat(termSlots.getTerm(axiom2, 1).getValue()).isEqualTo("Perth");
+		assertThat(termSlots.getTerm(axiom2, 0).getValue()).isEqualTo("Bob");
+		assertThat(termSlots.getTerm(axiom1, 0).getValue()).isEqualTo("Alice");
+	}
+
+	@Test
+	public void test_term_not_found()
+	{
+		Axiom template = new Axiom("person", new Parameter("name", "Alice"), new Parameter("age", 23));
+		TermSlots termSlots = new TermSlots(template);
+		Axiom axiom = new Axiom("person", new Parameter("name", "Bob"));
+		Term term = termSlots.getTerm(axiom, 1);
+		assertThat(term).isNull();
+		assertThat(termSlots.getTerm(axiom, 0).getValue()).isEqualTo("Bob");
+	}
+}
@@ -0,0 +1,258 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.pipeline;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import au.com.cybersearch2.classy_logic.ProviderManager;
+import au.com.cybersearch2.classy_logic.QueryProgram;
+import au.com.cybersearch2.classy_logic.helper.QualifiedName;
+import au.com.cybersearch2.classy_logic.interfaces.AxiomListener;
+import au.com.cybersearch2.classy_logic.interfaces.AxiomProvider;
+import au.com.cybersearch2.classy_logic.interfaces.AxiomSource;
+import au.com.cybersearch2.classy_logic.pattern.Axiom;
+
+/**
+ * AsyncAxiomListenerTest
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class AsyncAxiomListenerTest
+{
+    static final String HIGH_CITIES = 
+        "axiom city (name, altitude)\n" +
+        "    {\"bilene\", 1718}\n" +
+        "    {\"addis ababa\", 8000}\n" +
+        "    {\"denver\", 5280}\n" +
+        "    {\"flagstaff\", 6970}\n" +
+        "    {\"jacksonville\", 8}\n" +
+        "    {\"leadville\", 10200}\n" +
+        "    {\"madrid\", 1305}\n" +
+        "    {\"richmond\",19}\n" +
+        "    {\"spokane\", 1909}\n" +
+        "    {\"wichita\", 1305};\n" +
+        "template high_city(name, altitude ? altitude > 5000);\n" +
+        "list<term> high_city_list(high_city : \"sink\");\n" +
+        "query high_cities (city : high_city);\n";
+
+    /**
+     * ManualExecutor
+     * Holds tasks until the test runs them
+     */
+    static class ManualExecutor implements Executor
+    {
+        List<Runnable> taskList = new ArrayList<Runnable>();
+
+        @Override
+        public void execute(Runnable command)
+        {
+            taskList.add(command);
+        }
+
+        void runAll()
+        {
+            while (!taskList.isEmpty())
+                taskList.remove(0).run();
+        }
+    }
+
+    /**
+     * RecordingListener
+     * Records text of each axiom received, optionally waiting for a signal to start
+     */
+    static class RecordingListener implements AxiomListener
+    {
+        List<String> axiomList = Collections.synchronizedList(new ArrayList<String>());
+        CountDownLatch startSignal = new CountDownLatch(0);
+
+        @Override
+        public void onNextAxiom(QualifiedName qname, Axiom axiom)
+        {
+            try
+            {
+                startSignal.await();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+            axiomList.add(axiom.toString());
+        }
+    }
+
+    /**
+     * SinkProvider
+     * Axiom provider which passes exported axioms to a listener
+     */
+    static class SinkProvider implements AxiomProvider
+    {
+        AxiomListener axiomListener;
+
+        SinkProvider(AxiomListener axiomListener)
+        {
+            this.axiomListener = axiomListener;
+        }
+
+        @Override
+        public String getName()
+        {
+            return "sink";
+        }
+
+        @Override
+        public void open(Map<String, Object> properties)
+        {
+        }
+
+        @Override
+        public void close()
+        {
+        }
+
+        @Override
+        public AxiomSource getAxiomSource(String axiomName, List<String> axiomTermNameList)
+        {
+            return null;
+        }
+
+        @Override
+        public AxiomListener getAxiomListener(String axiomName)
+        {
+            return axiomListener;
+        }
+
+        @Override
+        public boolean isEmpty()
+        {
+            return true;
+        }
+    }
+
+    @Test
+    public void test_order_blocking() throws Exception
+    {
+        AxiomListenerPipeline pipeline = new AxiomListenerPipeline(2, 8, 3, Backpressure.BLOCK);
+        RecordingListener listener1 = new RecordingListener();
+        RecordingListener listener2 = new RecordingListener();
+        AsyncAxiomListener async1 = pipeline.wrap(listener1);
+        AsyncAxiomListener async2 = pipeline.wrap(listener2);
+        assertThat(async1.getCapacity()).isEqualTo(8);
+        QualifiedName qname = new QualifiedName("number");
+        Axiom axiom = new Axiom("number", new Object[] { Integer.valueOf(0) });
+        List<String> expected = new ArrayList<String>();
+        for (int i = 0; i < 1000; ++i)
+        {   // Listeners receive copies, so the published axiom can be overwritten
+            axiom.getTermByIndex(0).setValue(Integer.valueOf(i));
+            expected.add(axiom.toString());
+            async1.onNextAxiom(qname, axiom);
+            async2.onNextAxiom(qname, axiom);
+        }
+        assertThat(pipeline.close(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(listener1.axiomList).isEqualTo(expected);
+        assertThat(listener2.axiomList).isEqualTo(expected);
+        assertThat(async1.getDeliveredCount()).isEqualTo(1000);
+        assertThat(async1.getDroppedCount()).isEqualTo(0);
+        assertThat(async1.getPendingCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void test_drop_and_spill()
+    {
+        ManualExecutor executor = new ManualExecutor();
+        RecordingListener dropListener = new RecordingListener();
+        RecordingListener spillListener = new RecordingListener();
+        AxiomListenerPipeline pipeline = new AxiomListenerPipeline(executor, 3, 2, Backpressure.DROP);
+        AsyncAxiomListener dropAsync = pipeline.wrap(dropListener);
+        AsyncAxiomListener spillAsync = pipeline.wrap(spillListener, Backpressure.SPILL);
+        QualifiedName qname = new QualifiedName("number");
+        for (int i = 0; i < 10; ++i)
+        {
+            Axiom axiom = new Axiom("number", new Object[] { Integer.valueOf(i) });
+            dropAsync.onNextAxiom(qname, axiom);
+            spillAsync.onNextAxiom(qname, axiom);
+        }
+        // Nothing delivered until the consumer runs
+        assertThat(dropListener.axiomList).isEmpty();
+        assertThat(dropAsync.getCapacity()).isEqualTo(4);
+        assertThat(dropAsync.getDroppedCount()).isEqualTo(6);
+        assertThat(spillAsync.getSpilledCount()).isEqualTo(6);
+        assertThat(spillAsync.getPendingCount()).isEqualTo(10);
+        executor.runAll();
+        assertThat(dropListener.axiomList).hasSize(4);
+        assertThat(dropListener.axiomList.get(3)).isEqualTo("number(3)");
+        assertThat(spillListener.axiomList).hasSize(10);
+        for (int i = 0; i < 10; ++i)
+            assertThat(spillListener.axiomList.get(i)).isEqualTo("number(" + i + ")");
+    }
+
+    @Test
+    public void test_consumer_failure()
+    {
+        ManualExecutor executor = new ManualExecutor();
+        AxiomListenerPipeline pipeline = new AxiomListenerPipeline(executor, 4, 4, Backpressure.BLOCK);
+        final RecordingListener listener = new RecordingListener();
+        AsyncAxiomListener async = pipeline.wrap(new AxiomListener()
+        {
+            @Override
+            public void onNextAxiom(QualifiedName qname, Axiom axiom)
+            {
+                if (axiom.getTermByIndex(0).getValue().equals(Integer.valueOf(1)))
+                    throw new IllegalStateException("Sink unavailable");
+                listener.onNextAxiom(qname, axiom);
+            }
+        });
+        for (int i = 0; i < 3; ++i)
+            async.onNextAxiom(new QualifiedName("number"), new Axiom("number", new Object[] { Integer.valueOf(i) }));
+        executor.runAll();
+        assertThat(listener.axiomList).containsExactly("number(0)", "number(2)");
+        assertThat(async.getFailureCount()).isEqualTo(1);
+        assertThat(async.getFirstFailure().getMessage()).isEqualTo("Sink unavailable");
+    }
+
+    @Test
+    public void test_provider_listener() throws Exception
+    {
+        RecordingListener listener = new RecordingListener();
+        listener.startSignal = new CountDownLatch(1);
+        ProviderManager providerManager = new ProviderManager();
+        providerManager.putAxiomProvider(new SinkProvider(listener));
+        AxiomListenerPipeline pipeline = new AxiomListenerPipeline(1);
+        providerManager.setListenerPipeline(pipeline);
+        QueryProgram queryProgram = new QueryProgram(providerManager);
+        queryProgram.parseScript(HIGH_CITIES);
+        // Query completes while the consumer is held up
+        queryProgram.executeQuery("high_cities");
+        assertThat(listener.axiomList).isEmpty();
+        listener.startSignal.countDown();
+        assertThat(pipeline.getListeners()).hasSize(1);
+        assertThat(pipeline.close(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(listener.axiomList).containsExactly(
+            "high_city(name = addis ababa, altitude = 8000)",
+            "high_city(name = denver, altitude = 5280)",
+            "high_city(name = flagstaff, altitude = 6970)",
+            "high_city(name = leadville, altitude = 10200)");
+    }
+}
@@ -0,0 +1,159 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.query;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import au.com.cybersearch2.classy_logic.QueryParams;
+import au.com.cybersearch2.classy_logic.QueryProgram;
+import au.com.cybersearch2.classy_logic.Result;
+
+/**
+ * QueryProfilerTest
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class QueryProfilerTest
+{
+    static final String GRADES_REPORT =
+        "axiom grades (student, english, math, history)\n" +
+        " {\"Amy\", 14, 16, 6}\n" +
+        " {\"George\", 15, 13, 16}\n" +
+        " {\"Sarah\", 12, 17, 15};\n" +
+        "scope school\n" +
+        "{\n" +
+        "  calc total_score(\n" +
+        "    integer english,\n" +
+        "    integer math,\n" +
+        "    integer history,\n" +
+        "    integer value = english+math+history\n" +
+        "  );\n" +
+        "}\n"  +
+        "calc score(\n" +
+        "    template total(value) << school.total_score(english,math,history),\n" +
+        "    string total_text = student + \": \" + total[value]\n" +
+        ");\n" +
+        "query marks(grades : score);";
+
+    static final String CITY_QUERY = 
+        "axiom city (name, altitude)\n" +
+        "    {\"bilene\", 1718}\n" +
+        "    {\"addis ababa\", 8000}\n" +
+        "    {\"denver\", 5280}\n" +
+        "    {\"leadville\", 10200}\n" +
+        "    {\"madrid\", 1305};\n" +
+        "axiom visit (city, year)\n" +
+        "    {\"denver\", 2014}\n" +
+        "    {\"madrid\", 2015}\n" +
+        "    {\"leadville\", 2016};\n" +
+        "template high_city(name, altitude ? altitude > 5000);\n" +
+        "template high_visit(city ? city == high_city.name, year);\n" +
+        "query high_visits (city : high_city, visit : high_visit);\n";
+
+    @Test
+    public void test_join()
+    {
+        QueryProgram queryProgram = new QueryProgram(CITY_QUERY);
+        QueryParams queryParams = queryProgram.getQueryParams(QueryProgram.GLOBAL_SCOPE, "high_visits");
+        QueryProfiler profiler = new QueryProfiler();
+        queryParams.setQueryProfiler(profiler);
+        Result result = queryProgram.executeQuery(queryParams);
+        assertThat(result.getQueryProfiler()).isSameAs(profiler);
+        assertThat(QueryProfiler.getCurrent()).isNull();
+        ProfileNode query = profiler.getQuery("high_visits");
+        assertThat(query.getCalls()).isEqualTo(1);
+        assertThat(query.getWallNanos()).isGreaterThan(0);
+        assertThat(query.getChildren()).hasSize(2);
+        ProfileNode highCity = query.getChild(QueryProfiler.LOGIC, "high_city");
+        assertThat(highCity.getAxiomsScanned()).isEqualTo(5);
+        assertThat(highCity.getUnifyAttempts()).isEqualTo(5);
+        assertThat(highCity.getUnifySuccesses()).isEqualTo(5);
+        assertThat(highCity.getShortCircuits()).isEqualTo(2);
+        assertThat(highCity.getBackups()).isEqualTo(3);
+        assertThat(highCity.getSolutions()).isEqualTo(3);
+        // Visits are scanned once for each high city
+        ProfileNode highVisit = query.getChild(QueryProfiler.LOGIC, "high_visit");
+        assertThat(highVisit.getAxiomsScanned()).isEqualTo(9);
+        assertThat(highVisit.getShortCircuits()).isEqualTo(7);
+        assertThat(highVisit.getSolutions()).isEqualTo(2);
+        String[] lines = profiler.toString().split(System.getProperty("line.separator"));
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("query high_visits: calls=1 wall=");
+        assertThat(lines[1]).startsWith("  logic high_city: calls=3 scanned=5 unify=5/5 backups=3 short-circuits=2 solutions=3 wall=");
+        assertThat(lines[2]).startsWith("  logic high_visit: calls=5 scanned=9 unify=9/9 backups=7 short-circuits=7 solutions=2 wall=");
+        // Profiles accumulate until reset
+        queryProgram.executeQuery(queryParams);
+        assertThat(profiler.getQuery("high_visits").getCalls()).isEqualTo(2);
+        assertThat(highCity.getAxiomsScanned()).isEqualTo(10);
+        profiler.reset();
+        assertThat(profiler.getQuery("high_visits")).isNull();
+        assertThat(profiler.toString()).isEmpty();
+    }
+
+    @Test
+    public void test_call()
+    {
+        QueryProgram queryProgram = new QueryProgram(GRADES_REPORT);
+        QueryParams queryParams = queryProgram.getQueryParams(QueryProgram.GLOBAL_SCOPE, "marks");
+        QueryProfiler profiler = new QueryProfiler();
+        queryParams.setQueryProfiler(profiler);
+        queryProgram.executeQuery(queryParams);
+        ProfileNode score = profiler.getQuery("marks").getChild(QueryProfiler.CALCULATE, "score");
+        assertThat(score.getCalls()).isEqualTo(3);
+        assertThat(score.getSolutions()).isEqualTo(3);
+        ProfileNode call = score.getChild(QueryProfiler.CALL, "school.total_score");
+        assertThat(call.getCalls()).isEqualTo(3);
+        assertThat(call.getMaxDepth()).isEqualTo(1);
+        ProfileNode totalScore = call.getChild(QueryProfiler.CALCULATE, "school.total_score");
+        assertThat(totalScore.getUnifySuccesses()).isEqualTo(3);
+        assertThat(totalScore.getSolutions()).isEqualTo(3);
+        assertThat(call.getWallNanos()).isGreaterThanOrEqualTo(totalScore.getWallNanos());
+        assertThat(score.getWallNanos()).isGreaterThanOrEqualTo(call.getWallNanos());
+    }
+
+    @Test
+    public void test_recursion()
+    {
+        QueryProfiler profiler = new QueryProfiler();
+        ProfileNode outer = profiler.enter(QueryProfiler.CALL, "fact");
+        ProfileNode template = profiler.enter(QueryProfiler.CALCULATE, "fact");
+        ProfileNode inner = profiler.enter(QueryProfiler.CALL, "fact");
+        // Recursive call re-enters active node
+        assertThat(inner).isSameAs(outer);
+        assertThat(profiler.enter(QueryProfiler.CALCULATE, "fact")).isSameAs(template);
+        profiler.exit(template);
+        profiler.exit(inner);
+        assertThat(outer.getWallNanos()).isEqualTo(0);
+        profiler.exit(template);
+        profiler.exit(outer);
+        assertThat(outer.getCalls()).isEqualTo(2);
+        assertThat(outer.getMaxDepth()).isEqualTo(2);
+        assertThat(outer.getWallNanos()).isGreaterThan(0);
+        assertThat(profiler.getRoot().getChildren()).containsExactly(outer);
+        assertThat(outer.getChildren()).containsExactly(template);
+        assertThat(profiler.toString()).contains("call fact: calls=2 depth=2 wall=");
+    }
+
+    @Test
+    public void test_not_profiled()
+    {
+        QueryProgram queryProgram = new QueryProgram(CITY_QUERY);
+        Result result = queryProgram.executeQuery(QueryProgram.GLOBAL_SCOPE, "high_visits");
+        assertThat(result.getQueryProfiler()).isNull();
+    }
+}
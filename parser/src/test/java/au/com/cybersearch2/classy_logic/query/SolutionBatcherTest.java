@@ -0,0 +1,141 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.query;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import au.com.cybersearch2.classy_logic.QueryParams;
+import au.com.cybersearch2.classy_logic.QueryProgram;
+import au.com.cybersearch2.classy_logic.interfaces.BatchSolutionHandler;
+import au.com.cybersearch2.classy_logic.interfaces.SolutionHandler;
+
+/**
+ * SolutionBatcherTest
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class SolutionBatcherTest
+{
+    static final String CITY_QUERY = 
+        "axiom city (name, altitude)\n" +
+        "    {\"bilene\", 1718}\n" +
+        "    {\"addis ababa\", 8000}\n" +
+        "    {\"denver\", 5280}\n" +
+        "    {\"flagstaff\", 6970}\n" +
+        "    {\"jacksonville\", 8}\n" +
+        "    {\"leadville\", 10200}\n" +
+        "    {\"madrid\", 1305}\n" +
+        "    {\"richmond\",19}\n" +
+        "    {\"spokane\", 1909}\n" +
+        "    {\"wichita\", 1305};\n" +
+        "template high_city(name, altitude ? altitude > 5000);\n" +
+        "template any_city(name, altitude);\n" +
+        "template low_city(name, altitude ? altitude < 0);\n" +
+        "query high_cities (city : high_city);\n" +
+        "query all_cities (city : any_city);\n" +
+        "query no_cities (city : low_city);\n";
+
+    /**
+     * BatchRecorder
+     * Records rows and the size and last flag of each batch
+     */
+    static class BatchRecorder implements BatchSolutionHandler
+    {
+        List<String> rowList = new ArrayList<String>();
+        List<String> batchList = new ArrayList<String>();
+        List<SolutionBatch> batches = new ArrayList<SolutionBatch>();
+        int maxBatches = Integer.MAX_VALUE;
+
+        @Override
+        public boolean onBatch(SolutionBatch batch, boolean isLast)
+        {
+            batches.add(batch);
+            batchList.add(batch.size() + (isLast ? " last" : ""));
+            for (int i = 0; i < batch.size(); ++i)
+                for (String key: batch.getKeys())
+                    rowList.add(batch.getAxiom(i, key).toString());
+            return batches.size() < maxBatches;
+        }
+    }
+
+    @Test
+    public void test_batches()
+    {
+        QueryProgram queryProgram = new QueryProgram(CITY_QUERY);
+        BatchRecorder recorder = new BatchRecorder();
+        queryProgram.executeQuery(QueryProgram.GLOBAL_SCOPE, "all_cities", recorder, 4);
+        assertThat(recorder.batchList).containsExactly("4", "4", "2 last");
+        assertThat(recorder.rowList).hasSize(10);
+        assertThat(recorder.rowList.get(0)).isEqualTo("any_city(name = bilene, altitude = 1718)");
+        assertThat(recorder.rowList.get(9)).isEqualTo("any_city(name = wichita, altitude = 1305)");
+        // Rows retained by the handler are not overwritten by later solutions
+        SolutionBatch first = recorder.batches.get(0);
+        assertThat(first.getKeys()).containsExactly("any_city");
+        assertThat(first.getString(1, "any_city", "name")).isEqualTo("addis ababa");
+        assertThat(first.getValue(3, "any_city", "altitude")).isEqualTo(Long.valueOf(6970));
+        assertThat(first.getAxioms("any_city")).hasSize(4);
+        assertThat(first.getAxiom(0, "city")).isNull();
+        // Same rows as delivered one at a time
+        final List<String> expected = new ArrayList<String>();
+        QueryParams queryParams = queryProgram.getQueryParams(QueryProgram.GLOBAL_SCOPE, "all_cities");
+        queryParams.setSolutionHandler(new SolutionHandler()
+        {
+            @Override
+            public boolean onSolution(Solution solution)
+            {
+                expected.add(solution.getAxiom("any_city").toString());
+                return true;
+            }
+        });
+        queryProgram.executeQuery(queryParams);
+        assertThat(recorder.rowList).isEqualTo(expected);
+    }
+
+    @Test
+    public void test_exact_and_empty()
+    {
+        QueryProgram queryProgram = new QueryProgram(CITY_QUERY);
+        BatchRecorder recorder = new BatchRecorder();
+        queryProgram.executeQuery(QueryProgram.GLOBAL_SCOPE, "high_cities", recorder, 2);
+        // A full final batch is flagged as last
+        assertThat(recorder.batchList).containsExactly("2", "2 last");
+        assertThat(recorder.rowList).containsExactly(
+            "high_city(name = addis ababa, altitude = 8000)",
+            "high_city(name = denver, altitude = 5280)",
+            "high_city(name = flagstaff, altitude = 6970)",
+            "high_city(name = leadville, altitude = 10200)");
+        recorder = new BatchRecorder();
+        queryProgram.executeQuery(QueryProgram.GLOBAL_SCOPE, "no_cities", recorder, 2);
+        assertThat(recorder.batchList).containsExactly("0 last");
+        assertThat(recorder.batches.get(0).isEmpty()).isTrue();
+    }
+
+    @Test
+    public void test_stop()
+    {
+        QueryProgram queryProgram = new QueryProgram(CITY_QUERY);
+        BatchRecorder recorder = new BatchRecorder();
+        recorder.maxBatches = 1;
+        queryProgram.executeQuery(QueryProgram.GLOBAL_SCOPE, "all_cities", recorder, 3);
+        assertThat(recorder.batchList).containsExactly("3");
+        assertThat(recorder.rowList).hasSize(3);
+    }
+}
@@ -0,0 +1,362 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.shard;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import au.com.cybersearch2.classy_logic.ProviderManager;
+import au.com.cybersearch2.classy_logic.QueryProgram;
+import au.com.cybersearch2.classy_logic.helper.QualifiedName;
+import au.com.cybersearch2.classy_logic.interfaces.AxiomListener;
+import au.com.cybersearch2.classy_logic.interfaces.AxiomProvider;
+import au.com.cybersearch2.classy_logic.interfaces.AxiomSource;
+import au.com.cybersearch2.classy_logic.interfaces.PartitionAxiomProvider;
+import au.com.cybersearch2.classy_logic.interfaces.ShardRowHandler;
+import au.com.cybersearch2.classy_logic.interfaces.ShardTransport;
+import au.com.cybersearch2.classy_logic.list.AggregateFunction;
+import au.com.cybersearch2.classy_logic.pattern.Axiom;
+import au.com.cybersearch2.classy_logic.pattern.AxiomSchema;
+import au.com.cybersearch2.classy_logic.query.AxiomListSource;
+
+/**
+ * ShardCoordinatorTest
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class ShardCoordinatorTest
+{
+    static final String CITY_SHARDS = 
+        "axiom city (name, altitude): \"cities\";\n" +
+        "template high_city(name, altitude ? altitude > 5000);\n" +
+        "query high_cities (city : high_city);\n" +
+        "axiom threshold (height) : parameter;\n" +
+        "template limit(height);\n" +
+        "template above(name, altitude ? altitude > limit.height);\n" +
+        "query above_threshold (threshold : limit, city : above);\n" +
+        "calc city_stats (\n" +
+        "  integer city_count = count(city),\n" +
+        "  integer total_height = sum(city.altitude),\n" +
+        "  integer max_height = max(city.altitude)\n" +
+        ");\n" +
+        "query city_stats (city_stats);";
+
+    static final Object[][] CITIES =
+    {
+        { "bilene", 1718L },
+        { "addis ababa", 8000L },
+        { "denver", 5280L },
+        { "flagstaff", 6970L },
+        { "jacksonville", 8L },
+        { "leadville", 10200L },
+        { "madrid", 1305L },
+        { "richmond", 19L },
+        { "spokane", 1909L },
+        { "wichita", 1305L }
+    };
+
+    /**
+     * CityProvider
+     * Provides all cities from memory
+     */
+    static class CityProvider implements AxiomProvider
+    {
+        int scanCount;
+
+        @Override
+        public String getName()
+        {
+            return "cities";
+        }
+
+        @Override
+        public void open(Map<String, Object> properties)
+        {
+        }
+
+        @Override
+        public void close()
+        {
+        }
+
+        @Override
+        public AxiomSource getAxiomSource(final String axiomName, final List<String> axiomTermNameList)
+        {
+            final AxiomSchema schema = AxiomSchema.intern("name", "altitude");
+            return new AxiomSource()
+            {
+                @Override
+                public Iterator<Axiom> iterator()
+                {
+                    ++scanCount;
+                    List<Axiom> axiomList = new ArrayList<Axiom>();
+                    for (Object[] city: CITIES)
+                        axiomList.add(new Axiom(axiomName, schema, city.clone()));
+                    return axiomList.iterator();
+                }
+
+                @Override
+                public List<String> getAxiomTermNameList()
+                {
+                    return axiomTermNameList;
+                }
+            };
+        }
+
+        @Override
+        public AxiomListener getAxiomListener(String axiomName)
+        {
+            return new AxiomListener()
+            {
+                @Override
+                public void onNextAxiom(QualifiedName qname, Axiom axiom)
+                {
+                }
+            };
+        }
+
+        @Override
+        public boolean isEmpty()
+        {
+            return false;
+        }
+    }
+
+    /**
+     * CityPartitionProvider
+     * Selects the cities of one shard at the source
+     */
+    static class CityPartitionProvider extends CityProvider implements PartitionAxiomProvider
+    {
+        @Override
+        public AxiomSource getAxiomSource(String axiomName, List<String> axiomTermNameList, String partitionTerm, int shardIndex, int shardCount)
+        {
+            List<Axiom> axiomList = new ArrayList<Axiom>();
+            AxiomSchema schema = AxiomSchema.intern("name", "altitude");
+            for (Object[] city: CITIES)
+                if (PartitionedAxiomProvider.shardOf(city[0], shardCount) == shardIndex)
+                    axiomList.add(new Axiom(axiomName, schema, city.clone()));
+            return new AxiomListSource(axiomList);
+        }
+    }
+
+    ShardCoordinator shardCoordinator;
+    CityProvider cityProvider;
+    List<QueryProgram> programList;
+
+    @Before
+    public void setUp()
+    {
+        programList = new ArrayList<QueryProgram>();
+        cityProvider = new CityProvider();
+        AxiomPartitioner partitioner = new AxiomPartitioner(cityProvider, 3);
+        partitioner.setPartitionTerm("city", "name");
+        for (int i = 0; i < 3; ++i)
+        {
+            ProviderManager providerManager = new ProviderManager();
+            providerManager.putAxiomProvider(partitioner.getAxiomProvider(i));
+            QueryProgram queryProgram = new QueryProgram(providerManager);
+            queryProgram.parseScript(CITY_SHARDS);
+            programList.add(queryProgram);
+        }
+        shardCoordinator = new ShardCoordinator(new InProcessShardTransport(programList));
+    }
+
+    @After
+    public void tearDown()
+    {
+        shardCoordinator.close();
+    }
+
+    @Test
+    public void test_partition()
+    {
+        CityProvider cityProvider = new CityProvider();
+        AxiomPartitioner partitioner = new AxiomPartitioner(cityProvider, 3);
+        partitioner.setPartitionTerm("city", "name");
+        checkPartitions(partitioner);
+        checkPartitions(partitioner);
+        // All shards are split from a single read of the provider
+        assertThat(cityProvider.scanCount).isEqualTo(1);
+        partitioner.clear();
+        checkPartitions(partitioner);
+        assertThat(cityProvider.scanCount).isEqualTo(2);
+        // Integral keys hash alike whatever their type
+        assertThat(PartitionedAxiomProvider.shardOf(Integer.valueOf(42), 7)).isEqualTo(PartitionedAxiomProvider.shardOf(Long.valueOf(42), 7));
+    }
+
+    @Test
+    public void test_partition_at_source()
+    {
+        CityPartitionProvider cityProvider = new CityPartitionProvider();
+        AxiomPartitioner partitioner = new AxiomPartitioner(cityProvider, 3);
+        partitioner.setPartitionTerm("city", "name");
+        checkPartitions(partitioner);
+        // The provider is never read in full
+        assertThat(cityProvider.scanCount).isEqualTo(0);
+    }
+
+    @Test
+    public void test_broadcast()
+    {
+        List<String> nameList = new ArrayList<String>();
+        for (Axiom row: shardCoordinator.execute(new ShardQuery("high_cities", "high_city")))
+            nameList.add(row.getTermByName("name").getValue().toString());
+        assertThat(nameList).hasSize(4);
+        assertThat(nameList).contains("addis ababa", "denver", "flagstaff", "leadville");
+    }
+
+    @Test
+    public void test_sorted_merge()
+    {
+        ShardQuery shardQuery = new ShardQuery("high_cities", "high_city");
+        shardQuery.addSortKey("altitude", true);
+        List<String> nameList = new ArrayList<String>();
+        for (Axiom row: shardCoordinator.execute(shardQuery))
+            nameList.add(row.getTermByName("name").getValue().toString());
+        assertThat(nameList).containsExactly("leadville", "addis ababa", "flagstaff", "denver");
+        shardQuery.setLimit(2);
+        assertThat(shardCoordinator.execute(shardQuery)).hasSize(2);
+    }
+
+    @Test
+    public void test_sort_and_limit_push_down()
+    {
+        final int[] rowCounts = new int[3];
+        ShardTransport transport = new InProcessShardTransport(programList)
+        {
+            @Override
+            public void execute(final int shardIndex, ShardQuery shardQuery, final ShardRowHandler rowHandler)
+            {
+                super.execute(shardIndex, shardQuery, new ShardRowHandler()
+                {
+                    @Override
+                    public boolean onRow(int shardIndex, Axiom row)
+                    {
+                        ++rowCounts[shardIndex];
+                        return rowHandler.onRow(shardIndex, row);
+                    }
+                });
+            }
+        };
+        ShardCoordinator coordinator = new ShardCoordinator(transport);
+        try
+        {
+            ShardQuery shardQuery = new ShardQuery("high_cities", "high_city");
+            shardQuery.addSortKey("altitude", false);
+            shardQuery.setLimit(1);
+            List<Axiom> rowList = coordinator.execute(shardQuery);
+            assertThat(rowList).hasSize(1);
+            assertThat(rowList.get(0).getTermByName("name").getValue()).isEqualTo("denver");
+            // Each shard returns only its lowest row
+            for (int rowCount: rowCounts)
+                assertThat(rowCount).isLessThanOrEqualTo(1);
+            // Rows are merged as they arrive and shards stop when the handler stops
+            shardQuery.setLimit(0);
+            final List<String> nameList = new ArrayList<String>();
+            coordinator.execute(shardQuery, new ShardRowHandler()
+            {
+                @Override
+                public boolean onRow(int shardIndex, Axiom row)
+                {
+                    nameList.add(row.getTermByName("name").getValue().toString());
+                    return nameList.size() < 2;
+                }
+            });
+            assertThat(nameList).containsExactly("denver", "flagstaff");
+        }
+        finally
+        {
+            coordinator.close();
+        }
+    }
+
+    @Test
+    public void test_parameter_push_down()
+    {
+        ShardQuery shardQuery = new ShardQuery("above_threshold", "above");
+        shardQuery.putParameter("threshold", "height", Long.valueOf(7000));
+        shardQuery.addSortKey("name", false);
+        List<String> nameList = new ArrayList<String>();
+        for (Axiom row: shardCoordinator.execute(shardQuery))
+            nameList.add(row.getTermByName("name").getValue().toString());
+        assertThat(nameList).containsExactly("addis ababa", "leadville");
+    }
+
+    @Test
+    public void test_route_key()
+    {
+        ShardQuery shardQuery = new ShardQuery("high_cities", "high_city");
+        shardQuery.setRouteKey("denver");
+        List<Axiom> rowList = shardCoordinator.execute(shardQuery);
+        // Only the shard which owns "denver" is queried
+        int shard = PartitionedAxiomProvider.shardOf("denver", 3);
+        for (Axiom row: rowList)
+            assertThat(PartitionedAxiomProvider.shardOf(row.getTermByName("name").getValue(), 3)).isEqualTo(shard);
+        List<String> nameList = new ArrayList<String>();
+        for (Axiom row: rowList)
+            nameList.add(row.getTermByName("name").getValue().toString());
+        assertThat(nameList).contains("denver");
+    }
+
+    @Test
+    public void test_partial_aggregates()
+    {
+        ShardQuery shardQuery = new ShardQuery("city_stats", "city_stats");
+        shardQuery.putAggregate("city_count", AggregateFunction.SUM);
+        shardQuery.putAggregate("total_height", AggregateFunction.SUM);
+        shardQuery.putAggregate("max_height", AggregateFunction.MAX);
+        // Each shard returns its partial result
+        assertThat(shardCoordinator.execute(new ShardQuery("city_stats", "city_stats"))).hasSize(3);
+        List<Axiom> rowList = shardCoordinator.execute(shardQuery);
+        assertThat(rowList).hasSize(1);
+        Axiom stats = rowList.get(0);
+        assertThat(stats.getTermByName("city_count").getValue()).isEqualTo(Long.valueOf(10));
+        assertThat(stats.getTermByName("total_height").getValue()).isEqualTo(Long.valueOf(1718+8000+5280+6970+8+10200+1305+19+1909+1305));
+        assertThat(stats.getTermByName("max_height").getValue()).isEqualTo(Long.valueOf(10200));
+        assertThat(cityProvider.scanCount).isEqualTo(1);
+    }
+
+    void checkPartitions(AxiomPartitioner partitioner)
+    {
+        List<String> allNames = new ArrayList<String>();
+        for (int i = 0; i < 3; ++i)
+        {
+            Iterator<Axiom> iterator = partitioner.getAxiomProvider(i).getAxiomSource("city", null).iterator();
+            int count = 0;
+            while (iterator.hasNext())
+            {
+                Axiom axiom = iterator.next();
+                assertThat(PartitionedAxiomProvider.shardOf(axiom.getTermByName("name").getValue(), 3)).isEqualTo(i);
+                allNames.add(axiom.getTermByName("name").getValue().toString());
+                ++count;
+            }
+            // Every shard has some cities
+            assertThat(count).isGreaterThan(0);
+        }
+        assertThat(allNames).hasSize(CITIES.length);
+        for (Object[] city: CITIES)
+            assertThat(allNames).contains(city[0].toString());
+    }
+}
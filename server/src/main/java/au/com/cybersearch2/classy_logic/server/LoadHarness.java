@@ -0,0 +1,227 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.server;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * LoadHarness
+ * Drives a query server on the loopback interface from several connections, each keeping a
+ * fixed number of requests in flight, and reports throughput and latency percentiles.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class LoadHarness
+{
+    /**
+     * LoadReport
+     * Measurements of a load run
+     */
+    public static class LoadReport
+    {
+        /** Number of requests completed */
+        public int requestCount;
+        /** Number of requests which failed */
+        public int errorCount;
+        /** Elapsed time in nanoseconds */
+        public long elapsedNanos;
+        /** Request latencies in nanoseconds, sorted ascending */
+        public long[] latencies;
+
+        /**
+         * Returns requests completed per second
+         * @return double
+         */
+        public double getThroughput()
+        {
+            return elapsedNanos == 0 ? 0.0 : requestCount * 1.0e9 / elapsedNanos;
+        }
+
+        /**
+         * Returns latency at given percentile in microseconds
+         * @param percentile Value from 0 to 100
+         * @return long
+         */
+        public long getLatencyMicros(double percentile)
+        {
+            if (latencies.length == 0)
+                return 0;
+            int index = (int)Math.ceil(percentile / 100.0 * latencies.length) - 1;
+            return latencies[Math.max(0, Math.min(index, latencies.length - 1))] / 1000;
+        }
+
+        @Override
+        public String toString()
+        {
+            return String.format("requests=%d errors=%d throughput=%.1f/s p50=%dus p99=%dus p99.9=%dus max=%dus",
+                    requestCount, errorCount, getThroughput(), 
+                    getLatencyMicros(50), getLatencyMicros(99), getLatencyMicros(99.9), getLatencyMicros(100));
+        }
+    }
+
+    /** Server port */
+    protected int port;
+    /** Query name, optionally qualified with scope name */
+    protected String queryName;
+
+    /**
+     * Construct LoadHarness object
+     * @param port Server port
+     * @param queryName Query name, optionally qualified with scope name
+     */
+    public LoadHarness(int port, String queryName)
+    {
+        this.port = port;
+        this.queryName = queryName;
+    }
+
+    /**
+     * Run load
+     * @param connectionCount Number of client connections
+     * @param requestsPerConnection Number of requests sent on each connection
+     * @param pipelineDepth Maximum requests in flight on each connection
+     * @return LoadReport object
+     * @throws Exception if a connection fails
+     */
+    public LoadReport run(int connectionCount, final int requestsPerConnection, final int pipelineDepth) throws Exception
+    {
+        final long[] latencies = new long[connectionCount * requestsPerConnection];
+        final AtomicInteger completed = new AtomicInteger();
+        final AtomicInteger errors = new AtomicInteger();
+        final List<Exception> failures = new ArrayList<Exception>();
+        List<Thread> threadList = new ArrayList<Thread>();
+        long start = System.nanoTime();
+        for (int i = 0; i < connectionCount; i++)
+        {
+            Thread thread = new Thread(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    try
+                    {
+                        runConnection(requestsPerConnection, pipelineDepth, latencies, completed, errors);
+                    }
+                    catch (Exception e)
+                    {
+                        synchronized(failures)
+                        {
+                            failures.add(e);
+                        }
+                    }
+                }
+            }, "load-connection-" + i);
+            thread.start();
+            threadList.add(thread);
+        }
+        for (Thread thread: threadList)
+            thread.join();
+        if (!failures.isEmpty())
+            throw failures.get(0);
+        LoadReport report = new LoadReport();
+        report.elapsedNanos = System.nanoTime() - start;
+        report.requestCount = completed.get();
+        report.errorCount = errors.get();
+        report.latencies = Arrays.copyOf(latencies, report.requestCount);
+        Arrays.sort(report.latencies);
+        return report;
+    }
+
+    /**
+     * Send requests on one connection, keeping up to pipelineDepth requests in flight
+     */
+    protected void runConnection(int requestCount, int pipelineDepth, final long[] latencies, 
+                                 final AtomicInteger completed, final AtomicInteger errors) throws Exception
+    {
+        final Semaphore window = new Semaphore(pipelineDepth);
+        final ConcurrentMap<String, Long> sendTimeMap = new ConcurrentHashMap<String, Long>();
+        QueryClient.ResponseHandler responseHandler = new QueryClient.ResponseHandler()
+        {
+            @Override
+            public void onRow(String id, String row)
+            {
+            }
+
+            @Override
+            public void onEnd(String id, int rowCount)
+            {
+                complete(id);
+            }
+
+            @Override
+            public void onError(String id, String message)
+            {
+                errors.incrementAndGet();
+                complete(id);
+            }
+
+            private void complete(String id)
+            {
+                Long sendTime = sendTimeMap.remove(id);
+                if (sendTime != null)
+                    latencies[completed.getAndIncrement()] = System.nanoTime() - sendTime.longValue();
+                window.release();
+            }
+        };
+        QueryClient queryClient = new QueryClient(port, responseHandler);
+        try
+        {
+            for (int i = 0; i < requestCount; i++)
+            {
+                if (!window.tryAcquire())
+                {   // Send what is buffered before waiting for a response
+                    queryClient.flush();
+                    window.acquire();
+                }
+                String id = Integer.toString(i);
+                sendTimeMap.put(id, Long.valueOf(System.nanoTime()));
+                queryClient.send(id, queryName, null);
+            }
+            queryClient.finish();
+        }
+        finally
+        {
+            queryClient.close();
+        }
+    }
+
+    /**
+     * Run load against a server on the loopback interface and print the report.
+     * Arguments: port query [connections [requests-per-connection [pipeline-depth]]]
+     * @param args Command line arguments
+     * @throws Exception
+     */
+    public static void main(String[] args) throws Exception
+    {
+        if (args.length < 2)
+        {
+            System.err.println("Usage: LoadHarness port query [connections [requests-per-connection [pipeline-depth]]]");
+            System.exit(1);
+        }
+        int port = Integer.parseInt(args[0]);
+        int connectionCount = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        int requestCount = args.length > 3 ? Integer.parseInt(args[3]) : 10000;
+        int pipelineDepth = args.length > 4 ? Integer.parseInt(args[4]) : 16;
+        LoadHarness loadHarness = new LoadHarness(port, args[1]);
+        System.out.println(loadHarness.run(connectionCount, requestCount, pipelineDepth));
+    }
+}
@@ -0,0 +1,221 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * QueryClient
+ * Client for the query server protocol. Requests are written without waiting for responses
+ * and responses are delivered to a handler on a reader thread as they arrive.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class QueryClient implements Closeable
+{
+    /**
+     * ResponseHandler
+     * Receives response lines. Called on the client reader thread.
+     */
+    public interface ResponseHandler
+    {
+        /**
+         * Handle solution row
+         * @param id Request id
+         * @param row Solution text
+         */
+        void onRow(String id, String row);
+
+        /**
+         * Handle successful completion
+         * @param id Request id
+         * @param rowCount Number of rows returned
+         */
+        void onEnd(String id, int rowCount);
+
+        /**
+         * Handle failure
+         * @param id Request id
+         * @param message Error message
+         */
+        void onError(String id, String message);
+    }
+
+    /** Connection to server */
+    protected Socket socket;
+    /** Buffered request writer */
+    protected Writer writer;
+    /** Thread which reads responses */
+    protected Thread readerThread;
+    /** Generates request ids */
+    protected AtomicLong idGenerator;
+
+    /**
+     * Construct QueryClient object connected to server on loopback interface
+     * @param port Server port
+     * @param responseHandler Receives responses
+     * @throws IOException if connection fails
+     */
+    public QueryClient(int port, final ResponseHandler responseHandler) throws IOException
+    {
+        socket = new Socket(InetAddress.getLoopbackAddress(), port);
+        socket.setTcpNoDelay(true);
+        writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), QueryRequest.ENCODING));
+        idGenerator = new AtomicLong();
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), QueryRequest.ENCODING));
+        readerThread = new Thread(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                readResponses(reader, responseHandler);
+            }
+        }, "query-client");
+        readerThread.setDaemon(true);
+        readerThread.start();
+    }
+
+    /**
+     * Write a request. Call flush() to send buffered requests.
+     * @param queryName Query name, optionally qualified with scope name
+     * @param parameterMap Parameters mapped by axiom name then term name. May be null.
+     * @return Request id
+     * @throws IOException if write fails
+     */
+    public String send(String queryName, Map<String, Map<String, Object>> parameterMap) throws IOException
+    {
+        String id = Long.toString(idGenerator.incrementAndGet());
+        send(id, queryName, parameterMap);
+        return id;
+    }
+
+    /**
+     * Write a request with id chosen by the caller. Call flush() to send buffered requests.
+     * @param id Request id, which must not contain spaces
+     * @param queryName Query name, optionally qualified with scope name
+     * @param parameterMap Parameters mapped by axiom name then term name. May be null.
+     * @throws IOException if write fails
+     */
+    public void send(String id, String queryName, Map<String, Map<String, Object>> parameterMap) throws IOException
+    {
+        QueryRequest request = new QueryRequest(id, queryName);
+        if (parameterMap != null)
+            for (Map.Entry<String, Map<String, Object>> entry: parameterMap.entrySet())
+                for (Map.Entry<String, Object> term: entry.getValue().entrySet())
+                    request.putParameter(entry.getKey(), term.getKey(), term.getValue());
+        send(request);
+    }
+
+    /**
+     * Write a prepared request. Call flush() to send buffered requests.
+     * @param request Request with id chosen by the caller
+     * @throws IOException if write fails
+     */
+    public void send(QueryRequest request) throws IOException
+    {
+        synchronized(this)
+        {
+            writer.write(request.toLine());
+            writer.write('\n');
+        }
+    }
+
+    /**
+     * Send buffered requests
+     * @throws IOException if write fails
+     */
+    public synchronized void flush() throws IOException
+    {
+        writer.flush();
+    }
+
+    /**
+     * Send buffered requests, close the output side of the connection and 
+     * wait for the server to complete all requests
+     * @throws IOException if write fails
+     * @throws InterruptedException
+     */
+    public void finish() throws IOException, InterruptedException
+    {
+        synchronized(this)
+        {
+            writer.flush();
+            socket.shutdownOutput();
+        }
+        readerThread.join();
+    }
+
+    /**
+     * Returns flag set true while responses can still be received
+     * @return boolean
+     */
+    public boolean isOpen()
+    {
+        return readerThread.isAlive();
+    }
+
+    /**
+     * Close connection
+     * @see java.io.Closeable#close()
+     */
+    @Override
+    public void close() throws IOException
+    {
+        socket.close();
+    }
+
+    /**
+     * Read response lines until the server closes the connection
+     * @param reader Response reader
+     * @param responseHandler Receives responses
+     */
+    protected void readResponses(BufferedReader reader, ResponseHandler responseHandler)
+    {
+        try
+        {
+            String line;
+            while ((line = reader.readLine()) != null)
+            {
+                int firstSpace = line.indexOf(' ');
+                int secondSpace = firstSpace < 0 ? -1 : line.indexOf(' ', firstSpace + 1);
+                if (secondSpace < 0)
+                    continue;
+                String id = line.substring(0, firstSpace);
+                String type = line.substring(firstSpace + 1, secondSpace);
+                String text = line.substring(secondSpace + 1);
+                if (type.equals(QueryServer.ROW))
+                    responseHandler.onRow(id, text);
+                else if (type.equals(QueryServer.END))
+                    responseHandler.onEnd(id, Integer.parseInt(text));
+                else if (type.equals(QueryServer.ERROR))
+                    responseHandler.onError(id, text);
+            }
+        }
+        catch (IOException e)
+        {   // Connection closed
+        }
+    }
+}
@@ -0,0 +1,220 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+
+/**
+ * QueryConnection
+ * Reads pipelined requests from a client connection and writes responses as they are produced.
+ * Requests are handed to the server for execution without waiting for earlier requests to complete,
+ * so responses of different requests may interleave and are matched to requests by id.
+ * Row lines are buffered and written in batches. The buffer is flushed when a request completes.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class QueryConnection implements Runnable, Closeable
+{
+    /** Client socket */
+    protected Socket socket;
+    /** Server which executes requests */
+    protected QueryServer queryServer;
+    /** Buffered response writer */
+    protected Writer writer;
+    /** Number of requests accepted and not yet completed */
+    protected int pendingCount;
+    /** Flag set true if writing to client has failed */
+    protected boolean isBroken;
+
+    /**
+     * Construct QueryConnection object
+     * @param socket Client socket
+     * @param queryServer Server which executes requests
+     * @throws IOException if socket output stream not available
+     */
+    public QueryConnection(Socket socket, QueryServer queryServer) throws IOException
+    {
+        this.socket = socket;
+        this.queryServer = queryServer;
+        writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), QueryRequest.ENCODING));
+    }
+
+    /**
+     * Read requests until the client closes its output or the connection is closed.
+     * Waits for pending requests to complete before closing the connection.
+     * @see java.lang.Runnable#run()
+     */
+    @Override
+    public void run()
+    {
+        try
+        {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), QueryRequest.ENCODING));
+            String line;
+            while ((line = reader.readLine()) != null)
+            {
+                if (line.trim().isEmpty())
+                    continue;
+                QueryRequest request = null;
+                try
+                {
+                    request = QueryRequest.parse(line);
+                }
+                catch (IllegalArgumentException e)
+                {
+                    String[] fields = line.trim().split(" +");
+                    writeLine(fields[0] + " " + QueryServer.ERROR + " " + e.getMessage(), true);
+                    continue;
+                }
+                synchronized(this)
+                {
+                    ++pendingCount;
+                }
+                queryServer.submit(request, this);
+            }
+            awaitPending();
+        }
+        catch (IOException e)
+        {   // Connection closed
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+        finally
+        {
+            close();
+        }
+    }
+
+    /**
+     * Write a solution row
+     * @param id Request id
+     * @param row Row text
+     */
+    public void writeRow(String id, String row)
+    {
+        writeLine(id + " " + QueryServer.ROW + " " + row, false);
+    }
+
+    /**
+     * Write successful completion of request
+     * @param id Request id
+     * @param rowCount Number of rows written
+     */
+    public void writeEnd(String id, int rowCount)
+    {
+        writeLine(id + " " + QueryServer.END + " " + rowCount, true);
+        requestDone();
+    }
+
+    /**
+     * Write failure of request
+     * @param id Request id
+     * @param message Error message
+     */
+    public void writeError(String id, String message)
+    {
+        String text = message == null ? "" : message.replace('\r', ' ').replace('\n', ' ');
+        writeLine(id + " " + QueryServer.ERROR + " " + text, true);
+        requestDone();
+    }
+
+    /**
+     * Returns flag set true if writing to the client has failed
+     * @return boolean
+     */
+    public synchronized boolean isBroken()
+    {
+        return isBroken;
+    }
+
+    /**
+     * Close connection
+     * @see java.io.Closeable#close()
+     */
+    @Override
+    public void close()
+    {
+        try
+        {
+            synchronized(this)
+            {
+                if (!isBroken)
+                    writer.flush();
+            }
+        }
+        catch (IOException e)
+        {
+        }
+        try
+        {
+            socket.close();
+        }
+        catch (IOException e)
+        {
+        }
+        queryServer.onClose(this);
+    }
+
+    /**
+     * Write response line
+     * @param line Text without line terminator
+     * @param flush Flag set true if line completes a response batch
+     */
+    protected synchronized void writeLine(String line, boolean flush)
+    {
+        if (isBroken)
+            return;
+        try
+        {
+            writer.write(line);
+            writer.write('\n');
+            if (flush)
+                writer.flush();
+        }
+        catch (IOException e)
+        {
+            isBroken = true;
+        }
+    }
+
+    /**
+     * Record completion of a request
+     */
+    protected synchronized void requestDone()
+    {
+        if (--pendingCount == 0)
+            notifyAll();
+    }
+
+    /**
+     * Wait for all pending requests to complete
+     * @throws InterruptedException
+     */
+    protected synchronized void awaitPending() throws InterruptedException
+    {
+        while (pendingCount > 0)
+            wait();
+    }
+}
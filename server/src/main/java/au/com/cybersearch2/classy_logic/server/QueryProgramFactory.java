@@ -0,0 +1,34 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.server;
+
+import au.com.cybersearch2.classy_logic.QueryProgram;
+
+/**
+ * QueryProgramFactory
+ * Creates a compiled QueryProgram. A QueryProgram executes one query at a time, 
+ * so a server creates one for each worker when it starts.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public interface QueryProgramFactory
+{
+    /**
+     * Returns a new QueryProgram object with scripts loaded
+     * @return QueryProgram object
+     */
+    QueryProgram createQueryProgram();
+}
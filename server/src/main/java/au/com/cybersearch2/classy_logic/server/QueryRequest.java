@@ -0,0 +1,504 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.server;
+
+import java.io.UnsupportedEncodingException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import au.com.cybersearch2.classy_logic.QueryParams;
+import au.com.cybersearch2.classy_logic.helper.NameParser;
+import au.com.cybersearch2.classy_logic.interfaces.Term;
+import au.com.cybersearch2.classy_logic.list.SortKey;
+import au.com.cybersearch2.classy_logic.pattern.Axiom;
+import au.com.cybersearch2.classy_logic.query.Solution;
+import au.com.cybersearch2.classy_logic.terms.Parameter;
+
+/**
+ * QueryRequest
+ * A request line of the query server protocol:
+ * <pre>&lt;id&gt; &lt;query&gt; [&lt;axiom&gt;.&lt;term&gt;[:&lt;type&gt;]=&lt;value&gt;]... [sort=[-]&lt;axiom&gt;.&lt;term&gt;]... [limit=&lt;rows&gt;] [locale=&lt;tag&gt;]</pre>
+ * The query name may be qualified with a scope name. Each parameter becomes a term of 
+ * an axiom in the initial solution of the query. Values are URL encoded. A value with a type code is
+ * restored as that type: s String, l Long, i Integer, d Double, m BigDecimal, n BigInteger or b Boolean. 
+ * A value without a type code is converted to integer, decimal or boolean when it has that form, 
+ * otherwise it is a string. Requests and rows written by this class always have type codes, 
+ * with values of other types sent as strings.
+ * Sort keys, in order of significance and prefixed with '-' for descending order, order the solutions
+ * by terms of one axiom. The limit is the maximum number of solutions returned and the locale, 
+ * a language tag, sets the order of strings.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class QueryRequest
+{
+    static final String ENCODING = "UTF-8";
+    static final String SORT = "sort";
+    static final String LIMIT = "limit";
+    static final String LOCALE = "locale";
+    static final Pattern INTEGER_PATTERN = Pattern.compile("-?[0-9]+");
+    static final Pattern DECIMAL_PATTERN = Pattern.compile("-?[0-9]*\\.[0-9]+([eE][-+]?[0-9]+)?");
+
+    /** Request id chosen by the client and returned on each response line */
+    protected String id;
+    /** Query name, optionally qualified with scope name */
+    protected String queryName;
+    /** Parameter values mapped by axiom name then term name */
+    protected Map<String, Map<String, Object>> parameterMap;
+    /** Name of axiom containing the sort key terms */
+    protected String sortAxiomName;
+    /** Keys by which solutions are ordered */
+    protected List<SortKey> sortKeyList;
+    /** Maximum number of solutions or 0 for no limit */
+    protected int limit;
+    /** Locale for ordering strings or null for the server default */
+    protected Locale locale;
+
+    /**
+     * Construct QueryRequest object
+     * @param id Request id
+     * @param queryName Query name, optionally qualified with scope name
+     */
+    public QueryRequest(String id, String queryName)
+    {
+        this.id = id;
+        this.queryName = queryName;
+        parameterMap = new LinkedHashMap<String, Map<String, Object>>();
+        sortKeyList = new ArrayList<SortKey>();
+    }
+
+    /**
+     * Returns request id
+     * @return String
+     */
+    public String getId()
+    {
+        return id;
+    }
+
+    /**
+     * Returns query name
+     * @return String
+     */
+    public String getQueryName()
+    {
+        return queryName;
+    }
+
+    /**
+     * Returns scope part of query name
+     * @return String
+     */
+    public String getScopeName()
+    {
+        return NameParser.getScopePart(queryName);
+    }
+
+    /**
+     * Returns query name without scope part
+     * @return String
+     */
+    public String getQueryPart()
+    {
+        return NameParser.getNamePart(queryName);
+    }
+
+    /**
+     * Add parameter
+     * @param axiomName Name of axiom in the initial solution
+     * @param termName Term name
+     * @param value Term value
+     */
+    public void putParameter(String axiomName, String termName, Object value)
+    {
+        Map<String, Object> termMap = parameterMap.get(axiomName);
+        if (termMap == null)
+        {
+            termMap = new LinkedHashMap<String, Object>();
+            parameterMap.put(axiomName, termMap);
+        }
+        termMap.put(termName, value);
+    }
+
+    /**
+     * Returns flag set true if given axiom name is the name of a parameter axiom
+     * @param axiomName Axiom name
+     * @return boolean
+     */
+    public boolean isParameter(String axiomName)
+    {
+        return parameterMap.containsKey(axiomName);
+    }
+
+    /**
+     * Add key by which solutions are ordered
+     * @param axiomName Name of solution axiom, which must be the same for all keys
+     * @param termName Term name
+     * @param isDescending Flag set true for descending order
+     * @throws IllegalArgumentException if the axiom is not that of previous keys
+     */
+    public void addSortKey(String axiomName, String termName, boolean isDescending)
+    {
+        if ((sortAxiomName != null) && !sortAxiomName.equals(axiomName))
+            throw new IllegalArgumentException("Sort keys must all be terms of axiom \"" + sortAxiomName + "\"");
+        sortAxiomName = axiomName;
+        sortKeyList.add(new SortKey(termName, isDescending));
+    }
+
+    /**
+     * Returns name of axiom containing the sort key terms
+     * @return String or null if there are no sort keys
+     */
+    public String getSortAxiomName()
+    {
+        return sortAxiomName;
+    }
+
+    /**
+     * Returns keys by which solutions are ordered
+     * @return List of SortKey objects, empty if solutions are returned in order produced
+     */
+    public List<SortKey> getSortKeyList()
+    {
+        return sortKeyList;
+    }
+
+    /**
+     * Returns maximum number of solutions
+     * @return int or 0 if there is no limit
+     */
+    public int getLimit()
+    {
+        return limit;
+    }
+
+    /**
+     * Set maximum number of solutions
+     * @param limit Solution limit or 0 for no limit
+     */
+    public void setLimit(int limit)
+    {
+        this.limit = limit;
+    }
+
+    /**
+     * Returns locale for ordering strings
+     * @return Locale object or null for the server default
+     */
+    public Locale getLocale()
+    {
+        return locale;
+    }
+
+    /**
+     * Set locale for ordering strings
+     * @param locale Locale object or null for the server default
+     */
+    public void setLocale(Locale locale)
+    {
+        this.locale = locale;
+    }
+
+    /**
+     * Put parameters in the initial solution of given query parameters
+     * @param queryParams Query parameters
+     */
+    public void applyParameters(QueryParams queryParams)
+    {
+        if (parameterMap.isEmpty())
+            return;
+        Solution initialSolution = queryParams.getInitialSolution();
+        for (Map.Entry<String, Map<String, Object>> entry: parameterMap.entrySet())
+        {
+            Axiom axiom = new Axiom(entry.getKey());
+            for (Map.Entry<String, Object> term: entry.getValue().entrySet())
+                axiom.addTerm(new Parameter(term.getKey(), term.getValue()));
+            initialSolution.put(entry.getKey(), axiom);
+        }
+    }
+
+    /**
+     * Returns request in protocol line format, without line terminator
+     * @return String
+     */
+    public String toLine()
+    {
+        StringBuilder builder = new StringBuilder(id).append(' ').append(queryName);
+        for (Map.Entry<String, Map<String, Object>> entry: parameterMap.entrySet())
+            for (Map.Entry<String, Object> term: entry.getValue().entrySet())
+                if (term.getValue() != null)
+                    appendTerm(builder.append(' '), entry.getKey(), term.getKey(), term.getValue());
+        for (SortKey sortKey: sortKeyList)
+            builder.append(' ').append(SORT).append('=').append(sortKey.isDescending() ? "-" : "")
+                   .append(sortAxiomName).append('.').append(sortKey.getTermName());
+        if (limit > 0)
+            builder.append(' ').append(LIMIT).append('=').append(limit);
+        if (locale != null)
+            builder.append(' ').append(LOCALE).append('=').append(locale.toLanguageTag());
+        return builder.toString();
+    }
+
+    /**
+     * Returns request parsed from a protocol line
+     * @param line Request line
+     * @return QueryRequest object
+     * @throws IllegalArgumentException if line is not a valid request
+     */
+    public static QueryRequest parse(String line)
+    {
+        String[] fields = line.trim().split(" +");
+        if ((fields.length < 2) || fields[0].isEmpty())
+            throw new IllegalArgumentException("Invalid request \"" + line + "\"");
+        QueryRequest request = new QueryRequest(fields[0], fields[1]);
+        for (int i = 2; i < fields.length; i++)
+        {
+            int equals = fields[i].indexOf('=');
+            String option = equals > 0 ? fields[i].substring(0, equals) : "";
+            if (option.equals(SORT) || option.equals(LIMIT) || option.equals(LOCALE))
+                request.putOption(option, fields[i].substring(equals + 1));
+            else
+                request.putTerm(fields[i]);
+        }
+        return request;
+    }
+
+    /**
+     * Returns terms mapped by axiom name then term name, parsed from fields in the same 
+     * format as request parameters. Encoded solution rows use this format.
+     * @param text Space separated fields 
+     * @return Map
+     * @throws IllegalArgumentException if a field is not valid
+     */
+    public static Map<String, Map<String, Object>> parseTerms(String text)
+    {
+        QueryRequest request = new QueryRequest("", "");
+        String trimmed = text.trim();
+        if (!trimmed.isEmpty())
+            for (String field: trimmed.split(" +"))
+                request.putTerm(field);
+        return request.parameterMap;
+    }
+
+    /**
+     * Returns fields for the terms of an axiom in the same format as request parameters
+     * @param axiom Axiom
+     * @return String
+     */
+    public static String formatTerms(Axiom axiom)
+    {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < axiom.getTermCount(); i++)
+        {
+            Term term = axiom.getTermByIndex(i);
+            if (term.getValue() == null)
+                continue;
+            if (builder.length() > 0)
+                builder.append(' ');
+            appendTerm(builder, axiom.getName(), term.getName(), term.getValue());
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Append field of the form axiom.term:type=value
+     * @param builder Receives field
+     * @param axiomName Axiom name
+     * @param termName Term name
+     * @param value Term value, which is not null
+     */
+    protected static void appendTerm(StringBuilder builder, String axiomName, String termName, Object value)
+    {
+        builder.append(axiomName).append('.').append(termName).append(':')
+               .append(typeOf(value)).append('=').append(encode(value.toString()));
+    }
+
+    /**
+     * Returns type code of a value
+     * @param value Term value
+     * @return char
+     */
+    protected static char typeOf(Object value)
+    {
+        if (value instanceof Long)
+            return 'l';
+        if (value instanceof Integer)
+            return 'i';
+        if (value instanceof Double)
+            return 'd';
+        if (value instanceof BigDecimal)
+            return 'm';
+        if (value instanceof BigInteger)
+            return 'n';
+        if (value instanceof Boolean)
+            return 'b';
+        return 's';
+    }
+
+    /**
+     * Add term parsed from a field of the form axiom.term[:type]=value
+     * @param field Field text
+     * @throws IllegalArgumentException if field is not valid
+     */
+    protected void putTerm(String field)
+    {
+        int equals = field.indexOf('=');
+        int dot = field.indexOf('.');
+        if ((dot < 1) || (equals < dot + 2))
+            throw new IllegalArgumentException("Invalid parameter \"" + field + "\"");
+        String termName = field.substring(dot + 1, equals);
+        String text = decode(field.substring(equals + 1));
+        int colon = termName.indexOf(':');
+        if (colon == -1)
+        {
+            putParameter(field.substring(0, dot), termName, toValue(text));
+            return;
+        }
+        if ((colon == 0) || (colon != termName.length() - 2))
+            throw new IllegalArgumentException("Invalid parameter \"" + field + "\"");
+        try
+        {
+            putParameter(field.substring(0, dot), termName.substring(0, colon), toValue(termName.charAt(colon + 1), text));
+        }
+        catch (NumberFormatException e)
+        {
+            throw new IllegalArgumentException("Invalid parameter \"" + field + "\"", e);
+        }
+    }
+
+    /**
+     * Set sort key, limit or locale from a field of the form option=value
+     * @param option Option name
+     * @param value Option value
+     * @throws IllegalArgumentException if value is not valid
+     */
+    protected void putOption(String option, String value)
+    {
+        if (option.equals(LIMIT))
+        {
+            if (!INTEGER_PATTERN.matcher(value).matches())
+                throw new IllegalArgumentException("Invalid limit \"" + value + "\"");
+            limit = Integer.parseInt(value);
+        }
+        else if (option.equals(LOCALE))
+            locale = Locale.forLanguageTag(value);
+        else
+        {
+            boolean isDescending = value.startsWith("-");
+            String key = isDescending ? value.substring(1) : value;
+            int dot = key.indexOf('.');
+            if ((dot < 1) || (dot == key.length() - 1))
+                throw new IllegalArgumentException("Invalid sort key \"" + value + "\"");
+            addSortKey(key.substring(0, dot), key.substring(dot + 1), isDescending);
+        }
+    }
+
+    /**
+     * Returns value of given type converted from text
+     * @param type Type code
+     * @param text Decoded value text
+     * @return Object
+     * @throws IllegalArgumentException if the type code is not known or the text is not valid for the type
+     */
+    protected static Object toValue(char type, String text)
+    {
+        switch (type)
+        {
+        case 's':
+            return text;
+        case 'l':
+            return Long.valueOf(text);
+        case 'i':
+            return Integer.valueOf(text);
+        case 'd':
+            return Double.valueOf(text);
+        case 'm':
+            return new BigDecimal(text);
+        case 'n':
+            return new BigInteger(text);
+        case 'b':
+            return Boolean.valueOf(text);
+        default:
+            throw new IllegalArgumentException("Unknown value type \"" + type + "\"");
+        }
+    }
+
+    /**
+     * Returns parameter value converted from text
+     * @param text Decoded value text
+     * @return Long, Double, Boolean or String object
+     */
+    protected static Object toValue(String text)
+    {
+        if (INTEGER_PATTERN.matcher(text).matches())
+        {
+            try
+            {
+                return Long.valueOf(text);
+            }
+            catch (NumberFormatException e)
+            {   // Too large for a long
+                return text;
+            }
+        }
+        if (DECIMAL_PATTERN.matcher(text).matches())
+            return Double.valueOf(text);
+        if (text.equals("true") || text.equals("false"))
+            return Boolean.valueOf(text);
+        return text;
+    }
+
+    /**
+     * Returns URL encoded text
+     * @param text Text to encode
+     * @return String
+     */
+    public static String encode(String text)
+    {
+        try
+        {
+            return URLEncoder.encode(text, ENCODING);
+        }
+        catch (UnsupportedEncodingException e)
+        {
+            throw new IllegalStateException(ENCODING + " not supported", e);
+        }
+    }
+
+    /**
+     * Returns URL decoded text
+     * @param text Text to decode
+     * @return String
+     */
+    public static String decode(String text)
+    {
+        try
+        {
+            return URLDecoder.decode(text, ENCODING);
+        }
+        catch (UnsupportedEncodingException e)
+        {
+            throw new IllegalStateException(ENCODING + " not supported", e);
+        }
+    }
+}
@@ -0,0 +1,459 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.server;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import au.com.cybersearch2.classy_logic.QueryParams;
+import au.com.cybersearch2.classy_logic.QueryProgram;
+import au.com.cybersearch2.classy_logic.interfaces.SolutionHandler;
+import au.com.cybersearch2.classy_logic.list.ListSorter;
+import au.com.cybersearch2.classy_logic.pattern.Axiom;
+import au.com.cybersearch2.classy_logic.query.Solution;
+
+/**
+ * QueryServer
+ * Serves named queries of a compiled program to clients on the loopback interface.
+ * The protocol is line based UTF-8 text. A request is 
+ * <pre>&lt;id&gt; &lt;query&gt; [&lt;axiom&gt;.&lt;term&gt;[:&lt;type&gt;]=&lt;value&gt;]... [sort=[-]&lt;axiom&gt;.&lt;term&gt;]... [limit=&lt;rows&gt;] [locale=&lt;tag&gt;]</pre>
+ * and the response is zero or more <code>&lt;id&gt; ROW &lt;solution&gt;</code> lines followed by 
+ * <code>&lt;id&gt; END &lt;row count&gt;</code> or <code>&lt;id&gt; ERROR &lt;message&gt;</code>.
+ * A solution is the text of its axioms or, if encoded rows are set, its terms in the same format as request parameters,
+ * with a type code on each value so values are restored with their original types.
+ * Solutions of a request with sort keys are held until the query completes, retaining no more than the limit, 
+ * and then written in sort key order. Otherwise each solution is written as soon as it is produced.
+ * Clients may send requests without waiting for responses. 
+ * Each connection has its own thread, a virtual thread where the runtime supports it. 
+ * Requests are executed by a fixed set of workers, each with its own program compiled on start up.
+ * Requests which arrive when the admission queue is full are rejected with an ERROR response.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class QueryServer implements Closeable
+{
+    public static final String ROW = "ROW";
+    public static final String END = "END";
+    public static final String ERROR = "ERROR";
+    public static final String BUSY_MESSAGE = "Server busy";
+
+    /** Creates a program for each worker */
+    protected QueryProgramFactory programFactory;
+    /** Number of workers */
+    protected int workerCount;
+    /** Number of requests which may wait for a worker */
+    protected int queueCapacity;
+    /** Programs not in use */
+    protected BlockingQueue<QueryProgram> programQueue;
+    /** Executes requests */
+    protected ThreadPoolExecutor workerPool;
+    /** Runs a thread for each connection */
+    protected ExecutorService connectionExecutor;
+    /** Listening socket */
+    protected ServerSocket serverSocket;
+    /** Open connections */
+    protected Set<QueryConnection> connectionSet;
+    /** Count of requests rejected because the admission queue was full */
+    protected AtomicInteger rejectCount;
+    /** Flag set true if rows are written as encoded terms instead of axiom text */
+    protected boolean isEncodedRows;
+
+    /**
+     * Construct QueryServer object
+     * @param programFactory Creates a program for each worker
+     * @param workerCount Number of queries which may execute at once
+     * @param queueCapacity Number of requests which may wait for a worker
+     */
+    public QueryServer(QueryProgramFactory programFactory, int workerCount, int queueCapacity)
+    {
+        if (workerCount < 1)
+            throw new IllegalArgumentException("Parameter \"workerCount\" must be at least 1");
+        this.programFactory = programFactory;
+        this.workerCount = workerCount;
+        this.queueCapacity = queueCapacity;
+        connectionSet = new HashSet<QueryConnection>();
+        rejectCount = new AtomicInteger();
+    }
+
+    /**
+     * Compile programs and start listening on loopback interface
+     * @param port Port number or 0 for any free port
+     * @throws IOException if server socket cannot be opened
+     */
+    public synchronized void start(int port) throws IOException
+    {
+        if (serverSocket != null)
+            throw new IllegalStateException("Server already started");
+        programQueue = new ArrayBlockingQueue<QueryProgram>(workerCount);
+        for (int i = 0; i < workerCount; i++)
+            programQueue.add(programFactory.createQueryProgram());
+        workerPool = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<Runnable>(Math.max(1, queueCapacity)),
+                daemonThreadFactory("query-worker"));
+        connectionExecutor = createConnectionExecutor();
+        serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        Thread acceptThread = daemonThreadFactory("query-server").newThread(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                acceptConnections();
+            }
+        });
+        acceptThread.start();
+    }
+
+    /**
+     * Returns flag set true if rows are written as encoded terms
+     * @return boolean
+     */
+    public boolean isEncodedRows()
+    {
+        return isEncodedRows;
+    }
+
+    /**
+     * Set whether rows are written as encoded terms, in the same format as request parameters, 
+     * instead of axiom text. Encoded rows preserve term values which contain separators, and the types of values.
+     * @param isEncodedRows boolean
+     */
+    public void setEncodedRows(boolean isEncodedRows)
+    {
+        this.isEncodedRows = isEncodedRows;
+    }
+
+    /**
+     * Returns port server is listening on
+     * @return int
+     */
+    public synchronized int getPort()
+    {
+        if (serverSocket == null)
+            throw new IllegalStateException("Server not started");
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Returns count of requests rejected because the admission queue was full
+     * @return int
+     */
+    public int getRejectCount()
+    {
+        return rejectCount.get();
+    }
+
+    /**
+     * Stop listening, close all connections and stop workers
+     * @see java.io.Closeable#close()
+     */
+    @Override
+    public void close()
+    {
+        ServerSocket listener;
+        Set<QueryConnection> openConnections;
+        synchronized(this)
+        {
+            listener = serverSocket;
+            openConnections = new HashSet<QueryConnection>(connectionSet);
+        }
+        if (listener == null)
+            return;
+        try
+        {
+            listener.close();
+        }
+        catch (IOException e)
+        {
+        }
+        Iterator<QueryConnection> iterator = openConnections.iterator();
+        while (iterator.hasNext())
+            iterator.next().close();
+        workerPool.shutdownNow();
+        connectionExecutor.shutdownNow();
+    }
+
+    /**
+     * Execute request on a worker
+     * @param request Parsed request
+     * @param connection Connection to receive response
+     */
+    public void submit(final QueryRequest request, final QueryConnection connection)
+    {
+        try
+        {
+            workerPool.execute(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    execute(request, connection);
+                }
+            });
+        }
+        catch (RejectedExecutionException e)
+        {
+            rejectCount.incrementAndGet();
+            connection.writeError(request.getId(), BUSY_MESSAGE);
+        }
+    }
+
+    /**
+     * Execute request using a program not in use by another worker
+     * @param request Parsed request
+     * @param connection Connection to receive response
+     */
+    protected void execute(final QueryRequest request, final QueryConnection connection)
+    {
+        if (connection.isBroken())
+        {   // Client has gone away
+            connection.requestDone();
+            return;
+        }
+        QueryProgram queryProgram = null;
+        try
+        {
+            queryProgram = programQueue.take();
+            final int[] rowCount = new int[1];
+            QueryParams queryParams = queryProgram.getQueryParams(request.getScopeName(), request.getQueryPart());
+            request.applyParameters(queryParams);
+            queryParams.setReuseRows(true);
+            final int limit = request.getLimit();
+            if (request.getSortKeyList().isEmpty())
+            {   // Each row is written as soon as it is produced
+                queryParams.setSolutionHandler(new SolutionHandler()
+                {
+                    @Override
+                    public boolean onSolution(Solution solution)
+                    {
+                        connection.writeRow(request.getId(), formatSolution(solution, request));
+                        ++rowCount[0];
+                        return !connection.isBroken() && ((limit <= 0) || (rowCount[0] < limit));
+                    }
+                });
+                queryProgram.executeQuery(queryParams);
+            }
+            else
+            {   // Rows are formatted when produced, as solution axioms are reused, and written in order at the end
+                Locale locale = request.getLocale() != null ? request.getLocale() : Locale.getDefault();
+                final ListSorter.Selection<String> selection = new ListSorter(request.getSortKeyList(), locale).newSelection(limit);
+                queryParams.setSolutionHandler(new SolutionHandler()
+                {
+                    @Override
+                    public boolean onSolution(Solution solution)
+                    {
+                        Axiom axiom = solution.getAxiom(request.getSortAxiomName());
+                        selection.add(axiom == null ? null : axiom.copy(), formatSolution(solution, request));
+                        return !connection.isBroken();
+                    }
+                });
+                queryProgram.executeQuery(queryParams);
+                for (String row: selection.getRows())
+                {
+                    connection.writeRow(request.getId(), row);
+                    ++rowCount[0];
+                }
+            }
+            connection.writeEnd(request.getId(), rowCount[0]);
+        }
+        catch (InterruptedException e)
+        {
+            connection.writeError(request.getId(), "Server stopped");
+            Thread.currentThread().interrupt();
+        }
+        catch (RuntimeException e)
+        {
+            connection.writeError(request.getId(), e.getMessage() == null ? e.toString() : e.getMessage());
+        }
+        finally
+        {
+            if (queryProgram != null)
+                programQueue.add(queryProgram);
+        }
+    }
+
+    /**
+     * Returns text of the axioms in a solution which are not request parameters
+     * @param solution Solution object
+     * @param request Request which produced the solution
+     * @return String
+     */
+    protected String formatSolution(Solution solution, QueryRequest request)
+    {
+        StringBuilder builder = new StringBuilder();
+        for (String key: solution.keySet())
+        {
+            if (request.isParameter(key))
+                continue;
+            if (builder.length() > 0)
+                builder.append(isEncodedRows ? " " : "; ");
+            Axiom axiom = solution.getAxiom(key);
+            builder.append(isEncodedRows ? QueryRequest.formatTerms(axiom) : axiom.toString());
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Remove closed connection
+     * @param connection Connection object
+     */
+    protected synchronized void onClose(QueryConnection connection)
+    {
+        connectionSet.remove(connection);
+    }
+
+    /**
+     * Accept connections until server socket is closed
+     */
+    protected void acceptConnections()
+    {
+        while (true)
+        {
+            Socket socket = null;
+            try
+            {
+                socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                QueryConnection connection = new QueryConnection(socket, this);
+                synchronized(this)
+                {
+                    connectionSet.add(connection);
+                }
+                connectionExecutor.execute(connection);
+            }
+            catch (SocketException e)
+            {   // Server socket closed
+                return;
+            }
+            catch (IOException e)
+            {
+                closeQuietly(socket);
+            }
+            catch (RejectedExecutionException e)
+            {   // Server stopping
+                closeQuietly(socket);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns executor which starts a virtual thread for each connection, if supported by the runtime, 
+     * otherwise a platform daemon thread.
+     * @return ExecutorService object
+     */
+    protected ExecutorService createConnectionExecutor()
+    {
+        try
+        {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        }
+        catch (Exception e)
+        {   // Virtual threads not available
+        }
+        return Executors.newCachedThreadPool(daemonThreadFactory("query-connection"));
+    }
+
+    /**
+     * Returns factory for named daemon threads
+     * @param name Thread name
+     * @return ThreadFactory object
+     */
+    protected static ThreadFactory daemonThreadFactory(final String name)
+    {
+        return new ThreadFactory()
+        {
+            @Override
+            public Thread newThread(Runnable runnable)
+            {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+    }
+
+    /**
+     * Close socket ignoring errors
+     * @param socket Socket object or null
+     */
+    protected static void closeQuietly(Socket socket)
+    {
+        if (socket == null)
+            return;
+        try
+        {
+            socket.close();
+        }
+        catch (IOException e)
+        {
+        }
+    }
+
+    /**
+     * Run server for script file until the process is terminated.
+     * Arguments: script-file port [worker-count [queue-capacity]]
+     * @param args Command line arguments
+     * @throws Exception
+     */
+    public static void main(String[] args) throws Exception
+    {
+        if (args.length < 2)
+        {
+            System.err.println("Usage: QueryServer script-file port [worker-count [queue-capacity]]");
+            System.exit(1);
+        }
+        File scriptFile = new File(args[0]);
+        int port = Integer.parseInt(args[1]);
+        int workerCount = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        int queueCapacity = args.length > 3 ? Integer.parseInt(args[3]) : workerCount * 64;
+        // Compile the script once and give each worker a copy
+        final QueryProgram master = new QueryProgram();
+        master.setResourceBase(scriptFile.getAbsoluteFile().getParentFile());
+        master.parseScript("include \"" + scriptFile.getName() + "\";");
+        QueryProgramFactory programFactory = new QueryProgramFactory()
+        {
+            @Override
+            public QueryProgram createQueryProgram()
+            {
+                return master.copy();
+            }
+        };
+        QueryServer queryServer = new QueryServer(programFactory, workerCount, queueCapacity);
+        queryServer.start(port);
+        System.out.println("Query server listening on port " + queryServer.getPort());
+        Thread.currentThread().join();
+    }
+}
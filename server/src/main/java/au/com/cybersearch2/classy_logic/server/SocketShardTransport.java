@@ -0,0 +1,234 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.server;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import au.com.cybersearch2.classy_logic.interfaces.ShardRowHandler;
+import au.com.cybersearch2.classy_logic.interfaces.ShardTransport;
+import au.com.cybersearch2.classy_logic.list.SortKey;
+import au.com.cybersearch2.classy_logic.pattern.Axiom;
+import au.com.cybersearch2.classy_logic.pattern.AxiomSchema;
+import au.com.cybersearch2.classy_logic.query.QueryExecutionException;
+import au.com.cybersearch2.classy_logic.shard.ShardQuery;
+
+/**
+ * SocketShardTransport
+ * Sends shard queries to query servers, one server per shard, over loopback connections.
+ * Each server must run the same script over its own partition with encoded rows set.
+ * Requests to the same shard are pipelined on one connection. Sort keys and limit are sent with each request, 
+ * so each server returns no more than the limit of rows, in sort key order.
+ * Rows cannot be stopped once a server is producing them, so rows after the handler returns false are discarded.
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class SocketShardTransport implements ShardTransport
+{
+    /** Interval at which a waiting query checks its connection is still open */
+    static final long POLL_MILLIS = 500L;
+
+    /**
+     * PendingQuery
+     * A query waiting for rows from a shard
+     */
+    static class PendingQuery
+    {
+        int shardIndex;
+        String resultName;
+        ShardRowHandler rowHandler;
+        CountDownLatch doneSignal;
+        boolean isStopped;
+        String errorMessage;
+
+        PendingQuery(int shardIndex, String resultName, ShardRowHandler rowHandler)
+        {
+            this.shardIndex = shardIndex;
+            this.resultName = resultName;
+            this.rowHandler = rowHandler;
+            doneSignal = new CountDownLatch(1);
+        }
+    }
+
+    /** Client connection to each shard server */
+    protected List<QueryClient> clientList;
+    /** Queries waiting for responses, mapped by request id */
+    protected ConcurrentMap<String, PendingQuery> pendingMap;
+    /** Generates request ids unique across all connections */
+    protected AtomicLong idGenerator;
+
+    /**
+     * Construct SocketShardTransport object
+     * @param ports Port of each shard server on the loopback interface, in shard order
+     * @throws IOException if a connection fails
+     */
+    public SocketShardTransport(int... ports) throws IOException
+    {
+        if (ports.length == 0)
+            throw new IllegalArgumentException("At least one shard port required");
+        pendingMap = new ConcurrentHashMap<String, PendingQuery>();
+        idGenerator = new AtomicLong();
+        clientList = new ArrayList<QueryClient>(ports.length);
+        QueryClient.ResponseHandler responseHandler = new QueryClient.ResponseHandler()
+        {
+            @Override
+            public void onRow(String id, String row)
+            {
+                PendingQuery pending = pendingMap.get(id);
+                if ((pending != null) && !pending.isStopped)
+                {
+                    Axiom axiom = toAxiom(pending.resultName, row);
+                    if ((axiom != null) && !pending.rowHandler.onRow(pending.shardIndex, axiom))
+                        pending.isStopped = true;
+                }
+            }
+
+            @Override
+            public void onEnd(String id, int rowCount)
+            {
+                PendingQuery pending = pendingMap.remove(id);
+                if (pending != null)
+                    pending.doneSignal.countDown();
+            }
+
+            @Override
+            public void onError(String id, String message)
+            {
+                PendingQuery pending = pendingMap.remove(id);
+                if (pending != null)
+                {
+                    pending.errorMessage = message;
+                    pending.doneSignal.countDown();
+                }
+            }
+        };
+        try
+        {
+            for (int port: ports)
+                clientList.add(new QueryClient(port, responseHandler));
+        }
+        catch (IOException e)
+        {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * @see au.com.cybersearch2.classy_logic.interfaces.ShardTransport#getShardCount()
+     */
+    @Override
+    public int getShardCount()
+    {
+        return clientList.size();
+    }
+
+    /**
+     * @see au.com.cybersearch2.classy_logic.interfaces.ShardTransport#execute(int, au.com.cybersearch2.classy_logic.shard.ShardQuery, au.com.cybersearch2.classy_logic.interfaces.ShardRowHandler)
+     */
+    @Override
+    public void execute(int shardIndex, ShardQuery shardQuery, ShardRowHandler rowHandler)
+    {
+        QueryClient queryClient = clientList.get(shardIndex);
+        String id = Long.toString(idGenerator.incrementAndGet());
+        PendingQuery pending = new PendingQuery(shardIndex, shardQuery.getResultName(), rowHandler);
+        pendingMap.put(id, pending);
+        try
+        {
+            queryClient.send(toRequest(id, shardQuery));
+            queryClient.flush();
+            while (!pending.doneSignal.await(POLL_MILLIS, TimeUnit.MILLISECONDS))
+                if (!queryClient.isOpen())
+                    throw new QueryExecutionException("Connection to shard " + shardIndex + " closed");
+        }
+        catch (IOException e)
+        {
+            throw new QueryExecutionException("Error sending query to shard " + shardIndex, e);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new QueryExecutionException("Interrupted waiting for shard " + shardIndex, e);
+        }
+        finally
+        {
+            pendingMap.remove(id);
+        }
+        if (pending.errorMessage != null)
+            throw new QueryExecutionException(pending.errorMessage);
+    }
+
+    /**
+     * Close all connections
+     * @see au.com.cybersearch2.classy_logic.interfaces.ShardTransport#close()
+     */
+    @Override
+    public void close()
+    {
+        for (QueryClient queryClient: clientList)
+        {
+            try
+            {
+                queryClient.close();
+            }
+            catch (IOException e)
+            {   // Connection already broken
+            }
+        }
+    }
+
+    /**
+     * Returns request for a shard query, with sort keys, limit and locale for the shard server to apply
+     * @param id Request id
+     * @param shardQuery Query
+     * @return QueryRequest object
+     */
+    protected static QueryRequest toRequest(String id, ShardQuery shardQuery)
+    {
+        QueryRequest request = new QueryRequest(id, shardQuery.getQueryName());
+        for (Map.Entry<String, Map<String, Object>> entry: shardQuery.getParameterMap().entrySet())
+            for (Map.Entry<String, Object> term: entry.getValue().entrySet())
+                request.putParameter(entry.getKey(), term.getKey(), term.getValue());
+        for (SortKey sortKey: shardQuery.getSortKeyList())
+            request.addSortKey(shardQuery.getResultName(), sortKey.getTermName(), sortKey.isDescending());
+        request.setLimit(shardQuery.getLimit());
+        if (!shardQuery.getSortKeyList().isEmpty())
+            request.setLocale(shardQuery.getLocale());
+        return request;
+    }
+
+    /**
+     * Returns result axiom decoded from an encoded row
+     * @param resultName Name of result axiom
+     * @param row Encoded row
+     * @return Axiom object or null if the row does not contain the result axiom
+     */
+    protected static Axiom toAxiom(String resultName, String row)
+    {
+        Map<String, Object> termMap = QueryRequest.parseTerms(row).get(resultName);
+        if (termMap == null)
+            return null;
+        String[] names = termMap.keySet().toArray(new String[termMap.size()]);
+        return new Axiom(resultName, AxiomSchema.intern(names), termMap.values().toArray());
+    }
+}
@@ -0,0 +1,206 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.server;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.failBecauseExceptionWasNotThrown;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import au.com.cybersearch2.classy_logic.QueryProgram;
+
+/**
+ * QueryServerTest
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class QueryServerTest
+{
+    static final String CITY_ALTITUDES = 
+        "axiom city (name, altitude) {\"bilene\", 1718} {\"addis ababa\", 8000} {\"denver\", 5280};\n" +
+        "template high_city(name, altitude ? altitude > 5000);\n" +
+        "query high_cities (city : high_city);\n" +
+        "template greeting(name, string text = \"hello \" + name);\n" +
+        "query greet (person : greeting);";
+
+    class ResponseCollector implements QueryClient.ResponseHandler
+    {
+        Map<String, List<String>> rowMap = new HashMap<String, List<String>>();
+        Map<String, Integer> endMap = new HashMap<String, Integer>();
+        Map<String, String> errorMap = new HashMap<String, String>();
+
+        @Override
+        public synchronized void onRow(String id, String row)
+        {
+            List<String> rowList = rowMap.get(id);
+            if (rowList == null)
+            {
+                rowList = new ArrayList<String>();
+                rowMap.put(id, rowList);
+            }
+            rowList.add(row);
+        }
+
+        @Override
+        public synchronized void onEnd(String id, int rowCount)
+        {
+            endMap.put(id, rowCount);
+        }
+
+        @Override
+        public synchronized void onError(String id, String message)
+        {
+            errorMap.put(id, message);
+        }
+    }
+
+    QueryServer queryServer;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        QueryProgramFactory programFactory = new QueryProgramFactory()
+        {
+            @Override
+            public QueryProgram createQueryProgram()
+            {
+                return new QueryProgram(CITY_ALTITUDES);
+            }
+        };
+        queryServer = new QueryServer(programFactory, 2, 64);
+        queryServer.start(0);
+    }
+
+    @After
+    public void tearDown()
+    {
+        queryServer.close();
+    }
+
+    @Test
+    public void test_pipelined_requests() throws Exception
+    {
+        ResponseCollector collector = new ResponseCollector();
+        QueryClient queryClient = new QueryClient(queryServer.getPort(), collector);
+        List<String> idList = new ArrayList<String>();
+        for (int i = 0; i < 20; i++)
+            idList.add(queryClient.send("high_cities", null));
+        String unknownId = queryClient.send("no_such_query", null);
+        queryClient.finish();
+        queryClient.close();
+        for (String id: idList)
+        {
+            assertThat(collector.endMap.get(id)).isEqualTo(2);
+            assertThat(collector.rowMap.get(id)).containsExactly(
+                "high_city(name = addis ababa, altitude = 8000)", 
+                "high_city(name = denver, altitude = 5280)");
+        }
+        assertThat(collector.errorMap.get(unknownId)).isEqualTo("Query \"no_such_query\" does not exist");
+    }
+
+    @Test
+    public void test_parameters() throws Exception
+    {
+        ResponseCollector collector = new ResponseCollector();
+        QueryClient queryClient = new QueryClient(queryServer.getPort(), collector);
+        Map<String, Map<String, Object>> parameterMap = new HashMap<String, Map<String, Object>>();
+        Map<String, Object> termMap = new HashMap<String, Object>();
+        termMap.put("name", "big world");
+        parameterMap.put("person", termMap);
+        String id = queryClient.send("greet", parameterMap);
+        queryClient.finish();
+        queryClient.close();
+        assertThat(collector.errorMap).isEmpty();
+        assertThat(collector.rowMap.get(id)).containsExactly("greeting(name = big world, text = hello big world)");
+    }
+
+    @Test
+    public void test_request_parse()
+    {
+        QueryRequest request = QueryRequest.parse("7 scope.query a.x=12 a.y=1.5 b.z=true b.w=two+words");
+        assertThat(request.getId()).isEqualTo("7");
+        assertThat(request.getScopeName()).isEqualTo("scope");
+        assertThat(request.getQueryPart()).isEqualTo("query");
+        assertThat(request.parameterMap.get("a").get("x")).isEqualTo(Long.valueOf(12));
+        assertThat(request.parameterMap.get("a").get("y")).isEqualTo(Double.valueOf(1.5));
+        assertThat(request.parameterMap.get("b").get("z")).isEqualTo(Boolean.TRUE);
+        assertThat(request.parameterMap.get("b").get("w")).isEqualTo("two words");
+        assertThat(QueryRequest.parse(request.toLine()).toLine()).isEqualTo(request.toLine());
+        request = QueryRequest.parse("8 query a.x=1 sort=-b.y sort=b.z limit=2 locale=de-DE");
+        assertThat(request.getSortAxiomName()).isEqualTo("b");
+        assertThat(request.getSortKeyList()).hasSize(2);
+        assertThat(request.getSortKeyList().get(0).getTermName()).isEqualTo("y");
+        assertThat(request.getSortKeyList().get(0).isDescending()).isTrue();
+        assertThat(request.getSortKeyList().get(1).isDescending()).isFalse();
+        assertThat(request.getLimit()).isEqualTo(2);
+        assertThat(request.getLocale()).isEqualTo(Locale.GERMANY);
+        assertThat(request.toLine()).isEqualTo("8 query a.x:l=1 sort=-b.y sort=b.z limit=2 locale=de-DE");
+        // Type codes restore values as sent
+        request = QueryRequest.parse("9 query a.x:s=12 a.y:m=1.50 a.z:i=3");
+        assertThat(request.parameterMap.get("a").get("x")).isEqualTo("12");
+        assertThat(request.parameterMap.get("a").get("y")).isEqualTo(new BigDecimal("1.50"));
+        assertThat(request.parameterMap.get("a").get("z")).isEqualTo(Integer.valueOf(3));
+        try
+        {
+            QueryRequest.parse("10 query a.x:q=1");
+            failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertThat(e.getMessage()).isEqualTo("Unknown value type \"q\"");
+        }
+    }
+
+    @Test
+    public void test_sort_and_limit() throws Exception
+    {
+        ResponseCollector collector = new ResponseCollector();
+        QueryClient queryClient = new QueryClient(queryServer.getPort(), collector);
+        QueryRequest request = new QueryRequest("1", "high_cities");
+        request.addSortKey("high_city", "altitude", false);
+        queryClient.send(request);
+        request = new QueryRequest("2", "high_cities");
+        request.addSortKey("high_city", "altitude", false);
+        request.setLimit(1);
+        queryClient.send(request);
+        queryClient.finish();
+        queryClient.close();
+        assertThat(collector.rowMap.get("1")).containsExactly(
+            "high_city(name = denver, altitude = 5280)", 
+            "high_city(name = addis ababa, altitude = 8000)");
+        assertThat(collector.rowMap.get("2")).containsExactly("high_city(name = denver, altitude = 5280)");
+        assertThat(collector.endMap.get("2")).isEqualTo(1);
+    }
+
+    @Test
+    public void test_load_harness() throws Exception
+    {
+        LoadHarness loadHarness = new LoadHarness(queryServer.getPort(), "high_cities");
+        LoadHarness.LoadReport report = loadHarness.run(2, 50, 8);
+        assertThat(report.requestCount).isEqualTo(100);
+        assertThat(report.errorCount).isEqualTo(0);
+        assertThat(report.getLatencyMicros(99)).isGreaterThanOrEqualTo(report.getLatencyMicros(50));
+    }
+}
@@ -0,0 +1,257 @@
+/**
+    Copyright (C) 2014  www.cybersearch2.com.au
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program.  If not, see <http://www.gnu.org/licenses/> */
+package au.com.cybersearch2.classy_logic.server;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.failBecauseExceptionWasNotThrown;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import au.com.cybersearch2.classy_logic.ProviderManager;
+import au.com.cybersearch2.classy_logic.QueryProgram;
+import au.com.cybersearch2.classy_logic.helper.QualifiedName;
+import au.com.cybersearch2.classy_logic.interfaces.AxiomListener;
+import au.com.cybersearch2.classy_logic.interfaces.AxiomProvider;
+import au.com.cybersearch2.classy_logic.interfaces.AxiomSource;
+import au.com.cybersearch2.classy_logic.list.AggregateFunction;
+import au.com.cybersearch2.classy_logic.pattern.Axiom;
+import au.com.cybersearch2.classy_logic.pattern.AxiomSchema;
+import au.com.cybersearch2.classy_logic.query.QueryExecutionException;
+import au.com.cybersearch2.classy_logic.shard.PartitionedAxiomProvider;
+import au.com.cybersearch2.classy_logic.shard.ShardCoordinator;
+import au.com.cybersearch2.classy_logic.shard.ShardQuery;
+
+/**
+ * SocketShardTransportTest
+ * @author Andrew Bowley
+ * 19 Oct 2026
+ */
+public class SocketShardTransportTest
+{
+    static final int SHARD_COUNT = 3;
+
+    static final String CITY_SHARDS = 
+        "axiom city (name, altitude): \"cities\";\n" +
+        "template high_city(name, altitude ? altitude > 5000);\n" +
+        "query high_cities (city : high_city);\n" +
+        "axiom threshold (height) : parameter;\n" +
+        "template limit(height);\n" +
+        "template above(name, altitude ? altitude > limit.height);\n" +
+        "query above_threshold (threshold : limit, city : above);\n" +
+        "calc city_stats (\n" +
+        "  integer city_count = count(city),\n" +
+        "  integer total_height = sum(city.altitude)\n" +
+        ");\n" +
+        "query city_stats (city_stats);";
+
+    static final Object[][] CITIES =
+    {
+        { "bilene", 1718L },
+        { "addis ababa", 8000L },
+        { "denver", 5280L },
+        { "flagstaff", 6970L },
+        { "jacksonville", 8L },
+        { "leadville", 10200L },
+        { "madrid", 1305L },
+        { "richmond", 19L },
+        { "spokane", 1909L },
+        { "wichita", 1305L }
+    };
+
+    /**
+     * CityProvider
+     * Provides all cities from memory
+     */
+    static class CityProvider implements AxiomProvider
+    {
+        @Override
+        public String getName()
+        {
+            return "cities";
+        }
+
+        @Override
+        public void open(Map<String, Object> properties)
+        {
+        }
+
+        @Override
+        public void close()
+        {
+        }
+
+        @Override
+        public AxiomSource getAxiomSource(final String axiomName, final List<String> axiomTermNameList)
+        {
+            final AxiomSchema schema = AxiomSchema.intern("name", "altitude");
+            return new AxiomSource()
+            {
+                @Override
+                public Iterator<Axiom> iterator()
+                {
+                    List<Axiom> axiomList = new ArrayList<Axiom>();
+                    for (Object[] city: CITIES)
+                        axiomList.add(new Axiom(axiomName, schema, city.clone()));
+                    return axiomList.iterator();
+                }
+
+                @Override
+                public List<String> getAxiomTermNameList()
+                {
+                    return axiomTermNameList;
+                }
+            };
+        }
+
+        @Override
+        public AxiomListener getAxiomListener(String axiomName)
+        {
+            return new AxiomListener()
+            {
+                @Override
+                public void onNextAxiom(QualifiedName qname, Axiom axiom)
+                {
+                }
+            };
+        }
+
+        @Override
+        public boolean isEmpty()
+        {
+            return false;
+        }
+    }
+
+    List<QueryServer> serverList;
+    ShardCoordinator shardCoordinator;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        serverList = new ArrayList<QueryServer>();
+        int[] ports = new int[SHARD_COUNT];
+        for (int i = 0; i < SHARD_COUNT; ++i)
+        {
+            final int shardIndex = i;
+            QueryProgramFactory programFactory = new QueryProgramFactory()
+            {
+                @Override
+                public QueryProgram createQueryProgram()
+                {
+                    PartitionedAxiomProvider axiomProvider = new PartitionedAxiomProvider(new CityProvider(), shardIndex, SHARD_COUNT);
+                    axiomProvider.setPartitionTerm("city", "name");
+                    ProviderManager providerManager = new ProviderManager();
+                    providerManager.putAxiomProvider(axiomProvider);
+                    QueryProgram queryProgram = new QueryProgram(providerManager);
+                    queryProgram.parseScript(CITY_SHARDS);
+                    return queryProgram;
+                }
+            };
+            QueryServer queryServer = new QueryServer(programFactory, 2, 64);
+            queryServer.setEncodedRows(true);
+            queryServer.start(0);
+            serverList.add(queryServer);
+            ports[i] = queryServer.getPort();
+        }
+        shardCoordinator = new ShardCoordinator(new SocketShardTransport(ports));
+    }
+
+    @After
+    public void tearDown()
+    {
+        shardCoordinator.close();
+        for (QueryServer queryServer: serverList)
+            queryServer.close();
+    }
+
+    @Test
+    public void test_sorted_merge()
+    {
+        ShardQuery shardQuery = new ShardQuery("high_cities", "high_city");
+        shardQuery.addSortKey("altitude", true);
+        List<String> nameList = new ArrayList<String>();
+        for (Axiom row: shardCoordinator.execute(shardQuery))
+            nameList.add(row.getTermByName("name").getValue().toString());
+        assertThat(nameList).containsExactly("leadville", "addis ababa", "flagstaff", "denver");
+        shardQuery.setLimit(2);
+        nameList.clear();
+        for (Axiom row: shardCoordinator.execute(shardQuery))
+            nameList.add(row.getTermByName("name").getValue().toString());
+        assertThat(nameList).containsExactly("leadville", "addis ababa");
+    }
+
+    @Test
+    public void test_parameter_push_down()
+    {
+        ShardQuery shardQuery = new ShardQuery("above_threshold", "above");
+        shardQuery.putParameter("threshold", "height", Long.valueOf(7000));
+        List<String> nameList = new ArrayList<String>();
+        for (Axiom row: shardCoordinator.execute(shardQuery))
+            nameList.add(row.getTermByName("name").getValue().toString());
+        assertThat(nameList).hasSize(2);
+        assertThat(nameList).contains("addis ababa", "leadville");
+    }
+
+    @Test
+    public void test_partial_aggregates()
+    {
+        ShardQuery shardQuery = new ShardQuery("city_stats", "city_stats");
+        shardQuery.putAggregate("city_count", AggregateFunction.SUM);
+        shardQuery.putAggregate("total_height", AggregateFunction.SUM);
+        List<Axiom> rowList = shardCoordinator.execute(shardQuery);
+        assertThat(rowList).hasSize(1);
+        assertThat(rowList.get(0).getTermByName("city_count").getValue()).isEqualTo(Long.valueOf(10));
+        assertThat(rowList.get(0).getTermByName("total_height").getValue()).isEqualTo(Long.valueOf(1718+8000+5280+6970+8+10200+1305+19+1909+1305));
+    }
+
+    @Test
+    public void test_shard_error()
+    {
+        try
+        {
+            shardCoordinator.execute(new ShardQuery("no_such_query", "none"));
+            failBecauseExceptionWasNotThrown(QueryExecutionException.class);
+        }
+        catch (QueryExecutionException e)
+        {
+            assertThat(e.getMessage()).startsWith("Shard ");
+        }
+    }
+
+    @Test
+    public void test_encoded_terms()
+    {
+        Object[] values = { "new york, ny", Long.valueOf(10), "10", new BigDecimal("1234.50"), Double.valueOf(0.1), Integer.valueOf(7), Boolean.TRUE };
+        Axiom axiom = new Axiom("place", AxiomSchema.intern("name", "rank", "code", "price", "ratio", "count", "open"), values);
+        String row = QueryRequest.formatTerms(axiom);
+        Axiom decoded = SocketShardTransport.toAxiom("place", row);
+        // Each value keeps its type, so decimals are not doubles and numeric strings are not numbers
+        assertThat(decoded.getTermCount()).isEqualTo(values.length);
+        for (int i = 0; i < values.length; ++i)
+        {
+            assertThat(decoded.getTermByIndex(i).getValue()).isEqualTo(values[i]);
+            assertThat((Object)decoded.getTermByIndex(i).getValue().getClass()).isEqualTo(values[i].getClass());
+        }
+    }
+}
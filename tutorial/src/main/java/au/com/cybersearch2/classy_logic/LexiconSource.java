@@ -26,7 +26,7 @@ import java.util.List;
 
 import au.com.cybersearch2.classy_logic.interfaces.AxiomSource;
 import au.com.cybersearch2.classy_logic.pattern.Axiom;
-import au.com.cybersearch2.classy_logic.terms.StringTerm;
+import au.com.cybersearch2.classy_logic.pattern.AxiomSchema;
 
 /**
  * LexiconSource
@@ -59,6 +59,7 @@ public class LexiconSource implements AxiomSource
 	@Override
 	public Iterator<Axiom> iterator() 
 	{
+		final AxiomSchema schema = AxiomSchema.intern(axiomTermNameList.get(0), axiomTermNameList.get(1));
 		File dictionaryFile = new File("src/main/resources", "definitions.txt");
         try 
         {
@@ -103,14 +104,8 @@ public class LexiconSource implements AxiomSource
 			@Override
 			public Axiom next() 
 			{
-				Axiom axiom = new Axiom(axiomName);
-				StringTerm word = new StringTerm(strings[0].trim());
-				word.setName(axiomTermNameList.get(0));
-				axiom.addTerm(word);
-				StringTerm definition = new StringTerm(strings[1].trim());
-				definition.setName(axiomTermNameList.get(1));
-				axiom.addTerm(definition);
-				return axiom;
+				Object[] values = new Object[] { strings[0].trim(), strings[1].trim() };
+				return new Axiom(axiomName, schema, values);
 			}
 
 			@Override
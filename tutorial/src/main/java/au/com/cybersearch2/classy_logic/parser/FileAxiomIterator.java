@@ -107,6 +107,8 @@ public class FileAxiomIterator implements Iterator<Axiom>
         Axiom nextAxiom = current;
         if (count > 0)
             doIterate();
+        else // Last axiom
+            current = null;
         return nextAxiom;
     }
 
@@ -15,10 +15,13 @@
     along with this program.  If not, see <http://www.gnu.org/licenses/> */
 package au.com.cybersearch2.classy_logic.tutorial16;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import au.com.cybersearch2.classy_logic.expression.ExpressionException;
+import au.com.cybersearch2.classy_logic.interfaces.BatchCallEvaluator;
 import au.com.cybersearch2.classy_logic.interfaces.CallEvaluator;
+import au.com.cybersearch2.classy_logic.interfaces.CallProperties;
 import au.com.cybersearch2.classy_logic.interfaces.FunctionProvider;
 import au.com.cybersearch2.classy_logic.interfaces.Term;
 
@@ -30,6 +33,88 @@ import au.com.cybersearch2.classy_logic.interfaces.Term;
  */
 public class MathFunctionProvider implements FunctionProvider<Number>
 {
+    /**
+     * AddFunction
+     * Returns sum of integer terms. Declared pure and supports batch evaluation.
+     */
+    static class AddFunction implements BatchCallEvaluator<Number>, CallProperties
+    {
+        /**
+         * Returns function name
+         * @see au.com.cybersearch2.classy_logic.interfaces.CallEvaluator#getName()
+         */
+        @Override
+        public String getName()
+        {
+            return "add";
+        }
+
+        /**
+         * Returns sum of terms passed to function
+         * @see au.com.cybersearch2.classy_logic.interfaces.CallEvaluator#evaluate(java.util.List)
+         */
+        @Override
+        public Number evaluate(List<Term> argumentList)
+        {
+            // Return not-a-number value if argument list is invalid
+            // Note return value type, if specified must be number type - integer, double or decimal
+            if ((argumentList == null) || argumentList.isEmpty())
+                return Double.NaN;
+            long addendum = 0;
+            // Sum values assuming all are of type integer
+            for (int i = 0; i < argumentList.size(); i++)
+            {
+                Term term = argumentList.get(i);
+                // Check type and throw exception for invalid type
+                if (term.getValueClass() == Long.class)
+                {
+                    Long param = (Long)term.getValue();
+                    addendum += param.longValue();
+                }
+                else
+                    throw new ExpressionException("math.add passed invalid value: " + term.getValue().toString());
+            }
+            return Long.valueOf(addendum);
+        }
+
+        /**
+         * Returns sum of terms for each row, working down the columns
+         * @see au.com.cybersearch2.classy_logic.interfaces.BatchCallEvaluator#evaluateBatch(java.lang.String[], java.lang.Object[][], int)
+         */
+        @Override
+        public List<Number> evaluateBatch(String[] argumentNames, Object[][] argumentColumns, int rowCount)
+        {
+            List<Number> resultList = new ArrayList<Number>(rowCount);
+            if (argumentColumns.length == 0)
+            {
+                for (int row = 0; row < rowCount; row++)
+                    resultList.add(Double.NaN);
+                return resultList;
+            }
+            long[] sums = new long[rowCount];
+            for (Object[] column: argumentColumns)
+                for (int row = 0; row < rowCount; row++)
+                {
+                    Object value = column[row];
+                    if (!(value instanceof Long))
+                        throw new ExpressionException("math.add passed invalid value: " + value);
+                    sums[row] += ((Long)value).longValue();
+                }
+            for (int row = 0; row < rowCount; row++)
+                resultList.add(Long.valueOf(sums[row]));
+            return resultList;
+        }
+
+        /**
+         * Sum depends only on arguments
+         * @see au.com.cybersearch2.classy_logic.interfaces.CallProperties#isPure()
+         */
+        @Override
+        public boolean isPure()
+        {
+            return true;
+        }
+    }
 
     @Override
     public String getName()
@@ -41,47 +126,7 @@ public class MathFunctionProvider implements FunctionProvider<Number>
     public CallEvaluator<Number> getCallEvaluator(String identifier)
     {
         if (identifier.equals("add"))
-            return new CallEvaluator<Number>(){
-
-            /**
-             * Returns function name
-             * @see au.com.cybersearch2.classy_logic.interfaces.CallEvaluator#getName()
-             */
-                @Override
-                public String getName()
-                {
-                    return "add";
-                }
-
-                /**
-                 * Returns sum of terms passed to function
-                 * @see au.com.cybersearch2.classy_logic.interfaces.CallEvaluator#evaluate(java.util.List)
-                 */
-                @Override
-                public Number evaluate(List<Term> argumentList)
-                {
-                    // Return not-a-number value if argument list is invalid
-                    // Note return value type, if specified must be number type - integer, double or decimal
-                    if ((argumentList == null) || argumentList.isEmpty())
-                        return Double.NaN;
-                    long addendum = 0;
-                    // Sum values assuming all are of type integer
-                    for (int i = 0; i < argumentList.size(); i++)
-                    {
-                        Term term = argumentList.get(i);
-                        // Check type and throw exception for invalid type
-                        if (term.getValueClass() == Long.class)
-                        {
-                            Long param = (Long)term.getValue();
-                            addendum += param.longValue();
-                        }
-                        else
-                            throw new ExpressionException("math.add passed invalid value: " + term.getValue().toString());
-                    }
-                    return Long.valueOf(addendum);
-                }
-            };
-            
+            return new AddFunction();
          // Throw exception for unrecognized function name   
          throw new ExpressionException("Unknown function identifier: " + identifier);
     }
@@ -105,6 +105,7 @@ public class FileAxiomIteratorTest
         Axiom marshalled  = underTest.next();
         assertThat(underTest.hasNext()).isTrue();
         Axiom marshalled2  = underTest.next();
+        assertThat(underTest.hasNext()).isFalse();
         assertThat(marshalled.getName()).isEqualTo(NAME);
         assertThat(marshalled.getTermCount()).isEqualTo(1);
         Term term = marshalled.getTermByIndex(0);